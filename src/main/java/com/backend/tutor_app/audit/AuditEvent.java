@@ -0,0 +1,52 @@
+package com.backend.tutor_app.audit;
+
+import com.backend.tutor_app.model.enums.AuditAction;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement d'audit immuable, construit sur le thread appelant puis écrit en lot dans audit_logs par AuditServiceImpl.
+ * Mêmes colonnes que l'entité AuditLog ; horodatage, sévérité (1=Info ... 4=Critique) et succès ont une valeur par défaut.
+ */
+@Builder(toBuilder = true)
+public record AuditEvent(Long userId,
+                         Long adminId,
+                         AuditAction action,
+                         String entityType,
+                         Long entityId,
+                         String details,
+                         String oldValues,
+                         String newValues,
+                         String ipAddress,
+                         String userAgent,
+                         String sessionId,
+                         String requestId,
+                         Integer severityLevel,
+                         Boolean success,
+                         String errorMessage,
+                         Long executionTimeMs,
+                         LocalDateTime timestamp) {
+
+    public AuditEvent {
+        if (action == null) {
+            throw new IllegalArgumentException("L'action est requise");
+        }
+        if (entityType == null || entityType.isBlank()) {
+            entityType = "System";
+        }
+        if (severityLevel == null) {
+            severityLevel = 1;
+        }
+        if (success == null) {
+            success = true;
+        }
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+    }
+
+    public boolean isHighSeverity() {
+        return severityLevel >= 3;
+    }
+}
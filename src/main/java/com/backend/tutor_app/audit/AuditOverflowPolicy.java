@@ -0,0 +1,15 @@
+package com.backend.tutor_app.audit;
+
+/**
+ * Comportement du producteur quand le tampon d'audit est plein
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * L'événement est abandonné et compté ; le thread de la requête n'attend jamais
+     */
+    DROP,
+    /**
+     * Le producteur attend une place au plus app.audit.block-timeout-ms, puis abandonne
+     */
+    BLOCK
+}
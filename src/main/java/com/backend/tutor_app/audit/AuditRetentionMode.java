@@ -0,0 +1,15 @@
+package com.backend.tutor_app.audit;
+
+/**
+ * Sort d'une partition mensuelle d'audit_logs arrivée en fin de rétention
+ */
+public enum AuditRetentionMode {
+    /**
+     * Partition supprimée (DROP TABLE) : aucun DELETE ligne à ligne, ni WAL ni VACUUM
+     */
+    DROP,
+    /**
+     * Partition détachée et conservée comme table autonome, à exporter puis supprimer hors ligne
+     */
+    DETACH
+}
@@ -0,0 +1,186 @@
+package com.backend.tutor_app.audit;
+
+import com.backend.tutor_app.model.enums.AuditAction;
+import com.backend.tutor_app.model.stats.AuditActorDailyStat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrégats d'audit maintenus par le thread d'écriture : chaque lot inséré dans audit_logs est résumé en mémoire
+ * puis appliqué par upsert JDBC (un batch par table) dans la même transaction que les lignes brutes.
+ * - audit_minute_stats : (minute, action) -> nombre, échecs
+ * - audit_daily_stats : (jour, action, sévérité) -> nombre, échecs, opérations lentes, temps cumulé / maximal
+ * - audit_actor_daily_stats : (jour, USER|ADMIN, id) -> nombre
+ */
+@Component
+@Slf4j
+public class AuditRollupWriter {
+
+    private static final String UPSERT_MINUTE = "INSERT INTO audit_minute_stats " +
+        "(bucket_minute, action, event_count, failure_count, created_at, last_update) VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (bucket_minute, action) DO UPDATE SET " +
+        "event_count = audit_minute_stats.event_count + EXCLUDED.event_count, " +
+        "failure_count = audit_minute_stats.failure_count + EXCLUDED.failure_count, " +
+        "last_update = EXCLUDED.last_update";
+
+    private static final String UPSERT_DAILY = "INSERT INTO audit_daily_stats " +
+        "(stat_day, action, severity_level, event_count, failure_count, timed_count, slow_count, total_execution_ms, " +
+        "max_execution_ms, created_at, last_update) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (stat_day, action, severity_level) DO UPDATE SET " +
+        "event_count = audit_daily_stats.event_count + EXCLUDED.event_count, " +
+        "failure_count = audit_daily_stats.failure_count + EXCLUDED.failure_count, " +
+        "timed_count = audit_daily_stats.timed_count + EXCLUDED.timed_count, " +
+        "slow_count = audit_daily_stats.slow_count + EXCLUDED.slow_count, " +
+        "total_execution_ms = audit_daily_stats.total_execution_ms + EXCLUDED.total_execution_ms, " +
+        "max_execution_ms = GREATEST(audit_daily_stats.max_execution_ms, EXCLUDED.max_execution_ms), " +
+        "last_update = EXCLUDED.last_update";
+
+    private static final String UPSERT_ACTOR = "INSERT INTO audit_actor_daily_stats " +
+        "(stat_day, actor_type, actor_id, event_count, created_at, last_update) VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (stat_day, actor_type, actor_id) DO UPDATE SET " +
+        "event_count = audit_actor_daily_stats.event_count + EXCLUDED.event_count, " +
+        "last_update = EXCLUDED.last_update";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long slowThresholdMs;
+    private final int minuteRetentionDays;
+
+    public AuditRollupWriter(JdbcTemplate jdbcTemplate,
+                             @Value("${app.audit.slow-threshold-ms:1000}") long slowThresholdMs,
+                             @Value("${app.audit.minute-rollup-retention-days:7}") int minuteRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.slowThresholdMs = slowThresholdMs;
+        this.minuteRetentionDays = minuteRetentionDays;
+    }
+
+    /**
+     * Applique les agrégats d'un lot ; appelé dans la transaction de l'insertion du lot
+     */
+    public void apply(List<AuditEvent> batch) {
+        Rollup rollup = aggregate(batch, slowThresholdMs);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        jdbcTemplate.batchUpdate(UPSERT_MINUTE, new ArrayList<>(rollup.minutes().entrySet()), rollup.minutes().size(),
+            (statement, entry) -> {
+                statement.setTimestamp(1, Timestamp.valueOf(entry.getKey().minute()));
+                statement.setString(2, entry.getKey().action().name());
+                statement.setLong(3, entry.getValue().events);
+                statement.setLong(4, entry.getValue().failures);
+                statement.setTimestamp(5, now);
+                statement.setTimestamp(6, now);
+            });
+        jdbcTemplate.batchUpdate(UPSERT_DAILY, new ArrayList<>(rollup.days().entrySet()), rollup.days().size(),
+            (statement, entry) -> {
+                Counters counters = entry.getValue();
+                statement.setDate(1, Date.valueOf(entry.getKey().day()));
+                statement.setString(2, entry.getKey().action().name());
+                statement.setInt(3, entry.getKey().severityLevel());
+                statement.setLong(4, counters.events);
+                statement.setLong(5, counters.failures);
+                statement.setLong(6, counters.timed);
+                statement.setLong(7, counters.slow);
+                statement.setLong(8, counters.totalMs);
+                statement.setLong(9, counters.maxMs);
+                statement.setTimestamp(10, now);
+                statement.setTimestamp(11, now);
+            });
+        jdbcTemplate.batchUpdate(UPSERT_ACTOR, new ArrayList<>(rollup.actors().entrySet()), rollup.actors().size(),
+            (statement, entry) -> {
+                statement.setDate(1, Date.valueOf(entry.getKey().day()));
+                statement.setString(2, entry.getKey().actorType());
+                statement.setLong(3, entry.getKey().actorId());
+                statement.setLong(4, entry.getValue().events);
+                statement.setTimestamp(5, now);
+                statement.setTimestamp(6, now);
+            });
+    }
+
+    /**
+     * Les compteurs par minute ne servent qu'aux pics récents : purge des jours anciens (table petite, DELETE suffisant)
+     */
+    @Scheduled(cron = "${app.audit.rollup-purge-cron:0 20 3 * * *}")
+    public void purgeMinuteRollups() {
+        int purged = jdbcTemplate.update("DELETE FROM audit_minute_stats WHERE bucket_minute < ?",
+            Timestamp.valueOf(LocalDate.now().minusDays(minuteRetentionDays).atStartOfDay()));
+        log.debug("{} compteurs d'audit par minute purgés", purged);
+    }
+
+    // ==================== AGRÉGATION ====================
+
+    /**
+     * Résumé d'un lot, sans accès base
+     */
+    static Rollup aggregate(List<AuditEvent> batch, long slowThresholdMs) {
+        Map<MinuteKey, Counters> minutes = new LinkedHashMap<>();
+        Map<DayKey, Counters> days = new LinkedHashMap<>();
+        Map<ActorKey, Counters> actors = new LinkedHashMap<>();
+
+        for (AuditEvent event : batch) {
+            LocalDateTime timestamp = event.timestamp();
+            LocalDate day = timestamp.toLocalDate();
+            boolean failed = !event.success();
+
+            minutes.computeIfAbsent(new MinuteKey(timestamp.truncatedTo(ChronoUnit.MINUTES), event.action()), key -> new Counters())
+                .add(failed, null, slowThresholdMs);
+            days.computeIfAbsent(new DayKey(day, event.action(), event.severityLevel()), key -> new Counters())
+                .add(failed, event.executionTimeMs(), slowThresholdMs);
+            if (event.adminId() != null) {
+                actors.computeIfAbsent(new ActorKey(day, AuditActorDailyStat.ACTOR_ADMIN, event.adminId()), key -> new Counters())
+                    .add(failed, null, slowThresholdMs);
+            } else if (event.userId() != null) {
+                actors.computeIfAbsent(new ActorKey(day, AuditActorDailyStat.ACTOR_USER, event.userId()), key -> new Counters())
+                    .add(failed, null, slowThresholdMs);
+            }
+        }
+        return new Rollup(minutes, days, actors);
+    }
+
+    record Rollup(Map<MinuteKey, Counters> minutes, Map<DayKey, Counters> days, Map<ActorKey, Counters> actors) {
+    }
+
+    record MinuteKey(LocalDateTime minute, AuditAction action) {
+    }
+
+    record DayKey(LocalDate day, AuditAction action, int severityLevel) {
+    }
+
+    record ActorKey(LocalDate day, String actorType, long actorId) {
+    }
+
+    static final class Counters {
+        long events;
+        long failures;
+        long timed;
+        long slow;
+        long totalMs;
+        long maxMs;
+
+        void add(boolean failed, Long executionTimeMs, long slowThresholdMs) {
+            events++;
+            if (failed) {
+                failures++;
+            }
+            if (executionTimeMs != null) {
+                timed++;
+                totalMs += executionTimeMs;
+                maxMs = Math.max(maxMs, executionTimeMs);
+                if (executionTimeMs >= slowThresholdMs) {
+                    slow++;
+                }
+            }
+        }
+    }
+}
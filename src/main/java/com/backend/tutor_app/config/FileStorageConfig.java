@@ -0,0 +1,48 @@
+package com.backend.tutor_app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration du stockage de fichiers
+ * Pool d'I/O borné utilisé pour valider et écrire en parallèle les fichiers d'un upload multiple
+ */
+@Configuration
+@Slf4j
+public class FileStorageConfig {
+
+    @Value("${app.file.io-threads:4}")
+    private int ioThreads;
+
+    @Value("${app.file.io-queue-capacity:64}")
+    private int ioQueueCapacity;
+
+    /**
+     * File d'attente bornée + CallerRunsPolicy : quand le pool est saturé, le thread de la requête
+     * écrit lui-même son fichier (contre-pression naturelle, jamais de rejet)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService fileIoExecutor() {
+        log.info("Pool d'I/O fichiers: {} threads, file de {} tâches", ioThreads, ioQueueCapacity);
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            ioThreads, ioThreads,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(ioQueueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "file-io-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+}
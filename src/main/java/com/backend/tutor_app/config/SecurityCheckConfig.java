@@ -0,0 +1,47 @@
+package com.backend.tutor_app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration des vérifications de sécurité du rafraîchissement de jeton
+ * Pool borné exécutant les recherches géographiques en parallèle de la comparaison d'appareil
+ */
+@Configuration
+@Slf4j
+public class SecurityCheckConfig {
+
+    @Value("${app.security-check.threads:4}")
+    private int threads;
+
+    @Value("${app.security-check.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * Pool saturé : CallerRunsPolicy, la recherche s'exécute sur le thread de la requête (jamais de rejet)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService securityCheckExecutor() {
+        log.info("Pool des vérifications de sécurité: {} threads, file de {} tâches", threads, queueCapacity);
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            threads, threads,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "security-check-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+}
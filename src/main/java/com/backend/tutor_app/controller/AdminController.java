@@ -4,8 +4,10 @@ import com.backend.tutor_app.dto.Auth.UserDto;
 import com.backend.tutor_app.dto.common.ApiResponseDto;
 import com.backend.tutor_app.dto.common.PagedResponse;
 import com.backend.tutor_app.dto.admin.AdminStatsDto;
+import com.backend.tutor_app.dto.admin.AuditLogFilter;
 import com.backend.tutor_app.dto.admin.TutorApplicationDto;
 import com.backend.tutor_app.dto.admin.UserModerationDto;
+import com.backend.tutor_app.model.enums.AuditExportFormat;
 import com.backend.tutor_app.services.AdminService;
 import com.backend.tutor_app.services.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,10 +18,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -66,10 +72,11 @@ public class AdminController {
     @GetMapping("/stats/overview")
     @Operation(summary = "Statistiques détaillées", description = "Statistiques détaillées de la plateforme")
     public ResponseEntity<?> getDetailedStats(
-            @Parameter(description = "Période") @RequestParam(defaultValue = "30") int days) {
+            @Parameter(description = "Période") @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Granularité (DAY, WEEK, MONTH)") @RequestParam(defaultValue = "DAY") String granularity) {
         
         try {
-            var detailedStats = adminService.getDetailedAdminStats(days);
+            var detailedStats = adminService.getDetailedAdminStats(days, granularity);
             
             return ResponseEntity.ok(ApiResponseDto.success(detailedStats, "Statistiques détaillées"));
 
@@ -414,6 +421,89 @@ public class AdminController {
         }
     }
 
+    /**
+     * GET /api/v1/admin/audit/export
+     * Export complet des logs d'audit filtrés (CSV ou NDJSON, gzip optionnel), écrit en continu
+     */
+    @GetMapping("/audit/export")
+    @Operation(summary = "Export audit", description = "Exporte les logs d'audit filtrés en CSV ou NDJSON, sans pagination")
+    public ResponseEntity<?> exportAuditLogs(
+            @Parameter(description = "Format (CSV, NDJSON)") @RequestParam(defaultValue = "NDJSON") String format,
+            @Parameter(description = "Compression gzip") @RequestParam(defaultValue = "false") boolean gzip,
+            @Parameter(description = "Action") @RequestParam(required = false) String action,
+            @Parameter(description = "Utilisateur") @RequestParam(required = false) Long userId,
+            @Parameter(description = "Administrateur") @RequestParam(required = false) Long adminId,
+            @Parameter(description = "Type d'entité") @RequestParam(required = false) String entityType,
+            @Parameter(description = "Entité") @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Sévérité minimale") @RequestParam(required = false) Integer minSeverity,
+            @Parameter(description = "Succès") @RequestParam(required = false) Boolean success,
+            @Parameter(description = "Date début") @RequestParam(required = false) String startDate,
+            @Parameter(description = "Date fin") @RequestParam(required = false) String endDate) {
+
+        AuditLogFilter filter;
+        AuditExportFormat exportFormat;
+        try {
+            filter = AuditLogFilter.of(action, userId, adminId, entityType, entityId, minSeverity, success, startDate, endDate);
+            exportFormat = AuditExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (Exception e) {
+            log.error("Erreur export logs audit: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDto.error("Paramètres d'export invalides"));
+        }
+
+        // Le statut est envoyé avant la première ligne : une erreur en cours d'export ne peut que tronquer le fichier
+        StreamingResponseBody body = out -> adminService.exportAuditLogs(filter, exportFormat, gzip, out);
+        String fileName = "audit-logs." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
+    /**
+     * GET /api/v1/admin/audit/analytics
+     * Analyse de l'activité d'audit
+     */
+    @GetMapping("/audit/analytics")
+    @Operation(summary = "Analyse audit", description = "Répartitions, pics d'activité, acteurs les plus actifs et actions lentes")
+    public ResponseEntity<?> getAuditAnalytics(
+            @Parameter(description = "Nombre de jours") @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Seuil de pic par minute") @RequestParam(defaultValue = "100") long spikeThreshold) {
+
+        try {
+            Map<String, Object> analytics = adminService.getAuditAnalytics(days, spikeThreshold);
+
+            return ResponseEntity.ok(ApiResponseDto.success(analytics, "Analyse audit"));
+
+        } catch (Exception e) {
+            log.error("Erreur analyse audit: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDto.error("Erreur analyse audit"));
+        }
+    }
+
+    /**
+     * GET /api/v1/admin/audit/activity
+     * Activité d'audit minute par minute (24 heures maximum)
+     */
+    @GetMapping("/audit/activity")
+    @Operation(summary = "Activité audit", description = "Détail minute par minute sur une fenêtre bornée")
+    public ResponseEntity<?> getAuditActivity(
+            @Parameter(description = "Début (date-heure ISO)") @RequestParam String startDate,
+            @Parameter(description = "Fin (date-heure ISO)") @RequestParam String endDate) {
+
+        try {
+            var activity = adminService.getAuditActivity(startDate, endDate);
+
+            return ResponseEntity.ok(ApiResponseDto.success(activity, "Activité audit"));
+
+        } catch (Exception e) {
+            log.error("Erreur activité audit: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDto.error(e.getMessage()));
+        }
+    }
+
     // ==================== MÉTHODES UTILITAIRES ====================
 
     /**
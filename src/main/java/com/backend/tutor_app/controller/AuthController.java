@@ -4,6 +4,7 @@ import com.backend.tutor_app.dto.Auth.AuthRequest;
 import com.backend.tutor_app.dto.Auth.*;
 import com.backend.tutor_app.dto.common.ApiResponseDto;
 import com.backend.tutor_app.services.AuthService;
+import com.backend.tutor_app.services.IpAddressService;
 import com.backend.tutor_app.services.RateLimitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,6 +34,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final RateLimitService rateLimitService;
+    private final IpAddressService ipAddressService;
 
     // ==================== AUTHENTIFICATION PRINCIPALE ====================
 
@@ -53,7 +55,7 @@ public class AuthController {
             HttpServletResponse httpResponse) { // (Q) PHASE 1 - ÉTAPE 1.3 : Ajout HttpServletResponse
         
         try {
-            String clientIp = getClientIpAddress(httpRequest);
+            String clientIp = ipAddressService.extractClientIpFromRequest(httpRequest);
             log.info("Tentative de connexion pour: {} depuis IP: {}", request.getEmail(), clientIp);
 
             // Vérification rate limiting
@@ -100,7 +102,7 @@ public class AuthController {
         try {
 
             // Objectif : empêcher qu’un même utilisateur (ou une même IP) spamme l’inscription.
-            String clientIp = getClientIpAddress(httpRequest);
+            String clientIp = ipAddressService.extractClientIpFromRequest(httpRequest);
             log.info("Tentative d'inscription pour: {} depuis IP: {}", request.getEmail(), clientIp);
 
             /*
@@ -221,7 +223,7 @@ public class AuthController {
             HttpServletRequest httpRequest) {
         
         try {
-            String clientIp = getClientIpAddress(httpRequest);
+            String clientIp = ipAddressService.extractClientIpFromRequest(httpRequest);
 
             // Vérification rate limiting
             if (!rateLimitService.isPasswordResetAllowed(clientIp, request.getEmail())) {
@@ -419,23 +421,6 @@ public class AuthController {
         return null;
     }
 
-    /**
-     * Extrait l'adresse IP du client
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
-
     /**
      * Extrait le token JWT du header Authorization
      */
@@ -0,0 +1,155 @@
+package com.backend.tutor_app.controller;
+
+import com.backend.tutor_app.dto.common.ApiResponseDto;
+import com.backend.tutor_app.security.FileUrlSigner;
+import com.backend.tutor_app.services.FileStorageService;
+import com.backend.tutor_app.utils.FileSignatureDetector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller REST servant les fichiers uploadés (app.file.base-url)
+ * Les fichiers sont streamés depuis le disque : support des requêtes Range (206),
+ * ETag / Last-Modified (304 sur If-None-Match / If-Modified-Since) et Cache-Control.
+ * Le Content-Type est celui détecté à l'upload (liste blanche, nosniff) : seules les images sont affichées en ligne.
+ * Avec un backend de stockage objet, le client est redirigé vers une URL présignée.
+ * Les URLs signées (expires + signature HMAC) sont vérifiées ici, sans JWT ni accès à la table des utilisateurs.
+ */
+@RestController
+@RequestMapping("/api/files")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Files", description = "Téléchargement des fichiers uploadés")
+public class FileController {
+
+    // Fichiers jamais réécrits (noms horodatés) : cacheables indéfiniment
+    private static final List<String> IMMUTABLE_DIRECTORIES = List.of("profiles/");
+
+    private static final String NOSNIFF_HEADER = "X-Content-Type-Options";
+
+    // Durée de validité des redirections vers le stockage objet
+    private static final Duration REDIRECT_EXPIRATION = Duration.ofMinutes(15);
+
+    private final FileStorageService fileStorageService;
+    private final FileUrlSigner fileUrlSigner;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * GET /api/files/{directory}/{fileName}
+     * Sert un fichier - le corps Resource est découpé en régions par Spring MVC si un header Range est présent,
+     * et la réponse devient un 304 si l'ETag ou la date de modification correspondent
+     */
+    @GetMapping("/**")
+    @Operation(summary = "Télécharger un fichier", description = "Sert un fichier uploadé avec support Range, ETag et cache HTTP")
+    public ResponseEntity<?> serveFile(HttpServletRequest request) {
+        String relativePath = extractRelativePath(request);
+        int lastSlash = relativePath.lastIndexOf('/');
+        if (lastSlash <= 0 || lastSlash == relativePath.length() - 1) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponseDto.error("Fichier non trouvé", 404));
+        }
+
+        String directory = relativePath.substring(0, lastSlash);
+        String fileName = relativePath.substring(lastSlash + 1);
+
+        String signature = request.getParameter(FileUrlSigner.SIGNATURE_PARAM);
+        String expires = request.getParameter(FileUrlSigner.EXPIRES_PARAM);
+        if (signature != null && !fileUrlSigner.verify(relativePath, expires, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponseDto.error("Lien de téléchargement invalide ou expiré", 403));
+        }
+        boolean signed = signature != null;
+
+        try {
+            String directUrl = fileStorageService.resolveDirectDownloadUrl(fileName, directory, REDIRECT_EXPIRATION);
+            if (directUrl != null) {
+                // Le contenu est servi par le stockage objet, sans transiter par la JVM
+                return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(directUrl))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+            }
+
+            Resource resource = fileStorageService.downloadFile(fileName, directory);
+            long lastModified = resource.lastModified();
+            long contentLength = resource.contentLength();
+
+            // Type enregistré à l'upload, filtré par liste blanche : un fichier .html ou .svg n'est jamais interprété
+            String contentType = fileStorageService.getServedContentType(fileName, directory);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(buildETag(contentLength, lastModified))
+                .lastModified(lastModified)
+                .cacheControl(signed ? signedCacheControl(expires) : cacheControlFor(relativePath))
+                .header(NOSNIFF_HEADER, "nosniff")
+                .contentType(MediaType.parseMediaType(contentType));
+            if (!FileSignatureDetector.isInline(contentType)) {
+                response.header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+            }
+            return response.body(resource);
+
+        } catch (IOException e) {
+            log.error("Erreur lecture fichier {}: {}", relativePath, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponseDto.error("Erreur lecture fichier", 500));
+        } catch (Exception e) {
+            log.debug("Fichier non servi {}: {}", relativePath, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponseDto.error("Fichier non trouvé", 404));
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private String extractRelativePath(HttpServletRequest request) {
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pathMatcher.extractPathWithinPattern(pattern, path);
+    }
+
+    /**
+     * ETag fort dérivé de la taille et de la date de modification (aucune lecture du contenu).
+     * Les blobs adressés par contenu n'étant jamais réécrits, l'ETag d'un fichier logique est stable.
+     */
+    private String buildETag(long contentLength, long lastModified) {
+        return "\"" + Long.toHexString(contentLength) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * URL signée : l'URL complète est la clé de cache, cacheable (CDN compris) jusqu'à son expiration
+     */
+    private CacheControl signedCacheControl(String expires) {
+        return CacheControl.maxAge(fileUrlSigner.secondsUntil(expires), TimeUnit.SECONDS).cachePublic();
+    }
+
+    private CacheControl cacheControlFor(String relativePath) {
+        boolean immutable = IMMUTABLE_DIRECTORIES.stream().anyMatch(relativePath::startsWith);
+        if (immutable) {
+            return CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        }
+        // Contenu modifiable : le client doit revalider (304 via ETag)
+        return CacheControl.noCache().cachePrivate();
+    }
+}
@@ -5,6 +5,7 @@ import com.backend.tutor_app.dto.Auth.SocialLoginRequest;
 import com.backend.tutor_app.dto.common.ApiResponseDto;
 import com.backend.tutor_app.model.enums.SocialProvider;
 import com.backend.tutor_app.services.SocialAuthService;
+import com.backend.tutor_app.services.IpAddressService;
 import com.backend.tutor_app.services.RateLimitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,6 +33,7 @@ public class SocialAuthController {
 
     private final SocialAuthService socialAuthService;
     private final RateLimitService rateLimitService;
+    private final IpAddressService ipAddressService;
 
     // ==================== GÉNÉRATION URLS D'AUTORISATION ====================
 
@@ -247,7 +249,7 @@ public class SocialAuthController {
      */
     private ResponseEntity<?> handleSocialCallback(SocialProvider provider, SocialLoginRequest request, HttpServletRequest httpRequest) {
         try {
-            String clientIp = getClientIpAddress(httpRequest);
+            String clientIp = ipAddressService.extractClientIpFromRequest(httpRequest);
             
             // Vérification rate limiting
             if (!rateLimitService.isSocialAuthAllowed(clientIp, provider.name())) {
@@ -293,23 +295,6 @@ public class SocialAuthController {
         }
     }
 
-    /**
-     * Extrait l'adresse IP du client
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
-
     /**
      * Extrait l'ID utilisateur du token JWT
      */
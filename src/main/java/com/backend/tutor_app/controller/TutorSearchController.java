@@ -0,0 +1,73 @@
+package com.backend.tutor_app.controller;
+
+import com.backend.tutor_app.dto.common.ApiResponseDto;
+import com.backend.tutor_app.dto.user.TutorSearchResponse;
+import com.backend.tutor_app.services.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST de la recherche de tuteurs (API v2)
+ * Résultats au format TutorSearchResponse : projection publique des tuteurs + compteurs de facettes
+ */
+@RestController
+@RequestMapping("/api/v2/users")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Tutor Search", description = "Recherche de tuteurs avec facettes")
+public class TutorSearchController {
+
+    private final UserService userService;
+
+    /**
+     * GET /api/v2/users/tutors
+     * Recherche de tuteurs avec compteurs de facettes (matière, tranche de prix, note)
+     */
+    @GetMapping("/tutors")
+    @Operation(summary = "Recherche tuteurs", description = "Récupère la liste des tuteurs avec filtres et compteurs de facettes")
+    public ResponseEntity<?> searchTutors(
+            @Parameter(description = "Texte libre (nom, matière, ville, langue)") @RequestParam(required = false) String q,
+            @Parameter(description = "Matière") @RequestParam(required = false) String subject,
+            @Parameter(description = "Niveau") @RequestParam(required = false) String level,
+            @Parameter(description = "Prix min") @RequestParam(required = false) Double minPrice,
+            @Parameter(description = "Prix max") @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Note min") @RequestParam(required = false) Double minRating,
+            @Parameter(description = "Disponible") @RequestParam(required = false) Boolean available,
+            @Parameter(description = "Jour du créneau (MONDAY..SUNDAY)") @RequestParam(required = false) String day,
+            @Parameter(description = "Début du créneau (HH:mm)") @RequestParam(required = false) String from,
+            @Parameter(description = "Fin du créneau (HH:mm)") @RequestParam(required = false) String to,
+            @Parameter(description = "Fuseau du créneau (ex : Europe/Paris, UTC par défaut)") @RequestParam(required = false) String timezone,
+            @Parameter(description = "Page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille") @RequestParam(defaultValue = "12") int size) {
+
+        try {
+            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "rating"));
+
+            TutorSearchResponse tutors = userService.searchTutors(
+                q, subject, level, minPrice, maxPrice, minRating, available, day, from, to, timezone, pageable
+            );
+
+            return ResponseEntity.ok(ApiResponseDto.success(tutors, "Tuteurs trouvés"));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDto.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Erreur recherche tuteurs: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponseDto.error("Erreur recherche tuteurs"));
+        }
+    }
+}
@@ -216,16 +216,22 @@ public class UserController {
     /**
      * GET /api/v1/users/tutors
      * Liste des tuteurs - Compatible avec la page /tutors du frontend
+     * Format historique (page de UserDto) ; recherche avec facettes : GET /api/v2/users/tutors
      */
     @GetMapping("/tutors")
     @Operation(summary = "Liste tuteurs", description = "Récupère la liste des tuteurs avec filtres")
     public ResponseEntity<?> getTutors(
+            @Parameter(description = "Texte libre (nom, matière, ville, langue)") @RequestParam(required = false) String q,
             @Parameter(description = "Matière") @RequestParam(required = false) String subject,
             @Parameter(description = "Niveau") @RequestParam(required = false) String level,
             @Parameter(description = "Prix min") @RequestParam(required = false) Double minPrice,
             @Parameter(description = "Prix max") @RequestParam(required = false) Double maxPrice,
             @Parameter(description = "Note min") @RequestParam(required = false) Double minRating,
             @Parameter(description = "Disponible") @RequestParam(required = false) Boolean available,
+            @Parameter(description = "Jour du créneau (MONDAY..SUNDAY)") @RequestParam(required = false) String day,
+            @Parameter(description = "Début du créneau (HH:mm)") @RequestParam(required = false) String from,
+            @Parameter(description = "Fin du créneau (HH:mm)") @RequestParam(required = false) String to,
+            @Parameter(description = "Fuseau du créneau (ex : Europe/Paris, UTC par défaut)") @RequestParam(required = false) String timezone,
             @Parameter(description = "Page") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille") @RequestParam(defaultValue = "12") int size) {
         
@@ -233,14 +239,17 @@ public class UserController {
             Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "rating"));
             
             PagedResponse<UserDto> tutors = userService.getTutors(
-                subject, level, minPrice, maxPrice, minRating, available, pageable
+                q, subject, level, minPrice, maxPrice, minRating, available, day, from, to, timezone, pageable
             );
             
             return ResponseEntity.ok(ApiResponseDto.success(tutors, "Tuteurs trouvés"));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDto.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Erreur récupération tuteurs: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponseDto.error("Erreur récupération tuteurs"));
         }
     }
@@ -1,6 +1,7 @@
 package com.backend.tutor_app.dto.Auth;
 
 import com.backend.tutor_app.model.Utilisateur;
+import com.backend.tutor_app.model.enums.ImageVariant;
 import com.backend.tutor_app.model.enums.Role;
 import com.backend.tutor_app.model.enums.UserStatus;
 import lombok.AllArgsConstructor;
@@ -35,6 +36,13 @@ public class UserDto {
     private LocalDateTime updatedAt;
     private LocalDateTime lastLogin;
 
+    /**
+     * Miniature (64 px) de la photo de profil pour les listes ; dérivée de profilePicture, non stockée
+     */
+    public String getProfilePictureThumbnail() {
+        return ImageVariant.THUMBNAIL.from(profilePicture);
+    }
+
     // ======================== Mappers ========================
 
     /**
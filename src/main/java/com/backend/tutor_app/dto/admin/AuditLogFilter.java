@@ -0,0 +1,63 @@
+package com.backend.tutor_app.dto.admin;
+
+import com.backend.tutor_app.model.enums.AuditAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Critères de recherche des logs d'audit, communs à la consultation paginée et à l'export
+ * Tous les critères sont optionnels (null = pas de filtre)
+ * @param minSeverity Sévérité minimale incluse
+ */
+public record AuditLogFilter(AuditAction action,
+                             Long userId,
+                             Long adminId,
+                             String entityType,
+                             Long entityId,
+                             Integer minSeverity,
+                             Boolean success,
+                             LocalDateTime startDate,
+                             LocalDateTime endDate) {
+
+    /**
+     * Critères reçus en texte (paramètres HTTP) ; dates ISO, une date seule couvre la journée entière
+     */
+    public static AuditLogFilter of(String action, Long userId, Long adminId, String entityType, Long entityId,
+                                    Integer minSeverity, Boolean success, String startDate, String endDate) {
+        return new AuditLogFilter(parseAction(action), userId, adminId,
+            entityType == null || entityType.isBlank() ? null : entityType.trim(),
+            entityId, minSeverity, success, parseDateBound(startDate, false), parseDateBound(endDate, true));
+    }
+
+    public static AuditAction parseAction(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return AuditAction.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Action invalide: " + value);
+        }
+    }
+
+    /**
+     * Borne de période : date ISO (début ou fin de journée) ou date-heure ISO
+     */
+    public static LocalDateTime parseDateBound(String value, boolean endOfDay) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            if (value.trim().length() <= 10) {
+                LocalDate date = LocalDate.parse(value.trim());
+                return endOfDay ? date.atTime(LocalTime.MAX) : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Date invalide: " + value);
+        }
+    }
+}
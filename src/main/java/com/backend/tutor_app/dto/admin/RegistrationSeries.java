@@ -0,0 +1,21 @@
+package com.backend.tutor_app.dto.admin;
+
+import com.backend.tutor_app.model.enums.StatsGranularity;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Série des inscriptions sur une période, lue depuis les compteurs journaliers
+ * @param buckets Inscriptions par période (clé = premier jour de la période, ISO), périodes vides comprises
+ * @param byRole Inscriptions de la période par rôle
+ * @param byStatus Inscriptions de la période par statut actuel
+ */
+public record RegistrationSeries(StatsGranularity granularity,
+                                 LocalDate from,
+                                 LocalDate to,
+                                 Map<String, Long> buckets,
+                                 Map<String, Long> byRole,
+                                 Map<String, Long> byStatus,
+                                 long total) {
+}
@@ -0,0 +1,35 @@
+package com.backend.tutor_app.dto.admin;
+
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Instantané immuable des compteurs utilisateurs, partagé entre toutes les lectures du tableau de bord
+ * @param byRole Tous les rôles présents, 0 compris
+ * @param byStatus Tous les statuts présents, 0 compris
+ * @param newLast30Days Inscriptions des 30 derniers jours
+ */
+public record UserStatsSnapshot(long totalUsers,
+                                Map<Role, Long> byRole,
+                                Map<UserStatus, Long> byStatus,
+                                long newToday,
+                                long newThisMonth,
+                                long newLast30Days,
+                                LocalDateTime computedAt) {
+
+    public UserStatsSnapshot {
+        byRole = Map.copyOf(byRole);
+        byStatus = Map.copyOf(byStatus);
+    }
+
+    public long countByRole(Role role) {
+        return byRole.getOrDefault(role, 0L);
+    }
+
+    public long countByStatus(UserStatus status) {
+        return byStatus.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.tutor_app.dto.user;
+
+import com.backend.tutor_app.dto.common.PagedResponse;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Réponse de la recherche de tuteurs : page de résultats + compteurs de facettes
+ * calculés sur l'ensemble des tuteurs correspondant aux filtres
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorSearchResponse {
+
+    // Champs de pagination à plat (content, page, size, ...) : format inchangé pour le frontend
+    @JsonUnwrapped
+    private PagedResponse<TutorSearchResultDto> results;
+
+    // Facettes : valeur -> nombre de tuteurs
+    private Map<String, Long> subjects;     // code matière
+    private Map<String, Long> priceBands;   // ex: "20-35"
+    private Map<String, Long> ratingBuckets; // ex: "4+"
+}
@@ -0,0 +1,29 @@
+package com.backend.tutor_app.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO d'un tuteur dans les résultats de recherche (projection construite directement par la requête)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorSearchResultDto {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String profilePicture;
+    private String location;
+    private BigDecimal hourlyRate;
+    private Double averageRating;
+    private Integer totalReviews;
+    private Integer experienceYears;
+    private Boolean isAvailable;
+}
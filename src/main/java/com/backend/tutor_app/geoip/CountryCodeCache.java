@@ -0,0 +1,133 @@
+package com.backend.tutor_app.geoip;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache borné des codes pays ISO 3166-1 alpha-2, indexé par une clé long (IPv4 sur 32 bits ou préfixe IPv6 /64).
+ * Table à adressage direct de deux longs par case (clé, valeur) : aucune allocation par entrée, une collision
+ * remplace simplement l'ancienne entrée. La valeur porte le code pays sur 16 bits (deux lettres ASCII), la génération
+ * de la base qui l'a produit (15 bits) et une empreinte de la clé, ce qui écarte sans verrou les lectures croisées
+ * avec une écriture concurrente.
+ * Génération différente de celle demandée = absence : une entrée calculée sur une base remplacée n'est jamais servie,
+ * même si elle est écrite après le rechargement (aucun vidage à synchroniser).
+ * Le code réservé "ZZ" représente UNKNOWN.
+ */
+public final class CountryCodeCache {
+
+    /**
+     * Code renvoyé par {@link #get(long)} en cas d'absence et par {@link #pack(String)} pour un code non stockable
+     */
+    public static final short NONE = 0;
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final short UNKNOWN_PACKED = (short) (('Z' << 8) | 'Z');
+    private static final long PRESENT = 1L << 16;
+    private static final int GENERATION_SHIFT = 17;
+    private static final long GENERATION_MASK = 0x7FFFL << GENERATION_SHIFT;
+    private static final long FINGERPRINT_MASK = -1L << 32;
+    private static final String[] CODES = new String[26 * 26];
+
+    static {
+        for (char first = 'A'; first <= 'Z'; first++) {
+            for (char second = 'A'; second <= 'Z'; second++) {
+                CODES[(first - 'A') * 26 + (second - 'A')] = new String(new char[]{first, second});
+            }
+        }
+        CODES[CODES.length - 1] = UNKNOWN;
+    }
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * @param capacity Nombre d'entrées, arrondi à la puissance de 2 supérieure (16 octets par entrée)
+     */
+    public CountryCodeCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacité invalide: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicLongArray(size * 2);
+    }
+
+    /**
+     * @param generation Génération courante de la base (GeoIpDatabase.generation())
+     * @return Code pays compacté, ou {@link #NONE} si absent ou produit par une autre génération
+     */
+    public short get(long key, int generation) {
+        long hash = mix(key);
+        int slot = ((int) hash & mask) << 1;
+        long value = slots.get(slot + 1);
+        long expected = (hash & FINGERPRINT_MASK) | generationBits(generation) | PRESENT;
+        if ((value & ~0xFFFFL) != expected) {
+            return NONE;
+        }
+        return slots.get(slot) == key ? (short) value : NONE;
+    }
+
+    /**
+     * Mémorise un code compacté par {@link #pack(String)} ; {@link #NONE} est ignoré
+     * @param generation Génération de la base lue avant la recherche (jamais après)
+     */
+    public void put(long key, short country, int generation) {
+        if (country == NONE) {
+            return;
+        }
+        long hash = mix(key);
+        int slot = ((int) hash & mask) << 1;
+        slots.set(slot, key);
+        slots.set(slot + 1, (hash & FINGERPRINT_MASK) | generationBits(generation) | PRESENT | (country & 0xFFFF));
+    }
+
+    /**
+     * Vide le cache
+     */
+    public void clear() {
+        for (int i = 1; i < slots.length(); i += 2) {
+            slots.set(i, 0);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Compacte un code ISO de deux lettres majuscules (ou UNKNOWN) sur 16 bits
+     * @return Code compacté, ou {@link #NONE} si le code n'est pas stockable
+     */
+    public static short pack(String countryCode) {
+        if (UNKNOWN.equals(countryCode)) {
+            return UNKNOWN_PACKED;
+        }
+        if (countryCode == null || countryCode.length() != 2) {
+            return NONE;
+        }
+        char first = countryCode.charAt(0);
+        char second = countryCode.charAt(1);
+        if (first < 'A' || first > 'Z' || second < 'A' || second > 'Z') {
+            return NONE;
+        }
+        return (short) ((first << 8) | second);
+    }
+
+    /**
+     * @return Code ISO partagé (aucune allocation) correspondant à un code compacté par {@link #pack(String)}
+     */
+    public static String unpack(short packed) {
+        int first = (packed >>> 8) & 0xFF;
+        int second = packed & 0xFF;
+        return CODES[(first - 'A') * 26 + (second - 'A')];
+    }
+
+    private static long generationBits(int generation) {
+        return ((long) generation << GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
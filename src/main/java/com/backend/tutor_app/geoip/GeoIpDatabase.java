@@ -0,0 +1,138 @@
+package com.backend.tutor_app.geoip;
+
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
+import com.maxmind.geoip2.DatabaseReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base MaxMind GeoIP2 ouverte une seule fois en mémoire mappée (hors tas, partagée via le cache de pages)
+ * et remplacée à chaud quand le fichier .mmdb change.
+ * Le remplacement est atomique : une recherche en cours garde l'ancien lecteur, qui n'est fermé qu'à la
+ * vérification suivante. Une nouvelle base doit être déposée par renommage (mv), jamais réécrite sur place :
+ * tronquer un fichier mappé invalide les lectures en cours.
+ * Chaque chargement incrémente une génération, publiée après le lecteur : un résultat obtenu avec le lecteur lu
+ * APRÈS generation() est mémorisable sous cette génération sans risque de servir une base remplacée.
+ */
+@Slf4j
+public class GeoIpDatabase implements Closeable {
+
+    private final Path path;
+    private final int cacheSize;
+    private final boolean watched;
+    private final AtomicReference<DatabaseReader> reader = new AtomicReference<>();
+
+    private volatile int generation;
+    private DatabaseReader retired;
+    private FileTime loadedModifiedTime;
+    private long loadedSize = -1;
+
+    /**
+     * @param path Fichier .mmdb (null = géolocalisation désactivée)
+     * @param cacheSize Taille du cache de nœuds MaxMind
+     * @param watched true pour recharger la base quand le fichier change
+     */
+    public GeoIpDatabase(Path path, int cacheSize, boolean watched) {
+        this.path = path;
+        this.cacheSize = cacheSize;
+        this.watched = watched && path != null;
+        if (path != null) {
+            load();
+        }
+    }
+
+    public static GeoIpDatabase disabled() {
+        return new GeoIpDatabase(null, 0, false);
+    }
+
+    /**
+     * @return Lecteur courant, ou null si aucune base n'est chargée (mode fallback)
+     */
+    public DatabaseReader current() {
+        return reader.get();
+    }
+
+    /**
+     * Génération de la base, incrémentée à chaque (re)chargement ; à lire avant {@link #current()}
+     */
+    public int generation() {
+        return generation;
+    }
+
+    /**
+     * Ferme le lecteur remplacé lors du passage précédent, puis recharge la base si le fichier a changé
+     */
+    @Scheduled(fixedDelayString = "${app.geoip.reload-check-ms:60000}", initialDelayString = "${app.geoip.reload-check-ms:60000}")
+    public synchronized void reloadIfChanged() {
+        closeRetired();
+        if (!watched) {
+            return;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            log.warn("⚠️ Base GeoIP inaccessible ({}), lecteur courant conservé", path);
+            return;
+        }
+        if (attributes.lastModifiedTime().equals(loadedModifiedTime) && attributes.size() == loadedSize) {
+            return;
+        }
+        load();
+    }
+
+    @Override
+    public synchronized void close() {
+        closeRetired();
+        retired = reader.getAndSet(null);
+        if (retired != null) {
+            log.info("🔒 Fermeture de MaxMind GeoIP2 DatabaseReader...");
+        }
+        closeRetired();
+    }
+
+    private void load() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            DatabaseReader fresh = new DatabaseReader.Builder(path.toFile())
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache(cacheSize))
+                .build();
+            DatabaseReader previous = reader.getAndSet(fresh);
+            // Après le lecteur : une génération lue à jour garantit la lecture du nouveau lecteur
+            generation++;
+            if (previous != null) {
+                closeRetired();
+                retired = previous;
+            }
+            loadedModifiedTime = attributes.lastModifiedTime();
+            loadedSize = attributes.size();
+            log.info("✅ Base GeoIP {} (mémoire mappée) - Type: {}, Build: {}",
+                previous == null ? "chargée" : "rechargée", fresh.getMetadata().getDatabaseType(), fresh.getMetadata().getBuildDate());
+        } catch (IOException e) {
+            // Fichier absent, en cours de copie ou corrompu : nouvelle tentative à la vérification suivante
+            log.error("❌ Ouverture de la base GeoIP impossible ({}): {}", path, e.getMessage());
+        }
+    }
+
+    private void closeRetired() {
+        if (retired == null) {
+            return;
+        }
+        try {
+            retired.close();
+        } catch (IOException e) {
+            log.error("❌ Erreur lors de la fermeture de DatabaseReader: {}", e.getMessage());
+        }
+        retired = null;
+    }
+}
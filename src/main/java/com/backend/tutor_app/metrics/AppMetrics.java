@@ -0,0 +1,97 @@
+package com.backend.tutor_app.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métriques applicatives (Micrometer, exposées en Prometheus sur /actuator/prometheus)
+ * Chemins critiques de l'authentification, des jetons, des notifications et de la limitation de débit.
+ * Les étiquettes ne prennent que des valeurs bornées (issue, action, niveau de risque) : jamais d'email, d'IP ou d'id.
+ * Les tailles de caches et de sessions sont des jauges déclarées par les services qui les détiennent (MeterBinder).
+ */
+@Component
+public class AppMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+
+    private final MeterRegistry registry;
+    private final Counter blacklistHits;
+    private final Counter revokedTokenReuse;
+
+    public AppMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.blacklistHits = Counter.builder("tutorapp.ratelimit.blacklist.hits")
+            .description("Accès refusés à une clé (IP ou utilisateur) en liste noire")
+            .register(registry);
+        this.revokedTokenReuse = Counter.builder("tutorapp.token.revoked.reuse")
+            .description("Refresh tokens révoqués présentés à nouveau (vol de session probable)")
+            .register(registry);
+    }
+
+    // ==================== CHRONOMÈTRES ====================
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void recordLogin(Timer.Sample sample, String outcome) {
+        sample.stop(latencyTimer("tutorapp.auth.login", "Durée des connexions").tag("outcome", outcome).register(registry));
+    }
+
+    public void recordRefresh(Timer.Sample sample, String outcome) {
+        sample.stop(latencyTimer("tutorapp.auth.refresh", "Durée des rafraîchissements de jeton").tag("outcome", outcome).register(registry));
+    }
+
+    public void recordSecurityCheck(Timer.Sample sample, String riskLevel) {
+        sample.stop(latencyTimer("tutorapp.security.check", "Durée des vérifications de sécurité du rafraîchissement")
+            .tag("risk", riskLevel).register(registry));
+    }
+
+    /**
+     * Chronomètre un envoi d'email (type : simple, html, attachment) et relance l'éventuelle exception
+     */
+    public void timeEmailSend(String kind, Runnable send) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = OUTCOME_FAILURE;
+        try {
+            send.run();
+            outcome = OUTCOME_SUCCESS;
+        } finally {
+            sample.stop(Timer.builder("tutorapp.email.send")
+                .description("Durée des envois SMTP")
+                .tag("kind", kind)
+                .tag("outcome", outcome)
+                .register(registry));
+        }
+    }
+
+    // ==================== COMPTEURS ====================
+
+    public void rateLimitRejected(String action) {
+        registry.counter("tutorapp.ratelimit.rejections", "action", action == null ? "unknown" : action).increment();
+    }
+
+    public void blacklistHit() {
+        blacklistHits.increment();
+    }
+
+    public void revokedTokenReused() {
+        revokedTokenReuse.increment();
+    }
+
+    public void websocketPush(String outcome) {
+        registry.counter("tutorapp.websocket.pushes", "outcome", outcome).increment();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Histogramme publié : percentiles (p99…) calculés côté Prometheus et agrégeables entre instances
+     */
+    private static Timer.Builder latencyTimer(String name, String description) {
+        return Timer.builder(name).description(description).publishPercentileHistogram();
+    }
+}
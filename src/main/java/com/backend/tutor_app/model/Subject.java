@@ -1,6 +1,7 @@
 package com.backend.tutor_app.model;
 
 import com.backend.tutor_app.model.enums.SubjectCategory;
+import com.backend.tutor_app.model.tutor.TutorSearchEntityListener;
 import com.backend.tutor_app.model.tutor.TutorSubject;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -16,6 +17,7 @@ import java.util.Set;
 @Setter
 @Getter
 @Entity
+@EntityListeners(TutorSearchEntityListener.class)
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,6 +12,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -21,6 +22,11 @@ import java.util.Set;
 
 @Getter @Setter
 @Entity
+@EntityListeners(TutorSearchEntityListener.class)
+@Table(name = "tutor", indexes = {
+    // Filtres de la recherche de tuteurs : disponibilité + note minimale, tri par note
+    @Index(name = "idx_tutor_available_rating", columnList = "is_available, average_rating")
+})
 @DiscriminatorValue("TUTOR")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,15 +48,43 @@ public class Tutor extends Utilisateur {
     @Column(name = "verification_status", length = 20)
     private VerificationStatus verificationStatus = VerificationStatus.PENDING;
 
-    @Column(name = "average_rating")
+    // Agrégats des avis maintenus par TutorRatingService (UPDATE atomique à chaque écriture de TutorReview) :
+    // jamais écrits par le flush de l'entité, une modification concurrente du profil ne peut pas écraser un delta
+    @Column(name = "average_rating", insertable = false, updatable = false)
+    @ColumnDefault("0")
     @DecimalMin(value = "0.0")
     @DecimalMax(value = "5.0")
     private Double averageRating = 0.0;
 
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", insertable = false, updatable = false)
+    @ColumnDefault("0")
     @Min(value = 0)
     private Integer totalReviews = 0;
 
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_1_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating1Count = 0;
+
+    @Column(name = "rating_2_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating2Count = 0;
+
+    @Column(name = "rating_3_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating3Count = 0;
+
+    @Column(name = "rating_4_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating4Count = 0;
+
+    @Column(name = "rating_5_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer rating5Count = 0;
+
     @Column(name = "total_lessons")
     @Min(value = 0)
     private Integer totalLessons = 0;
@@ -115,31 +149,11 @@ public class Tutor extends Utilisateur {
     @ManyToMany(mappedBy = "favoriteTutors", fetch = FetchType.LAZY)
     private Set<Student> favoriteByStudents = new HashSet<>();
 
-    public void updateRating(double newRating) {
-        if (totalReviews == 0) {
-            averageRating = newRating;
-            totalReviews = 1;
-        } else {
-            double totalScore = averageRating * totalReviews;
-            totalReviews++;
-            averageRating = (totalScore + newRating) / totalReviews;
-        }
-    }
+    // Valeurs des champs indexés dans tutor_search au chargement (cf. TutorSearchEntityListener)
+    @Transient
+    private List<Object> searchSnapshot;
 
     // Méthodes utilitaires
-    public void updateAverageRating() {
-        if (reviews.isEmpty()) {
-            this.averageRating = 0.0;
-            this.totalReviews = 0;
-        } else {
-            this.averageRating = reviews.stream()
-                    .mapToInt(TutorReview::getRating)
-                    .average()
-                    .orElse(0.0);
-            this.totalReviews = reviews.size();
-        }
-    }
-
     public List<Subject> getSubjects() {
         return tutorSubjects.stream()
                 .map(TutorSubject::getSubject)
@@ -2,6 +2,7 @@ package com.backend.tutor_app.model;
 
 import com.backend.tutor_app.model.enums.Role;
 import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.model.stats.RegistrationStatsListener;
 import com.backend.tutor_app.model.support.EmailVerificationToken;
 import com.backend.tutor_app.model.support.PasswordResetToken;
 import com.backend.tutor_app.model.support.RefreshToken;
@@ -32,6 +33,7 @@ import java.util.List;
 @SuperBuilder
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "user_type")
+@EntityListeners(RegistrationStatsListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Utilisateur extends AbstractEntiity implements UserDetails {
@@ -68,6 +70,15 @@ public class Utilisateur extends AbstractEntiity implements UserDetails {
     @Column(nullable = false, length = 30)
     private UserStatus status = UserStatus.PENDING_VERIFICATION;
 
+    /**
+     * Rôle et statut tels que chargés, pour déplacer l'utilisateur entre compteurs d'inscriptions (cf. RegistrationStatsListener)
+     */
+    @Transient
+    private Role persistedRole;
+
+    @Transient
+    private UserStatus persistedStatus;
+
     @Column(name = "email_verified", nullable = false)
     private Boolean emailVerified = false;
 
@@ -0,0 +1,20 @@
+package com.backend.tutor_app.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Formats d'export des logs d'audit
+ */
+@Getter
+public enum AuditExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    AuditExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.tutor_app.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Déclinaisons redimensionnées générées pour les photos de profil (carrés de {@code size} pixels)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    /**
+     * Vignette des listes (résultats de recherche, notifications)
+     */
+    THUMBNAIL("thumb", 64),
+
+    /**
+     * Cartes tuteurs, commentaires
+     */
+    SMALL("small", 160),
+
+    /**
+     * Page de profil - variante enregistrée dans Utilisateur.profilePicture
+     */
+    MEDIUM("medium", 320);
+
+    /**
+     * Les variantes sont toujours encodées en JPEG : {base}_{suffix}.jpg
+     */
+    public static final String EXTENSION = ".jpg";
+
+    private final String suffix;
+    private final int size;
+
+    /**
+     * Dérive l'URL (ou le nom de fichier) de cette variante à partir de celle d'une autre variante
+     * @return URL de la variante, ou imageUrl si la photo est antérieure au pipeline d'images (pas de variantes)
+     */
+    public String from(String imageUrl) {
+        String baseName = baseName(imageUrl);
+        return baseName == null ? imageUrl : baseName + "_" + suffix + EXTENSION;
+    }
+
+    /**
+     * @return Partie commune aux variantes ({base} de {base}_{suffix}.jpg), ou null si imageUrl n'est pas une variante
+     */
+    public static String baseName(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        for (ImageVariant variant : values()) {
+            String variantSuffix = "_" + variant.suffix + EXTENSION;
+            if (imageUrl.endsWith(variantSuffix)) {
+                return imageUrl.substring(0, imageUrl.length() - variantSuffix.length());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.backend.tutor_app.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Granularité des séries temporelles du tableau de bord
+ */
+@Getter
+public enum StatsGranularity {
+    DAY("Jour"),
+    WEEK("Semaine"),
+    MONTH("Mois");
+
+    private final String displayName;
+
+    StatsGranularity(String displayName) {
+        this.displayName = displayName;
+    }
+}
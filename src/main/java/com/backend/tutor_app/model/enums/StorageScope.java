@@ -0,0 +1,16 @@
+package com.backend.tutor_app.model.enums;
+
+/**
+ * Périmètres des compteurs de stockage maintenus incrémentalement
+ */
+public enum StorageScope {
+    /**
+     * Fichiers logiques exposés dans les URLs (FileReference) - un contenu dédupliqué compte plusieurs fois
+     */
+    LOGICAL,
+
+    /**
+     * Fichiers réellement présents sur disque (blobs et fichiers historiques)
+     */
+    PHYSICAL
+}
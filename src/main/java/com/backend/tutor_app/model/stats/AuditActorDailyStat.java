@@ -0,0 +1,39 @@
+package com.backend.tutor_app.model.stats;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+/**
+ * Nombre d'événements d'audit par jour et par acteur (utilisateurs / administrateurs les plus actifs)
+ */
+@Getter @Setter
+@Entity
+@Table(name = "audit_actor_daily_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uk_audit_actor_daily_stats", columnNames = {"stat_day", "actor_type", "actor_id"}))
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditActorDailyStat extends AbstractEntiity {
+
+    public static final String ACTOR_USER = "USER";
+    public static final String ACTOR_ADMIN = "ADMIN";
+
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate statDay;
+
+    @Column(name = "actor_type", nullable = false, length = 10)
+    private String actorType;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount = 0L;
+}
@@ -0,0 +1,54 @@
+package com.backend.tutor_app.model.stats;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import com.backend.tutor_app.model.enums.AuditAction;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+/**
+ * Compteur d'audit par jour, action et sévérité, maintenu par le thread d'écriture de l'audit.
+ * Les temps d'exécution ne portent que sur les événements chronométrés (timedCount).
+ */
+@Getter @Setter
+@Entity
+@Table(name = "audit_daily_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uk_audit_daily_stats", columnNames = {"stat_day", "action", "severity_level"}))
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditDailyStat extends AbstractEntiity {
+
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate statDay;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private AuditAction action;
+
+    @Column(name = "severity_level", nullable = false)
+    private Integer severityLevel;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount = 0L;
+
+    @Column(name = "failure_count", nullable = false)
+    private Long failureCount = 0L;
+
+    @Column(name = "timed_count", nullable = false)
+    private Long timedCount = 0L;
+
+    @Column(name = "slow_count", nullable = false)
+    private Long slowCount = 0L;
+
+    @Column(name = "total_execution_ms", nullable = false)
+    private Long totalExecutionMs = 0L;
+
+    @Column(name = "max_execution_ms", nullable = false)
+    private Long maxExecutionMs = 0L;
+}
@@ -0,0 +1,39 @@
+package com.backend.tutor_app.model.stats;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import com.backend.tutor_app.model.enums.AuditAction;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compteur d'audit par minute et par action, maintenu par le thread d'écriture de l'audit (pics d'activité).
+ * Conservé quelques jours seulement (app.audit.minute-rollup-retention-days).
+ */
+@Getter @Setter
+@Entity
+@Table(name = "audit_minute_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uk_audit_minute_stats", columnNames = {"bucket_minute", "action"}))
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditMinuteStat extends AbstractEntiity {
+
+    @Column(name = "bucket_minute", nullable = false)
+    private LocalDateTime bucketMinute;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private AuditAction action;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount = 0L;
+
+    @Column(name = "failure_count", nullable = false)
+    private Long failureCount = 0L;
+}
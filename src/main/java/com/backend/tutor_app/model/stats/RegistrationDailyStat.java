@@ -0,0 +1,41 @@
+package com.backend.tutor_app.model.stats;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.UserStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+/**
+ * Compteur journalier des inscriptions : utilisateurs inscrits ce jour-là, par rôle et statut actuel.
+ * Maintenu par delta à chaque création / changement de statut ou de rôle / suppression, recalé par reconstruction.
+ */
+@Getter @Setter
+@Entity
+@Table(name = "registration_daily_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uk_registration_daily_stats", columnNames = {"stat_day", "role", "status"}))
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationDailyStat extends AbstractEntiity {
+
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate statDay;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Role role;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private UserStatus status;
+
+    @Column(name = "user_count", nullable = false)
+    private Long userCount = 0L;
+}
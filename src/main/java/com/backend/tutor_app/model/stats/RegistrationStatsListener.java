@@ -0,0 +1,72 @@
+package com.backend.tutor_app.model.stats;
+
+import com.backend.tutor_app.model.Utilisateur;
+import com.backend.tutor_app.services.RegistrationStatsService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Listener JPA d'Utilisateur : transmet création, changement de rôle / statut et suppression à RegistrationStatsService
+ * Le rôle et le statut chargés sont mémorisés pour retirer l'utilisateur de son ancien compteur.
+ */
+@Component
+public class RegistrationStatsListener {
+
+    private final ObjectProvider<RegistrationStatsService> registrationStatsService;
+
+    public RegistrationStatsListener(ObjectProvider<RegistrationStatsService> registrationStatsService) {
+        this.registrationStatsService = registrationStatsService;
+    }
+
+    @PostLoad
+    public void onLoad(Utilisateur utilisateur) {
+        remember(utilisateur);
+    }
+
+    @PostPersist
+    public void onPersist(Utilisateur utilisateur) {
+        RegistrationStatsService statsService = registrationStatsService.getIfAvailable();
+        if (statsService != null) {
+            statsService.recordTransition(registrationDayOf(utilisateur), null, null, utilisateur.getRole(), utilisateur.getStatus());
+        }
+        remember(utilisateur);
+    }
+
+    @PostUpdate
+    public void onUpdate(Utilisateur utilisateur) {
+        RegistrationStatsService statsService = registrationStatsService.getIfAvailable();
+        if (statsService != null && (utilisateur.getPersistedRole() != utilisateur.getRole()
+                || utilisateur.getPersistedStatus() != utilisateur.getStatus())) {
+            statsService.recordTransition(registrationDayOf(utilisateur),
+                utilisateur.getPersistedRole(), utilisateur.getPersistedStatus(),
+                utilisateur.getRole(), utilisateur.getStatus());
+        }
+        remember(utilisateur);
+    }
+
+    @PostRemove
+    public void onRemove(Utilisateur utilisateur) {
+        RegistrationStatsService statsService = registrationStatsService.getIfAvailable();
+        if (statsService != null) {
+            statsService.recordTransition(registrationDayOf(utilisateur),
+                utilisateur.getPersistedRole() != null ? utilisateur.getPersistedRole() : utilisateur.getRole(),
+                utilisateur.getPersistedStatus() != null ? utilisateur.getPersistedStatus() : utilisateur.getStatus(),
+                null, null);
+        }
+    }
+
+    private void remember(Utilisateur utilisateur) {
+        utilisateur.setPersistedRole(utilisateur.getRole());
+        utilisateur.setPersistedStatus(utilisateur.getStatus());
+    }
+
+    private LocalDate registrationDayOf(Utilisateur utilisateur) {
+        return utilisateur.getCreatedAt() != null ? utilisateur.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.tutor_app.model.storage;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contenu physique d'un fichier uploadé, stocké une seule fois sous son empreinte SHA-256
+ * (blobs/ab/cd/abcd...). Plusieurs FileReference peuvent pointer vers le même blob.
+ */
+@Getter @Setter
+@Entity
+@Table(name = "file_blobs", indexes = {
+    @Index(name = "idx_file_blob_orphans", columnList = "reference_count, orphaned_at")
+})
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob extends AbstractEntiity {
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "storage_path", nullable = false, length = 100)
+    private String storagePath; // Chemin relatif à app.file.upload-dir
+
+    @Column(name = "reference_count", nullable = false)
+    private Integer referenceCount = 0;
+
+    @Column(name = "orphaned_at")
+    private LocalDateTime orphanedAt; // Date à laquelle le compteur est tombé à 0
+}
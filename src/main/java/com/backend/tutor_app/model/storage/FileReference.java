@@ -0,0 +1,33 @@
+package com.backend.tutor_app.model.storage;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Fichier logique (directory/fileName exposé dans les URLs) pointant vers un blob dédupliqué
+ */
+@Getter @Setter
+@Entity
+@Table(name = "file_references",
+    uniqueConstraints = @UniqueConstraint(name = "uk_file_reference_path", columnNames = {"directory", "file_name"}),
+    indexes = @Index(name = "idx_file_reference_blob", columnList = "blob_id"))
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileReference extends AbstractEntiity {
+
+    @Column(nullable = false, length = 255)
+    private String directory;
+
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id", nullable = false)
+    private FileBlob blob;
+}
@@ -0,0 +1,38 @@
+package com.backend.tutor_app.model.storage;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import com.backend.tutor_app.model.enums.StorageScope;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compteur agrégé de l'espace de stockage : valeur consolidée des variations (StorageCounterDelta)
+ * enregistrées à chaque upload / suppression / copie, recalée périodiquement par un scan de réconciliation
+ */
+@Getter @Setter
+@Entity
+@Table(name = "storage_counters")
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageCounter extends AbstractEntiity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, unique = true, length = 20)
+    private StorageScope scope;
+
+    @Column(name = "file_count", nullable = false)
+    private Long fileCount = 0L;
+
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes = 0L;
+
+    @Column(name = "last_reconciled_at")
+    private LocalDateTime lastReconciledAt;
+}
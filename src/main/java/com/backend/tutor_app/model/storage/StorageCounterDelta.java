@@ -0,0 +1,40 @@
+package com.backend.tutor_app.model.storage;
+
+import com.backend.tutor_app.model.enums.StorageScope;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variation d'un compteur de stockage, insérée à chaque upload / suppression / copie.
+ * Table en ajout seul : les écritures concurrentes ne se disputent aucune ligne.
+ * Les variations sont reportées dans storage_counters puis supprimées par le job de consolidation.
+ */
+@Getter @Setter
+@Entity
+@Table(name = "storage_counter_deltas", indexes = {
+    @Index(name = "idx_storage_delta_scope", columnList = "scope")
+})
+@NoArgsConstructor
+public class StorageCounterDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StorageScope scope;
+
+    @Column(name = "file_count", nullable = false)
+    private Long fileCount;
+
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
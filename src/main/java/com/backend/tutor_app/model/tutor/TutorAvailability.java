@@ -19,6 +19,7 @@ import java.util.Set;
 @Setter
 @Getter
 @Entity
+@EntityListeners(TutorSearchEntityListener.class)
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,6 +14,7 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @Setter
 @Entity
+@EntityListeners(TutorSearchEntityListener.class)
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
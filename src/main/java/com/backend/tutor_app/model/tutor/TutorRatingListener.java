@@ -0,0 +1,74 @@
+package com.backend.tutor_app.model.tutor;
+
+import com.backend.tutor_app.services.TutorRatingService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Listener JPA de TutorReview : transmet chaque écriture d'avis à TutorRatingService sous forme de delta
+ * L'état chargé (note, tuteur) est mémorisé au chargement pour calculer le delta d'une modification.
+ */
+@Component
+public class TutorRatingListener {
+
+    private final ObjectProvider<TutorRatingService> tutorRatingService;
+
+    public TutorRatingListener(ObjectProvider<TutorRatingService> tutorRatingService) {
+        this.tutorRatingService = tutorRatingService;
+    }
+
+    @PostLoad
+    public void onLoad(TutorReview review) {
+        remember(review);
+    }
+
+    @PostPersist
+    public void onPersist(TutorReview review) {
+        TutorRatingService ratingService = tutorRatingService.getIfAvailable();
+        if (ratingService != null && review.getRating() != null) {
+            ratingService.recordReviewAdded(tutorIdOf(review), review.getRating());
+        }
+        remember(review);
+    }
+
+    @PostUpdate
+    public void onUpdate(TutorReview review) {
+        TutorRatingService ratingService = tutorRatingService.getIfAvailable();
+        Long tutorId = tutorIdOf(review);
+        if (ratingService != null && (!Objects.equals(review.getPersistedRating(), review.getRating())
+                || !Objects.equals(review.getPersistedTutorId(), tutorId))) {
+            if (review.getPersistedRating() != null) {
+                ratingService.recordReviewRemoved(review.getPersistedTutorId(), review.getPersistedRating());
+            }
+            if (review.getRating() != null) {
+                ratingService.recordReviewAdded(tutorId, review.getRating());
+            }
+        }
+        remember(review);
+    }
+
+    @PostRemove
+    public void onRemove(TutorReview review) {
+        TutorRatingService ratingService = tutorRatingService.getIfAvailable();
+        Integer rating = review.getPersistedRating() != null ? review.getPersistedRating() : review.getRating();
+        Long tutorId = review.getPersistedTutorId() != null ? review.getPersistedTutorId() : tutorIdOf(review);
+        if (ratingService != null && rating != null) {
+            ratingService.recordReviewRemoved(tutorId, rating);
+        }
+    }
+
+    private void remember(TutorReview review) {
+        review.setPersistedRating(review.getRating());
+        review.setPersistedTutorId(tutorIdOf(review));
+    }
+
+    private Long tutorIdOf(TutorReview review) {
+        return review.getTutor() != null ? review.getTutor().getId() : null;
+    }
+}
@@ -14,6 +14,7 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @Getter
 @Entity
+@EntityListeners({TutorSearchEntityListener.class, TutorRatingListener.class})
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +45,13 @@ public class TutorReview extends AbstractEntiity {
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
+    // État chargé depuis la base : delta à appliquer aux agrégats du tuteur lors d'une modification
+    @Transient
+    private Integer persistedRating;
+
+    @Transient
+    private Long persistedTutorId;
+
 //    @ManyToOne(fetch = FetchType.LAZY)
 //    @JoinColumn(name = "lesson_id")
 //    private Lesson lesson; // Cours associé à l'avis
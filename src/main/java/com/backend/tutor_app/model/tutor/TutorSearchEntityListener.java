@@ -0,0 +1,104 @@
+package com.backend.tutor_app.model.tutor;
+
+import com.backend.tutor_app.model.Subject;
+import com.backend.tutor_app.model.Tutor;
+import com.backend.tutor_app.services.TutorSearchIndexService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Listener JPA alimentant le modèle de lecture tutor_search (cf. TutorSearchEntry)
+ * Instancié par Spring via le SpringBeanContainer d'Hibernate ; le service est résolu paresseusement
+ * pour ne pas créer de dépendance circulaire avec l'EntityManagerFactory.
+ * Les mises à jour en masse (JPQL UPDATE/DELETE) ne passent pas par ici : la reconstruction planifiée les rattrape.
+ */
+@Component
+public class TutorSearchEntityListener {
+
+    private final ObjectProvider<TutorSearchIndexService> tutorSearchIndexService;
+
+    public TutorSearchEntityListener(ObjectProvider<TutorSearchIndexService> tutorSearchIndexService) {
+        this.tutorSearchIndexService = tutorSearchIndexService;
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Tutor tutor) {
+            tutor.setSearchSnapshot(indexedState(tutor));
+        }
+    }
+
+    /**
+     * Un tuteur n'est réindexé que si un champ repris dans tutor_search a changé (pas pour lastLogin, par ex.)
+     */
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Tutor tutor) {
+            List<Object> state = indexedState(tutor);
+            if (state.equals(tutor.getSearchSnapshot())) {
+                return;
+            }
+            tutor.setSearchSnapshot(state);
+        }
+        onChange(entity);
+    }
+
+    @PostPersist
+    @PostRemove
+    public void onChange(Object entity) {
+        TutorSearchIndexService indexService = tutorSearchIndexService.getIfAvailable();
+        if (indexService == null) {
+            return;
+        }
+        if (entity instanceof Subject subject) {
+            indexService.markSubjectDirty(subject.getId());
+            return;
+        }
+        Long tutorId = tutorIdOf(entity);
+        if (tutorId != null) {
+            indexService.markTutorDirty(tutorId);
+        }
+    }
+
+    /**
+     * Champs du tuteur recopiés dans tutor_search ou lus par la recherche textuelle (bio)
+     */
+    private static List<Object> indexedState(Tutor tutor) {
+        return Arrays.asList(
+            tutor.getFirstName(),
+            tutor.getLastName(),
+            tutor.getProfilePicture(),
+            tutor.getLocation(),
+            tutor.getStatus(),
+            tutor.getIsAvailable(),
+            tutor.getExperienceYears(),
+            tutor.getHourlyRate(),
+            tutor.getAverageRating(),
+            tutor.getTotalReviews(),
+            tutor.getBio());
+    }
+
+    private Long tutorIdOf(Object entity) {
+        Tutor tutor = null;
+        if (entity instanceof Tutor t) {
+            tutor = t;
+        } else if (entity instanceof TutorSubject ts) {
+            tutor = ts.getTutor();
+        } else if (entity instanceof TutorAvailability ta) {
+            tutor = ta.getTutor();
+        } else if (entity instanceof TutorLanguage tl) {
+            tutor = tl.getTutor();
+        } else if (entity instanceof TutorReview tr) {
+            tutor = tr.getTutor();
+        }
+        // getId() sur un proxy paresseux ne déclenche aucun chargement
+        return tutor != null ? tutor.getId() : null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.backend.tutor_app.model.tutor;
+
+import com.backend.tutor_app.model.AbstractEntiity;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.utils.WeeklySlots;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Modèle de lecture dénormalisé de la recherche de tuteurs : une ligne par couple tuteur-matière
+ * (une ligne sans matière pour un tuteur qui n'en propose aucune).
+ * Jamais modifié directement : reconstruit par tuteur à chaque changement de Tutor, TutorSubject,
+ * TutorAvailability, TutorLanguage ou TutorReview (cf. TutorSearchEntityListener).
+ */
+@Getter @Setter
+@Entity
+@Table(name = "tutor_search", indexes = {
+    @Index(name = "idx_tutor_search_subject_rate", columnList = "subject_code, hourly_rate"),
+    @Index(name = "idx_tutor_search_rating", columnList = "average_rating, tutor_id"),
+    @Index(name = "idx_tutor_search_tutor", columnList = "tutor_id"),
+    @Index(name = "idx_tutor_search_subject_id", columnList = "subject_id")
+})
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorSearchEntry extends AbstractEntiity {
+
+    @Column(name = "tutor_id", nullable = false)
+    private Long tutorId;
+
+    @Column(name = "tutor_subject_id", unique = true)
+    private Long tutorSubjectId;
+
+    // ==================== MATIÈRE ====================
+
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Column(name = "subject_code")
+    private String subjectCode;
+
+    @Column(name = "subject_name")
+    private String subjectName;
+
+    @Column(name = "hourly_rate", precision = 10, scale = 2)
+    private BigDecimal hourlyRate; // Tarif de la matière (à défaut, tarif général du tuteur)
+
+    @Column(name = "levels_mask", nullable = false)
+    private Integer levelsMask = 0; // Bit n = EducationLevel d'ordinal n
+
+    // ==================== TUTEUR ====================
+
+    @Column(name = "first_name", length = 50)
+    private String firstName;
+
+    @Column(name = "last_name", length = 50)
+    private String lastName;
+
+    // Variante SMALL (160 px) de la photo de profil
+    @Column(name = "profile_picture")
+    private String profilePicture;
+
+    @Column(name = "location", length = 100)
+    private String location;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private UserStatus status;
+
+    @Column(name = "is_available", nullable = false)
+    private Boolean isAvailable = true;
+
+    @Column(name = "experience_years")
+    private Integer experienceYears;
+
+    @Column(name = "average_rating", nullable = false)
+    private Double averageRating = 0.0;
+
+    @Column(name = "total_reviews", nullable = false)
+    private Integer totalReviews = 0;
+
+    @Column(name = "languages")
+    private String languages; // Codes séparés par des virgules : "fr,en"
+
+    @Column(name = "availability_days", nullable = false)
+    private Integer availabilityDays = 0; // Bit n = DayOfWeek d'ordinal n (lundi = 0) avec au moins un créneau
+
+    @Column(name = "availability_slots", length = WeeklySlots.BYTES)
+    private byte[] availabilitySlots; // Créneaux ouverts pour cette matière, en UTC (cf. WeeklySlots)
+}
@@ -16,6 +16,12 @@ import java.util.Set;
 
 @Setter @Getter
 @Entity
+@EntityListeners(TutorSearchEntityListener.class)
+@Table(name = "tutor_subject", indexes = {
+    // EXISTS de la recherche : matière puis tranche de tarif, tutor_id couvert
+    @Index(name = "idx_tutor_subject_subject_rate", columnList = "subject_id, hourly_rate, tutor_id"),
+    @Index(name = "idx_tutor_subject_tutor", columnList = "tutor_id")
+})
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +32,9 @@ public class TutorSubject extends AbstractEntiity {
 
     @ElementCollection
     @Enumerated(EnumType.STRING)
-    @CollectionTable(name = "tutor_subject_levels")
+    @CollectionTable(name = "tutor_subject_levels", indexes = {
+        @Index(name = "idx_tutor_subject_levels_level", columnList = "levels, tutor_subject_id")
+    })
     private Set<EducationLevel> levels; // Niveaux enseignés pour cette matière
 
     @Column(name = "years_experience")
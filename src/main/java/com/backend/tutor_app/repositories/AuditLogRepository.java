@@ -2,23 +2,30 @@ package com.backend.tutor_app.repositories;
 
 import com.backend.tutor_app.model.AuditLog;
 import com.backend.tutor_app.model.enums.AuditAction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository pour la gestion des logs d'audit
+ * audit_logs est partitionnée par mois sur timestamp (cf. AuditPartitionServiceImpl) : filtrer sur timestamp
+ * limite la lecture aux partitions concernées ; la rétention se fait par partition, jamais par DELETE.
  */
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     /**
      * Trouve les logs par action avec pagination
      */
@@ -86,14 +93,47 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     );
 
     /**
-     * Statistiques des actions par mois
-     * Note: Cette requête utilise des fonctions natives SQL (YEAR, MONTH), donc on utilise nativeQuery=true
+     * Mêmes filtres que findWithFilters, en flux ordonné par date pour l'export
+     * Curseur côté serveur (PostgreSQL : uniquement dans une transaction) lu par paquets de EXPORT_FETCH_SIZE lignes ;
+     * entités en lecture seule, à détacher au fil de l'eau par l'appelant. Le flux doit être fermé.
      */
-    @Query(value = "SELECT YEAR(timestamp) as year, MONTH(timestamp) as month, COUNT(*) as count " +
-           "FROM audit_log " +
-           "WHERE timestamp >= :startDate " +
-           "GROUP BY YEAR(timestamp), MONTH(timestamp) " +
-           "ORDER BY year DESC, month DESC", 
+    @Query("SELECT al FROM AuditLog al WHERE " +
+           "(:action IS NULL OR al.action = :action) AND " +
+           "(:userId IS NULL OR al.userId = :userId) AND " +
+           "(:adminId IS NULL OR al.adminId = :adminId) AND " +
+           "(:entityType IS NULL OR al.entityType = :entityType) AND " +
+           "(:entityId IS NULL OR al.entityId = :entityId) AND " +
+           "(:severityLevel IS NULL OR al.severityLevel >= :severityLevel) AND " +
+           "(:success IS NULL OR al.success = :success) AND " +
+           "(:startDate IS NULL OR al.timestamp >= :startDate) AND " +
+           "(:endDate IS NULL OR al.timestamp <= :endDate) " +
+           "ORDER BY al.timestamp ASC, al.id ASC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<AuditLog> streamWithFilters(
+        @Param("action") AuditAction action,
+        @Param("userId") Long userId,
+        @Param("adminId") Long adminId,
+        @Param("entityType") String entityType,
+        @Param("entityId") Long entityId,
+        @Param("severityLevel") Integer severityLevel,
+        @Param("success") Boolean success,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+
+    /**
+     * Statistiques des actions par mois, sur les lignes brutes (PostgreSQL) ; préférer AuditStatsRepository.countByMonth
+     */
+    @Query(value = "SELECT CAST(EXTRACT(YEAR FROM \"timestamp\") AS integer) AS year, " +
+           "CAST(EXTRACT(MONTH FROM \"timestamp\") AS integer) AS month, COUNT(*) AS count " +
+           "FROM audit_logs " +
+           "WHERE \"timestamp\" >= :startDate " +
+           "GROUP BY 1, 2 " +
+           "ORDER BY 1 DESC, 2 DESC",
            nativeQuery = true)
     List<Object[]> getActionStatsByMonth(@Param("startDate") LocalDateTime startDate);
 
@@ -172,35 +212,37 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findSlowOperations(@Param("thresholdMs") Long thresholdMs, Pageable pageable);
 
     /**
-     * Nettoie les anciens logs (pour maintenance)
-     * Note: @Modifying est requis pour les requêtes DELETE/UPDATE
+     * Compte les logs par jour pour les graphiques, sur les lignes brutes (PostgreSQL)
      */
-    @Modifying
-    @Query("DELETE FROM AuditLog al WHERE al.timestamp < :cutoffDate AND al.severityLevel < 3")
-    void deleteOldLogs(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query(value = "SELECT CAST(\"timestamp\" AS date) AS log_date, COUNT(*) AS count " +
+           "FROM audit_logs " +
+           "WHERE \"timestamp\" >= :startDate " +
+           "GROUP BY 1 " +
+           "ORDER BY 1 DESC",
+           nativeQuery = true)
+    List<Object[]> getLogCountsByDay(@Param("startDate") LocalDateTime startDate);
 
     /**
-     * Compte les logs par jour pour les graphiques
-     * Note: Cette requête utilise une fonction native SQL, donc on utilise nativeQuery=true
+     * Trouve les pics d'activité (plus de X actions par minute), sur les lignes brutes (PostgreSQL)
      */
-    @Query(value = "SELECT DATE(timestamp) as logDate, COUNT(*) as count " +
-           "FROM audit_log " +
-           "WHERE timestamp >= :startDate " +
-           "GROUP BY DATE(timestamp) " +
-           "ORDER BY logDate DESC", 
+    @Query(value = "SELECT date_trunc('minute', \"timestamp\") AS minute, COUNT(*) AS count " +
+           "FROM audit_logs " +
+           "WHERE \"timestamp\" >= :startDate " +
+           "GROUP BY 1 " +
+           "HAVING COUNT(*) > :threshold " +
+           "ORDER BY 2 DESC",
            nativeQuery = true)
-    List<Object[]> getLogCountsByDay(@Param("startDate") LocalDateTime startDate);
+    List<Object[]> findActivitySpikes(@Param("startDate") LocalDateTime startDate, @Param("threshold") Long threshold);
 
     /**
-     * Trouve les pics d'activité (plus de X actions par minute)
-     * Note: Cette requête utilise une fonction native SQL, donc on utilise nativeQuery=true
+     * Détail minute par minute et par action d'une fenêtre bornée (PostgreSQL) : seules les partitions de la fenêtre sont lues
      */
-    @Query(value = "SELECT DATE_FORMAT(timestamp, '%Y-%m-%d %H:%i') as minute, COUNT(*) as count " +
-           "FROM audit_log " +
-           "WHERE timestamp >= :startDate " +
-           "GROUP BY DATE_FORMAT(timestamp, '%Y-%m-%d %H:%i') " +
-           "HAVING count > :threshold " +
-           "ORDER BY count DESC", 
+    @Query(value = "SELECT date_trunc('minute', \"timestamp\") AS minute, action, COUNT(*) AS count, " +
+           "COUNT(*) FILTER (WHERE success = false) AS failures " +
+           "FROM audit_logs " +
+           "WHERE \"timestamp\" >= :startDate AND \"timestamp\" < :endDate " +
+           "GROUP BY 1, 2 " +
+           "ORDER BY 1, 2",
            nativeQuery = true)
-    List<Object[]> findActivitySpikes(@Param("startDate") LocalDateTime startDate, @Param("threshold") Long threshold);
+    List<Object[]> findActivityByMinute(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
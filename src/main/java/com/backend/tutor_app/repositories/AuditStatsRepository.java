@@ -0,0 +1,51 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.model.stats.AuditDailyStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lectures des agrégats d'audit (audit_daily_stats, audit_minute_stats, audit_actor_daily_stats).
+ * Quelques centaines de lignes par jour au plus, quel que soit le volume de audit_logs.
+ */
+@Repository
+public interface AuditStatsRepository extends JpaRepository<AuditDailyStat, Long> {
+
+    @Query("SELECT s.action, SUM(s.eventCount) FROM AuditDailyStat s WHERE s.statDay >= :from " +
+           "GROUP BY s.action ORDER BY SUM(s.eventCount) DESC")
+    List<Object[]> countByAction(@Param("from") LocalDate from);
+
+    @Query("SELECT s.severityLevel, SUM(s.eventCount) FROM AuditDailyStat s WHERE s.statDay >= :from " +
+           "GROUP BY s.severityLevel ORDER BY s.severityLevel")
+    List<Object[]> countBySeverity(@Param("from") LocalDate from);
+
+    @Query("SELECT YEAR(s.statDay), MONTH(s.statDay), SUM(s.eventCount) FROM AuditDailyStat s WHERE s.statDay >= :from " +
+           "GROUP BY YEAR(s.statDay), MONTH(s.statDay) ORDER BY YEAR(s.statDay) DESC, MONTH(s.statDay) DESC")
+    List<Object[]> countByMonth(@Param("from") LocalDate from);
+
+    /**
+     * Par action : opérations lentes, temps maximal, temps cumulé et nombre d'opérations chronométrées
+     */
+    @Query("SELECT s.action, SUM(s.slowCount), MAX(s.maxExecutionMs), SUM(s.totalExecutionMs), SUM(s.timedCount) " +
+           "FROM AuditDailyStat s WHERE s.statDay >= :from " +
+           "GROUP BY s.action HAVING SUM(s.slowCount) > 0 ORDER BY SUM(s.slowCount) DESC")
+    List<Object[]> findSlowActions(@Param("from") LocalDate from, Pageable pageable);
+
+    @Query("SELECT m.bucketMinute, SUM(m.eventCount) FROM AuditMinuteStat m WHERE m.bucketMinute >= :since " +
+           "GROUP BY m.bucketMinute HAVING SUM(m.eventCount) > :threshold ORDER BY SUM(m.eventCount) DESC")
+    List<Object[]> findActivitySpikes(@Param("since") LocalDateTime since, @Param("threshold") Long threshold, Pageable pageable);
+
+    /**
+     * @param actorType AuditActorDailyStat.ACTOR_USER ou ACTOR_ADMIN
+     */
+    @Query("SELECT a.actorId, SUM(a.eventCount) FROM AuditActorDailyStat a WHERE a.actorType = :actorType AND a.statDay >= :from " +
+           "GROUP BY a.actorId ORDER BY SUM(a.eventCount) DESC")
+    List<Object[]> findMostActiveActors(@Param("actorType") String actorType, @Param("from") LocalDate from, Pageable pageable);
+}
@@ -0,0 +1,74 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.model.storage.FileBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, Long> {
+
+    /**
+     * Trouve un blob par son empreinte SHA-256
+     */
+    Optional<FileBlob> findBySha256(String sha256);
+
+    /**
+     * Crée le blob ou incrémente son compteur de références s'il existe déjà (upsert atomique PostgreSQL)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO file_blobs (sha256, size_bytes, content_type, storage_path, reference_count, created_at, last_update) " +
+                   "VALUES (:sha256, :sizeBytes, :contentType, :storagePath, 1, :now, :now) " +
+                   "ON CONFLICT (sha256) DO UPDATE SET reference_count = file_blobs.reference_count + 1, orphaned_at = NULL",
+           nativeQuery = true)
+    int upsertAndReference(@Param("sha256") String sha256,
+                           @Param("sizeBytes") long sizeBytes,
+                           @Param("contentType") String contentType,
+                           @Param("storagePath") String storagePath,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Ajoute une référence à un blob existant
+     */
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.referenceCount = b.referenceCount + 1, b.orphanedAt = null WHERE b.id = :id")
+    int incrementReferenceCount(@Param("id") Long id);
+
+    /**
+     * Retire une référence ; le blob est marqué orphelin quand le compteur atteint 0
+     */
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.referenceCount = b.referenceCount - 1, " +
+           "b.orphanedAt = CASE WHEN b.referenceCount = 1 THEN :now ELSE b.orphanedAt END " +
+           "WHERE b.id = :id AND b.referenceCount > 0")
+    int decrementReferenceCount(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Blobs sans référence depuis avant la date donnée (requête indexée, sans parcours du disque)
+     */
+    @Query("SELECT b FROM FileBlob b WHERE b.referenceCount = 0 AND b.orphanedAt < :cutoff")
+    List<FileBlob> findOrphanedBlobs(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Verrouille un blob (SELECT ... FOR UPDATE) s'il est toujours orphelin
+     * - À utiliser dans une transaction qui supprime le fichier puis la ligne
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM FileBlob b WHERE b.id = :id AND b.referenceCount = 0")
+    Optional<FileBlob> lockIfOrphaned(@Param("id") Long id);
+
+    /**
+     * Nombre et taille totale des blobs stockés
+     * @return [count, sum(bytes)]
+     */
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.sizeBytes), 0) FROM FileBlob b")
+    List<Object[]> aggregateAll();
+}
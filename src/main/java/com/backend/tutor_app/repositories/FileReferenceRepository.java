@@ -0,0 +1,46 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.model.storage.FileReference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileReferenceRepository extends JpaRepository<FileReference, Long> {
+
+    /**
+     * Trouve un fichier logique avec son blob
+     */
+    @Query("SELECT r FROM FileReference r JOIN FETCH r.blob WHERE r.directory = :directory AND r.fileName = :fileName")
+    Optional<FileReference> findByPath(@Param("directory") String directory, @Param("fileName") String fileName);
+
+    /**
+     * Liste les fichiers logiques d'un répertoire
+     */
+    List<FileReference> findByDirectory(String directory);
+
+    /**
+     * Liste les fichiers logiques d'un répertoire et de ses sous-répertoires
+     */
+    @Query("SELECT r FROM FileReference r JOIN FETCH r.blob WHERE r.directory = :directory OR r.directory LIKE CONCAT(:directory, '/%')")
+    List<FileReference> findByDirectoryTree(@Param("directory") String directory);
+
+    /**
+     * Nombre de fichiers logiques et taille cumulée d'un répertoire et de ses sous-répertoires
+     * @return [count, sum(bytes)]
+     */
+    @Query("SELECT COUNT(r), COALESCE(SUM(b.sizeBytes), 0) FROM FileReference r JOIN r.blob b " +
+           "WHERE r.directory = :directory OR r.directory LIKE CONCAT(:directory, '/%')")
+    List<Object[]> aggregateDirectoryTree(@Param("directory") String directory);
+
+    /**
+     * Nombre total de fichiers logiques et taille cumulée (réconciliation)
+     * @return [count, sum(bytes)]
+     */
+    @Query("SELECT COUNT(r), COALESCE(SUM(b.sizeBytes), 0) FROM FileReference r JOIN r.blob b")
+    List<Object[]> aggregateAll();
+}
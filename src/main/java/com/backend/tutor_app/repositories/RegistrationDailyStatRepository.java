@@ -0,0 +1,59 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.model.stats.RegistrationDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RegistrationDailyStatRepository extends JpaRepository<RegistrationDailyStat, Long> {
+
+    /**
+     * Compteurs de la période, du plus ancien au plus récent
+     */
+    List<RegistrationDailyStat> findByStatDayGreaterThanEqualOrderByStatDayAsc(LocalDate from);
+
+    /**
+     * Applique un delta au compteur (jour, rôle, statut), créé au premier appel - aucune lecture préalable
+     */
+    @Modifying
+    @Query(value = "INSERT INTO registration_daily_stats (stat_day, role, status, user_count, created_at, last_update) " +
+                   "VALUES (:day, :role, :status, :delta, :now, :now) " +
+                   "ON CONFLICT (stat_day, role, status) DO UPDATE SET " +
+                   "user_count = registration_daily_stats.user_count + :delta",
+           nativeQuery = true)
+    int applyDelta(@Param("day") LocalDate day,
+                   @Param("role") String role,
+                   @Param("status") String status,
+                   @Param("delta") long delta,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Bloque les upserts concurrents (applyDelta) jusqu'à la fin de la transaction de reconstruction
+     * SHARE ROW EXCLUSIVE attend aussi les transactions ayant déjà écrit un delta : leurs utilisateurs sont alors
+     * visibles de insertFromUsers, et ceux des transactions suivantes y sont absents mais comptés par leur delta
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE registration_daily_stats IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM registration_daily_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    /**
+     * Reconstruction depuis utilisateur : un passage groupé par (jour d'inscription, rôle, statut)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO registration_daily_stats (stat_day, role, status, user_count, created_at, last_update) " +
+                   "SELECT CAST(u.created_at AS date), u.role, u.status, COUNT(*), :now, :now " +
+                   "FROM utilisateur u GROUP BY CAST(u.created_at AS date), u.role, u.status",
+           nativeQuery = true)
+    int insertFromUsers(@Param("now") LocalDateTime now);
+}
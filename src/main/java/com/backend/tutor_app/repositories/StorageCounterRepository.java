@@ -0,0 +1,81 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.model.enums.StorageScope;
+import com.backend.tutor_app.model.storage.StorageCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StorageCounterRepository extends JpaRepository<StorageCounter, Long> {
+
+    /**
+     * Trouve le compteur d'un périmètre
+     */
+    Optional<StorageCounter> findByScope(StorageScope scope);
+
+    /**
+     * Enregistre une variation dans storage_counter_deltas (ajout seul : aucune ligne partagée verrouillée)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO storage_counter_deltas (scope, file_count, total_bytes, created_at) " +
+                   "VALUES (:scope, :files, :bytes, :now)",
+           nativeQuery = true)
+    int applyDelta(@Param("scope") String scope,
+                   @Param("files") long files,
+                   @Param("bytes") long bytes,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Valeur courante d'un compteur : valeur consolidée + variations en attente
+     * @return [file_count, total_bytes]
+     */
+    @Query(value = "SELECT COALESCE((SELECT c.file_count FROM storage_counters c WHERE c.scope = :scope), 0) " +
+                   "+ COALESCE(SUM(d.file_count), 0), " +
+                   "COALESCE((SELECT c.total_bytes FROM storage_counters c WHERE c.scope = :scope), 0) " +
+                   "+ COALESCE(SUM(d.total_bytes), 0) " +
+                   "FROM storage_counter_deltas d WHERE d.scope = :scope",
+           nativeQuery = true)
+    List<Object[]> currentTotals(@Param("scope") String scope);
+
+    /**
+     * Reporte les variations en attente dans le compteur puis les supprime, en une seule instruction :
+     * une variation insérée pendant l'exécution reste pour le passage suivant
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH folded AS (DELETE FROM storage_counter_deltas WHERE scope = :scope " +
+                   "RETURNING file_count, total_bytes) " +
+                   "INSERT INTO storage_counters (scope, file_count, total_bytes, created_at, last_update) " +
+                   "SELECT :scope, COALESCE(SUM(file_count), 0), COALESCE(SUM(total_bytes), 0), :now, :now FROM folded " +
+                   "ON CONFLICT (scope) DO UPDATE SET file_count = storage_counters.file_count + EXCLUDED.file_count, " +
+                   "total_bytes = storage_counters.total_bytes + EXCLUDED.total_bytes",
+           nativeQuery = true)
+    int foldDeltas(@Param("scope") String scope,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Remplace les valeurs du compteur par celles d'un scan de réconciliation et supprime les variations
+     * visibles par la transaction. Exécuté dans le même instantané (REPEATABLE READ) que le scan : les variations
+     * validées après son début ne sont ni comptées par le scan ni supprimées.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH folded AS (DELETE FROM storage_counter_deltas WHERE scope = :scope) " +
+                   "INSERT INTO storage_counters (scope, file_count, total_bytes, last_reconciled_at, created_at, last_update) " +
+                   "VALUES (:scope, :files, :bytes, :now, :now, :now) " +
+                   "ON CONFLICT (scope) DO UPDATE SET file_count = :files, total_bytes = :bytes, last_reconciled_at = :now",
+           nativeQuery = true)
+    int reconcile(@Param("scope") String scope,
+                  @Param("files") long files,
+                  @Param("bytes") long bytes,
+                  @Param("now") LocalDateTime now);
+}
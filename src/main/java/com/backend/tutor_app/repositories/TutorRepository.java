@@ -3,12 +3,87 @@ package com.backend.tutor_app.repositories;
 import com.backend.tutor_app.model.Tutor;
 import com.backend.tutor_app.model.enums.VerificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TutorRepository extends JpaRepository<Tutor, Long> {
     List<Tutor> findByVerificationStatus(VerificationStatus status);
     List<Tutor> findByIsAvailableTrue();
+
+    /**
+     * Applique le delta d'une écriture d'avis en un seul UPDATE : somme, nombre, histogramme et moyenne
+     * sont recalculés à partir des valeurs de la ligne, sans lecture préalable (pas de perte en concurrence)
+     */
+    @Modifying
+    @Query(value = "UPDATE tutor SET " +
+                   "rating_sum = rating_sum + :sumDelta, " +
+                   "total_reviews = COALESCE(total_reviews, 0) + :countDelta, " +
+                   "rating_1_count = rating_1_count + :delta1, " +
+                   "rating_2_count = rating_2_count + :delta2, " +
+                   "rating_3_count = rating_3_count + :delta3, " +
+                   "rating_4_count = rating_4_count + :delta4, " +
+                   "rating_5_count = rating_5_count + :delta5, " +
+                   "average_rating = COALESCE(CAST(rating_sum + :sumDelta AS double precision) " +
+                   "/ NULLIF(COALESCE(total_reviews, 0) + :countDelta, 0), 0) " +
+                   "WHERE id = :tutorId",
+           nativeQuery = true)
+    int applyRatingDelta(@Param("tutorId") Long tutorId,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("countDelta") int countDelta,
+                         @Param("delta1") int delta1,
+                         @Param("delta2") int delta2,
+                         @Param("delta3") int delta3,
+                         @Param("delta4") int delta4,
+                         @Param("delta5") int delta5);
+
+    /**
+     * Recalcule les agrégats depuis tutor_review pour une tranche d'IDs (rattrapage, tuteurs sans avis remis à zéro)
+     */
+    @Modifying
+    @Query(value = "UPDATE tutor t SET " +
+                   "rating_sum = COALESCE(a.rating_sum, 0), " +
+                   "total_reviews = COALESCE(a.review_count, 0), " +
+                   "rating_1_count = COALESCE(a.count_1, 0), " +
+                   "rating_2_count = COALESCE(a.count_2, 0), " +
+                   "rating_3_count = COALESCE(a.count_3, 0), " +
+                   "rating_4_count = COALESCE(a.count_4, 0), " +
+                   "rating_5_count = COALESCE(a.count_5, 0), " +
+                   "average_rating = COALESCE(CAST(a.rating_sum AS double precision) / NULLIF(a.review_count, 0), 0) " +
+                   "FROM tutor src LEFT JOIN (" +
+                   "  SELECT r.tutor_id, SUM(r.rating) AS rating_sum, COUNT(*) AS review_count, " +
+                   "  COUNT(*) FILTER (WHERE r.rating = 1) AS count_1, COUNT(*) FILTER (WHERE r.rating = 2) AS count_2, " +
+                   "  COUNT(*) FILTER (WHERE r.rating = 3) AS count_3, COUNT(*) FILTER (WHERE r.rating = 4) AS count_4, " +
+                   "  COUNT(*) FILTER (WHERE r.rating = 5) AS count_5 " +
+                   "  FROM tutor_review r WHERE r.tutor_id BETWEEN :fromId AND :toId GROUP BY r.tutor_id" +
+                   ") a ON a.tutor_id = src.id " +
+                   "WHERE t.id = src.id AND src.id BETWEEN :fromId AND :toId",
+           nativeQuery = true)
+    int recomputeRatings(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * IDs de tous les tuteurs, sans charger les entités (reconstruction de tutor_search)
+     */
+    @Query("SELECT t.id FROM Tutor t")
+    List<Long> findAllIds();
+
+    @Query("SELECT MIN(t.id), MAX(t.id) FROM Tutor t")
+    List<Object[]> findIdRange();
+
+    /**
+     * Textes indexés par la recherche en mémoire : [id, bio]
+     */
+    @Query("SELECT t.id, t.bio FROM Tutor t WHERE t.id IN :ids")
+    List<Object[]> findBiosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Langues parlées : [tutorId, languageName]
+     */
+    @Query("SELECT l.tutor.id, l.languageName FROM TutorLanguage l WHERE l.tutor.id IN :ids")
+    List<Object[]> findLanguageNamesByTutorIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,44 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TutorSearchEntryRepository extends JpaRepository<TutorSearchEntry, Long>,
+        JpaSpecificationExecutor<TutorSearchEntry>, TutorSearchRepository {
+
+    List<TutorSearchEntry> findByTutorId(Long tutorId);
+
+    /**
+     * Créneaux par ligne : [tutorId, subjectCode, availabilitySlots]
+     */
+    @Query("SELECT e.tutorId, e.subjectCode, e.availabilitySlots FROM TutorSearchEntry e")
+    List<Object[]> findAllAvailabilitySlots();
+
+    @Query("SELECT e.tutorId, e.subjectCode, e.availabilitySlots FROM TutorSearchEntry e WHERE e.tutorId = :tutorId")
+    List<Object[]> findAvailabilitySlotsByTutorId(@Param("tutorId") Long tutorId);
+
+    /**
+     * Supprime les lignes d'un tuteur avant leur reconstruction
+     */
+    @Modifying
+    @Query("DELETE FROM TutorSearchEntry e WHERE e.tutorId = :tutorId")
+    int deleteByTutorId(@Param("tutorId") Long tutorId);
+
+    /**
+     * Répercute le renommage d'une matière sans reconstruire les tuteurs concernés
+     */
+    @Modifying
+    @Query("UPDATE TutorSearchEntry e SET " +
+           "e.subjectCode = (SELECT s.code FROM Subject s WHERE s.id = :subjectId), " +
+           "e.subjectName = (SELECT s.name FROM Subject s WHERE s.id = :subjectId) " +
+           "WHERE e.subjectId = :subjectId")
+    int refreshSubject(@Param("subjectId") Long subjectId);
+}
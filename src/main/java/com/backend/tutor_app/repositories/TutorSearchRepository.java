@@ -0,0 +1,32 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.dto.user.TutorSearchResultDto;
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+/**
+ * Fragment de TutorSearchEntryRepository : recherche de tuteurs par Specification avec projection DTO et facettes
+ */
+public interface TutorSearchRepository {
+
+    /**
+     * Résultat de recherche : page projetée + facettes (facette -> valeur -> nombre de tuteurs)
+     */
+    record TutorSearchResult(Page<TutorSearchResultDto> page, Map<String, Map<String, Long>> facets) {}
+
+    String FACET_SUBJECT = "subject";
+    String FACET_PRICE_BAND = "priceBand";
+    String FACET_RATING_BUCKET = "ratingBucket";
+
+    /**
+     * Exécute la recherche en un seul aller-retour : la page projetée, le total et toutes les facettes
+     * (UNION ALL de requêtes partageant les mêmes critères)
+     * @param specification Critères composés (cf. TutorSpecifications)
+     * @param pageable Pagination ; tris acceptés : rating, price, reviews, experience, createdAt
+     */
+    TutorSearchResult search(Specification<TutorSearchEntry> specification, Pageable pageable);
+}
@@ -0,0 +1,260 @@
+package com.backend.tutor_app.repositories;
+
+import com.backend.tutor_app.dto.user.TutorSearchResultDto;
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.backend.tutor_app.search.TutorSearchBands.PRICE_BANDS;
+import static com.backend.tutor_app.search.TutorSearchBands.RATING_BUCKETS;
+import static com.backend.tutor_app.search.TutorSearchBands.priceBandLabel;
+import static com.backend.tutor_app.search.TutorSearchBands.ratingBucketLabel;
+
+/**
+ * Implémentation Criteria de la recherche de tuteurs sur la table dénormalisée tutor_search : aucune jointure,
+ * les lignes d'un même tuteur sont regroupées par tutor_id (tarif affiché = plus petit tarif parmi les offres retenues).
+ * Index utilisés : tutor_search(subject_code, hourly_rate), tutor_search(average_rating, tutor_id)
+ */
+public class TutorSearchRepositoryImpl implements TutorSearchRepository {
+
+    private static final String TOTAL = "total";
+    private static final String PAGE = "page";
+
+    // Colonnes communes aux branches de l'UNION ALL : [type de ligne, valeur de facette, nombre | rang, colonnes tuteur...]
+    private static final int KIND = 0;
+    private static final int KEY = 1;
+    private static final int COUNT = 2;
+    private static final int TUTOR = 3;
+
+    // Tris exposés par l'API -> attributs de TutorSearchEntry (createdAt : ID du tuteur, attribué dans l'ordre d'inscription)
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+        "rating", "averageRating",
+        "averageRating", "averageRating",
+        "price", "hourlyRate",
+        "hourlyRate", "hourlyRate",
+        "reviews", "totalReviews",
+        "experience", "experienceYears",
+        "createdAt", "tutorId"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public TutorSearchResult search(Specification<TutorSearchEntry> specification, Pageable pageable) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+
+        // Page, total et trois facettes en une seule requête SQL (UNION ALL de cinq branches)
+        JpaCriteriaQuery<Tuple> union = cb.unionAll(
+            pageQuery(cb, specification, pageable),
+            totalQuery(cb, specification),
+            subjectFacetQuery(cb, specification),
+            priceBandFacetQuery(cb, specification),
+            ratingBucketFacetQuery(cb, specification)
+        );
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(FACET_SUBJECT, new LinkedHashMap<>());
+        facets.put(FACET_PRICE_BAND, new LinkedHashMap<>());
+        facets.put(FACET_RATING_BUCKET, new LinkedHashMap<>());
+        List<Tuple> pageRows = new ArrayList<>();
+        long total = 0;
+        for (Tuple row : entityManager.createQuery(union).getResultList()) {
+            String kind = row.get(KIND, String.class);
+            if (PAGE.equals(kind)) {
+                pageRows.add(row);
+            } else if (TOTAL.equals(kind)) {
+                total = row.get(COUNT, Long.class);
+            } else {
+                facets.computeIfAbsent(kind, key -> new LinkedHashMap<>())
+                    .put(row.get(KEY, String.class), row.get(COUNT, Long.class));
+            }
+        }
+
+        // L'ordre des lignes d'une UNION n'est pas garanti : la page est triée sur son rang
+        pageRows.sort(Comparator.comparing(row -> row.get(COUNT, Long.class)));
+        List<TutorSearchResultDto> content = pageRows.stream().map(this::toResult).toList();
+
+        return new TutorSearchResult(new PageImpl<>(content, pageable, total), facets);
+    }
+
+    // ==================== PAGE ====================
+
+    private CriteriaQuery<Tuple> pageQuery(HibernateCriteriaBuilder cb, Specification<TutorSearchEntry> specification, Pageable pageable) {
+        JpaCriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TutorSearchEntry> entry = query.from(TutorSearchEntry.class);
+        Expression<BigDecimal> lowestRate = cb.min(entry.get("hourlyRate"));
+        List<Order> orders = toOrders(pageable.getSort(), entry, lowestRate, cb);
+
+        // Colonnes tuteur identiques sur toutes ses lignes : le GROUP BY ne fait que dédoublonner
+        List<Expression<?>> tutorColumns = List.of(
+            entry.get("tutorId"),
+            entry.get("firstName"),
+            entry.get("lastName"),
+            entry.get("profilePicture"),
+            entry.get("location"),
+            entry.get("averageRating"),
+            entry.get("totalReviews"),
+            entry.get("experienceYears"),
+            entry.get("isAvailable"));
+
+        query.multiselect(
+                cb.literal(PAGE),
+                cb.nullLiteral(String.class),
+                cb.rowNumber(cb.createWindow().orderBy(orders.toArray(new Order[0]))),
+                entry.get("tutorId"),
+                entry.get("firstName"),
+                entry.get("lastName"),
+                entry.get("profilePicture"),
+                entry.get("location"),
+                lowestRate,
+                entry.get("averageRating"),
+                entry.get("totalReviews"),
+                entry.get("experienceYears"),
+                entry.get("isAvailable"))
+            .where(toPredicate(specification, entry, query, cb))
+            .groupBy(tutorColumns)
+            .orderBy(orders);
+        query.offset(pageable.getOffset());
+        query.fetch(pageable.getPageSize());
+        return query;
+    }
+
+    private TutorSearchResultDto toResult(Tuple row) {
+        return new TutorSearchResultDto(
+            row.get(TUTOR, Long.class),
+            row.get(TUTOR + 1, String.class),
+            row.get(TUTOR + 2, String.class),
+            row.get(TUTOR + 3, String.class),
+            row.get(TUTOR + 4, String.class),
+            row.get(TUTOR + 5, BigDecimal.class),
+            row.get(TUTOR + 6, Double.class),
+            row.get(TUTOR + 7, Integer.class),
+            row.get(TUTOR + 8, Integer.class),
+            row.get(TUTOR + 9, Boolean.class));
+    }
+
+    private List<Order> toOrders(Sort sort, Root<TutorSearchEntry> entry, Expression<BigDecimal> lowestRate,
+                                 HibernateCriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String property = SORT_PROPERTIES.get(order.getProperty());
+            if (property != null) {
+                Expression<?> expression = "hourlyRate".equals(property) ? lowestRate : entry.get(property);
+                orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+            }
+        }
+        if (orders.isEmpty()) {
+            orders.add(cb.desc(entry.get("averageRating")));
+        }
+        orders.add(cb.asc(entry.get("tutorId"))); // Ordre stable entre les pages
+        return orders;
+    }
+
+    // ==================== FACETTES ====================
+
+    private CriteriaQuery<Tuple> totalQuery(HibernateCriteriaBuilder cb, Specification<TutorSearchEntry> specification) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TutorSearchEntry> entry = query.from(TutorSearchEntry.class);
+        return query.multiselect(facetRow(cb, TOTAL, cb.literal(TOTAL), cb.countDistinct(entry.get("tutorId"))))
+            .where(toPredicate(specification, entry, query, cb));
+    }
+
+    private CriteriaQuery<Tuple> subjectFacetQuery(HibernateCriteriaBuilder cb, Specification<TutorSearchEntry> specification) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TutorSearchEntry> entry = query.from(TutorSearchEntry.class);
+        Expression<String> subjectCode = entry.get("subjectCode");
+        return query.multiselect(facetRow(cb, FACET_SUBJECT, subjectCode, cb.countDistinct(entry.get("tutorId"))))
+            .where(cb.and(toPredicate(specification, entry, query, cb), cb.isNotNull(subjectCode)))
+            .groupBy(subjectCode);
+    }
+
+    private CriteriaQuery<Tuple> priceBandFacetQuery(HibernateCriteriaBuilder cb, Specification<TutorSearchEntry> specification) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TutorSearchEntry> entry = query.from(TutorSearchEntry.class);
+        Expression<String> band = priceBand(cb, entry.get("hourlyRate"));
+        // Un tuteur proposant des tarifs dans plusieurs tranches compte dans chacune
+        return query.multiselect(facetRow(cb, FACET_PRICE_BAND, band, cb.countDistinct(entry.get("tutorId"))))
+            .where(cb.and(toPredicate(specification, entry, query, cb), cb.isNotNull(entry.get("hourlyRate"))))
+            .groupBy(band);
+    }
+
+    private CriteriaQuery<Tuple> ratingBucketFacetQuery(HibernateCriteriaBuilder cb, Specification<TutorSearchEntry> specification) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TutorSearchEntry> entry = query.from(TutorSearchEntry.class);
+        Expression<String> bucket = ratingBucket(cb, entry.get("averageRating"));
+        return query.multiselect(facetRow(cb, FACET_RATING_BUCKET, bucket, cb.countDistinct(entry.get("tutorId"))))
+            .where(toPredicate(specification, entry, query, cb))
+            .groupBy(bucket);
+    }
+
+    /**
+     * Ligne d'agrégat complétée par des colonnes tuteur nulles, au format de la branche de page
+     */
+    private List<Selection<?>> facetRow(HibernateCriteriaBuilder cb, String kind, Expression<String> key, Expression<Long> count) {
+        return List.of(
+            cb.literal(kind),
+            key,
+            count,
+            cb.nullLiteral(Long.class),
+            cb.nullLiteral(String.class),
+            cb.nullLiteral(String.class),
+            cb.nullLiteral(String.class),
+            cb.nullLiteral(String.class),
+            cb.nullLiteral(BigDecimal.class),
+            cb.nullLiteral(Double.class),
+            cb.nullLiteral(Integer.class),
+            cb.nullLiteral(Integer.class),
+            cb.nullLiteral(Boolean.class));
+    }
+
+    /**
+     * CASE WHEN rate >= 50 THEN '50+' WHEN rate >= 35 THEN '35-50' ... END
+     */
+    private Expression<String> priceBand(HibernateCriteriaBuilder cb, Expression<BigDecimal> rate) {
+        int last = PRICE_BANDS.length - 1;
+        var band = cb.<String>selectCase()
+            .when(cb.ge(rate, PRICE_BANDS[last]), priceBandLabel(last));
+        for (int i = last - 1; i > 0; i--) {
+            band = band.when(cb.ge(rate, PRICE_BANDS[i]), priceBandLabel(i));
+        }
+        return band.otherwise(priceBandLabel(0));
+    }
+
+    private Expression<String> ratingBucket(HibernateCriteriaBuilder cb, Expression<Double> rating) {
+        int last = RATING_BUCKETS.length - 1;
+        var bucket = cb.<String>selectCase()
+            .when(cb.ge(rating, RATING_BUCKETS[last]), ratingBucketLabel(last));
+        for (int i = last - 1; i > 0; i--) {
+            bucket = bucket.when(cb.ge(rating, RATING_BUCKETS[i]), ratingBucketLabel(i));
+        }
+        return bucket.otherwise(ratingBucketLabel(0));
+    }
+
+    private Predicate toPredicate(Specification<TutorSearchEntry> specification, Root<TutorSearchEntry> entry,
+                                  CriteriaQuery<?> query, HibernateCriteriaBuilder cb) {
+        Predicate predicate = specification != null ? specification.toPredicate(entry, query, cb) : null;
+        return predicate != null ? predicate : cb.conjunction();
+    }
+}
@@ -1,8 +1,11 @@
 package com.backend.tutor_app.repositories;
 
+import com.backend.tutor_app.dto.Auth.UserDto;
 import com.backend.tutor_app.model.Utilisateur;
 import com.backend.tutor_app.model.enums.Role;
 import com.backend.tutor_app.model.enums.UserStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,6 +29,44 @@ public interface UserRepository extends JpaRepository<Utilisateur, Long> {
     Long countByCreatedAtAfter(LocalDateTime date);
     List<Utilisateur> findByCreatedAtAfter(LocalDateTime date);
 
+    /**
+     * Tous les compteurs du tableau de bord en un seul passage sur utilisateur, groupés par (rôle, statut).
+     * Colonnes : role, status, total, créés depuis todayStart, depuis monthStart, depuis recentStart
+     */
+    @Query(value = "SELECT u.role, u.status, COUNT(*), " +
+                   "COUNT(*) FILTER (WHERE u.created_at >= :todayStart), " +
+                   "COUNT(*) FILTER (WHERE u.created_at >= :monthStart), " +
+                   "COUNT(*) FILTER (WHERE u.created_at >= :recentStart) " +
+                   "FROM utilisateur u GROUP BY u.role, u.status",
+           nativeQuery = true)
+    List<Object[]> countUserStatistics(@Param("todayStart") LocalDateTime todayStart,
+                                       @Param("monthStart") LocalDateTime monthStart,
+                                       @Param("recentStart") LocalDateTime recentStart);
+
     @Query("SELECT u FROM Utilisateur u WHERE u.emailVerified = false AND u.createdAt < :date")
     List<Utilisateur> findUnverifiedUsersOlderThan(@Param("date") LocalDateTime date);
+
+    /**
+     * Recherche paginée côté base, projetée directement en UserDto (aucune entité chargée).
+     * Les LIKE sur lower(...) utilisent les index GIN pg_trgm (cf. db/search-indexes.sql) ;
+     * seules les colonnes de la table mère sont lues, sans jointure vers les tables des sous-types.
+     * @param pattern Motif LIKE déjà en minuscules et échappé (%terme%), null pour ne pas filtrer
+     */
+    @Query(value = "SELECT new com.backend.tutor_app.dto.Auth.UserDto(u.id, u.email, u.firstName, u.lastName, " +
+                   "u.phoneNumber, u.profilePicture, CAST(u.role AS string), CAST(u.status AS string), " +
+                   "u.emailVerified, u.createdAt, u.lastUpdate, u.lastLogin) " +
+                   "FROM Utilisateur u WHERE " +
+                   "(:pattern IS NULL OR LOWER(u.email) LIKE :pattern ESCAPE '\\' " +
+                   "OR LOWER(u.firstName) LIKE :pattern ESCAPE '\\' OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\') " +
+                   "AND (:role IS NULL OR u.role = :role) " +
+                   "AND (:status IS NULL OR u.status = :status)",
+           countQuery = "SELECT COUNT(u) FROM Utilisateur u WHERE " +
+                   "(:pattern IS NULL OR LOWER(u.email) LIKE :pattern ESCAPE '\\' " +
+                   "OR LOWER(u.firstName) LIKE :pattern ESCAPE '\\' OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\') " +
+                   "AND (:role IS NULL OR u.role = :role) " +
+                   "AND (:status IS NULL OR u.status = :status)")
+    Page<UserDto> searchUserDtos(@Param("pattern") String pattern,
+                                 @Param("role") Role role,
+                                 @Param("status") UserStatus status,
+                                 Pageable pageable);
 }
@@ -0,0 +1,115 @@
+package com.backend.tutor_app.repositories.specifications;
+
+import com.backend.tutor_app.model.enums.EducationLevel;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Critères composables de la recherche de tuteurs, évalués ligne à ligne sur le modèle de lecture tutor_search
+ * (une ligne par couple tuteur-matière : matière, tarif et niveau s'entendent donc pour la même offre, sans jointure).
+ * Chaque méthode retourne null quand le filtre n'est pas demandé (ignoré par Specification.allOf).
+ */
+public final class TutorSpecifications {
+
+    private static final List<String> TEXT_FIELDS =
+        List.of("firstName", "lastName", "subjectName", "subjectCode", "location", "languages");
+
+    private TutorSpecifications() {
+    }
+
+    public static Specification<TutorSearchEntry> isActive() {
+        return (root, query, cb) -> cb.equal(root.get("status"), UserStatus.ACTIVE);
+    }
+
+    public static Specification<TutorSearchEntry> minRating(Double minRating) {
+        if (minRating == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("averageRating"), minRating);
+    }
+
+    public static Specification<TutorSearchEntry> available(Boolean available) {
+        if (available == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("isAvailable"), available);
+    }
+
+    /**
+     * Restriction à un ensemble de tuteurs calculé hors SQL (ensemble vide : aucun résultat)
+     * Les IDs sont liés en un seul paramètre tableau (bigint[]) : pas de liste IN, donc pas de limite
+     * de 32767 paramètres par requête quelle que soit la taille de l'ensemble
+     */
+    public static Specification<TutorSearchEntry> tutorIdIn(Set<Long> tutorIds) {
+        if (tutorIds == null) {
+            return null;
+        }
+        Long[] ids = tutorIds.toArray(new Long[0]);
+        return (root, query, cb) -> ids.length == 0
+            ? cb.disjunction()
+            : ((HibernateCriteriaBuilder) cb).arrayContains(ids, root.get("tutorId"));
+    }
+
+    /**
+     * Texte libre : chaque mot doit apparaître dans le nom, la matière, la ville ou les langues de la ligne
+     */
+    public static Specification<TutorSearchEntry> text(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String[] words = text.trim().toLowerCase().split("\\s+");
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String word : words) {
+                String pattern = "%" + word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+                predicates.add(cb.or(TEXT_FIELDS.stream()
+                    .map(field -> cb.like(cb.lower(root.get(field)), pattern, '\\'))
+                    .toArray(Predicate[]::new)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<TutorSearchEntry> subject(String subjectCode) {
+        if (subjectCode == null) {
+            return null;
+        }
+        // Codes stockés tels quels : comparaison insensible à la casse comme auparavant
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("subjectCode")), subjectCode.toLowerCase());
+    }
+
+    /**
+     * Niveau enseigné : test du bit correspondant dans levels_mask ((levels_mask & bit) <> 0)
+     */
+    public static Specification<TutorSearchEntry> level(EducationLevel level) {
+        if (level == null) {
+            return null;
+        }
+        int bit = 1 << level.ordinal();
+        return (root, query, cb) -> cb.notEqual(
+            cb.function("bitand", Integer.class, root.get("levelsMask"), cb.literal(bit)), 0);
+    }
+
+    public static Specification<TutorSearchEntry> rateBetween(BigDecimal minRate, BigDecimal maxRate) {
+        if (minRate == null && maxRate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minRate == null) {
+                return cb.lessThanOrEqualTo(root.get("hourlyRate"), maxRate);
+            }
+            if (maxRate == null) {
+                return cb.greaterThanOrEqualTo(root.get("hourlyRate"), minRate);
+            }
+            return cb.between(root.get("hourlyRate"), minRate, maxRate);
+        };
+    }
+}
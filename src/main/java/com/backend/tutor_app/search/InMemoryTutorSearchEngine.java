@@ -0,0 +1,548 @@
+package com.backend.tutor_app.search;
+
+import com.backend.tutor_app.dto.user.TutorSearchResultDto;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import com.backend.tutor_app.repositories.TutorRepository;
+import com.backend.tutor_app.repositories.TutorSearchEntryRepository;
+import com.backend.tutor_app.repositories.TutorSearchRepository;
+import com.backend.tutor_app.repositories.TutorSearchRepository.TutorSearchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire pour la recherche instantanée (app.search.engine=memory)
+ * Construit au démarrage depuis tutor_search (nom, matière, ville, langues) complété de la bio et des noms de langues,
+ * puis tenu à jour tuteur par tuteur via TutorSearchIndexChangedEvent.
+ * Listes de postings primitives (int[] de documents triés + float[] de poids) ; un tuteur modifié reçoit un nouveau
+ * document et l'ancien est marqué supprimé, l'index est compacté au-delà de 25% de documents supprimés.
+ * Les filtres et facettes reproduisent exactement ceux du moteur SQL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@Slf4j
+public class InMemoryTutorSearchEngine implements TutorSearchEngine {
+
+    // Poids des champs dans le score texte
+    private static final float NAME_WEIGHT = 3f;
+    private static final float SUBJECT_WEIGHT = 2.5f;
+    private static final float LOCATION_WEIGHT = 1.5f;
+    private static final float LANGUAGE_WEIGHT = 1f;
+    private static final float BIO_WEIGHT = 0.5f;
+
+    // Score final = pertinence × (1 + RATING_BOOST × note / 5)
+    private static final float RATING_BOOST = 0.5f;
+
+    private static final double MAX_DELETED_RATIO = 0.25;
+    private static final int MIN_DELETED_FOR_COMPACTION = 64;
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TutorSearchEntryRepository tutorSearchEntryRepository;
+    private final TutorRepository tutorRepository;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object(); // Une seule reconstruction complète à la fois
+
+    private volatile Index index; // null tant que la première construction n'a pas eu lieu
+
+    public InMemoryTutorSearchEngine(TutorSearchEntryRepository tutorSearchEntryRepository,
+                                     TutorRepository tutorRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.tutorSearchEntryRepository = tutorSearchEntryRepository;
+        this.tutorRepository = tutorRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    // ==================== CONSTRUCTION ====================
+
+    /**
+     * Construction initiale, après le remplissage éventuel de tutor_search au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void buildAtStartup() {
+        ensureBuilt();
+    }
+
+    @EventListener
+    public void onIndexChanged(TutorSearchIndexChangedEvent event) {
+        try {
+            if (event.isFullRebuild()) {
+                rebuild();
+            } else {
+                refresh(event.tutorId());
+            }
+        } catch (Exception e) {
+            // L'index SQL reste la référence : la prochaine reconstruction complète rattrapera l'écart
+            log.warn("Mise à jour de l'index de recherche en mémoire échouée - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruit tout l'index hors verrou de lecture puis le publie d'un coup
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            doRebuild();
+        }
+    }
+
+    /**
+     * Construit l'index s'il ne l'a pas encore été : les requêtes arrivées avant la fin du démarrage attendent
+     * une construction unique au lieu d'en lancer chacune une
+     */
+    private void ensureBuilt() {
+        if (index != null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            if (index == null) {
+                doRebuild();
+            }
+        }
+    }
+
+    private void doRebuild() {
+        long start = System.currentTimeMillis();
+        List<Doc> docs = readTransaction.execute(status -> {
+            Map<Long, List<TutorSearchEntry>> entriesByTutor = groupByTutor(tutorSearchEntryRepository.findAll());
+            List<Long> tutorIds = new ArrayList<>(entriesByTutor.keySet());
+            List<Doc> loaded = new ArrayList<>(tutorIds.size());
+            for (int from = 0; from < tutorIds.size(); from += LOAD_BATCH_SIZE) {
+                List<Long> batch = tutorIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, tutorIds.size()));
+                loaded.addAll(buildDocs(batch, entriesByTutor));
+            }
+            return loaded;
+        });
+
+        Index rebuilt = new Index();
+        docs.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Index de recherche en mémoire construit: {} tuteurs, {} termes en {} ms",
+            rebuilt.liveCount(), rebuilt.postings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Réindexe un seul tuteur (ou le retire s'il n'a plus de ligne dans tutor_search)
+     */
+    public void refresh(Long tutorId) {
+        if (index == null) {
+            ensureBuilt();
+            return;
+        }
+        List<Doc> docs = readTransaction.execute(status -> {
+            Map<Long, List<TutorSearchEntry>> entriesByTutor = groupByTutor(tutorSearchEntryRepository.findByTutorId(tutorId));
+            return entriesByTutor.isEmpty() ? List.<Doc>of() : buildDocs(List.of(tutorId), entriesByTutor);
+        });
+
+        lock.writeLock().lock();
+        try {
+            Index current = index;
+            if (docs.isEmpty()) {
+                current.remove(tutorId);
+            } else {
+                current.add(docs.get(0));
+            }
+            if (current.needsCompaction()) {
+                index = current.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de tuteurs indexés
+     */
+    public int size() {
+        Index current = index;
+        return current == null ? 0 : current.liveCount();
+    }
+
+    // ==================== RECHERCHE ====================
+
+    @Override
+    public TutorSearchResult search(Criteria criteria, Pageable pageable) {
+        ensureBuilt();
+        List<String> tokens = tokenize(criteria.text());
+
+        Map<String, Long> subjectFacet = new LinkedHashMap<>();
+        Map<String, Long> priceBandFacet = new LinkedHashMap<>();
+        Map<String, Long> ratingBucketFacet = new LinkedHashMap<>();
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            int docCount = current.docs.size();
+            float[] scores = tokens.isEmpty() ? null : new float[docCount];
+            int[] matchedTokens = tokens.isEmpty() ? null : new int[docCount];
+            if (!tokens.isEmpty()) {
+                scoreTokens(current, tokens, scores, matchedTokens);
+            }
+
+            Set<String> docSubjects = new HashSet<>();
+            Set<String> docBands = new HashSet<>();
+            for (int docId = 0; docId < docCount; docId++) {
+                if (current.deleted.get(docId) || (matchedTokens != null && matchedTokens[docId] != tokens.size())) {
+                    continue;
+                }
+                Doc doc = current.docs.get(docId);
+                if (!matchesTutor(doc, criteria)) {
+                    continue;
+                }
+
+                // Offres retenues : mêmes critères ligne à ligne que le moteur SQL
+                docSubjects.clear();
+                docBands.clear();
+                boolean anyOffer = false;
+                BigDecimal lowestRate = null;
+                for (Offer offer : doc.offers()) {
+                    if (!matchesOffer(offer, criteria)) {
+                        continue;
+                    }
+                    anyOffer = true;
+                    if (offer.rate() != null) {
+                        docBands.add(TutorSearchBands.priceBandOf(offer.rate()));
+                        if (lowestRate == null || offer.rate().compareTo(lowestRate) < 0) {
+                            lowestRate = offer.rate();
+                        }
+                    }
+                    if (offer.subjectCode() != null) {
+                        docSubjects.add(offer.subjectCode());
+                    }
+                }
+                if (!anyOffer) {
+                    continue;
+                }
+
+                docSubjects.forEach(subject -> subjectFacet.merge(subject, 1L, Long::sum));
+                docBands.forEach(band -> priceBandFacet.merge(band, 1L, Long::sum));
+                ratingBucketFacet.merge(TutorSearchBands.ratingBucketOf(doc.averageRating()), 1L, Long::sum);
+
+                float score = scores == null ? 0f
+                    : scores[docId] * (1f + RATING_BOOST * (float) doc.averageRating() / 5f);
+                matches.add(new Match(doc, lowestRate, score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(tokens.isEmpty() ? toComparator(pageable.getSort()) : BY_RELEVANCE);
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<TutorSearchResultDto> content = matches.subList(from, to).stream()
+            .map(this::toDto)
+            .toList();
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(TutorSearchRepository.FACET_SUBJECT, subjectFacet);
+        facets.put(TutorSearchRepository.FACET_PRICE_BAND, priceBandFacet);
+        facets.put(TutorSearchRepository.FACET_RATING_BUCKET, ratingBucketFacet);
+        return new TutorSearchResult(new PageImpl<>(content, pageable, matches.size()), facets);
+    }
+
+    /**
+     * Tous les mots doivent correspondre ; le dernier est un préfixe (saisie en cours).
+     * matchedTokens[doc] = nombre de mots consécutifs trouvés : un document ayant raté un mot n'est plus scoré.
+     */
+    private void scoreTokens(Index current, List<String> tokens, float[] scores, int[] matchedTokens) {
+        int docCount = current.docs.size();
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            Collection<PostingList> lists;
+            if (t == tokens.size() - 1) {
+                lists = current.postings.subMap(token, true, token + Character.MAX_VALUE, true).values();
+            } else {
+                PostingList exact = current.postings.get(token);
+                lists = exact == null ? List.of() : List.of(exact);
+            }
+
+            for (PostingList list : lists) {
+                float idf = (float) Math.log(1 + (double) docCount / list.size);
+                for (int i = 0; i < list.size; i++) {
+                    int docId = list.docs[i];
+                    if (matchedTokens[docId] < t) {
+                        continue;
+                    }
+                    matchedTokens[docId] = t + 1;
+                    scores[docId] += list.weights[i] * idf;
+                }
+            }
+        }
+    }
+
+    private boolean matchesTutor(Doc doc, Criteria criteria) {
+        if (doc.status() != UserStatus.ACTIVE) {
+            return false;
+        }
+        if (criteria.tutorIds() != null && !criteria.tutorIds().contains(doc.tutorId())) {
+            return false;
+        }
+        if (criteria.minRating() != null && doc.averageRating() < criteria.minRating()) {
+            return false;
+        }
+        return criteria.available() == null || doc.isAvailable() == criteria.available();
+    }
+
+    private boolean matchesOffer(Offer offer, Criteria criteria) {
+        if (criteria.subjectCode() != null
+                && (offer.subjectCode() == null || !offer.subjectCode().equalsIgnoreCase(criteria.subjectCode()))) {
+            return false;
+        }
+        if (criteria.level() != null && (offer.levelsMask() & (1 << criteria.level().ordinal())) == 0) {
+            return false;
+        }
+        if (criteria.minRate() != null && (offer.rate() == null || offer.rate().compareTo(criteria.minRate()) < 0)) {
+            return false;
+        }
+        return criteria.maxRate() == null || (offer.rate() != null && offer.rate().compareTo(criteria.maxRate()) <= 0);
+    }
+
+    private static final Comparator<Match> BY_TUTOR_ID = Comparator.comparingLong(match -> match.doc().tutorId());
+
+    private static final Comparator<Match> BY_RELEVANCE =
+        Comparator.comparingDouble(Match::score).reversed().thenComparing(BY_TUTOR_ID);
+
+    /**
+     * Mêmes tris que le moteur SQL (valeurs nulles en fin de tri ascendant, en tête de tri descendant)
+     */
+    private Comparator<Match> toComparator(Sort sort) {
+        Comparator<Match> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Match> property = switch (order.getProperty()) {
+                case "rating", "averageRating" -> Comparator.comparingDouble(match -> match.doc().averageRating());
+                case "price", "hourlyRate" -> Comparator.comparing(Match::lowestRate,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+                case "reviews" -> Comparator.comparingInt(match -> match.doc().totalReviews());
+                case "experience" -> Comparator.comparing(match -> match.doc().experienceYears(),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+                case "createdAt" -> BY_TUTOR_ID;
+                default -> null;
+            };
+            if (property != null) {
+                property = order.isAscending() ? property : property.reversed();
+                comparator = comparator == null ? property : comparator.thenComparing(property);
+            }
+        }
+        if (comparator == null) {
+            comparator = Comparator.<Match>comparingDouble(match -> match.doc().averageRating()).reversed();
+        }
+        return comparator.thenComparing(BY_TUTOR_ID); // Ordre stable entre les pages
+    }
+
+    private TutorSearchResultDto toDto(Match match) {
+        Doc doc = match.doc();
+        return TutorSearchResultDto.builder()
+            .id(doc.tutorId())
+            .firstName(doc.firstName())
+            .lastName(doc.lastName())
+            .profilePicture(doc.profilePicture())
+            .location(doc.location())
+            .hourlyRate(match.lowestRate())
+            .averageRating(doc.averageRating())
+            .totalReviews(doc.totalReviews())
+            .experienceYears(doc.experienceYears())
+            .isAvailable(doc.isAvailable())
+            .build();
+    }
+
+    // ==================== CHARGEMENT ====================
+
+    private Map<Long, List<TutorSearchEntry>> groupByTutor(List<TutorSearchEntry> entries) {
+        Map<Long, List<TutorSearchEntry>> entriesByTutor = new LinkedHashMap<>();
+        for (TutorSearchEntry entry : entries) {
+            entriesByTutor.computeIfAbsent(entry.getTutorId(), id -> new ArrayList<>()).add(entry);
+        }
+        return entriesByTutor;
+    }
+
+    private List<Doc> buildDocs(List<Long> tutorIds, Map<Long, List<TutorSearchEntry>> entriesByTutor) {
+        Map<Long, String> bios = new HashMap<>();
+        for (Object[] row : tutorRepository.findBiosByIds(tutorIds)) {
+            bios.put((Long) row[0], (String) row[1]);
+        }
+        Map<Long, List<String>> languageNames = new HashMap<>();
+        for (Object[] row : tutorRepository.findLanguageNamesByTutorIds(tutorIds)) {
+            languageNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<Doc> docs = new ArrayList<>(tutorIds.size());
+        for (Long tutorId : tutorIds) {
+            docs.add(buildDoc(entriesByTutor.get(tutorId), bios.get(tutorId),
+                languageNames.getOrDefault(tutorId, List.of())));
+        }
+        return docs;
+    }
+
+    /**
+     * Un document par tuteur : colonnes tuteur de la première ligne, une offre par ligne, termes pondérés par champ
+     */
+    private Doc buildDoc(List<TutorSearchEntry> entries, String bio, List<String> languageNames) {
+        TutorSearchEntry head = entries.get(0);
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, head.getFirstName(), NAME_WEIGHT);
+        addTerms(terms, head.getLastName(), NAME_WEIGHT);
+        addTerms(terms, head.getLocation(), LOCATION_WEIGHT);
+        addTerms(terms, head.getLanguages(), LANGUAGE_WEIGHT);
+        languageNames.forEach(name -> addTerms(terms, name, LANGUAGE_WEIGHT));
+        addTerms(terms, bio, BIO_WEIGHT);
+
+        Offer[] offers = new Offer[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            TutorSearchEntry entry = entries.get(i);
+            offers[i] = new Offer(entry.getSubjectCode(), entry.getHourlyRate(),
+                entry.getLevelsMask() != null ? entry.getLevelsMask() : 0);
+            addTerms(terms, entry.getSubjectCode(), SUBJECT_WEIGHT);
+            addTerms(terms, entry.getSubjectName(), SUBJECT_WEIGHT);
+        }
+
+        String[] termArray = terms.keySet().toArray(new String[0]);
+        float[] weights = new float[termArray.length];
+        for (int i = 0; i < termArray.length; i++) {
+            weights[i] = terms.get(termArray[i]);
+        }
+
+        return new Doc(head.getTutorId(), head.getFirstName(), head.getLastName(), head.getProfilePicture(),
+            head.getLocation(), head.getStatus(), Boolean.TRUE.equals(head.getIsAvailable()), head.getExperienceYears(),
+            head.getAverageRating() != null ? head.getAverageRating() : 0.0,
+            head.getTotalReviews() != null ? head.getTotalReviews() : 0,
+            offers, termArray, weights);
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight) {
+        // Un terme présent dans plusieurs champs garde le poids du champ le plus significatif
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    /**
+     * Minuscules, sans accents, découpé sur tout caractère non alphanumérique
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized))
+            .filter(token -> !token.isEmpty())
+            .toList();
+    }
+
+    // ==================== STRUCTURES ====================
+
+    private record Offer(String subjectCode, BigDecimal rate, int levelsMask) {}
+
+    private record Doc(long tutorId, String firstName, String lastName, String profilePicture, String location,
+                       UserStatus status, boolean isAvailable, Integer experienceYears, double averageRating,
+                       int totalReviews, Offer[] offers, String[] terms, float[] weights) {}
+
+    private record Match(Doc doc, BigDecimal lowestRate, float score) {}
+
+    /**
+     * Documents d'un terme, dans l'ordre croissant des IDs de document (les documents sont toujours ajoutés en fin)
+     */
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int docId, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * Documents (ID dense = position dans docs), tombstones et postings. Accès protégés par le verrou du moteur.
+     */
+    private static final class Index {
+        private final List<Doc> docs = new ArrayList<>();
+        private final BitSet deleted = new BitSet();
+        private final Map<Long, Integer> docIdByTutor = new HashMap<>();
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+        private int deletedCount;
+
+        void add(Doc doc) {
+            remove(doc.tutorId());
+            int docId = docs.size();
+            docs.add(doc);
+            docIdByTutor.put(doc.tutorId(), docId);
+            for (int i = 0; i < doc.terms().length; i++) {
+                postings.computeIfAbsent(doc.terms()[i], term -> new PostingList()).add(docId, doc.weights()[i]);
+            }
+        }
+
+        void remove(Long tutorId) {
+            Integer previous = docIdByTutor.remove(tutorId);
+            if (previous != null) {
+                deleted.set(previous);
+                deletedCount++;
+            }
+        }
+
+        int liveCount() {
+            return docs.size() - deletedCount;
+        }
+
+        boolean needsCompaction() {
+            return deletedCount >= MIN_DELETED_FOR_COMPACTION && deletedCount > docs.size() * MAX_DELETED_RATIO;
+        }
+
+        Index compact() {
+            Index compacted = new Index();
+            for (int docId = 0; docId < docs.size(); docId++) {
+                if (!deleted.get(docId)) {
+                    compacted.add(docs.get(docId));
+                }
+            }
+            return compacted;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.tutor_app.search;
+
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import com.backend.tutor_app.repositories.TutorSearchEntryRepository;
+import com.backend.tutor_app.repositories.TutorSearchRepository.TutorSearchResult;
+import com.backend.tutor_app.repositories.specifications.TutorSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recherche SQL sur le modèle de lecture tutor_search (moteur par défaut)
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "sql", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqlTutorSearchEngine implements TutorSearchEngine {
+
+    private final TutorSearchEntryRepository tutorSearchEntryRepository;
+
+    @Override
+    public TutorSearchResult search(Criteria criteria, Pageable pageable) {
+        Specification<TutorSearchEntry> specification = Specification.allOf(
+                TutorSpecifications.isActive(),
+                TutorSpecifications.text(criteria.text()),
+                TutorSpecifications.subject(criteria.subjectCode()),
+                TutorSpecifications.level(criteria.level()),
+                TutorSpecifications.rateBetween(criteria.minRate(), criteria.maxRate()),
+                TutorSpecifications.minRating(criteria.minRating()),
+                TutorSpecifications.available(criteria.available()),
+                TutorSpecifications.tutorIdIn(criteria.tutorIds()));
+
+        return tutorSearchEntryRepository.search(specification, pageable);
+    }
+}
@@ -0,0 +1,53 @@
+package com.backend.tutor_app.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Tranches des facettes de prix et de note, partagées par les moteurs SQL et mémoire
+ */
+public final class TutorSearchBands {
+
+    // Bornes basses des tranches de prix (€/h) et des tranches de notes
+    public static final int[] PRICE_BANDS = {0, 20, 35, 50};
+    public static final double[] RATING_BUCKETS = {0, 3, 4, 4.5};
+
+    private TutorSearchBands() {
+    }
+
+    /**
+     * Libellé de la tranche i : "20-35", ou "50+" pour la dernière
+     */
+    public static String priceBandLabel(int i) {
+        int last = PRICE_BANDS.length - 1;
+        return i == last ? PRICE_BANDS[last] + "+" : PRICE_BANDS[i] + "-" + PRICE_BANDS[i + 1];
+    }
+
+    public static String ratingBucketLabel(int i) {
+        int last = RATING_BUCKETS.length - 1;
+        return i == last
+            ? formatRating(RATING_BUCKETS[last]) + "+"
+            : formatRating(RATING_BUCKETS[i]) + "-" + formatRating(RATING_BUCKETS[i + 1]);
+    }
+
+    public static String priceBandOf(BigDecimal rate) {
+        for (int i = PRICE_BANDS.length - 1; i > 0; i--) {
+            if (rate.compareTo(BigDecimal.valueOf(PRICE_BANDS[i])) >= 0) {
+                return priceBandLabel(i);
+            }
+        }
+        return priceBandLabel(0);
+    }
+
+    public static String ratingBucketOf(double rating) {
+        for (int i = RATING_BUCKETS.length - 1; i > 0; i--) {
+            if (rating >= RATING_BUCKETS[i]) {
+                return ratingBucketLabel(i);
+            }
+        }
+        return ratingBucketLabel(0);
+    }
+
+    private static String formatRating(double rating) {
+        return rating == Math.rint(rating) ? String.valueOf((int) rating) : String.valueOf(rating);
+    }
+}
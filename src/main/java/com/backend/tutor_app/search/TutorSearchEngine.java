@@ -0,0 +1,31 @@
+package com.backend.tutor_app.search;
+
+import com.backend.tutor_app.model.enums.EducationLevel;
+import com.backend.tutor_app.repositories.TutorSearchRepository.TutorSearchResult;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Moteur de recherche de tuteurs (liste filtrée + facettes)
+ * Sélectionné par la propriété app.search.engine : sql (défaut, table tutor_search) ou memory (index inversé en mémoire)
+ */
+public interface TutorSearchEngine {
+
+    /**
+     * Critères de recherche ; chaque champ null est ignoré
+     * @param text Texte libre (nom, matière, ville, langue, bio) ; le dernier mot est traité comme un préfixe
+     * @param tutorIds Restriction à ces tuteurs (ex : libres sur un créneau, cf. AvailabilityMatchingService)
+     */
+    record Criteria(String text, String subjectCode, EducationLevel level, BigDecimal minRate, BigDecimal maxRate,
+                    Double minRating, Boolean available, Set<Long> tutorIds) {}
+
+    /**
+     * Exécute la recherche
+     * @param criteria Critères
+     * @param pageable Pagination ; tris acceptés : rating, price, reviews, experience, createdAt
+     *                 (avec un texte, le moteur memory classe par pertinence pondérée par la note)
+     */
+    TutorSearchResult search(Criteria criteria, Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.backend.tutor_app.search;
+
+/**
+ * Publié après la reconstruction des lignes tutor_search d'un tuteur, ou de toute la table (tutorId null)
+ */
+public record TutorSearchIndexChangedEvent(Long tutorId) {
+
+    public boolean isFullRebuild() {
+        return tutorId == null;
+    }
+}
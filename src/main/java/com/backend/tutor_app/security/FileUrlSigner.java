@@ -0,0 +1,113 @@
+package com.backend.tutor_app.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * Signature HMAC-SHA256 des URLs de fichiers privés : {url}?expires={epochSeconds}&signature={hmac}
+ * La vérification est purement cryptographique (aucun accès base de données), ce qui permet
+ * de servir les documents depuis un cache ou un CDN tant que l'URL n'a pas expiré.
+ */
+@Component
+public class FileUrlSigner {
+
+    public static final String EXPIRES_PARAM = "expires";
+    public static final String SIGNATURE_PARAM = "signature";
+    public static final String FILES_PATH = "/api/files/";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    // Préfixe de domaine : une signature de fichier ne peut pas être rejouée ailleurs (JWT, ...)
+    private static final String PAYLOAD_PREFIX = "file-url:";
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+    // Mac n'est pas thread-safe : une instance initialisée par thread, sans ré-initialisation de la clé
+    private final ThreadLocal<Mac> macs;
+
+    public FileUrlSigner(@Value("${app.file.signing-secret:${app.jwt.secret}}") String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    FileUrlSigner(String secret, Clock clock) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Construit la query string signée pour un chemin relatif (directory/fileName)
+     * @param relativePath Chemin du fichier tel que servi par FileController
+     * @param expirationSeconds Durée de validité
+     * @return expires=...&signature=...
+     */
+    public String sign(String relativePath, long expirationSeconds) {
+        long expires = clock.instant().getEpochSecond() + expirationSeconds;
+        return EXPIRES_PARAM + "=" + expires + "&" + SIGNATURE_PARAM + "=" + computeSignature(relativePath, expires);
+    }
+
+    /**
+     * Vérifie une URL signée : expiration puis signature (comparaison en temps constant)
+     * @return true si la signature est valide et non expirée
+     */
+    public boolean verify(String relativePath, String expires, String signature) {
+        if (expires == null || signature == null) {
+            return false;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (clock.instant().getEpochSecond() > expiresAt) {
+            return false;
+        }
+
+        byte[] expected = computeSignature(relativePath, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        byte[] provided = signature.getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, provided);
+    }
+
+    /**
+     * Requête de fichier portant une signature : autorisée sans JWT, vérifiée par FileController
+     */
+    public static boolean isSignedFileRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+            && request.getRequestURI().startsWith(request.getContextPath() + FILES_PATH)
+            && request.getParameter(SIGNATURE_PARAM) != null;
+    }
+
+    /**
+     * Secondes restantes avant expiration (pour le Cache-Control des réponses signées)
+     */
+    public long secondsUntil(String expires) {
+        return Math.max(0, Long.parseLong(expires) - clock.instant().getEpochSecond());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private String computeSignature(String relativePath, long expires) {
+        Mac mac = macs.get();
+        byte[] payload = (PAYLOAD_PREFIX + relativePath + "\n" + expires).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 non disponible", e);
+        }
+    }
+}
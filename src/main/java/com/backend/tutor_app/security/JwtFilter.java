@@ -22,6 +22,12 @@ public class JwtFilter extends OncePerRequestFilter {
     private final CustomUserService userDetailsService;
 
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // URL de fichier signée : aucune résolution de l'utilisateur (pas d'accès base)
+        return FileUrlSigner.isSignedFileRequest(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
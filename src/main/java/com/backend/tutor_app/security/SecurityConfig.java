@@ -3,6 +3,7 @@ package com.backend.tutor_app.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -66,6 +67,9 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/v3/api-docs.yaml").permitAll() // Autorise Swagger UI et OpenAPI
                         .requestMatchers("/ws/**").permitAll() // WebSocket pour notifications
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Sondes et collecte Prometheus (port de gestion interne en production)
+                        .requestMatchers(HttpMethod.GET, "/api/files/profiles/**").permitAll() // Photos de profil publiques (listings tuteurs)
+                        .requestMatchers(FileUrlSigner::isSignedFileRequest).permitAll() // URLs signées : vérifiées par FileController
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Pas de session HTTP
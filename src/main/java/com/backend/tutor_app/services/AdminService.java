@@ -3,8 +3,12 @@ package com.backend.tutor_app.services;
 import com.backend.tutor_app.dto.admin.*;
 import com.backend.tutor_app.dto.Auth.UserDto;
 import com.backend.tutor_app.dto.common.PagedResponse;
+import com.backend.tutor_app.model.enums.AuditExportFormat;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,9 +24,10 @@ public interface AdminService {
     AdminStatsDto getAdminStatistics();
     
     /**
-     * Récupère les statistiques détaillées sur une période
+     * Récupère les statistiques détaillées sur une période, depuis les compteurs journaliers d'inscriptions
+     * @param granularity DAY, WEEK ou MONTH (DAY si null)
      */
-    Map<String, Object> getDetailedAdminStats(int days);
+    Map<String, Object> getDetailedAdminStats(int days, String granularity);
 
     // ==================== GESTION UTILISATEURS ====================
     
@@ -109,6 +114,22 @@ public interface AdminService {
         String action, Long userId, String startDate, String endDate, Pageable pageable
     );
     
+    /**
+     * Analyse de l'activité d'audit sur la période (agrégats)
+     */
+    Map<String, Object> getAuditAnalytics(int days, long spikeThreshold);
+
+    /**
+     * Activité d'audit minute par minute sur une fenêtre bornée
+     */
+    List<Map<String, Object>> getAuditActivity(String startDate, String endDate);
+
+    /**
+     * Exporte les logs d'audit filtrés dans le flux, en continu (mémoire constante)
+     * @return Nombre de lignes exportées
+     */
+    long exportAuditLogs(AuditLogFilter filter, AuditExportFormat format, boolean gzip, OutputStream out) throws IOException;
+
     /**
      * Enregistre une action dans les logs d'audit
      */
@@ -0,0 +1,23 @@
+package com.backend.tutor_app.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analyse de l'activité d'audit, servie depuis les agrégats maintenus par le thread d'écriture
+ */
+public interface AuditAnalyticsService {
+
+    /**
+     * Tableau de bord de la période : répartition par action, sévérité et mois, pics par minute,
+     * acteurs les plus actifs et actions lentes
+     * @param spikeThreshold Nombre d'événements par minute au-delà duquel une minute est un pic
+     */
+    Map<String, Object> getAnalytics(int days, long spikeThreshold);
+
+    /**
+     * Détail minute par minute depuis les lignes brutes, sur une fenêtre bornée
+     */
+    List<Map<String, Object>> getActivityDrillDown(LocalDateTime start, LocalDateTime end);
+}
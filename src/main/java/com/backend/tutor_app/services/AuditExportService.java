@@ -0,0 +1,21 @@
+package com.backend.tutor_app.services;
+
+import com.backend.tutor_app.dto.admin.AuditLogFilter;
+import com.backend.tutor_app.model.enums.AuditExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Export des logs d'audit en continu, sans pagination
+ */
+public interface AuditExportService {
+
+    /**
+     * Écrit les logs correspondant aux filtres dans le flux, par ordre chronologique
+     * Le flux n'est pas fermé (la réponse HTTP appartient au conteneur)
+     * @param gzip Compression gzip du contenu exporté
+     * @return Nombre de lignes exportées
+     */
+    long export(AuditLogFilter filter, AuditExportFormat format, boolean gzip, OutputStream out) throws IOException;
+}
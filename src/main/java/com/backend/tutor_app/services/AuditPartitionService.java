@@ -0,0 +1,26 @@
+package com.backend.tutor_app.services;
+
+/**
+ * Partitionnement mensuel de audit_logs sur timestamp : création anticipée des partitions et rétention par partition
+ */
+public interface AuditPartitionService {
+
+    /**
+     * Convertit audit_logs en table partitionnée si nécessaire et autorisé (app.audit.convert-on-startup, lignes existantes
+     * conservées), puis crée les partitions à venir ; sans effet sur une table simple non convertie
+     */
+    void ensurePartitioned();
+
+    /**
+     * Crée les partitions du mois courant et des app.audit.partitions-ahead mois suivants
+     * @return Nombre de partitions créées
+     */
+    int createUpcomingPartitions();
+
+    /**
+     * Retire les partitions plus anciennes que app.audit.retention-months, après copie des lignes de sévérité élevée
+     * dans la partition d'archive
+     * @return Nombre de partitions retirées
+     */
+    int applyRetention();
+}
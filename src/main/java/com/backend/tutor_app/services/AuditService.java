@@ -0,0 +1,25 @@
+package com.backend.tutor_app.services;
+
+import com.backend.tutor_app.audit.AuditEvent;
+
+/**
+ * Journal d'audit asynchrone : les événements sont mis en tampon puis écrits en lot dans audit_logs
+ */
+public interface AuditService {
+
+    /**
+     * Enregistre un événement sans attendre l'écriture en base (coût de l'ordre de la microseconde).
+     * IP, user-agent et session sont complétés depuis la requête HTTP courante s'ils sont absents.
+     */
+    void record(AuditEvent event);
+
+    /**
+     * Nombre d'événements en attente d'écriture
+     */
+    int pendingEvents();
+
+    /**
+     * Nombre d'événements abandonnés (tampon plein ou lot en échec) depuis le démarrage
+     */
+    long droppedEvents();
+}
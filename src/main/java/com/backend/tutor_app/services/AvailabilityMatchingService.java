@@ -0,0 +1,17 @@
+package com.backend.tutor_app.services;
+
+import java.util.Set;
+
+/**
+ * Recherche des tuteurs libres sur un créneau hebdomadaire, par intersection de bitsets (cf. WeeklySlots)
+ */
+public interface AvailabilityMatchingService {
+
+    /**
+     * Tuteurs dont les créneaux couvrent entièrement le créneau demandé
+     * @param requestedSlots Masque du créneau demandé (WeeklySlots.request)
+     * @param subjectCode Matière (seuls les créneaux ouverts à cette matière comptent), ou null
+     * @return IDs des tuteurs disponibles
+     */
+    Set<Long> findAvailableTutorIds(long[] requestedSlots, String subjectCode);
+}
@@ -1,9 +1,11 @@
 package com.backend.tutor_app.services;
 
+import com.backend.tutor_app.model.enums.ImageVariant;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +19,7 @@ public interface FileStorageService {
     
     /**
      * Upload un fichier
+     * Le nom est dérivé du nom d'origine, l'extension du type réel (magic bytes)
      * @param file Fichier à uploader
      * @param directory Répertoire de destination
      * @return URL du fichier uploadé
@@ -25,6 +28,7 @@ public interface FileStorageService {
     
     /**
      * Upload un fichier avec un nom personnalisé
+     * Le type enregistré est le type réel détecté, jamais le Content-Type déclaré par le client
      * @param file Fichier à uploader
      * @param directory Répertoire de destination
      * @param fileName Nom personnalisé du fichier
@@ -34,9 +38,10 @@ public interface FileStorageService {
     
     /**
      * Upload une photo de profil utilisateur
+     * L'original est conservé et les variantes redimensionnées (ImageVariant) sont générées à côté
      * @param file Fichier image
      * @param userId ID de l'utilisateur
-     * @return URL de la photo de profil
+     * @return URL de la variante MEDIUM (ou de l'original si l'image n'a pas pu être traitée)
      */
     String uploadProfilePicture(MultipartFile file, Long userId);
     
@@ -51,6 +56,7 @@ public interface FileStorageService {
     
     /**
      * Upload multiple files
+     * Les fichiers sont validés (type réel) et écrits en parallèle ; l'opération est tout-ou-rien
      * @param files Liste des fichiers à uploader
      * @param directory Répertoire de destination
      * @return Liste des URLs des fichiers uploadés
@@ -59,6 +65,7 @@ public interface FileStorageService {
 
     /**
      * Upload de plusieurs documents pour un tuteur (convenience pour le contrôleur)
+     * Les fichiers sont validés (type réel) et écrits en parallèle ; l'opération est tout-ou-rien
      * @param files Fichiers à uploader
      * @param userId ID du tuteur/utilisateur
      * @return Tableau d'URLs des documents uploadés
@@ -74,6 +81,15 @@ public interface FileStorageService {
      * @return Resource du fichier
      */
     Resource downloadFile(String fileName, String directory);
+
+    /**
+     * Type MIME à renvoyer au client : type détecté à l'upload (ou depuis l'en-tête pour un fichier historique),
+     * filtré par liste blanche - jamais dérivé de l'extension du nom de fichier
+     * @param fileName Nom du fichier
+     * @param directory Répertoire du fichier
+     * @return Type MIME servi, application/octet-stream si le type n'est pas autorisé
+     */
+    String getServedContentType(String fileName, String directory);
     
     /**
      * Récupère un fichier comme InputStream
@@ -163,7 +179,7 @@ public interface FileStorageService {
     boolean validateDocument(MultipartFile file, long maxSizeInMB);
     
     /**
-     * Récupère le type MIME d'un fichier
+     * Récupère le type MIME réel d'un fichier, détecté à partir de ses premiers octets
      * @param file Fichier
      * @return Type MIME
      */
@@ -209,37 +225,76 @@ public interface FileStorageService {
      */
     String generateFileUrl(String fileName, String directory);
     
+    /**
+     * Dérive l'URL d'une autre variante à partir de l'URL d'une photo de profil
+     * @param imageUrl URL stockée dans Utilisateur.profilePicture
+     * @param variant Variante souhaitée
+     * @return URL de la variante, ou imageUrl si la photo n'a pas de variantes
+     */
+    String getImageVariantUrl(String imageUrl, ImageVariant variant);
+    
+    /**
+     * Supprime une photo de profil remplacée ou retirée : l'original et toutes ses variantes
+     * (les blobs sont libérés par cleanupOrphanedFiles())
+     * @param profilePictureUrl URL stockée dans Utilisateur.profilePicture
+     * @return Nombre de fichiers supprimés
+     */
+    int deleteProfilePicture(String profilePictureUrl);
+    
     /**
      * Génère une URL temporaire sécurisée pour un fichier
+     * (URL présignée du stockage objet si le backend le permet)
      * @param fileName Nom du fichier
      * @param directory Répertoire du fichier
      * @param expirationMinutes Durée d'expiration en minutes
      * @return URL temporaire sécurisée
      */
     String generateSecureFileUrl(String fileName, String directory, int expirationMinutes);
+
+    /**
+     * URL de téléchargement direct depuis le stockage objet (le contenu ne transite pas par l'application)
+     * @param fileName Nom du fichier
+     * @param directory Répertoire du fichier
+     * @param expiration Durée de validité de l'URL
+     * @return URL présignée, ou null si le fichier doit être servi par l'application (backend local, fichier historique)
+     */
+    String resolveDirectDownloadUrl(String fileName, String directory, Duration expiration);
     
     // ==================== STATISTICS ====================
     
     /**
-     * Récupère les statistiques de stockage
+     * Récupère les statistiques de stockage (compteurs maintenus incrémentalement, sans parcours du disque)
      * @return Map avec les statistiques (espace utilisé, nombre de fichiers, etc.)
      */
     Map<String, Object> getStorageStatistics();
     
     /**
-     * Récupère la taille d'un répertoire
-     * @param directory Répertoire
+     * Récupère la taille logique d'un répertoire (fichiers référencés, un contenu dédupliqué compté à chaque référence)
+     * La taille physique n'est exposée que par getStorageStatistics()
+     * @param directory Répertoire logique (ou le répertoire d'upload pour le total)
      * @return Taille en bytes
      */
     long getDirectorySize(String directory);
     
     /**
-     * Récupère le nombre de fichiers dans un répertoire
-     * @param directory Répertoire
+     * Récupère le nombre de fichiers logiques d'un répertoire (même périmètre que getDirectorySize)
+     * @param directory Répertoire logique (ou le répertoire d'upload pour le total)
      * @return Nombre de fichiers
      */
     int getFileCount(String directory);
     
+    /**
+     * Reporte les variations en attente (storage_counter_deltas) dans les compteurs de stockage
+     * Exécuté fréquemment pour borner la taille de la table des variations
+     */
+    void foldStorageCounterDeltas();
+    
+    /**
+     * Recale les compteurs de stockage sur l'état réel (base + scan du disque)
+     * Exécuté périodiquement pour corriger toute dérive
+     */
+    void reconcileStorageStatistics();
+    
     // ==================== CLEANUP ====================
     
     /**
@@ -0,0 +1,20 @@
+package com.backend.tutor_app.services;
+
+import com.backend.tutor_app.model.enums.ImageVariant;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Service de traitement d'images pour TutorApp
+ * Génère les variantes redimensionnées des photos de profil sur un pool de workers borné
+ */
+public interface ImageProcessingService {
+
+    /**
+     * Décode l'image une seule fois et produit toutes les variantes (JPEG, recadrage carré centré)
+     * @param imageStream Flux de l'image originale
+     * @return Contenu JPEG encodé de chaque variante
+     */
+    Map<ImageVariant, byte[]> generateVariants(InputStream imageStream);
+}
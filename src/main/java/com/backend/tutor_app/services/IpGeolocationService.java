@@ -7,6 +7,12 @@ import com.backend.tutor_app.model.enums.SecurityRiskLevel;
  * Détermine le pays d'origine d'une IP et calcule le niveau de risque
  */
 public interface IpGeolocationService {
+
+    /**
+     * Pays d'une géolocalisation qui n'a pas abouti (délai dépassé, erreur), distinct de "UNKNOWN"
+     * qui signifie que la base n'a pas de réponse pour l'IP ou que la géolocalisation est désactivée
+     */
+    String LOOKUP_FAILED = "LOOKUP_FAILED";
     
     /**
      * (Q) PHASE 2 - Obtient le pays d'une adresse IP
@@ -36,4 +42,15 @@ public interface IpGeolocationService {
      * @return Niveau de risque calculé
      */
     SecurityRiskLevel calculateIpRiskLevel(String previousIp, String currentIp);
+
+    /**
+     * Niveau de risque d'un changement d'IP à partir de données déjà résolues (aucune géolocalisation)
+     * Un pays LOOKUP_FAILED ou null n'est jamais évalué à LOW (échec de géolocalisation = refus du risque faible) ;
+     * UNKNOWN est comparé comme un code pays
+     * @param previousCountry Pays de l'IP précédente
+     * @param currentCountry Pays de l'IP actuelle
+     * @param vpnOrProxy IP actuelle identifiée comme VPN/Proxy
+     * @return Niveau de risque calculé
+     */
+    SecurityRiskLevel assessIpRisk(String previousCountry, String currentCountry, boolean vpnOrProxy);
 }
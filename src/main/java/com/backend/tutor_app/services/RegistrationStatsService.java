@@ -0,0 +1,31 @@
+package com.backend.tutor_app.services;
+
+import com.backend.tutor_app.dto.admin.RegistrationSeries;
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.StatsGranularity;
+import com.backend.tutor_app.model.enums.UserStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Compteurs journaliers des inscriptions (registration_daily_stats), par rôle et statut
+ */
+public interface RegistrationStatsService {
+
+    /**
+     * Déplace (ou ajoute / retire) un utilisateur entre deux compteurs de son jour d'inscription.
+     * Appliqué avant le commit de la transaction courante ; un côté null = création ou suppression.
+     */
+    void recordTransition(LocalDate registrationDay, Role oldRole, UserStatus oldStatus, Role newRole, UserStatus newStatus);
+
+    /**
+     * Série des inscriptions depuis une date, agrégée par jour, semaine ou mois
+     */
+    RegistrationSeries getSeries(LocalDate from, StatsGranularity granularity);
+
+    /**
+     * Reconstruit tous les compteurs depuis la table utilisateur
+     * @return Nombre de compteurs écrits
+     */
+    int rebuildAll();
+}
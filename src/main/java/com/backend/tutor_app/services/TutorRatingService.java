@@ -0,0 +1,28 @@
+package com.backend.tutor_app.services;
+
+/**
+ * Maintenance incrémentale des agrégats de notes des tuteurs (somme, nombre, histogramme, moyenne)
+ * Les listings et tris par note lisent ces colonnes et ne parcourent jamais tutor_review.
+ */
+public interface TutorRatingService {
+
+    /**
+     * Enregistre l'ajout d'une note (appliqué dans la transaction courante, juste avant le commit)
+     * @param tutorId ID du tuteur
+     * @param rating Note de 1 à 5
+     */
+    void recordReviewAdded(Long tutorId, int rating);
+
+    /**
+     * Enregistre le retrait d'une note (suppression d'avis, ou ancienne valeur d'un avis modifié)
+     * @param tutorId ID du tuteur
+     * @param rating Note de 1 à 5
+     */
+    void recordReviewRemoved(Long tutorId, int rating);
+
+    /**
+     * Recalcule tous les agrégats depuis tutor_review, par tranches d'IDs (rattrapage)
+     * @return Nombre de tuteurs mis à jour
+     */
+    int recomputeAll();
+}
@@ -0,0 +1,32 @@
+package com.backend.tutor_app.services;
+
+/**
+ * Maintenance du modèle de lecture tutor_search
+ * Les changements sont regroupés par transaction : chaque tuteur modifié est reconstruit une seule fois après commit
+ */
+public interface TutorSearchIndexService {
+
+    /**
+     * Signale qu'un tuteur doit être reconstruit (après commit de la transaction courante, ou immédiatement hors transaction)
+     * @param tutorId ID du tuteur
+     */
+    void markTutorDirty(Long tutorId);
+
+    /**
+     * Signale le renommage d'une matière (mise à jour en place des lignes concernées après commit)
+     * @param subjectId ID de la matière
+     */
+    void markSubjectDirty(Long subjectId);
+
+    /**
+     * Reconstruit les lignes d'un tuteur depuis les tables sources
+     * @param tutorId ID du tuteur
+     */
+    void refreshTutor(Long tutorId);
+
+    /**
+     * Reconstruction complète (initialisation et réconciliation planifiée)
+     * @return Nombre de tuteurs indexés
+     */
+    int rebuildAll();
+}
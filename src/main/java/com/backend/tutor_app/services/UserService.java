@@ -132,12 +132,12 @@ public interface UserService {
     void updatePersonalInfo(Long userId, String firstName, String lastName, String phoneNumber);
     
     /**
-     * Recherche des utilisateurs par nom ou email
+     * Recherche des utilisateurs par nom ou email (sous-chaîne, insensible à la casse)
      * @param query Terme de recherche
      * @param pageable Paramètres de pagination
      * @return Page d'utilisateurs correspondant à la recherche
      */
-    Page<Utilisateur> searchUsers(String query, Pageable pageable);
+    Page<UserDto> searchUsers(String query, Pageable pageable);
 
     // ==================== METHODS USED BY UserController ====================
     /** Profil utilisateur courant (DTO) */
@@ -155,8 +155,21 @@ public interface UserService {
     /** Recherche avec filtres supplémentaires (rôle, statut) retournant DTO paginé */
     com.backend.tutor_app.dto.common.PagedResponse<UserDto> searchUsers(String query, String role, String status, Pageable pageable);
 
-    /** Listing des tuteurs avec filtres */
-    com.backend.tutor_app.dto.common.PagedResponse<UserDto> getTutors(String subject, String level, Double minPrice, Double maxPrice, Double minRating, Boolean available, Pageable pageable);
+    /**
+     * Listing des tuteurs avec texte libre et filtres, avec compteurs de facettes (matière, tranche de prix, note).
+     * Avec un créneau (day, from, to, timezone), seuls les tuteurs libres sur tout le créneau sont retenus.
+     * @throws IllegalArgumentException si un filtre est invalide (niveau, créneau)
+     */
+    com.backend.tutor_app.dto.user.TutorSearchResponse searchTutors(String query, String subject, String level, Double minPrice, Double maxPrice, Double minRating, Boolean available,
+                                                                    String day, String from, String to, String timezone, Pageable pageable);
+
+    /**
+     * Listing des tuteurs au format historique de l'API v1 (page de UserDto, sans facettes)
+     * Seuls les champs publics sont renseignés (ni email ni téléphone)
+     * @throws IllegalArgumentException si un filtre est invalide (niveau, créneau)
+     */
+    com.backend.tutor_app.dto.common.PagedResponse<UserDto> getTutors(String query, String subject, String level, Double minPrice, Double maxPrice, Double minRating, Boolean available,
+                                                                 String day, String from, String to, String timezone, Pageable pageable);
 
     /** Profil public */
     UserDto getPublicProfile(Long userId);
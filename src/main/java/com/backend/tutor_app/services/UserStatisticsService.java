@@ -0,0 +1,15 @@
+package com.backend.tutor_app.services;
+
+import com.backend.tutor_app.dto.admin.UserStatsSnapshot;
+
+/**
+ * Compteurs utilisateurs du tableau de bord, calculés en une requête et servis depuis un instantané à courte durée de vie
+ */
+public interface UserStatisticsService {
+
+    /**
+     * Instantané courant, recalculé au plus une fois par période (app.stats.snapshot-ttl-seconds).
+     * Les appels concurrents sur un instantané expiré ne déclenchent qu'un seul calcul.
+     */
+    UserStatsSnapshot getSnapshot();
+}
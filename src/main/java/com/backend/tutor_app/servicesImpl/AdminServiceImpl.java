@@ -1,20 +1,39 @@
 package com.backend.tutor_app.servicesImpl;
 
+import com.backend.tutor_app.audit.AuditEvent;
 import com.backend.tutor_app.dto.admin.*;
 import com.backend.tutor_app.dto.Auth.UserDto;
 import com.backend.tutor_app.dto.common.PagedResponse;
+import com.backend.tutor_app.model.AuditLog;
 import com.backend.tutor_app.model.Utilisateur;
+import com.backend.tutor_app.model.enums.AuditAction;
+import com.backend.tutor_app.model.enums.AuditExportFormat;
 import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.StatsGranularity;
 import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.repositories.AuditLogRepository;
 import com.backend.tutor_app.repositories.UserRepository;
 import com.backend.tutor_app.services.AdminService;
+import com.backend.tutor_app.services.AuditAnalyticsService;
+import com.backend.tutor_app.services.AuditExportService;
+import com.backend.tutor_app.services.AuditService;
+import com.backend.tutor_app.services.RegistrationStatsService;
+import com.backend.tutor_app.services.UserStatisticsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,6 +48,13 @@ import java.util.stream.Collectors;
 public class AdminServiceImpl implements AdminService {
 
     private final UserRepository userRepository;
+    private final UserStatisticsService userStatisticsService;
+    private final RegistrationStatsService registrationStatsService;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditService auditService;
+    private final AuditAnalyticsService auditAnalyticsService;
+    private final AuditExportService auditExportService;
+    private final ObjectMapper objectMapper;
 
     // ==================== STATISTIQUES ====================
 
@@ -37,23 +63,21 @@ public class AdminServiceImpl implements AdminService {
         log.info("Récupération des statistiques administrateur");
         
         try {
-            // Statistiques utilisateurs
-            Long totalUsers = userRepository.count();
-            Long activeUsers = userRepository.countByStatus(UserStatus.ACTIVE);
-            Long inactiveUsers = userRepository.countByStatus(UserStatus.INACTIVE);
-            Long suspendedUsers = userRepository.countByStatus(UserStatus.SUSPENDED);
+            // Statistiques utilisateurs : une seule requête groupée, partagée via l'instantané
+            UserStatsSnapshot snapshot = userStatisticsService.getSnapshot();
+            Long totalUsers = snapshot.totalUsers();
+            Long activeUsers = snapshot.countByStatus(UserStatus.ACTIVE);
+            Long inactiveUsers = snapshot.countByStatus(UserStatus.INACTIVE);
+            Long suspendedUsers = snapshot.countByStatus(UserStatus.SUSPENDED);
             
             // Nouveaux utilisateurs
-            LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-            
-            Long newUsersThisMonth = userRepository.countByCreatedAtAfter(startOfMonth);
-            Long newUsersToday = userRepository.countByCreatedAtAfter(startOfDay);
+            Long newUsersThisMonth = snapshot.newThisMonth();
+            Long newUsersToday = snapshot.newToday();
             
             // Statistiques par rôle
-            Long totalStudents = userRepository.countByRole(Role.STUDENT);
-            Long totalTutors = userRepository.countByRole(Role.TUTOR);
-            Long totalAdmins = userRepository.countByRole(Role.ADMIN);
+            Long totalStudents = snapshot.countByRole(Role.STUDENT);
+            Long totalTutors = snapshot.countByRole(Role.TUTOR);
+            Long totalAdmins = snapshot.countByRole(Role.ADMIN);
             
             return AdminStatsDto.builder()
                 .totalUsers(totalUsers)
@@ -79,7 +103,7 @@ public class AdminServiceImpl implements AdminService {
                 .usersByMonth(new HashMap<>())
                 .loginsByDay(new HashMap<>())
                 .reportsByType(new HashMap<>())
-                .lastUpdated(LocalDateTime.now())
+                .lastUpdated(snapshot.computedAt())
                 .systemVersion("1.0.0")
                 .databaseVersion("PostgreSQL 15")
                 .build();
@@ -91,25 +115,35 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public Map<String, Object> getDetailedAdminStats(int days) {
+    public Map<String, Object> getDetailedAdminStats(int days, String granularity) {
         log.info("Récupération des statistiques détaillées pour {} jours", days);
         
+        if (days < 1) {
+            throw new RuntimeException("Période invalide: " + days);
+        }
+        StatsGranularity statsGranularity;
+        try {
+            statsGranularity = granularity == null || granularity.isBlank()
+                ? StatsGranularity.DAY
+                : StatsGranularity.valueOf(granularity.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Granularité invalide: " + granularity);
+        }
+        
         Map<String, Object> stats = new HashMap<>();
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
+        LocalDate startDay = LocalDate.now().minusDays(days - 1L);
         
         try {
-            // Évolution des utilisateurs
-            List<Utilisateur> recentUtilisateurs = userRepository.findByCreatedAtAfter(startDate);
-            Map<String, Long> usersByDay = recentUtilisateurs.stream()
-                .collect(Collectors.groupingBy(
-                    user -> user.getCreatedAt().toLocalDate().toString(),
-                    Collectors.counting()
-                ));
+            // Évolution des utilisateurs : au plus un compteur par (jour, rôle, statut), aucun utilisateur chargé
+            RegistrationSeries series = registrationStatsService.getSeries(startDay, statsGranularity);
             
-            stats.put("usersByDay", usersByDay);
-            stats.put("totalNewUsers", (long) recentUtilisateurs.size());
+            stats.put("usersByDay", series.buckets());
+            stats.put("usersByRole", series.byRole());
+            stats.put("usersByStatus", series.byStatus());
+            stats.put("totalNewUsers", series.total());
+            stats.put("granularity", statsGranularity.name());
             stats.put("period", days + " jours");
-            stats.put("startDate", startDate);
+            stats.put("startDate", startDay.atStartOfDay());
             stats.put("endDate", LocalDateTime.now());
             
             return stats;
@@ -309,29 +343,152 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<AuditLogDto> getAuditLogs(String action, Long userId, String startDate, String endDate, Pageable pageable) {
-        log.info("Récupération logs audit - fonctionnalité non implémentée");
+        log.info("Récupération logs audit - action: {}, utilisateur: {}", action, userId);
+        
+        AuditLogFilter filter = AuditLogFilter.of(action, userId, null, null, null, null, null, startDate, endDate);
+        Page<AuditLog> logs = findAuditLogs(filter, pageable);
         
-        // Stub - retourne une liste vide
         return PagedResponse.<AuditLogDto>builder()
-            .content(new ArrayList<>())
-            .page(0)
-            .size(0)
-            .totalElements(0L)
-            .totalPages(0)
-            .first(true)
-            .last(true)
+            .content(logs.getContent().stream().map(this::convertToAuditLogDto).collect(Collectors.toList()))
+            .page(logs.getNumber())
+            .size(logs.getSize())
+            .totalElements(logs.getTotalElements())
+            .totalPages(logs.getTotalPages())
+            .first(logs.isFirst())
+            .last(logs.isLast())
             .build();
     }
 
+    @Override
+    public Map<String, Object> getAuditAnalytics(int days, long spikeThreshold) {
+        log.info("Analyse audit - {} jours, seuil de pic: {}", days, spikeThreshold);
+        return auditAnalyticsService.getAnalytics(days, spikeThreshold);
+    }
+
+    @Override
+    public List<Map<String, Object>> getAuditActivity(String startDate, String endDate) {
+        return auditAnalyticsService.getActivityDrillDown(
+            AuditLogFilter.parseDateBound(startDate, false), AuditLogFilter.parseDateBound(endDate, true));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAuditLogs(AuditLogFilter filter, AuditExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        log.info("Export logs audit - format: {}, gzip: {}, filtres: {}", format, gzip, filter);
+        return auditExportService.export(filter, format, gzip, out);
+    }
+
     @Override
     public void logAdminAction(String action, Long userId, String details, Map<String, Object> metadata) {
-        log.info("Log action admin: {} pour utilisateur {} - {}", action, userId, details);
-        // Pour l'instant, juste un log - à implémenter avec une vraie table d'audit
+        AuditAction auditAction = resolveAuditAction(action);
+        String newValues = null;
+        if (metadata != null && !metadata.isEmpty()) {
+            try {
+                newValues = objectMapper.writeValueAsString(metadata);
+            } catch (JsonProcessingException e) {
+                log.warn("Métadonnées d'audit non sérialisables pour {}: {}", action, e.getMessage());
+            }
+        }
+        
+        // Mise en tampon uniquement : l'écriture en base se fait par lot, hors du thread de la requête
+        auditService.record(AuditEvent.builder()
+            .adminId(currentUserId())
+            .userId(userId)
+            .action(auditAction)
+            .entityType("Utilisateur")
+            .entityId(userId)
+            .details(auditAction == AuditAction.ADMIN_ACTION ? "[" + action + "] " + details : details)
+            .newValues(newValues)
+            .severityLevel(auditAction == AuditAction.USER_DELETED ? 3 : 2)
+            .build());
     }
 
     // ==================== MÉTHODES UTILITAIRES ====================
 
+    /**
+     * Action d'audit correspondant aux libellés historiques de logAdminAction, ADMIN_ACTION par défaut
+     */
+    private AuditAction resolveAuditAction(String action) {
+        if (action == null) {
+            return AuditAction.ADMIN_ACTION;
+        }
+        switch (action) {
+            case "UPDATE_USER_STATUS":
+                return AuditAction.USER_STATUS_CHANGED;
+            case "UPDATE_USER_ROLE":
+                return AuditAction.USER_ROLE_CHANGED;
+            case "DELETE_USER":
+                return AuditAction.USER_DELETED;
+            default:
+                try {
+                    return AuditAction.valueOf(action);
+                } catch (IllegalArgumentException e) {
+                    return AuditAction.ADMIN_ACTION;
+                }
+        }
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Utilisateur utilisateur) {
+            return utilisateur.getId();
+        }
+        return null;
+    }
+
+    private Page<AuditLog> findAuditLogs(AuditLogFilter filter, Pageable pageable) {
+        return auditLogRepository.findWithFilters(filter.action(), filter.userId(), filter.adminId(), filter.entityType(),
+            filter.entityId(), filter.minSeverity(), filter.success(), filter.startDate(), filter.endDate(), pageable);
+    }
+
+    private AuditLogDto convertToAuditLogDto(AuditLog auditLog) {
+        return AuditLogDto.builder()
+            .id(auditLog.getId())
+            .action(auditLog.getAction().name())
+            .actionType(auditLog.getActorType())
+            .entityType(auditLog.getEntityType())
+            .entityId(auditLog.getEntityId())
+            .userId(auditLog.getActorId())
+            .description(auditLog.getDetails())
+            .oldValues(readJson(auditLog.getOldValues()))
+            .newValues(readJson(auditLog.getNewValues()))
+            .ipAddress(auditLog.getIpAddress())
+            .userAgent(auditLog.getUserAgent())
+            .sessionId(auditLog.getSessionId())
+            .requestId(auditLog.getRequestId())
+            .timestamp(auditLog.getTimestamp())
+            .severity(severityName(auditLog.getSeverityLevel()))
+            .success(auditLog.getSuccess())
+            .errorMessage(auditLog.getErrorMessage())
+            .build();
+    }
+
+    private Map<String, Object> readJson(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            return Map.of("raw", json);
+        }
+    }
+
+    private String severityName(Integer severityLevel) {
+        if (severityLevel == null) {
+            return "INFO";
+        }
+        if (severityLevel >= 4) {
+            return "CRITICAL";
+        }
+        if (severityLevel == 3) {
+            return "ERROR";
+        }
+        return severityLevel == 2 ? "WARNING" : "INFO";
+    }
+
     private UserDto convertToUserDto(Utilisateur utilisateur) {
         return UserDto.builder()
             .id(utilisateur.getId())
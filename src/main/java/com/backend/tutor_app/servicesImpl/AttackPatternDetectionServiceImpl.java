@@ -1,6 +1,9 @@
 package com.backend.tutor_app.servicesImpl;
 
 import com.backend.tutor_app.services.AttackPatternDetectionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -16,7 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Service
 @Slf4j
-public class AttackPatternDetectionServiceImpl implements AttackPatternDetectionService {
+public class AttackPatternDetectionServiceImpl implements AttackPatternDetectionService, MeterBinder {
     
     // Cache en mémoire : userId -> Liste de tentatives avec timestamp
     private final Map<Long, List<SuspiciousAttempt>> attemptsCache = new ConcurrentHashMap<>();
@@ -25,6 +28,13 @@ public class AttackPatternDetectionServiceImpl implements AttackPatternDetection
     private static final int ATTEMPT_THRESHOLD = 3;
     private static final int TIME_WINDOW_MINUTES = 15;
     
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tutorapp.security.suspicious.users", attemptsCache, Map::size)
+            .description("Utilisateurs ayant des tentatives suspectes récentes en mémoire")
+            .register(registry);
+    }
+
     @Override
     public void recordSuspiciousAttempt(Long userId, String reason) {
         log.warn("[PHASE 4][WARNING] Tentative suspecte enregistrée - UserID: {}, Raison: {}", userId, reason);
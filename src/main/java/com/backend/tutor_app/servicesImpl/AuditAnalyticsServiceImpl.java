@@ -0,0 +1,117 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.model.stats.AuditActorDailyStat;
+import com.backend.tutor_app.repositories.AuditLogRepository;
+import com.backend.tutor_app.repositories.AuditStatsRepository;
+import com.backend.tutor_app.services.AuditAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation de l'analyse d'audit
+ * Toutes les répartitions viennent des agrégats (quelques lignes par jour) ; seul le détail lit audit_logs,
+ * sur une fenêtre bornée (élagage des partitions mensuelles) et limitée en durée.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AuditAnalyticsServiceImpl implements AuditAnalyticsService {
+
+    private static final int TOP_LIMIT = 10;
+    private static final Duration MAX_DRILL_DOWN = Duration.ofDays(1);
+
+    private final AuditStatsRepository auditStatsRepository;
+    private final AuditLogRepository auditLogRepository;
+
+    @Override
+    public Map<String, Object> getAnalytics(int days, long spikeThreshold) {
+        if (days < 1) {
+            throw new RuntimeException("Période invalide: " + days);
+        }
+        LocalDate from = LocalDate.now().minusDays(days - 1L);
+        PageRequest top = PageRequest.of(0, TOP_LIMIT);
+
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("countsByAction", toOrderedMap(auditStatsRepository.countByAction(from)));
+        analytics.put("countsBySeverity", toOrderedMap(auditStatsRepository.countBySeverity(from)));
+
+        Map<String, Long> byMonth = new LinkedHashMap<>();
+        for (Object[] row : auditStatsRepository.countByMonth(from)) {
+            byMonth.put(String.format("%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue()),
+                ((Number) row[2]).longValue());
+        }
+        analytics.put("countsByMonth", byMonth);
+
+        // Les compteurs par minute ne couvrent que les derniers jours (app.audit.minute-rollup-retention-days)
+        analytics.put("activitySpikes", toOrderedMap(
+            auditStatsRepository.findActivitySpikes(from.atStartOfDay(), spikeThreshold, top)));
+        analytics.put("mostActiveUsers", toOrderedMap(
+            auditStatsRepository.findMostActiveActors(AuditActorDailyStat.ACTOR_USER, from, top)));
+        analytics.put("mostActiveAdmins", toOrderedMap(
+            auditStatsRepository.findMostActiveActors(AuditActorDailyStat.ACTOR_ADMIN, from, top)));
+
+        List<Map<String, Object>> slowActions = new ArrayList<>();
+        for (Object[] row : auditStatsRepository.findSlowActions(from, top)) {
+            long timed = ((Number) row[4]).longValue();
+            Map<String, Object> slow = new LinkedHashMap<>();
+            slow.put("action", String.valueOf(row[0]));
+            slow.put("slowCount", ((Number) row[1]).longValue());
+            slow.put("maxExecutionMs", ((Number) row[2]).longValue());
+            slow.put("avgExecutionMs", timed > 0 ? ((Number) row[3]).longValue() / timed : 0L);
+            slowActions.add(slow);
+        }
+        analytics.put("slowOperations", slowActions);
+
+        analytics.put("period", days + " jours");
+        analytics.put("startDate", from.atStartOfDay());
+        analytics.put("endDate", LocalDateTime.now());
+        return analytics;
+    }
+
+    @Override
+    public List<Map<String, Object>> getActivityDrillDown(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new RuntimeException("Fenêtre invalide");
+        }
+        if (Duration.between(start, end).compareTo(MAX_DRILL_DOWN) > 0) {
+            throw new RuntimeException("Fenêtre trop large (24 heures maximum)");
+        }
+
+        List<Map<String, Object>> minutes = new ArrayList<>();
+        for (Object[] row : auditLogRepository.findActivityByMinute(start, end)) {
+            Map<String, Object> minute = new LinkedHashMap<>();
+            minute.put("minute", row[0]);
+            minute.put("action", row[1]);
+            minute.put("count", ((Number) row[2]).longValue());
+            minute.put("failures", ((Number) row[3]).longValue());
+            minutes.add(minute);
+        }
+        return minutes;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Lignes (clé, nombre) -> map ordonnée comme la requête
+     */
+    private Map<String, Long> toOrderedMap(List<Object[]> rows) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            result.put(String.valueOf(row[0]), ((Number) row[1]).longValue());
+        }
+        return result;
+    }
+}
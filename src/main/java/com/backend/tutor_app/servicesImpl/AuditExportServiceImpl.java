@@ -0,0 +1,244 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.admin.AuditLogFilter;
+import com.backend.tutor_app.model.AuditLog;
+import com.backend.tutor_app.model.enums.AuditExportFormat;
+import com.backend.tutor_app.repositories.AuditLogRepository;
+import com.backend.tutor_app.services.AuditExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implémentation de l'export des logs d'audit
+ * Les lignes arrivent d'un curseur JDBC (AuditLogRepository.streamWithFilters) et sont écrites une à une dans la
+ * réponse : chaque entité est détachée après écriture, le tas ne contient jamais plus d'un paquet du curseur,
+ * quel que soit le volume exporté. La transaction en lecture seule est nécessaire au curseur PostgreSQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditExportServiceImpl implements AuditExportService {
+
+    static final String[] CSV_COLUMNS = {"id", "timestamp", "action", "severity_level", "success", "user_id", "admin_id",
+        "entity_type", "entity_id", "details", "old_values", "new_values", "ip_address", "user_agent", "session_id",
+        "request_id", "error_message", "execution_time_ms"};
+
+    /**
+     * Dernière ligne d'un export interrompu : un fichier tronqué n'est jamais pris pour un export complet
+     */
+    static final String INCOMPLETE_MARKER = "EXPORT_INTERROMPU";
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(AuditLogFilter filter, AuditExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        // Le flux de la réponse reste ouvert : seul le gzip est terminé
+        OutputStream target = StreamUtils.nonClosing(out);
+        if (gzip) {
+            target = new ExportGzipOutputStream(target);
+        }
+
+        long rows;
+        try (Stream<AuditLog> logs = auditLogRepository.streamWithFilters(filter.action(), filter.userId(),
+                filter.adminId(), filter.entityType(), filter.entityId(), filter.minSeverity(), filter.success(),
+                filter.startDate(), filter.endDate())) {
+            rows = format == AuditExportFormat.CSV
+                ? writeCsv(logs.iterator(), target)
+                : writeNdjson(logs.iterator(), target);
+        } catch (IOException | RuntimeException e) {
+            log.error("Export audit interrompu ({}): {}", format, e.getMessage());
+            abort(target, format);
+            throw e;
+        }
+        // Fin du gzip (bloc final et CRC) uniquement après un export complet
+        target.close();
+
+        log.info("Export audit terminé: {} lignes {} en {} ms", rows, format,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return rows;
+    }
+
+    // ==================== FORMATS ====================
+
+    long writeCsv(Iterator<AuditLog> logs, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+
+        long rows = 0;
+        while (logs.hasNext()) {
+            AuditLog auditLog = logs.next();
+            writeCsvRow(writer, auditLog);
+            entityManager.detach(auditLog);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    long writeNdjson(Iterator<AuditLog> logs, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long rows = 0;
+        while (logs.hasNext()) {
+            AuditLog auditLog = logs.next();
+            writeJsonRow(generator, auditLog);
+            generator.writeRaw('\n');
+            entityManager.detach(auditLog);
+            rows++;
+        }
+        generator.flush();
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, AuditLog auditLog) throws IOException {
+        Object[] values = {auditLog.getId(), auditLog.getTimestamp(), auditLog.getAction(), auditLog.getSeverityLevel(),
+            auditLog.getSuccess(), auditLog.getUserId(), auditLog.getAdminId(), auditLog.getEntityType(),
+            auditLog.getEntityId(), auditLog.getDetails(), auditLog.getOldValues(), auditLog.getNewValues(),
+            auditLog.getIpAddress(), auditLog.getUserAgent(), auditLog.getSessionId(), auditLog.getRequestId(),
+            auditLog.getErrorMessage(), auditLog.getExecutionTimeMs()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Valeur CSV (RFC 4180) : guillemets si séparateur, guillemet ou saut de ligne, guillemets doublés
+     * Un texte commençant par = + - @ (ou tabulation, retour chariot) est préfixé d'une apostrophe : un tableur
+     * l'affiche comme texte au lieu d'évaluer une formule injectée (détails, user agent...)
+     */
+    static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Enum<?> constant ? constant.name() : value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && isFormulaTrigger(text.charAt(0))) {
+            text = "'" + text;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Termine un export en échec : ligne de marqueur, puis gzip abandonné sans bloc final ni CRC (décompression en erreur)
+     */
+    private void abort(OutputStream target, AuditExportFormat format) {
+        String marker = format == AuditExportFormat.CSV
+            ? "\r\n" + INCOMPLETE_MARKER + "\r\n"
+            : "\n{\"error\":\"" + INCOMPLETE_MARKER + "\"}\n";
+        try {
+            target.write(marker.getBytes(StandardCharsets.UTF_8));
+            target.flush();
+        } catch (IOException e) {
+            // Client déconnecté : rien de plus à signaler
+            log.debug("Marqueur d'export interrompu non écrit: {}", e.getMessage());
+        }
+        if (target instanceof ExportGzipOutputStream gzipStream) {
+            gzipStream.abort();
+        }
+    }
+
+    private void writeJsonRow(JsonGenerator generator, AuditLog auditLog) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, "id", auditLog.getId());
+        writeString(generator, "timestamp", auditLog.getTimestamp() != null ? auditLog.getTimestamp().toString() : null);
+        writeString(generator, "action", auditLog.getAction() != null ? auditLog.getAction().name() : null);
+        writeNumber(generator, "severityLevel", auditLog.getSeverityLevel() != null ? auditLog.getSeverityLevel().longValue() : null);
+        if (auditLog.getSuccess() != null) {
+            generator.writeBooleanField("success", auditLog.getSuccess());
+        }
+        writeNumber(generator, "userId", auditLog.getUserId());
+        writeNumber(generator, "adminId", auditLog.getAdminId());
+        writeString(generator, "entityType", auditLog.getEntityType());
+        writeNumber(generator, "entityId", auditLog.getEntityId());
+        writeString(generator, "details", auditLog.getDetails());
+        writeString(generator, "oldValues", auditLog.getOldValues());
+        writeString(generator, "newValues", auditLog.getNewValues());
+        writeString(generator, "ipAddress", auditLog.getIpAddress());
+        writeString(generator, "userAgent", auditLog.getUserAgent());
+        writeString(generator, "sessionId", auditLog.getSessionId());
+        writeString(generator, "requestId", auditLog.getRequestId());
+        writeString(generator, "errorMessage", auditLog.getErrorMessage());
+        writeNumber(generator, "executionTimeMs", auditLog.getExecutionTimeMs());
+        generator.writeEndObject();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private static boolean isFormulaTrigger(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    /**
+     * Gzip pouvant être abandonné : libère le compresseur sans écrire le bloc final
+     */
+    private static final class ExportGzipOutputStream extends GZIPOutputStream {
+
+        ExportGzipOutputStream(OutputStream out) throws IOException {
+            super(out, OUTPUT_BUFFER_SIZE);
+        }
+
+        void abort() {
+            def.end();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.audit.AuditRetentionMode;
+import com.backend.tutor_app.services.AuditPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implémentation du partitionnement mensuel de audit_logs (PostgreSQL, PARTITION BY RANGE (timestamp))
+ * - audit_logs_AAAA_MM : une partition par mois, créées à l'avance
+ * - audit_logs_archive : lignes de sévérité élevée des mois expirés, bornée par [MINVALUE, premier mois conservé)
+ * - audit_logs_default : filet de sécurité des bases converties par une version antérieure ; absente des nouvelles
+ *   conversions car elle interdit DETACH PARTITION ... CONCURRENTLY
+ * Hibernate crée audit_logs comme une table simple : la conversion est une migration explicite (db/audit-partitioning.sql),
+ * exécutée au démarrage seulement si app.audit.convert-on-startup=true. Tant que la table n'est pas partitionnée,
+ * la création de partitions et la rétention sont suspendues ; l'audit reste utilisable sur la table simple.
+ */
+@Service
+@Slf4j
+@DependsOn("entityManagerFactory")
+public class AuditPartitionServiceImpl implements AuditPartitionService, InitializingBean {
+
+    static final String TABLE = "audit_logs";
+    static final String ARCHIVE_PARTITION = TABLE + "_archive";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+    static final String CONVERSION_SCRIPT = "db/audit-partitioning.sql";
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile(TABLE + "_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionsAhead;
+    private final int retentionMonths;
+    private final AuditRetentionMode retentionMode;
+    private final int archiveMinSeverity;
+    private final boolean convertOnStartup;
+
+    public AuditPartitionServiceImpl(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.audit.partitions-ahead:3}") int partitionsAhead,
+                                     @Value("${app.audit.retention-months:12}") int retentionMonths,
+                                     @Value("${app.audit.retention-mode:DROP}") AuditRetentionMode retentionMode,
+                                     @Value("${app.audit.archive-min-severity:3}") int archiveMinSeverity,
+                                     @Value("${app.audit.convert-on-startup:false}") boolean convertOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionsAhead = partitionsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionMode = retentionMode;
+        this.archiveMinSeverity = archiveMinSeverity;
+        this.convertOnStartup = convertOnStartup;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            ensurePartitioned();
+        } catch (DataAccessException e) {
+            // L'audit reste utilisable sur une table simple ; la maintenance planifiée retentera
+            log.error("Partitionnement de {} impossible: {}", TABLE, e.getMessage());
+        }
+    }
+
+    @Override
+    public void ensurePartitioned() {
+        if (!isPartitioned()) {
+            if (!convertOnStartup) {
+                log.warn("{} n'est pas partitionnée : exécuter la migration {} (ou app.audit.convert-on-startup=true)",
+                    TABLE, CONVERSION_SCRIPT);
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> convertToPartitioned());
+        }
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Maintenance quotidienne : partitions à venir puis rétention
+     */
+    @Scheduled(cron = "${app.audit.partition-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        ensurePartitioned();
+        if (isPartitioned()) {
+            applyRetention();
+        }
+    }
+
+    @Override
+    public int createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!tableExists(partitionName(month))) {
+                transactionTemplate.executeWithoutResult(status -> createMonthPartition(month));
+                created++;
+            }
+        }
+        if (created > 0) {
+            log.info("{} partitions mensuelles de {} créées", created, TABLE);
+        }
+        return created;
+    }
+
+    @Override
+    public int applyRetention() {
+        YearMonth horizon = YearMonth.now().minusMonths(retentionMonths);
+        List<YearMonth> expired = listMonthPartitions().stream()
+            .filter(month -> month.isBefore(horizon))
+            .sorted()
+            .toList();
+
+        for (YearMonth month : expired) {
+            // Du plus ancien au plus récent : l'archive reste contiguë aux partitions conservées
+            retirePartition(month);
+        }
+        if (!expired.isEmpty()) {
+            log.info("Rétention {}: {} partitions retirées (mode {}, horizon {})", TABLE, expired.size(), retentionMode, horizon);
+        }
+        return expired.size();
+    }
+
+    // ==================== DDL ====================
+
+    /**
+     * Exécute la migration db/audit-partitioning.sql (un seul bloc DO, verrou ACCESS EXCLUSIVE pris par le script)
+     */
+    private void convertToPartitioned() {
+        log.info("Conversion de {} en table partitionnée par mois ({})", TABLE, CONVERSION_SCRIPT);
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(CONVERSION_SCRIPT));
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        DatabasePopulatorUtils.execute(populator, jdbcTemplate.getDataSource());
+    }
+
+    /**
+     * Crée la partition d'un mois ; les lignes déjà tombées dans la partition par défaut pour ce mois y sont déplacées
+     */
+    private void createMonthPartition(YearMonth month) {
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        boolean stray = tableExists(DEFAULT_PARTITION) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION +
+            " WHERE \"timestamp\" >= '" + from + "' AND \"timestamp\" < '" + to + "')", Boolean.class));
+
+        if (!stray) {
+            jdbcTemplate.execute(createPartitionSql(month));
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute(createPartitionSql(month));
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + DEFAULT_PARTITION +
+            " WHERE \"timestamp\" >= '" + from + "' AND \"timestamp\" < '" + to + "'");
+        jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION +
+            " WHERE \"timestamp\" >= '" + from + "' AND \"timestamp\" < '" + to + "'");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+    }
+
+    /**
+     * Copie les lignes de sévérité élevée dans l'archive, retire la partition, puis étend l'archive jusqu'à la fin du mois
+     * Les détachements ont lieu hors transaction, en CONCURRENTLY quand aucune partition par défaut n'existe : les écritures
+     * de l'audit ne sont jamais bloquées. Chaque étape est rejouable si une étape suivante échoue.
+     */
+    private void retirePartition(YearMonth month) {
+        String partition = partitionName(month);
+        String archiveEnd = month.plusMonths(1).atDay(1).toString();
+        boolean hasDefault = tableExists(DEFAULT_PARTITION);
+
+        // 1. Archive détachée : elle accepte alors les lignes du mois, hors de sa borne
+        detachPartition(ARCHIVE_PARTITION, !hasDefault);
+
+        // 2. Copie pendant que la partition du mois est encore attachée (rejouable : doublons ignorés)
+        Integer archived = transactionTemplate.execute(status -> jdbcTemplate.update("INSERT INTO " + ARCHIVE_PARTITION +
+            " SELECT * FROM " + partition + " WHERE severity_level >= ? ON CONFLICT DO NOTHING", archiveMinSeverity));
+
+        // 3. Partition du mois détachée après la copie
+        detachPartition(partition, !hasDefault);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (hasDefault) {
+                // Lignes routées vers la partition par défaut pendant que l'archive était détachée : l'ATTACH échouerait
+                jdbcTemplate.update("INSERT INTO " + ARCHIVE_PARTITION + " SELECT * FROM " + DEFAULT_PARTITION +
+                    " WHERE \"timestamp\" < '" + archiveEnd + "' AND severity_level >= ? ON CONFLICT DO NOTHING", archiveMinSeverity);
+                jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION + " WHERE \"timestamp\" < '" + archiveEnd + "'");
+            }
+            if (retentionMode == AuditRetentionMode.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            // 4. Archive rattachée avec sa nouvelle borne
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + ARCHIVE_PARTITION +
+                " FOR VALUES FROM (MINVALUE) TO ('" + archiveEnd + "')");
+        });
+
+        log.info("Partition {} retirée ({}), {} lignes archivées", partition, retentionMode, archived);
+    }
+
+    /**
+     * Détache une partition si elle est encore attachée, hors transaction
+     * Un DETACH CONCURRENTLY interrompu laisse la partition en attente : il est terminé par FINALIZE
+     */
+    private void detachPartition(String partition, boolean concurrently) {
+        List<Boolean> pending = jdbcTemplate.queryForList("SELECT inhdetachpending FROM pg_inherits " +
+            "WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?)", Boolean.class, partition, TABLE);
+        if (pending.isEmpty()) {
+            return;
+        }
+        String mode = Boolean.TRUE.equals(pending.get(0)) ? " FINALIZE" : concurrently ? " CONCURRENTLY" : "";
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition + mode);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE " + partitionName(month) + " PARTITION OF " + TABLE +
+            " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))", Boolean.class, TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private boolean tableExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+    }
+
+    /**
+     * Mois des partitions attachées, d'après leur nom
+     */
+    private List<YearMonth> listMonthPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?)", String.class, TABLE).stream()
+            .map(MONTH_PARTITION::matcher)
+            .filter(Matcher::matches)
+            .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+            .toList();
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(MONTH_SUFFIX);
+    }
+}
@@ -0,0 +1,310 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.audit.AuditEvent;
+import com.backend.tutor_app.audit.AuditOverflowPolicy;
+import com.backend.tutor_app.audit.AuditRingBuffer;
+import com.backend.tutor_app.audit.AuditRollupWriter;
+import com.backend.tutor_app.services.AuditService;
+import com.backend.tutor_app.services.IpAddressService;
+import com.backend.tutor_app.tracing.RequestContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implémentation du journal d'audit asynchrone
+ * Les producteurs (threads des requêtes) déposent des AuditEvent dans un tampon circulaire borné sans verrou ;
+ * un unique thread « audit-writer » le vide par lots et les insère avec un batch JDBC (aucune entité, aucun contexte
+ * de persistance), avec les agrégats d'analyse (AuditRollupWriter) dans la même transaction.
+ * Tampon plein : abandon ou attente bornée selon app.audit.overflow-policy.
+ * À l'arrêt, le thread vide le tampon avant la fermeture de la source de données.
+ */
+@Service
+@Slf4j
+public class AuditServiceImpl implements AuditService, SmartLifecycle, MeterBinder {
+
+    static final String INSERT_SQL = "INSERT INTO audit_logs (created_at, last_update, user_id, admin_id, action, " +
+        "entity_type, entity_id, details, old_values, new_values, ip_address, user_agent, session_id, timestamp, " +
+        "request_id, severity_level, success, error_message, execution_time_ms) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long DROP_LOG_EVERY = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditRollupWriter auditRollupWriter;
+    private final IpAddressService ipAddressService;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutMs;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public AuditServiceImpl(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            AuditRollupWriter auditRollupWriter,
+                            IpAddressService ipAddressService,
+                            @Value("${app.audit.buffer-capacity:8192}") int bufferCapacity,
+                            @Value("${app.audit.batch-size:500}") int batchSize,
+                            @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMs,
+                            @Value("${app.audit.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+                            @Value("${app.audit.block-timeout-ms:50}") long blockTimeoutMs,
+                            @Value("${app.audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditRollupWriter = auditRollupWriter;
+        this.ipAddressService = ipAddressService;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    // ==================== PRODUCTEURS ====================
+
+    @Override
+    public void record(AuditEvent event) {
+        AuditEvent enriched = withRequestContext(event);
+        // Durée non fournie par l'appelant : celle de l'opération en cours, connue à sa fin
+        if (enriched.executionTimeMs() == null && RequestContext.deferUntilOperationEnd(
+                elapsedMs -> enqueue(enriched.toBuilder().executionTimeMs(elapsedMs).build()))) {
+            return;
+        }
+        enqueue(enriched);
+    }
+
+    private void enqueue(AuditEvent enriched) {
+        if (!running) {
+            // Avant le démarrage ou après l'arrêt du thread d'écriture : écriture directe
+            writeBatch(List.of(enriched));
+            return;
+        }
+
+        if (!buffer.offer(enriched) && !offerBlocking(enriched)) {
+            long total = dropped.incrementAndGet();
+            if (total % DROP_LOG_EVERY == 1) {
+                log.warn("Tampon d'audit plein ({} places), {} événements abandonnés au total", buffer.capacity(), total);
+            }
+            return;
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    @Override
+    public int pendingEvents() {
+        return buffer.size();
+    }
+
+    @Override
+    public long droppedEvents() {
+        return dropped.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tutorapp.audit.pending", buffer, AuditRingBuffer::size)
+            .description("Événements d'audit en attente d'écriture").register(registry);
+        FunctionCounter.builder("tutorapp.audit.dropped", dropped, AtomicLong::get)
+            .description("Événements d'audit abandonnés (tampon plein ou écriture en échec)").register(registry);
+        FunctionCounter.builder("tutorapp.audit.written", written, AtomicLong::get)
+            .description("Événements d'audit écrits").register(registry);
+    }
+
+    // ==================== CYCLE DE VIE ====================
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        log.info("Journal d'audit asynchrone démarré: tampon de {} événements, lots de {}, politique {}",
+            buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Arrêt du journal d'audit: {} événements non écrits après {} ms", buffer.size(), shutdownTimeoutMs);
+        } else {
+            // Événements publiés entre la dernière lecture du thread et son arrêt
+            List<AuditEvent> remaining = new ArrayList<>();
+            buffer.drainTo(remaining, buffer.capacity());
+            if (!remaining.isEmpty()) {
+                writeBatch(remaining);
+            }
+        }
+        log.info("Journal d'audit arrêté: {} événements écrits, {} abandonnés", written.get(), dropped.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Phase basse : démarré avant le serveur web et arrêté après lui, pour recueillir les événements des requêtes en cours
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // ==================== THREAD D'ÉCRITURE ====================
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+                auditRollupWriter.apply(batch);
+            });
+            written.addAndGet(batch.size());
+        } catch (DataAccessException | TransactionException e) {
+            dropped.addAndGet(batch.size());
+            log.error("Écriture d'un lot de {} événements d'audit échouée: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void bind(PreparedStatement statement, AuditEvent event) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        statement.setTimestamp(1, now);
+        statement.setTimestamp(2, now);
+        setLong(statement, 3, event.userId());
+        setLong(statement, 4, event.adminId());
+        statement.setString(5, event.action().name());
+        statement.setString(6, truncate(event.entityType(), 100));
+        setLong(statement, 7, event.entityId());
+        statement.setString(8, event.details());
+        statement.setString(9, event.oldValues());
+        statement.setString(10, event.newValues());
+        statement.setString(11, truncate(event.ipAddress(), 45));
+        statement.setString(12, event.userAgent());
+        statement.setString(13, truncate(event.sessionId(), 100));
+        statement.setTimestamp(14, Timestamp.valueOf(event.timestamp()));
+        statement.setString(15, truncate(event.requestId(), 100));
+        statement.setInt(16, event.severityLevel());
+        statement.setBoolean(17, event.success());
+        statement.setString(18, event.errorMessage());
+        setLong(statement, 19, event.executionTimeMs());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Politique BLOCK : attente active courte (park) jusqu'à une place libre ou l'expiration du délai
+     */
+    private boolean offerBlocking(AuditEvent event) {
+        if (overflowPolicy != AuditOverflowPolicy.BLOCK) {
+            return false;
+        }
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        do {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (running && System.nanoTime() - deadline < 0);
+        return false;
+    }
+
+    /**
+     * Contexte HTTP et RequestContext lus sur le thread appelant : le thread d'écriture n'a pas accès à la requête
+     */
+    private AuditEvent withRequestContext(AuditEvent event) {
+        if (event.requestId() == null) {
+            event = event.toBuilder().requestId(RequestContext.currentRequestId()).build();
+        }
+        if (event.ipAddress() != null && event.userAgent() != null) {
+            return event;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return event;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        HttpSession session = request.getSession(false);
+        return event.toBuilder()
+            .ipAddress(event.ipAddress() != null ? event.ipAddress() : ipAddressService.extractClientIpFromRequest(request))
+            .userAgent(event.userAgent() != null ? event.userAgent() : request.getHeader("User-Agent"))
+            .sessionId(event.sessionId() != null || session == null ? event.sessionId() : session.getId())
+            .build();
+    }
+
+    private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
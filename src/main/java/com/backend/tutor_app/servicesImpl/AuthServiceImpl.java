@@ -9,11 +9,13 @@ import com.backend.tutor_app.dto.Auth.RegisterRequest;
 import com.backend.tutor_app.dto.Auth.ResetPasswordRequest;
 import com.backend.tutor_app.dto.Auth.UserDto;
 import com.backend.tutor_app.dto.user.UserProfileDto;
+import com.backend.tutor_app.metrics.AppMetrics;
 import com.backend.tutor_app.model.Utilisateur;
 import com.backend.tutor_app.model.enums.SocialProvider;
 import com.backend.tutor_app.model.enums.UserStatus;
 import com.backend.tutor_app.repositories.UserRepository;
 import com.backend.tutor_app.services.*;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -66,8 +68,22 @@ public class AuthServiceImpl implements AuthService {
     // Service dédié pour la récupération de l'IP client
     private final IpAddressService ipAddressService;
 
+    private final AppMetrics appMetrics;
+
     @Override
     public AuthResponse login(AuthRequest request, String clientIp) {
+        Timer.Sample sample = appMetrics.startTimer();
+        String outcome = AppMetrics.OUTCOME_FAILURE;
+        try {
+            AuthResponse response = authenticate(request, clientIp);
+            outcome = AppMetrics.OUTCOME_SUCCESS;
+            return response;
+        } finally {
+            appMetrics.recordLogin(sample, outcome);
+        }
+    }
+
+    private AuthResponse authenticate(AuthRequest request, String clientIp) {
         log.info("Tentative de connexion pour l'email: {} depuis IP: {}", request.getEmail(), clientIp);
 
         // Vérification du rate limiting
@@ -253,6 +269,18 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public AuthResponse refreshToken(String refreshToken) {
+        Timer.Sample sample = appMetrics.startTimer();
+        String outcome = AppMetrics.OUTCOME_FAILURE;
+        try {
+            AuthResponse response = rotateTokens(refreshToken);
+            outcome = AppMetrics.OUTCOME_SUCCESS;
+            return response;
+        } finally {
+            appMetrics.recordRefresh(sample, outcome);
+        }
+    }
+
+    private AuthResponse rotateTokens(String refreshToken) {
         log.info("(Q) PHASE 2 - Tentative de rafraîchissement de token");
         
         try {
@@ -299,6 +327,7 @@ public class AuthServiceImpl implements AuthService {
             if (refreshTokenEntity.getIsRevoked()) {
                 log.error("(PHASE 3 - Priorité 2)  ALERTE CRITIQUE : Token révoqué réutilisé ! User: {}",
                     utilisateur.getEmail());
+                appMetrics.revokedTokenReused();
                 
                 // (PHASE 3 - Priorité 2) Actions immédiates
                 tokenService.revokeTokenFamily(refreshTokenEntity.getId());
@@ -0,0 +1,143 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.repositories.TutorSearchEntryRepository;
+import com.backend.tutor_app.search.TutorSearchIndexChangedEvent;
+import com.backend.tutor_app.services.AvailabilityMatchingService;
+import com.backend.tutor_app.utils.WeeklySlots;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implémentation de la recherche par créneau
+ * Les masques de tutor_search (88 octets par couple tuteur-matière) sont gardés en mémoire :
+ * une recherche parcourt quelques milliers de tableaux de 11 longs, sans requête SQL.
+ * Tenu à jour tuteur par tuteur via TutorSearchIndexChangedEvent.
+ */
+@Service
+@Slf4j
+public class AvailabilityMatchingServiceImpl implements AvailabilityMatchingService {
+
+    private final TutorSearchEntryRepository tutorSearchEntryRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final Map<Long, TutorSlots> slotsByTutor = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public AvailabilityMatchingServiceImpl(TutorSearchEntryRepository tutorSearchEntryRepository,
+                                           PlatformTransactionManager transactionManager) {
+        this.tutorSearchEntryRepository = tutorSearchEntryRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Set<Long> findAvailableTutorIds(long[] requestedSlots, String subjectCode) {
+        if (!loaded) {
+            reload();
+        }
+        Set<Long> tutorIds = new HashSet<>();
+        slotsByTutor.forEach((tutorId, slots) -> {
+            if (slots.covers(requestedSlots, subjectCode)) {
+                tutorIds.add(tutorId);
+            }
+        });
+        return tutorIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void loadAtStartup() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    @EventListener
+    public void onIndexChanged(TutorSearchIndexChangedEvent event) {
+        try {
+            if (event.isFullRebuild()) {
+                reload();
+                return;
+            }
+            List<Object[]> rows = readTransaction.execute(status ->
+                tutorSearchEntryRepository.findAvailabilitySlotsByTutorId(event.tutorId()));
+            Map<Long, TutorSlots> updated = group(rows);
+            if (updated.isEmpty()) {
+                slotsByTutor.remove(event.tutorId());
+            } else {
+                slotsByTutor.putAll(updated);
+            }
+        } catch (Exception e) {
+            log.warn("Mise à jour des créneaux du tuteur {} échouée - {}", event.tutorId(), e.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        List<Object[]> rows = readTransaction.execute(status -> tutorSearchEntryRepository.findAllAvailabilitySlots());
+        Map<Long, TutorSlots> reloaded = group(rows);
+        slotsByTutor.keySet().retainAll(reloaded.keySet());
+        slotsByTutor.putAll(reloaded);
+        loaded = true;
+        log.info("Créneaux de disponibilité chargés: {} tuteurs", reloaded.size());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private Map<Long, TutorSlots> group(List<Object[]> rows) {
+        Map<Long, List<Object[]>> rowsByTutor = new HashMap<>();
+        for (Object[] row : rows) {
+            rowsByTutor.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+        }
+
+        Map<Long, TutorSlots> grouped = new HashMap<>();
+        rowsByTutor.forEach((tutorId, tutorRows) -> {
+            String[] subjectCodes = new String[tutorRows.size()];
+            long[][] masks = new long[tutorRows.size()][];
+            long[] any = WeeklySlots.empty();
+            for (int i = 0; i < tutorRows.size(); i++) {
+                subjectCodes[i] = (String) tutorRows.get(i)[1];
+                masks[i] = WeeklySlots.fromBytes((byte[]) tutorRows.get(i)[2]);
+                WeeklySlots.or(any, masks[i]);
+            }
+            if (!WeeklySlots.isEmpty(any)) {
+                grouped.put(tutorId, new TutorSlots(subjectCodes, masks, any));
+            }
+        });
+        return grouped;
+    }
+
+    /**
+     * Créneaux d'un tuteur : un masque par matière + l'union de tous ses créneaux
+     */
+    private record TutorSlots(String[] subjectCodes, long[][] masks, long[] any) {
+
+        boolean covers(long[] requested, String subjectCode) {
+            if (!WeeklySlots.containsAll(any, requested)) {
+                return false;
+            }
+            if (subjectCode == null) {
+                return true;
+            }
+            for (int i = 0; i < subjectCodes.length; i++) {
+                if (subjectCode.equalsIgnoreCase(subjectCodes[i]) && WeeklySlots.containsAll(masks[i], requested)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.backend.tutor_app.servicesImpl;
 
+import com.backend.tutor_app.metrics.AppMetrics;
 import com.backend.tutor_app.model.Utilisateur;
 import com.backend.tutor_app.services.EmailService;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +31,7 @@ public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final AppMetrics appMetrics;
 
     @Value("${app.mail.from:noreply@tutorapp.com}")
     private String fromEmail;
@@ -346,7 +348,7 @@ public class EmailServiceImpl implements EmailService {
             message.setSubject(subject);
             message.setText(content);
             
-            mailSender.send(message);
+            deliver("simple", message);
             
             log.debug("Email simple envoyé avec succès à: {}", to);
             
@@ -374,7 +376,7 @@ public class EmailServiceImpl implements EmailService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            deliver("html", message);
             
             log.debug("Email HTML envoyé avec succès à: {}", to);
             
@@ -405,7 +407,7 @@ public class EmailServiceImpl implements EmailService {
             FileSystemResource file = new FileSystemResource(new File(attachmentPath));
             helper.addAttachment(attachmentName, file);
             
-            mailSender.send(message);
+            deliver("attachment", message);
             
             log.debug("Email avec pièce jointe envoyé avec succès à: {}", to);
             
@@ -523,6 +525,14 @@ public class EmailServiceImpl implements EmailService {
 
     // ==================== MÉTHODES UTILITAIRES ====================
 
+    private void deliver(String kind, SimpleMailMessage message) {
+        appMetrics.timeEmailSend(kind, () -> mailSender.send(message));
+    }
+
+    private void deliver(String kind, MimeMessage message) {
+        appMetrics.timeEmailSend(kind, () -> mailSender.send(message));
+    }
+
     private String generateFallbackContent(Map<String, Object> templateVariables) {
         StringBuilder content = new StringBuilder();
         content.append("Bonjour,\n\n");
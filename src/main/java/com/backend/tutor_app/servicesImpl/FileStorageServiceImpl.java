@@ -1,33 +1,86 @@
 package com.backend.tutor_app.servicesImpl;
 
+import com.backend.tutor_app.model.enums.ImageVariant;
+import com.backend.tutor_app.model.enums.StorageScope;
+import com.backend.tutor_app.model.storage.FileBlob;
+import com.backend.tutor_app.model.storage.FileReference;
+import com.backend.tutor_app.model.storage.StorageCounter;
+import com.backend.tutor_app.repositories.FileBlobRepository;
+import com.backend.tutor_app.repositories.FileReferenceRepository;
+import com.backend.tutor_app.repositories.StorageCounterRepository;
+import com.backend.tutor_app.security.FileUrlSigner;
 import com.backend.tutor_app.services.FileStorageService;
+import com.backend.tutor_app.services.ImageProcessingService;
+import com.backend.tutor_app.storage.ObjectStorageBackend;
+import com.backend.tutor_app.tracing.RequestContext;
+import com.backend.tutor_app.utils.FileSignatureDetector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
 /**
  * Implémentation du service de stockage de fichiers pour TutorApp
  * Gère l'upload, le stockage et la récupération de fichiers
+ *
+ * Stockage adressé par contenu : chaque upload est haché (SHA-256) pendant sa copie dans temp/
+ * puis stocké une seule fois sous la clé blobs/ab/cd/{sha256} du backend configuré
+ * (disque local ou stockage objet S3, cf. {@link ObjectStorageBackend}). Les fichiers logiques
+ * (directory/fileName exposés dans les URLs) sont des FileReference comptées sur le blob.
+ * Les fichiers déjà présents sur disque avant ce mécanisme restent servis depuis leur chemin d'origine.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class FileStorageServiceImpl implements FileStorageService {
 
+    private static final String BLOB_DIRECTORY = "blobs";
+    private static final String TEMP_DIRECTORY = "temp";
+    private static final ImageVariant PROFILE_PICTURE_VARIANT = ImageVariant.MEDIUM;
+
+    private final FileBlobRepository fileBlobRepository;
+    private final FileReferenceRepository fileReferenceRepository;
+    private final ImageProcessingService imageProcessingService;
+    private final ExecutorService fileIoExecutor;
+    private final StorageCounterRepository storageCounterRepository;
+    private final ObjectStorageBackend storageBackend;
+    private final FileUrlSigner fileUrlSigner;
+    private final PlatformTransactionManager transactionManager;
+
     @Value("${app.file.upload-dir:uploads}")
     private String uploadDir;
 
@@ -37,6 +90,9 @@ public class FileStorageServiceImpl implements FileStorageService {
     @Value("${app.file.base-url:http://localhost:8080/api/files}")
     private String baseUrl;
 
+    @Value("${app.file.orphan-grace-minutes:60}") // Délai avant suppression d'un blob sans référence
+    private long orphanGraceMinutes;
+
     private final List<String> allowedImageTypes = Arrays.asList(
         "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
     );
@@ -51,7 +107,8 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public String uploadFile(MultipartFile file, String directory) {
-        String fileName = generateUniqueFileName(file.getOriginalFilename());
+        String fileName = generateUniqueBaseName(file.getOriginalFilename())
+            + FileSignatureDetector.extensionFor(getFileContentType(file));
         return uploadFile(file, directory, fileName);
     }
 
@@ -68,21 +125,14 @@ public class FileStorageServiceImpl implements FileStorageService {
                 throw new RuntimeException("Fichier trop volumineux. Taille max: " + maxFileSize + " bytes");
             }
 
-            // Création du répertoire si nécessaire
-            Path directoryPath = Paths.get(uploadDir, directory);
-            createDirectoryIfNotExists(directoryPath.toString());
+            // Type détecté sur l'en-tête (rejoué dans le flux) : le Content-Type déclaré par le client n'est jamais stocké
+            InputStream in = file.getInputStream();
+            byte[] header = new byte[FileSignatureDetector.HEADER_SIZE];
+            int length = FileSignatureDetector.readHeader(in, header);
+            String detectedType = FileSignatureDetector.detectContentType(header, length);
+            InputStream content = new SequenceInputStream(new ByteArrayInputStream(header, 0, length), in);
 
-            // Nettoyage du nom de fichier
-            String cleanFileName = StringUtils.cleanPath(fileName);
-            if (cleanFileName.contains("..")) {
-                throw new RuntimeException("Nom de fichier invalide: " + cleanFileName);
-            }
-
-            // Sauvegarde du fichier
-            Path targetLocation = directoryPath.resolve(cleanFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            String fileUrl = generateFileUrl(cleanFileName, directory);
+            String fileUrl = storeContent(content, detectedType, directory, fileName);
             log.info("Fichier uploadé avec succès: {}", fileUrl);
             
             return fileUrl;
@@ -103,10 +153,27 @@ public class FileStorageServiceImpl implements FileStorageService {
             }
 
             String directory = "profiles/" + userId;
-            String fileName = "profile_" + userId + "_" + System.currentTimeMillis() + 
-                            getFileExtension(file.getOriginalFilename());
+            String baseName = "profile_" + userId + "_" + System.currentTimeMillis();
+            String originalUrl = uploadFile(file, directory, baseName + FileSignatureDetector.extensionFor(getFileContentType(file)));
 
-            return uploadFile(file, directory, fileName);
+            // Décodage unique de l'original, variantes stockées à côté (profile_x_y_thumb.jpg, ...)
+            Map<ImageVariant, byte[]> variants;
+            try (InputStream imageStream = file.getInputStream()) {
+                variants = imageProcessingService.generateVariants(imageStream);
+            } catch (Exception e) {
+                log.warn("Variantes non générées pour utilisateur {}, original conservé - {}", userId, e.getMessage());
+                return originalUrl;
+            }
+
+            String profileUrl = originalUrl;
+            for (Map.Entry<ImageVariant, byte[]> variant : variants.entrySet()) {
+                String variantUrl = storeContent(new ByteArrayInputStream(variant.getValue()), "image/jpeg",
+                    directory, variantFileName(baseName, variant.getKey()));
+                if (variant.getKey() == PROFILE_PICTURE_VARIANT) {
+                    profileUrl = variantUrl;
+                }
+            }
+            return profileUrl;
 
         } catch (Exception e) {
             log.error("Erreur upload photo de profil pour utilisateur {} - {}", userId, e.getMessage());
@@ -125,7 +192,7 @@ public class FileStorageServiceImpl implements FileStorageService {
 
             String directory = "tutors/" + tutorId + "/documents";
             String fileName = documentType + "_" + tutorId + "_" + System.currentTimeMillis() + 
-                            getFileExtension(file.getOriginalFilename());
+                            FileSignatureDetector.extensionFor(getFileContentType(file));
 
             return uploadFile(file, directory, fileName);
 
@@ -139,55 +206,80 @@ public class FileStorageServiceImpl implements FileStorageService {
     public List<String> uploadMultipleFiles(List<MultipartFile> files, String directory) {
         log.info("Upload multiple files dans répertoire: {}", directory);
         
-        List<String> uploadedFiles = new ArrayList<>();
-        
+        List<PendingUpload> uploads = new ArrayList<>();
         for (MultipartFile file : files) {
-            try {
-                String fileUrl = uploadFile(file, directory);
-                uploadedFiles.add(fileUrl);
-            } catch (Exception e) {
-                log.error("Erreur upload fichier {} - {}", file.getOriginalFilename(), e.getMessage());
-                // Continue avec les autres fichiers
-            }
+            if (file == null || file.isEmpty()) continue;
+            uploads.add(new PendingUpload(file, directory, generateUniqueBaseName(file.getOriginalFilename())));
         }
-        
-        return uploadedFiles;
+
+        List<String> allowedTypes = new ArrayList<>(allowedImageTypes);
+        allowedTypes.addAll(allowedDocumentTypes);
+        return uploadAllOrNothing(uploads, allowedTypes, maxFileSize);
     }
 
     @Override
     public String[] uploadTutorDocuments(MultipartFile[] files, Long userId) {
         if (files == null || files.length == 0) return new String[0];
-        List<String> urls = new ArrayList<>();
-        for (MultipartFile file : files) {
+        log.info("Upload de {} documents pour tuteur: {}", files.length, userId);
+
+        String directory = "tutors/" + userId + "/documents";
+        long timestamp = System.currentTimeMillis();
+        List<PendingUpload> uploads = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            MultipartFile file = files[i];
             if (file == null || file.isEmpty()) continue;
-            // Par défaut, on utilise "document" comme type si non fourni par appelant
-            String url = uploadTutorDocument(file, userId, "document");
-            urls.add(url);
+            // Par défaut, on utilise "document" comme type ; l'index évite les collisions de noms dans la même milliseconde
+            uploads.add(new PendingUpload(file, directory, "document_" + userId + "_" + timestamp + "_" + i));
         }
-        return urls.toArray(new String[0]);
+
+        return uploadAllOrNothing(uploads, allowedDocumentTypes, 10L * 1024 * 1024).toArray(new String[0]);
     }
 
     // ==================== FILE DOWNLOAD ====================
 
     @Override
+    @Transactional(readOnly = true)
     public Resource downloadFile(String fileName, String directory) {
-        try {
-            Path filePath = Paths.get(uploadDir, directory, fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
+        Optional<FileReference> reference = fileReferenceRepository.findByPath(directory, fileName);
+        if (reference.isPresent()) {
+            try {
+                return storageBackend.load(reference.get().getBlob().getStoragePath());
+            } catch (IOException e) {
                 throw new RuntimeException("Fichier non trouvé: " + fileName);
             }
-            
-        } catch (MalformedURLException e) {
-            log.error("Erreur download fichier: {} - {}", fileName, e.getMessage());
-            throw new RuntimeException("Erreur download fichier: " + e.getMessage());
+        }
+
+        // Fichier historique : FileSystemResource expose un FileChannel, lecture en flux / par régions (Range)
+        Path filePath = resolveSecurePath(directory, fileName);
+        Resource resource = new FileSystemResource(filePath);
+
+        if (resource.exists() && resource.isReadable() && Files.isRegularFile(filePath)) {
+            return resource;
+        } else {
+            throw new RuntimeException("Fichier non trouvé: " + fileName);
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getServedContentType(String fileName, String directory) {
+        Optional<FileReference> reference = fileReferenceRepository.findByPath(directory, fileName);
+        if (reference.isPresent()) {
+            return FileSignatureDetector.servedContentType(reference.get().getBlob().getContentType());
+        }
+
+        // Fichier historique : aucun type enregistré, détection sur les premiers octets
+        try (InputStream in = Files.newInputStream(resolveSecurePath(directory, fileName))) {
+            byte[] header = new byte[FileSignatureDetector.HEADER_SIZE];
+            int length = FileSignatureDetector.readHeader(in, header);
+            return FileSignatureDetector.servedContentType(FileSignatureDetector.detectContentType(header, length));
+        } catch (IOException e) {
+            return FileSignatureDetector.UNKNOWN_TYPE;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public InputStream getFileAsInputStream(String fileName, String directory) {
         try {
             Resource resource = downloadFile(fileName, directory);
@@ -199,10 +291,10 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public byte[] getFileBytes(String fileName, String directory) {
-        try {
-            Path filePath = Paths.get(uploadDir, directory, fileName);
-            return Files.readAllBytes(filePath);
+        try (InputStream in = downloadFile(fileName, directory).getInputStream()) {
+            return in.readAllBytes();
         } catch (IOException e) {
             log.error("Erreur lecture bytes fichier: {} - {}", fileName, e.getMessage());
             throw new RuntimeException("Erreur lecture fichier: " + e.getMessage());
@@ -213,11 +305,21 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public boolean deleteFile(String fileName, String directory) {
+        // Fichier logique : on retire la référence, le blob est supprimé par cleanupOrphanedFiles()
+        Optional<FileReference> reference = fileReferenceRepository.findByPath(directory, fileName);
+        if (reference.isPresent()) {
+            releaseReference(reference.get());
+            log.info("Référence fichier supprimée: {}/{}", directory, fileName);
+            return true;
+        }
+
         try {
             Path filePath = Paths.get(uploadDir, directory, fileName);
+            long size = sizeIfExists(filePath);
             boolean deleted = Files.deleteIfExists(filePath);
             
             if (deleted) {
+                recordPhysical(-1, -size);
                 log.info("Fichier supprimé: {}/{}", directory, fileName);
             }
             
@@ -252,10 +354,14 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean fileExists(String fileName, String directory) {
         try {
-            Path filePath = Paths.get(uploadDir, directory, fileName);
-            return Files.exists(filePath);
+            Optional<FileReference> reference = fileReferenceRepository.findByPath(directory, fileName);
+            if (reference.isPresent()) {
+                return storageBackend.exists(reference.get().getBlob().getStoragePath());
+            }
+            return Files.exists(resolveSecurePath(directory, fileName));
         } catch (Exception e) {
             return false;
         }
@@ -263,11 +369,32 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public boolean renameFile(String oldFileName, String newFileName, String directory) {
+        Optional<FileReference> reference = fileReferenceRepository.findByPath(directory, oldFileName);
+        if (reference.isPresent()) {
+            // Renommage purement logique : le blob ne bouge pas
+            fileReferenceRepository.findByPath(directory, newFileName).ifPresent(target -> {
+                releaseReference(target);
+                // Hibernate exécute les UPDATE avant les DELETE au flush : la cible doit disparaître
+                // avant le renommage, sinon uk_file_reference_path est violée
+                fileReferenceRepository.flush();
+            });
+            reference.get().setFileName(newFileName);
+            fileReferenceRepository.save(reference.get());
+            log.info("Fichier renommé: {} -> {}", oldFileName, newFileName);
+            return true;
+        }
+
         try {
             Path oldPath = Paths.get(uploadDir, directory, oldFileName);
             Path newPath = Paths.get(uploadDir, directory, newFileName);
             
+            // Un fichier cible écrasé disparaît du disque
+            long replacedSize = sizeIfExists(newPath);
+            boolean replaced = Files.exists(newPath);
             Files.move(oldPath, newPath, StandardCopyOption.REPLACE_EXISTING);
+            if (replaced) {
+                recordPhysical(-1, -replacedSize);
+            }
             log.info("Fichier renommé: {} -> {}", oldFileName, newFileName);
             
             return true;
@@ -280,6 +407,16 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public boolean copyFile(String sourceFileName, String targetFileName, String sourceDirectory, String targetDirectory) {
+        Optional<FileReference> reference = fileReferenceRepository.findByPath(sourceDirectory, sourceFileName);
+        if (reference.isPresent()) {
+            // Copie logique : nouvelle référence vers le même blob
+            FileBlob blob = reference.get().getBlob();
+            fileBlobRepository.incrementReferenceCount(blob.getId());
+            bindReference(targetDirectory, targetFileName, blob);
+            log.info("Fichier copié: {}/{} -> {}/{}", sourceDirectory, sourceFileName, targetDirectory, targetFileName);
+            return true;
+        }
+
         try {
             Path sourcePath = Paths.get(uploadDir, sourceDirectory, sourceFileName);
             Path targetPath = Paths.get(uploadDir, targetDirectory, targetFileName);
@@ -287,7 +424,10 @@ public class FileStorageServiceImpl implements FileStorageService {
             // Création du répertoire cible si nécessaire
             createDirectoryIfNotExists(Paths.get(uploadDir, targetDirectory).toString());
             
+            boolean replaced = Files.exists(targetPath);
+            long replacedSize = sizeIfExists(targetPath);
             Files.copy(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            recordPhysical(replaced ? 0 : 1, Files.size(targetPath) - replacedSize);
             log.info("Fichier copié: {}/{} -> {}/{}", sourceDirectory, sourceFileName, targetDirectory, targetFileName);
             
             return true;
@@ -313,10 +453,10 @@ public class FileStorageServiceImpl implements FileStorageService {
             return false;
         }
 
-        // Vérification du type MIME
-        String contentType = file.getContentType();
-        if (contentType == null || !allowedTypes.contains(contentType.toLowerCase())) {
-            log.warn("Type de fichier non autorisé: {}", contentType);
+        // Vérification du type réel (magic bytes) : le Content-Type déclaré par le client n'est pas fiable
+        String detectedType = getFileContentType(file);
+        if (!FileSignatureDetector.isAllowed(detectedType, allowedTypes)) {
+            log.warn("Type de fichier non autorisé: {} (déclaré: {})", detectedType, file.getContentType());
             return false;
         }
 
@@ -335,7 +475,15 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public String getFileContentType(MultipartFile file) {
-        return file.getContentType();
+        // Seuls les premiers Ko sont lus, le fichier n'est jamais chargé entièrement
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = new byte[FileSignatureDetector.HEADER_SIZE];
+            int length = FileSignatureDetector.readHeader(in, header);
+            return FileSignatureDetector.detectContentType(header, length);
+        } catch (IOException e) {
+            log.warn("Lecture en-tête impossible pour {} - {}", file.getOriginalFilename(), e.getMessage());
+            return FileSignatureDetector.UNKNOWN_TYPE;
+        }
     }
 
     @Override
@@ -364,20 +512,22 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<String> listFiles(String directory) {
         try {
+            Set<String> fileNames = new TreeSet<>();
+            fileReferenceRepository.findByDirectory(directory)
+                .forEach(reference -> fileNames.add(reference.getFileName()));
+
             Path dirPath = Paths.get(uploadDir, directory);
-            if (!Files.exists(dirPath)) {
-                return new ArrayList<>();
+            if (Files.exists(dirPath)) {
+                try (Stream<Path> files = Files.list(dirPath)) {
+                    files.filter(Files::isRegularFile)
+                         .forEach(path -> fileNames.add(path.getFileName().toString()));
+                }
             }
 
-            try (Stream<Path> files = Files.list(dirPath)) {
-                return files
-                    .filter(Files::isRegularFile)
-                    .map(path -> path.getFileName().toString())
-                    .sorted()
-                    .toList();
-            }
+            return new ArrayList<>(fileNames);
 
         } catch (IOException e) {
             log.error("Erreur listage fichiers répertoire: {} - {}", directory, e.getMessage());
@@ -387,22 +537,31 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public boolean deleteDirectory(String directory) {
+        List<FileReference> references = fileReferenceRepository.findByDirectoryTree(directory);
+        references.forEach(this::releaseReference);
+
         try {
             Path dirPath = Paths.get(uploadDir, directory);
             if (Files.exists(dirPath)) {
+                long[] removed = new long[2]; // [fichiers, octets]
                 try (Stream<Path> files = Files.walk(dirPath)) {
                     files.sorted(Comparator.reverseOrder())
                          .map(Path::toFile)
                          .forEach(file -> {
+                             long size = file.isFile() ? file.length() : -1;
                              if (!file.delete()) {
                                  log.warn("Impossible de supprimer: {}", file.getPath());
+                             } else if (size >= 0) {
+                                 removed[0]++;
+                                 removed[1] += size;
                              }
                          });
                 }
+                recordPhysical(-removed[0], -removed[1]);
                 log.info("Répertoire supprimé: {}", directory);
                 return true;
             }
-            return false;
+            return !references.isEmpty();
         } catch (IOException e) {
             log.error("Erreur suppression répertoire: {} - {}", directory, e.getMessage());
             return false;
@@ -417,30 +576,95 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    public String getImageVariantUrl(String imageUrl, ImageVariant variant) {
+        return variant.from(imageUrl);
+    }
+
+    @Override
+    public int deleteProfilePicture(String profilePictureUrl) {
+        if (profilePictureUrl == null || !profilePictureUrl.startsWith(baseUrl + "/")) {
+            return 0;
+        }
+        String relativePath = profilePictureUrl.substring(baseUrl.length() + 1);
+        int slash = relativePath.lastIndexOf('/');
+        if (slash < 0) {
+            return 0;
+        }
+        String directory = relativePath.substring(0, slash);
+        String fileName = relativePath.substring(slash + 1);
+
+        // Photo antérieure au pipeline d'images : un seul fichier
+        String baseName = ImageVariant.baseName(fileName);
+        if (baseName == null) {
+            return deleteFile(fileName, directory) ? 1 : 0;
+        }
+
+        // Original ({base}.ext) et toutes ses variantes ({base}_{suffix}.jpg)
+        int released = 0;
+        for (FileReference reference : fileReferenceRepository.findByDirectory(directory)) {
+            String name = reference.getFileName();
+            if (name.startsWith(baseName + ".") || name.startsWith(baseName + "_")) {
+                releaseReference(reference);
+                released++;
+            }
+        }
+        log.info("Photo de profil supprimée: {}/{} ({} fichiers)", directory, baseName, released);
+        return released;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public String generateSecureFileUrl(String fileName, String directory, int expirationMinutes) {
-        // TODO: Implémenter la génération d'URLs sécurisées avec expiration
-        // Pour l'instant, on retourne l'URL normale
-        return generateFileUrl(fileName, directory);
+        String presignedUrl = resolveDirectDownloadUrl(fileName, directory, Duration.ofMinutes(expirationMinutes));
+        if (presignedUrl != null) {
+            return presignedUrl;
+        }
+        // Backend local ou fichier historique : URL signée HMAC, vérifiée par FileController sans accès base
+        String cleanDirectory = StringUtils.cleanPath(directory);
+        return generateFileUrl(fileName, cleanDirectory) + "?"
+            + fileUrlSigner.sign(cleanDirectory + "/" + fileName, expirationMinutes * 60L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String resolveDirectDownloadUrl(String fileName, String directory, Duration expiration) {
+        return fileReferenceRepository.findByPath(directory, fileName)
+            .flatMap(reference -> {
+                // Mêmes règles que FileController : type enregistré filtré, téléchargement forcé hors images
+                String contentType = FileSignatureDetector.servedContentType(reference.getBlob().getContentType());
+                ContentDisposition disposition = (FileSignatureDetector.isInline(contentType)
+                    ? ContentDisposition.inline() : ContentDisposition.attachment())
+                    .filename(fileName, StandardCharsets.UTF_8)
+                    .build();
+                return storageBackend.presignedDownloadUrl(reference.getBlob().getStoragePath(), expiration,
+                    disposition.toString(), contentType);
+            })
+            .orElse(null);
     }
 
     // ==================== STATISTICS ====================
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getStorageStatistics() {
         try {
             Map<String, Object> stats = new HashMap<>();
-            
-            Path uploadPath = Paths.get(uploadDir);
-            if (Files.exists(uploadPath)) {
-                long totalSize = getDirectorySize(uploadDir);
-                int totalFiles = getFileCount(uploadDir);
-                
-                stats.put("totalSizeBytes", totalSize);
-                stats.put("totalSizeMB", totalSize / (1024 * 1024));
-                stats.put("totalFiles", totalFiles);
-                stats.put("uploadDirectory", uploadDir);
-            }
-            
+
+            // Lecture de deux compteurs maintenus incrémentalement : aucun parcours du disque
+            long[] physical = currentTotals(StorageScope.PHYSICAL);
+            long[] logical = currentTotals(StorageScope.LOGICAL);
+
+            stats.put("totalSizeBytes", physical[1]);
+            stats.put("totalSizeMB", physical[1] / (1024 * 1024));
+            stats.put("totalFiles", physical[0]);
+            stats.put("logicalFiles", logical[0]);
+            stats.put("logicalSizeBytes", logical[1]);
+            stats.put("deduplicatedBytes", Math.max(0, logical[1] - physical[1]));
+            stats.put("lastReconciledAt", storageCounterRepository.findByScope(StorageScope.PHYSICAL)
+                .map(StorageCounter::getLastReconciledAt)
+                .orElse(null));
+            stats.put("uploadDirectory", uploadDir);
+
             return stats;
             
         } catch (Exception e) {
@@ -450,48 +674,96 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long getDirectorySize(String directory) {
-        try {
-            Path dirPath = Paths.get(directory);
-            if (!Files.exists(dirPath)) {
-                return 0;
-            }
-
-            try (Stream<Path> files = Files.walk(dirPath)) {
-                return files
-                    .filter(Files::isRegularFile)
-                    .mapToLong(path -> {
-                        try {
-                            return Files.size(path);
-                        } catch (IOException e) {
-                            return 0;
-                        }
-                    })
-                    .sum();
-            }
-
-        } catch (IOException e) {
-            log.error("Erreur calcul taille répertoire: {} - {}", directory, e.getMessage());
-            return 0;
+        // Périmètre logique pour la racine comme pour les sous-répertoires : la somme des enfants ne dépasse
+        // jamais le total (fichiers historiques hors base exclus des deux côtés, comptés dans les stats physiques)
+        if (isUploadRoot(directory)) {
+            return currentTotals(StorageScope.LOGICAL)[1];
         }
+        // Agrégat indexé sur file_references.directory
+        Object[] aggregate = fileReferenceRepository.aggregateDirectoryTree(directory).get(0);
+        return ((Number) aggregate[1]).longValue();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int getFileCount(String directory) {
-        try {
-            Path dirPath = Paths.get(directory);
-            if (!Files.exists(dirPath)) {
-                return 0;
-            }
+        if (isUploadRoot(directory)) {
+            return (int) currentTotals(StorageScope.LOGICAL)[0];
+        }
+        Object[] aggregate = fileReferenceRepository.aggregateDirectoryTree(directory).get(0);
+        return ((Number) aggregate[0]).intValue();
+    }
 
-            try (Stream<Path> files = Files.walk(dirPath)) {
-                return (int) files.filter(Files::isRegularFile).count();
-            }
+    @Override
+    @Scheduled(fixedDelayString = "${app.file.stats-fold-interval-ms:10000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void foldStorageCounterDeltas() {
+        LocalDateTime now = LocalDateTime.now();
+        storageCounterRepository.foldDeltas(StorageScope.LOGICAL.name(), now);
+        storageCounterRepository.foldDeltas(StorageScope.PHYSICAL.name(), now);
+    }
 
-        } catch (IOException e) {
-            log.error("Erreur comptage fichiers répertoire: {} - {}", directory, e.getMessage());
-            return 0;
+    @Override
+    @Scheduled(cron = "${app.file.stats-reconcile-cron:0 30 4 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileStorageStatistics() {
+        log.info("Réconciliation des statistiques de stockage");
+
+        // Fichiers historiques sur disque, hors temp/ et blobs/ (hors transaction : une écriture historique
+        // concurrente du parcours peut rester décalée jusqu'à la réconciliation suivante)
+        long[] legacy = {0, 0}; // [fichiers, octets]
+        Path root = Paths.get(uploadDir);
+        if (Files.exists(root)) {
+            Path tempDir = root.resolve(TEMP_DIRECTORY);
+            Path blobDir = root.resolve(BLOB_DIRECTORY);
+            try {
+                Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        return dir.equals(tempDir) || dir.equals(blobDir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile()) {
+                            legacy[0]++;
+                            legacy[1] += attrs.size();
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                log.error("Erreur scan de réconciliation - {}", e.getMessage());
+                return;
+            }
         }
+
+        // Agrégats et remplacement des compteurs dans un même instantané : les variations validées pendant
+        // le scan ne sont ni comptées ni supprimées, elles restent à consolider
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        long[] physical = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            // Logique : agrégat sur file_references
+            Object[] logical = fileReferenceRepository.aggregateAll().get(0);
+            storageCounterRepository.reconcile(StorageScope.LOGICAL.name(),
+                ((Number) logical[0]).longValue(), ((Number) logical[1]).longValue(), now);
+
+            // Physique : agrégat sur file_blobs (quel que soit le backend) + fichiers historiques
+            Object[] blobs = fileBlobRepository.aggregateAll().get(0);
+            long[] totals = {((Number) blobs[0]).longValue() + legacy[0], ((Number) blobs[1]).longValue() + legacy[1]};
+            storageCounterRepository.reconcile(StorageScope.PHYSICAL.name(), totals[0], totals[1], now);
+            return totals;
+        });
+        log.info("Réconciliation terminée: {} fichiers, {} bytes stockés", physical[0], physical[1]);
     }
 
     // ==================== CLEANUP ====================
@@ -509,15 +781,17 @@ public class FileStorageServiceImpl implements FileStorageService {
             LocalDateTime cutoffDate = LocalDateTime.now().minusDays(olderThanDays);
             int deletedCount = 0;
 
-            try (Stream<Path> files = Files.list(tempDir)) {
-                for (Path file : files.filter(Files::isRegularFile).toList()) {
+            // temp/ ne contient que les uploads en cours ou interrompus : itération paresseuse, une lecture d'attributs par fichier
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+                for (Path file : files) {
                     try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
                         LocalDateTime fileTime = LocalDateTime.ofInstant(
-                            Files.getLastModifiedTime(file).toInstant(),
+                            attributes.lastModifiedTime().toInstant(),
                             java.time.ZoneId.systemDefault()
                         );
                         
-                        if (fileTime.isBefore(cutoffDate)) {
+                        if (attributes.isRegularFile() && fileTime.isBefore(cutoffDate)) {
                             Files.delete(file);
                             deletedCount++;
                         }
@@ -537,21 +811,335 @@ public class FileStorageServiceImpl implements FileStorageService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int cleanupOrphanedFiles() {
-        // TODO: Implémenter le nettoyage des fichiers orphelins
-        // Nécessite une vérification en base de données
-        log.info("Nettoyage fichiers orphelins (non implémenté)");
-        return 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(orphanGraceMinutes);
+        int deletedCount = 0;
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Requête indexée sur reference_count = 0 : aucun parcours de l'arborescence
+        for (FileBlob candidate : fileBlobRepository.findOrphanedBlobs(cutoff)) {
+            try {
+                // Une transaction par blob : la ligne reste verrouillée (FOR UPDATE) jusqu'à la suppression du fichier,
+                // un upload concurrent du même contenu attend puis recrée la ligne et le fichier
+                Boolean deleted = transactionTemplate.execute(status -> deleteOrphanedBlob(candidate.getId()));
+                if (Boolean.TRUE.equals(deleted)) {
+                    deletedCount++;
+                }
+            } catch (UncheckedIOException e) {
+                log.warn("Erreur suppression blob orphelin: {} - {}", candidate.getStoragePath(), e.getMessage());
+            }
+        }
+
+        log.info("Nettoyage terminé: {} fichiers orphelins supprimés", deletedCount);
+        return deletedCount;
+    }
+
+    /**
+     * Supprime un blob encore orphelin, ligne verrouillée, dans la transaction courante
+     * @return false si le blob a été re-référencé ou supprimé entre-temps
+     */
+    private boolean deleteOrphanedBlob(Long blobId) {
+        Optional<FileBlob> locked = fileBlobRepository.lockIfOrphaned(blobId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        FileBlob blob = locked.get();
+        try {
+            if (storageBackend.delete(blob.getStoragePath())) {
+                recordPhysical(-1, -blob.getSizeBytes());
+            }
+        } catch (IOException e) {
+            // Rollback : la ligne est conservée, nouvelle tentative au prochain nettoyage
+            throw new UncheckedIOException(e);
+        }
+        fileBlobRepository.delete(blob);
+        return true;
+    }
+
+    // ==================== STOCKAGE ADRESSÉ PAR CONTENU ====================
+
+    /**
+     * Stocke un flux sous un fichier logique directory/fileName et retourne son URL publique
+     */
+    private String storeContent(InputStream content, String contentType, String directory, String fileName) throws IOException {
+        // Nettoyage du nom de fichier
+        String cleanFileName = StringUtils.cleanPath(fileName);
+        String cleanDirectory = StringUtils.cleanPath(directory);
+        if (cleanFileName.contains("..") || cleanFileName.contains("/") || cleanDirectory.contains("..")) {
+            throw new RuntimeException("Nom de fichier invalide: " + cleanFileName);
+        }
+
+        // Copie en flux vers temp/ avec calcul du SHA-256 pendant l'écriture (aucune seconde lecture)
+        StagedUpload staged = stageUpload(content, contentType);
+
+        // Stockage unique du contenu puis liaison du fichier logique
+        FileBlob blob = storeBlob(staged);
+        bindReference(cleanDirectory, cleanFileName, blob);
+
+        return generateFileUrl(cleanFileName, cleanDirectory);
+    }
+
+    private record StagedUpload(Path path, String sha256, long size, String contentType) {}
+
+    /**
+     * @param baseName Nom sans extension : l'extension est dérivée du type détecté lors de la préparation
+     */
+    private record PendingUpload(MultipartFile file, String directory, String baseName) {}
+
+    /**
+     * Upload tout-ou-rien : validation et écriture en parallèle dans temp/ sur le pool d'I/O,
+     * puis déplacement atomique de tous les fichiers. Au moindre échec, rien n'est conservé.
+     */
+    private List<String> uploadAllOrNothing(List<PendingUpload> uploads, List<String> allowedTypes, long maxSizeInBytes) {
+        List<CompletableFuture<StagedUpload>> stagings = uploads.stream()
+            .map(upload -> CompletableFuture.supplyAsync(RequestContext.wrapSupplier(
+                () -> stageValidated(upload.file(), allowedTypes, maxSizeInBytes)), fileIoExecutor))
+            .toList();
+
+        try {
+            CompletableFuture.allOf(stagings.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            discardStagedUploads(stagings);
+            String reason = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            log.warn("Upload multiple annulé: {}", reason);
+            throw new RuntimeException("Upload annulé: " + reason);
+        }
+
+        List<String> urls = new ArrayList<>(uploads.size());
+        boolean completed = false;
+        try {
+            for (int i = 0; i < uploads.size(); i++) {
+                PendingUpload upload = uploads.get(i);
+                StagedUpload staged = stagings.get(i).join();
+                String fileName = upload.baseName() + FileSignatureDetector.extensionFor(staged.contentType());
+                try {
+                    FileBlob blob = storeBlob(staged);
+                    bindReference(StringUtils.cleanPath(upload.directory()), fileName, blob);
+                    urls.add(generateFileUrl(fileName, StringUtils.cleanPath(upload.directory())));
+                } catch (IOException e) {
+                    log.error("Erreur upload fichier: {} - {}", fileName, e.getMessage());
+                    throw new RuntimeException("Erreur lors de l'upload: " + e.getMessage());
+                }
+            }
+            completed = true;
+        } finally {
+            // Quelle que soit l'erreur (I/O, contrainte d'unicité, dépôt), aucun fichier préparé ne reste dans temp/ ;
+            // ceux déjà déplacés n'y sont plus, les blobs correspondants sont supprimés au rollback (cf. storeBlob)
+            if (!completed) {
+                discardStagedUploads(stagings);
+            }
+        }
+
+        log.info("{} fichiers uploadés", urls.size());
+        return urls;
+    }
+
+    /**
+     * Exécuté sur le pool d'I/O : lit l'en-tête, vérifie le type réel puis écrit le reste du flux
+     * (l'en-tête déjà lu est rejoué, le fichier n'est lu qu'une seule fois)
+     */
+    private StagedUpload stageValidated(MultipartFile file, List<String> allowedTypes, long maxSizeInBytes) {
+        String name = file.getOriginalFilename();
+        if (file.getSize() > maxSizeInBytes) {
+            throw new RuntimeException(name + ": fichier trop volumineux (max " + maxSizeInBytes + " bytes)");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = new byte[FileSignatureDetector.HEADER_SIZE];
+            int length = FileSignatureDetector.readHeader(in, header);
+            String detectedType = FileSignatureDetector.detectContentType(header, length);
+            if (!FileSignatureDetector.isAllowed(detectedType, allowedTypes)) {
+                throw new RuntimeException(name + ": type de fichier non autorisé (" + detectedType + ")");
+            }
+
+            InputStream content = new SequenceInputStream(new ByteArrayInputStream(header, 0, length), in);
+            return stageUpload(content, detectedType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(name + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void discardStagedUploads(List<CompletableFuture<StagedUpload>> stagings) {
+        for (CompletableFuture<StagedUpload> staging : stagings) {
+            if (staging.isDone() && !staging.isCompletedExceptionally()) {
+                try {
+                    Files.deleteIfExists(staging.join().path());
+                } catch (IOException e) {
+                    log.warn("Fichier temporaire non supprimé: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Copie le flux uploadé dans temp/ en calculant son empreinte au passage
+     */
+    private StagedUpload stageUpload(InputStream content, String contentType) throws IOException {
+        Path tempDir = Paths.get(uploadDir, TEMP_DIRECTORY);
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload_", ".part");
+
+        MessageDigest digest = newSha256Digest();
+        try (InputStream in = new DigestInputStream(content, digest)) {
+            long size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return new StagedUpload(tempFile, HexFormat.of().formatHex(digest.digest()), size, contentType);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Enregistre le blob (ou ajoute une référence s'il existe déjà) et place le contenu sous son chemin haché
+     */
+    private FileBlob storeBlob(StagedUpload staged) throws IOException {
+        String storagePath = blobStoragePath(staged.sha256());
+
+        // Upsert en premier : il attend un cleanupOrphanedFiles() qui tient la ligne (FOR UPDATE) jusqu'à la
+        // suppression du fichier, puis recrée la ligne ; le test d'existence ci-dessous voit donc l'état final
+        // du disque. Inversement, la ligne référencée n'est plus sélectionnée par le nettoyage.
+        fileBlobRepository.upsertAndReference(staged.sha256(), staged.size(), staged.contentType(), storagePath, LocalDateTime.now());
+
+        if (storageBackend.exists(storagePath)) {
+            // Contenu déjà stocké : déduplication
+            Files.deleteIfExists(staged.path());
+        } else {
+            // Local : rename atomique ; S3 : upload (multipart au-delà de app.storage.s3.part-size)
+            storageBackend.store(storagePath, staged.path(), staged.size(), staged.contentType());
+            deleteOnRollback(storagePath);
+            recordPhysical(1, staged.size());
+        }
+
+        return fileBlobRepository.findBySha256(staged.sha256())
+            .orElseThrow(() -> new RuntimeException("Blob introuvable après enregistrement: " + staged.sha256()));
+    }
+
+    /**
+     * Associe un fichier logique à un blob (la référence du blob doit déjà avoir été comptée)
+     */
+    private void bindReference(String directory, String fileName, FileBlob blob) {
+        Optional<FileReference> existing = fileReferenceRepository.findByPath(directory, fileName);
+        if (existing.isPresent()) {
+            // Remplacement : l'ancien contenu perd une référence
+            FileReference reference = existing.get();
+            fileBlobRepository.decrementReferenceCount(reference.getBlob().getId(), LocalDateTime.now());
+            recordLogical(0, blob.getSizeBytes() - reference.getBlob().getSizeBytes());
+            reference.setBlob(blob);
+            fileReferenceRepository.save(reference);
+        } else {
+            recordLogical(1, blob.getSizeBytes());
+            fileReferenceRepository.save(FileReference.builder()
+                .directory(directory)
+                .fileName(fileName)
+                .blob(blob)
+                .build());
+        }
+    }
+
+    /**
+     * Un blob créé dans une transaction annulée n'a plus de ligne file_blobs : on supprime le fichier
+     */
+    private void deleteOnRollback(String storagePath) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    try {
+                        storageBackend.delete(storagePath);
+                    } catch (IOException e) {
+                        log.warn("Blob non supprimé après rollback: {} - {}", storagePath, e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private void releaseReference(FileReference reference) {
+        fileBlobRepository.decrementReferenceCount(reference.getBlob().getId(), LocalDateTime.now());
+        recordLogical(-1, -reference.getBlob().getSizeBytes());
+        fileReferenceRepository.delete(reference);
+    }
+
+    /**
+     * blobs/ab/cd/abcd... : deux niveaux de sharding pour limiter la taille des répertoires
+     */
+    private String blobStoragePath(String sha256) {
+        return BLOB_DIRECTORY + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    private MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+
+    // ==================== COMPTEURS DE STOCKAGE ====================
+
+    private long[] currentTotals(StorageScope scope) {
+        Object[] totals = storageCounterRepository.currentTotals(scope.name()).get(0);
+        return new long[]{((Number) totals[0]).longValue(), ((Number) totals[1]).longValue()};
+    }
+
+    private void recordLogical(long files, long bytes) {
+        storageCounterRepository.applyDelta(StorageScope.LOGICAL.name(), files, bytes, LocalDateTime.now());
+    }
+
+    private void recordPhysical(long files, long bytes) {
+        if (files == 0 && bytes == 0) {
+            return;
+        }
+        storageCounterRepository.applyDelta(StorageScope.PHYSICAL.name(), files, bytes, LocalDateTime.now());
+    }
+
+    private long sizeIfExists(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private boolean isUploadRoot(String directory) {
+        return directory == null || directory.isBlank()
+            || Paths.get(directory).toAbsolutePath().normalize().equals(Paths.get(uploadDir).toAbsolutePath().normalize());
     }
 
     // ==================== MÉTHODES UTILITAIRES ====================
 
-    private String generateUniqueFileName(String originalFileName) {
+    /**
+     * Résout le chemin d'un fichier en garantissant qu'il reste sous le répertoire d'upload
+     * (protection contre les chemins du type ../../etc/passwd)
+     */
+    private Path resolveSecurePath(String directory, String fileName) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = root.resolve(Paths.get(directory, fileName)).normalize();
+
+        if (!filePath.startsWith(root)) {
+            throw new RuntimeException("Chemin de fichier invalide: " + directory + "/" + fileName);
+        }
+        return filePath;
+    }
+
+    private String variantFileName(String baseName, ImageVariant variant) {
+        return baseName + "_" + variant.getSuffix() + ImageVariant.EXTENSION;
+    }
+
+    /**
+     * Nom unique sans extension : l'extension du fichier stocké est dérivée du type détecté
+     */
+    private String generateUniqueBaseName(String originalFileName) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String extension = getFileExtension(originalFileName);
         String baseName = originalFileName != null ? 
-            originalFileName.substring(0, originalFileName.lastIndexOf('.')) : "file";
+            originalFileName.substring(0, originalFileName.length() - extension.length()) : "file";
         
-        return baseName + "_" + timestamp + "_" + UUID.randomUUID().toString().substring(0, 8) + extension;
+        return baseName + "_" + timestamp + "_" + UUID.randomUUID().toString().substring(0, 8);
     }
 }
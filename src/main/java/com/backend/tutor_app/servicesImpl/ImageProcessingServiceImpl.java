@@ -0,0 +1,186 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.model.enums.ImageVariant;
+import com.backend.tutor_app.services.ImageProcessingService;
+import com.backend.tutor_app.tracing.RequestContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implémentation du service de traitement d'images
+ * Les décodages sont limités à un pool borné : une image 12 MP décodée occupe ~48 MB de heap,
+ * la file d'attente bornée rejette les uploads au-delà de la capacité plutôt que de saturer la mémoire
+ */
+@Service
+@Slf4j
+public class ImageProcessingServiceImpl implements ImageProcessingService {
+
+    // Du plus grand au plus petit : chaque variante est réduite depuis la précédente
+    private static final List<ImageVariant> VARIANTS_BY_SIZE_DESC = Arrays.stream(ImageVariant.values())
+        .sorted(Comparator.comparingInt(ImageVariant::getSize).reversed())
+        .toList();
+
+    private final ExecutorService imageExecutor;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final long timeoutSeconds;
+
+    public ImageProcessingServiceImpl(
+            @Value("${app.image.worker-threads:2}") int workerThreads,
+            @Value("${app.image.queue-capacity:16}") int queueCapacity,
+            @Value("${app.image.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${app.image.max-pixels:40000000}") long maxPixels,
+            @Value("${app.image.timeout-seconds:20}") long timeoutSeconds) {
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.timeoutSeconds = timeoutSeconds;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.imageExecutor = new ThreadPoolExecutor(
+            workerThreads, workerThreads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-worker-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public Map<ImageVariant, byte[]> generateVariants(InputStream imageStream) {
+        Future<Map<ImageVariant, byte[]>> future;
+        try {
+            future = imageExecutor.submit(RequestContext.wrapCallable(() -> processImage(imageStream)));
+        } catch (RejectedExecutionException e) {
+            throw new RuntimeException("Traitement d'images saturé, réessayez plus tard");
+        }
+
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RuntimeException("Délai de traitement de l'image dépassé");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Traitement de l'image interrompu");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Erreur traitement image: " + e.getCause().getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        imageExecutor.shutdownNow();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private Map<ImageVariant, byte[]> processImage(InputStream imageStream) throws IOException {
+        BufferedImage source = decodeSquare(imageStream);
+
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        BufferedImage current = source;
+        for (ImageVariant variant : VARIANTS_BY_SIZE_DESC) {
+            current = resize(current, variant.getSize());
+            variants.put(variant, encodeJpeg(current));
+        }
+        log.debug("Variantes générées depuis une image {}x{}", source.getWidth(), source.getHeight());
+        return variants;
+    }
+
+    /**
+     * Décode l'image une seule fois, recadrée au carré central et sous-échantillonnée dès la lecture
+     * (un original 4000px n'est jamais décodé en pleine résolution pour produire du 320px)
+     */
+    private BufferedImage decodeSquare(InputStream imageStream) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(imageStream)) {
+            if (input == null) {
+                throw new IOException("Flux image illisible");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Format d'image non supporté");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image trop grande: " + width + "x" + height);
+                }
+
+                int side = Math.min(width, height);
+                int largest = VARIANTS_BY_SIZE_DESC.get(0).getSize();
+                // On garde au moins 2x la plus grande variante pour un redimensionnement de qualité
+                int subsampling = Math.max(1, side / (largest * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int size) {
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE); // Fond blanc pour les PNG transparents (JPEG sans alpha)
+            graphics.fillRect(0, 0, size, size);
+            graphics.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
@@ -1,8 +1,11 @@
 package com.backend.tutor_app.servicesImpl;
 
 import com.backend.tutor_app.services.IpAddressService;
+import com.backend.tutor_app.utils.IpLiteralParser;
+import com.backend.tutor_app.utils.IpRangeSet;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -13,32 +16,38 @@ import java.util.List;
 /**
  * Implémentation du service de récupération d'adresse IP
  * Gère les différents headers de proxy et reverse proxy (Nginx, Apache, CloudFlare, etc.)
+ * Les headers ne sont lus que si la connexion provient d'un proxy de confiance (app.network.trusted-proxies) :
+ * en connexion directe, ils sont falsifiables par le client
  */
 @Service
 @Slf4j
 public class IpAddressServiceImpl implements IpAddressService {
     
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    
     /**
-     * Liste des headers HTTP à vérifier pour récupérer l'IP réelle du client
+     * Headers portant une seule IP, vérifiés après X-Forwarded-For
      * Ordre de priorité : du plus fiable au moins fiable
      */
-    private static final List<String> IP_HEADERS = Arrays.asList(
-        "X-Forwarded-For",          // Standard de facto pour les proxies
+    private static final List<String> IP_HEADERS = List.of(
         "X-Real-IP",                // Nginx
-        "Proxy-Client-IP",          // Apache
-        "WL-Proxy-Client-IP",       // WebLogic
-        "HTTP_X_FORWARDED_FOR",     // Variante HTTP
-        "HTTP_X_FORWARDED",         // Variante HTTP
-        "HTTP_X_CLUSTER_CLIENT_IP", // Cluster
-        "HTTP_CLIENT_IP",           // Client direct
-        "HTTP_FORWARDED_FOR",       // Variante HTTP
-        "HTTP_FORWARDED",           // Variante HTTP
-        "HTTP_VIA",                 // Via proxy
-        "X-CLIENT-IP",              // Variante X-Client
         "CF-Connecting-IP",         // CloudFlare
-        "True-Client-IP"            // Akamai, CloudFlare Enterprise
+        "True-Client-IP",           // Akamai, CloudFlare Enterprise
+        "Proxy-Client-IP",          // Apache
+        "WL-Proxy-Client-IP"        // WebLogic
     );
     
+    private final IpRangeSet trustedProxies;
+    
+    /**
+     * @param trustedProxies Plages CIDR des reverse proxies autorisés à transmettre l'IP du client
+     */
+    public IpAddressServiceImpl(@Value("${app.network.trusted-proxies:127.0.0.1/32,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}")
+                                String[] trustedProxies) {
+        this.trustedProxies = IpRangeSet.parse(Arrays.asList(trustedProxies));
+        log.info("Proxies de confiance: {}", String.join(", ", trustedProxies));
+    }
+    
     @Override
     public String getClientIp() {
         try {
@@ -69,58 +78,74 @@ public class IpAddressServiceImpl implements IpAddressService {
             return "127.0.0.1";
         }
         
-        // Vérification des headers standards dans l'ordre de priorité
+        String remoteAddr = request.getRemoteAddr();
+        if (remoteAddr == null) {
+            return "127.0.0.1";
+        }
+        
+        // Connexion directe (sans proxy de confiance) : l'adresse distante fait foi
+        if (!trustedProxies.contains(remoteAddr)) {
+            log.debug("IP récupérée via RemoteAddr: {}", remoteAddr);
+            return remoteAddr;
+        }
+        
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor != null) {
+            String clientIp = clientFromForwardedFor(forwardedFor);
+            if (clientIp != null) {
+                log.debug("IP trouvée via header {}: {}", FORWARDED_FOR_HEADER, clientIp);
+                return clientIp;
+            }
+        }
+        
         for (String header : IP_HEADERS) {
             String ip = request.getHeader(header);
-            
-            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-                // Pour X-Forwarded-For, prendre le premier IP (client réel)
-                // Format: "client, proxy1, proxy2"
-                if ("X-Forwarded-For".equals(header) && ip.contains(",")) {
-                    ip = ip.split(",")[0].trim();
-                }
-                
-                // Validation de l'IP avant de la retourner
-                if (isValidIp(ip)) {
+            if (ip != null) {
+                int from = skipSpaces(ip, 0);
+                int to = trimEnd(ip, from, ip.length());
+                if (IpLiteralParser.isIpLiteral(ip, from, to)) {
                     log.debug("IP trouvée via header {}: {}", header, ip);
-                    return ip;
+                    return ip.substring(from, to);
                 }
             }
         }
         
-        // Fallback sur l'adresse distante (connexion directe sans proxy)
-        String remoteAddr = request.getRemoteAddr();
+        // Aucun header exploitable : le proxy est lui-même le client
         log.debug("IP récupérée via RemoteAddr: {}", remoteAddr);
-        
-        return remoteAddr != null ? remoteAddr : "127.0.0.1";
+        return remoteAddr;
     }
     
-    @Override
-    public boolean isValidIp(String ip) {
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            return false;
-        }
-        
-        // Validation IPv4 : format xxx.xxx.xxx.xxx
-        if (ip.matches("^([0-9]{1,3}\\.){3}[0-9]{1,3}$")) {
-            // Vérification que chaque octet est entre 0 et 255
-            String[] octets = ip.split("\\.");
-            for (String octet : octets) {
-                int value = Integer.parseInt(octet);
-                if (value < 0 || value > 255) {
-                    return false;
-                }
+    /**
+     * X-Forwarded-For "client, proxy1, proxy2" : chaque proxy ajoute à droite l'adresse de son appelant.
+     * Parcours depuis la droite en sautant les proxies de confiance ; le premier saut non fiable est le client
+     * (ce qui est plus à gauche a pu être inventé par lui). Si tous les sauts sont de confiance, le plus à gauche.
+     * @return IP du client, ou null si aucun saut valide
+     */
+    private String clientFromForwardedFor(String forwardedFor) {
+        int leftmostFrom = -1;
+        int leftmostTo = -1;
+        int end = forwardedFor.length();
+        while (end >= 0) {
+            int start = forwardedFor.lastIndexOf(',', end - 1) + 1;
+            int from = skipSpaces(forwardedFor, start);
+            int to = trimEnd(forwardedFor, from, end);
+            if (trustedProxies.contains(forwardedFor, from, to)) {
+                leftmostFrom = from;
+                leftmostTo = to;
+            } else if (IpLiteralParser.isIpLiteral(forwardedFor, from, to)) {
+                return forwardedFor.substring(from, to);
+            } else {
+                // Saut invalide ("unknown", valeur forgée) : rien de fiable plus à gauche
+                break;
             }
-            return true;
+            end = start - 1;
         }
-        
-        // Validation IPv6 : format hexadécimal avec ':'
-        if (ip.matches("^[0-9a-fA-F:]+$")) {
-            // Validation basique IPv6 (peut être améliorée)
-            return ip.contains(":");
-        }
-        
-        return false;
+        return leftmostFrom < 0 ? null : forwardedFor.substring(leftmostFrom, leftmostTo);
+    }
+    
+    @Override
+    public boolean isValidIp(String ip) {
+        return ip != null && IpLiteralParser.isIpLiteral(ip, 0, ip.length());
     }
     
     @Override
@@ -128,40 +153,20 @@ public class IpAddressServiceImpl implements IpAddressService {
         if (ip == null || ip.isEmpty()) {
             return false;
         }
-        
-        // IPv4 locales
-        if (ip.equals("127.0.0.1") || 
-            ip.equals("localhost") ||
-            ip.startsWith("192.168.") ||
-            ip.startsWith("10.") ||
-            ip.startsWith("172.16.") ||
-            ip.startsWith("172.17.") ||
-            ip.startsWith("172.18.") ||
-            ip.startsWith("172.19.") ||
-            ip.startsWith("172.20.") ||
-            ip.startsWith("172.21.") ||
-            ip.startsWith("172.22.") ||
-            ip.startsWith("172.23.") ||
-            ip.startsWith("172.24.") ||
-            ip.startsWith("172.25.") ||
-            ip.startsWith("172.26.") ||
-            ip.startsWith("172.27.") ||
-            ip.startsWith("172.28.") ||
-            ip.startsWith("172.29.") ||
-            ip.startsWith("172.30.") ||
-            ip.startsWith("172.31.")) {
-            return true;
+        return "localhost".equalsIgnoreCase(ip) || IpRangeSet.PRIVATE_AND_RESERVED.contains(ip);
+    }
+    
+    private static int skipSpaces(String value, int from) {
+        while (from < value.length() && value.charAt(from) == ' ') {
+            from++;
         }
-        
-        // IPv6 locales
-        if (ip.equals("::1") || 
-            ip.equals("0:0:0:0:0:0:0:1") ||
-            ip.startsWith("fe80:") ||
-            ip.startsWith("fc00:") ||
-            ip.startsWith("fd00:")) {
-            return true;
+        return from;
+    }
+    
+    private static int trimEnd(String value, int from, int to) {
+        while (to > from && value.charAt(to - 1) == ' ') {
+            to--;
         }
-        
-        return false;
+        return to;
     }
 }
@@ -1,14 +1,14 @@
 package com.backend.tutor_app.servicesImpl;
 
+import com.backend.tutor_app.geoip.CountryCodeCache;
+import com.backend.tutor_app.geoip.GeoIpDatabase;
 import com.backend.tutor_app.model.enums.SecurityRiskLevel;
 import com.backend.tutor_app.services.IpGeolocationService;
+import com.backend.tutor_app.utils.IpLiteralParser;
+import com.backend.tutor_app.utils.IpRangeSet;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
-import com.maxmind.geoip2.model.CityResponse;
-import com.maxmind.geoip2.record.City;
-import com.maxmind.geoip2.record.Country;
-import com.maxmind.geoip2.record.Location;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,7 +26,7 @@ import java.util.Set;
  * - Géolocalisation IP avec base de données locale (GeoLite2-City)
  * - Détection de pays, ville, coordonnées GPS
  * - Mode fallback si MaxMind non disponible
- * - Cache intégré pour optimiser les performances
+ * - Cache des codes pays par IPv4 / préfixe IPv6 /64 (app.geoip.cache-size entrées par famille)
  * 
  * @author TutorApp Team
  * @version 2.0 (MaxMind GeoIP2)
@@ -35,7 +35,14 @@ import java.util.Set;
 @Slf4j
 public class IpGeolocationServiceImpl implements IpGeolocationService {
     
-    private final DatabaseReader databaseReader;
+    private static final String LOCAL = "LOCAL";
+    
+    // Tampon par thread pour les 128 bits d'une IPv6 analysée
+    private static final ThreadLocal<long[]> WORDS = ThreadLocal.withInitial(() -> new long[2]);
+    
+    private final GeoIpDatabase geoIpDatabase;
+    private final CountryCodeCache ipv4Cache;
+    private final CountryCodeCache ipv6Cache;
     
     @Value("${app.geoip.fallback-enabled:true}")
     private boolean fallbackEnabled;
@@ -50,23 +57,19 @@ public class IpGeolocationServiceImpl implements IpGeolocationService {
         "SS"  // Soudan du Sud
     ));
     
-    // (Q) PHASE 2 - Plages IP privées (RFC 1918 + localhost)
-    private static final String[] PRIVATE_IP_RANGES = {
-        "10.", "192.168.", "172.16.", "172.17.", "172.18.", "172.19.",
-        "172.20.", "172.21.", "172.22.", "172.23.", "172.24.", "172.25.",
-        "172.26.", "172.27.", "172.28.", "172.29.", "172.30.", "172.31.",
-        "127.", "localhost", "0:0:0:0:0:0:0:1", "::1"
-    };
-    
     /**
-     * Constructeur avec injection du DatabaseReader
-     * @param databaseReader Bean créé par GeoIpConfig (peut être null si désactivé)
+     * Constructeur avec injection de la base GeoIP
+     * @param geoIpDatabase Bean créé par GeoIpConfig (sans lecteur si désactivé), rechargeable à chaud
+     * @param cacheSize Nombre d'entrées du cache des codes pays, pour chaque famille d'adresses
      */
     @Autowired
-    public IpGeolocationServiceImpl(@Autowired(required = false) DatabaseReader databaseReader) {
-        this.databaseReader = databaseReader;
+    public IpGeolocationServiceImpl(GeoIpDatabase geoIpDatabase,
+                                    @Value("${app.geoip.cache-size:4096}") int cacheSize) {
+        this.geoIpDatabase = geoIpDatabase;
+        this.ipv4Cache = new CountryCodeCache(cacheSize);
+        this.ipv6Cache = new CountryCodeCache(cacheSize);
         
-        if (databaseReader == null) {
+        if (geoIpDatabase.current() == null) {
             log.warn("⚠️ DatabaseReader est NULL - Mode fallback activé");
             log.warn("   La géolocalisation utilisera des heuristiques basiques");
         } else {
@@ -76,60 +79,94 @@ public class IpGeolocationServiceImpl implements IpGeolocationService {
     
     @Override
     public String getCountryFromIp(String ipAddress) {
-        log.debug("🌍 Géolocalisation de l'IP: {}", ipAddress);
-        
         // Validation de base
         if (ipAddress == null || ipAddress.isBlank()) {
-            return "UNKNOWN";
+            return CountryCodeCache.UNKNOWN;
         }
         
-        // Détection IP locale/privée
-        if (isPrivateIp(ipAddress)) {
-            log.debug("🏠 IP privée/locale détectée: {}", ipAddress);
-            return "LOCAL";
-        }
-        
-        // Tentative avec MaxMind GeoIP2
-        if (databaseReader != null) {
-            try {
-                InetAddress inetAddress = InetAddress.getByName(ipAddress);
-                CityResponse response = databaseReader.city(inetAddress);
-                
-                Country country = response.getCountry();
-                String countryCode = country.getIsoCode();
-                String countryName = country.getName();
-                
-                // Informations supplémentaires (optionnel, pour logs enrichis)
-                City city = response.getCity();
-                Location location = response.getLocation();
-                
-                log.debug("✅ IP {} géolocalisée:", ipAddress);
-                log.debug("   - Pays: {} ({})", countryName, countryCode);
-                if (city.getName() != null) {
-                    log.debug("   - Ville: {}", city.getName());
-                }
-                if (location.getLatitude() != null && location.getLongitude() != null) {
-                    log.debug("   - Coordonnées: {}, {}", location.getLatitude(), location.getLongitude());
-                }
-                
-                return countryCode != null ? countryCode : "UNKNOWN";
-                
-            } catch (AddressNotFoundException e) {
-                log.warn("⚠️ IP {} non trouvée dans la base MaxMind", ipAddress);
-                return fallbackToHeuristic(ipAddress);
-                
-            } catch (GeoIp2Exception e) {
-                log.error("❌ Erreur GeoIP2 pour {}: {}", ipAddress, e.getMessage());
-                return fallbackToHeuristic(ipAddress);
-                
-            } catch (Exception e) {
-                log.error("❌ Erreur inattendue lors de la géolocalisation de {}: {}", ipAddress, e.getMessage());
+        if ("localhost".equalsIgnoreCase(ipAddress)) {
+            return LOCAL;
+        }
+        
+        // Adresse analysée une seule fois : classification privée/réservée puis clé du cache
+        // Génération lue avant le lecteur : une base rechargée entre les deux rend l'entrée mémorisée invalide, jamais fausse
+        int generation = geoIpDatabase.generation();
+        DatabaseReader databaseReader = geoIpDatabase.current();
+        long ipv4 = IpLiteralParser.parseIpv4(ipAddress);
+        if (ipv4 != IpLiteralParser.INVALID) {
+            if (IpRangeSet.PRIVATE_AND_RESERVED.containsIpv4(ipv4)) {
+                return local(ipAddress);
+            }
+            if (databaseReader == null) {
                 return fallbackToHeuristic(ipAddress);
             }
+            return countryFromCache(databaseReader, generation, ipv4Cache, ipv4, 0, ipAddress);
         }
         
-        // Si MaxMind non disponible, utiliser le fallback
-        return fallbackToHeuristic(ipAddress);
+        long[] words = WORDS.get();
+        if (!IpLiteralParser.parseIpv6(ipAddress, words)) {
+            // Jamais de résolution DNS : seuls les littéraux IP sont géolocalisés
+            log.warn("⚠️ Adresse IP invalide: {}", ipAddress);
+            return fallbackToHeuristic(ipAddress);
+        }
+        long high = words[0];
+        long low = words[1];
+        if (IpRangeSet.PRIVATE_AND_RESERVED.containsIpv6(high, low)) {
+            return local(ipAddress);
+        }
+        if (databaseReader == null) {
+            return fallbackToHeuristic(ipAddress);
+        }
+        if (high == 0 && (low >>> 32) == 0xFFFFL) {
+            // IPv4 mappée (::ffff:a.b.c.d) : même entrée que l'adresse IPv4
+            return countryFromCache(databaseReader, generation, ipv4Cache, low & 0xFFFFFFFFL, 0, ipAddress);
+        }
+        return countryFromCache(databaseReader, generation, ipv6Cache, high, low, ipAddress);
+    }
+    
+    /**
+     * Code pays depuis le cache ; les octets de l'adresse ne sont construits qu'en cas d'absence
+     * @param generation Génération de la base lue avant databaseReader, portée par l'entrée mémorisée
+     * @param key Adresse IPv4 (ipv4Cache) ou 64 bits de poids fort de l'IPv6 (ipv6Cache, préfixe /64)
+     * @param lowWord 64 bits de poids faible de l'IPv6, ignorés pour une IPv4
+     */
+    private String countryFromCache(DatabaseReader databaseReader, int generation, CountryCodeCache cache, long key,
+                                    long lowWord, String ipAddress) {
+        short cached = cache.get(key, generation);
+        if (cached != CountryCodeCache.NONE) {
+            return CountryCodeCache.unpack(cached);
+        }
+        byte[] address = cache == ipv6Cache ? IpLiteralParser.ipv6Bytes(key, lowWord) : IpLiteralParser.ipv4Bytes(key);
+        String country = lookupCountry(databaseReader, ipAddress, address);
+        if (country == null) {
+            return fallbackToHeuristic(ipAddress);
+        }
+        cache.put(key, CountryCodeCache.pack(country), generation);
+        return country;
+    }
+    
+    /**
+     * Recherche MaxMind du seul enregistrement pays (country() : pas de décodage ville ni coordonnées)
+     * @return Code ISO, UNKNOWN si l'IP est absente de la base, null en cas d'erreur de lecture (non mis en cache)
+     */
+    private String lookupCountry(DatabaseReader databaseReader, String ipAddress, byte[] address) {
+        try {
+            String countryCode = databaseReader.country(InetAddress.getByAddress(address)).getCountry().getIsoCode();
+            log.debug("✅ IP {} géolocalisée: {}", ipAddress, countryCode);
+            return countryCode != null ? countryCode : CountryCodeCache.UNKNOWN;
+            
+        } catch (AddressNotFoundException e) {
+            log.warn("⚠️ IP {} non trouvée dans la base MaxMind", ipAddress);
+            return fallbackToHeuristic(ipAddress);
+            
+        } catch (GeoIp2Exception e) {
+            log.error("❌ Erreur GeoIP2 pour {}: {}", ipAddress, e.getMessage());
+            return null;
+            
+        } catch (Exception e) {
+            log.error("❌ Erreur inattendue lors de la géolocalisation de {}: {}", ipAddress, e.getMessage());
+            return null;
+        }
     }
     
     /**
@@ -210,10 +247,14 @@ public class IpGeolocationServiceImpl implements IpGeolocationService {
         
         log.debug("   Pays précédent: {} | Pays actuel: {}", previousCountry, currentCountry);
         
+        return assessIpRisk(previousCountry, currentCountry, isVpnOrProxy(currentIp));
+    }
+    
+    @Override
+    public SecurityRiskLevel assessIpRisk(String previousCountry, String currentCountry, boolean vpnOrProxy) {
         // Vérifier VPN/Proxy
-        boolean isVpn = isVpnOrProxy(currentIp);
-        if (isVpn) {
-            log.warn("⚠️ VPN/Proxy détecté: {} - Risque ÉLEVÉ", currentIp);
+        if (vpnOrProxy) {
+            log.warn("⚠️ VPN/Proxy détecté - Risque ÉLEVÉ");
             return SecurityRiskLevel.HIGH;
         }
         
@@ -223,7 +264,14 @@ public class IpGeolocationServiceImpl implements IpGeolocationService {
             return SecurityRiskLevel.HIGH;
         }
         
-        // Même pays = Risque faible
+        // Géolocalisation non aboutie (délai dépassé, erreur) : jamais de risque faible
+        if (previousCountry == null || currentCountry == null
+                || LOOKUP_FAILED.equals(previousCountry) || LOOKUP_FAILED.equals(currentCountry)) {
+            log.info("⚠️ Géolocalisation non aboutie: {} → {} - Risque MOYEN", previousCountry, currentCountry);
+            return SecurityRiskLevel.MEDIUM;
+        }
+        
+        // Même pays = Risque faible (UNKNOWN → UNKNOWN compris : IP absente de la base ou géolocalisation désactivée)
         if (previousCountry.equals(currentCountry)) {
             log.debug("✅ Même pays ({}), risque faible", currentCountry);
             return SecurityRiskLevel.LOW;
@@ -235,14 +283,10 @@ public class IpGeolocationServiceImpl implements IpGeolocationService {
     }
     
     /**
-     * (Q) PHASE 2 - Vérifie si une IP est privée/locale
+     * (Q) PHASE 2 - IP privée/locale (RFC 1918, loopback, lien local, CGNAT, ULA) : pas de géolocalisation
      */
-    private boolean isPrivateIp(String ipAddress) {
-        for (String prefix : PRIVATE_IP_RANGES) {
-            if (ipAddress.startsWith(prefix)) {
-                return true;
-            }
-        }
-        return false;
+    private String local(String ipAddress) {
+        log.debug("🏠 IP privée/locale détectée: {}", ipAddress);
+        return LOCAL;
     }
 }
@@ -2,6 +2,7 @@ package com.backend.tutor_app.servicesImpl;
 
 import com.backend.tutor_app.dto.notification.NotificationDTO;
 import com.backend.tutor_app.dto.notification.NotificationRequest;
+import com.backend.tutor_app.metrics.AppMetrics;
 import com.backend.tutor_app.model.Notification;
 import com.backend.tutor_app.model.Utilisateur;
 import com.backend.tutor_app.model.enums.NotificationPriority;
@@ -11,6 +12,9 @@ import com.backend.tutor_app.repositories.NotificationRepository;
 import com.backend.tutor_app.repositories.UserRepository;
 import com.backend.tutor_app.services.EmailService;
 import com.backend.tutor_app.services.NotificationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -31,12 +35,13 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class NotificationServiceImpl implements NotificationService {
+public class NotificationServiceImpl implements NotificationService, MeterBinder {
     
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final AppMetrics appMetrics;
     
     // Map des sessions WebSocket actives : userId -> Set<sessionId>
     private final Map<Long, Set<String>> userSessions = new ConcurrentHashMap<>();
@@ -47,6 +52,19 @@ public class NotificationServiceImpl implements NotificationService {
     // Map inverse pour retrouver userId depuis sessionId
     private final Map<String, Long> sessionToUser = new ConcurrentHashMap<>();
     
+    /**
+     * Jauges des connexions WebSocket et des jetons FCM suivis par cette instance
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tutorapp.websocket.sessions", sessionToUser, Map::size)
+            .description("Sessions WebSocket ouvertes").register(registry);
+        Gauge.builder("tutorapp.websocket.connected.users", userSessions, Map::size)
+            .description("Utilisateurs connectés en WebSocket").register(registry);
+        Gauge.builder("tutorapp.fcm.users", userFCMTokens, Map::size)
+            .description("Utilisateurs ayant au moins un jeton FCM").register(registry);
+    }
+
     // ==================== ENVOI DE NOTIFICATIONS ====================
     
     @Override
@@ -63,11 +81,13 @@ public class NotificationServiceImpl implements NotificationService {
                 "/topic/notifications/" + userId,
                 notification
             );
+            appMetrics.websocketPush(AppMetrics.OUTCOME_SUCCESS);
             
             log.info("📡 WebSocket notification sent to user {}: {}", userId, notification.getTitle());
             return true;
             
         } catch (Exception e) {
+            appMetrics.websocketPush(AppMetrics.OUTCOME_FAILURE);
             log.error("❌ Error sending WebSocket notification to user {}: {}", userId, e.getMessage());
             return false;
         }
@@ -495,7 +515,7 @@ public class NotificationServiceImpl implements NotificationService {
     
     @Override
     @Transactional
-    @Scheduled(cron = "0 0 2 * * ?") // Tous les jours à 2h du matin
+    @Scheduled(cron = "${app.notification.cleanup-cron:-}") // Désactivée par défaut (ex. "0 0 2 * * ?")
     public int cleanupOldNotifications() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         int count = notificationRepository.deleteOldNotifications(thirtyDaysAgo);
@@ -505,7 +525,7 @@ public class NotificationServiceImpl implements NotificationService {
     
     @Override
     @Transactional
-    @Scheduled(cron = "0 0 3 * * ?") // Tous les jours à 3h du matin
+    @Scheduled(cron = "${app.notification.fcm-token-cleanup-cron:-}") // Désactivée par défaut (ex. "0 0 3 * * ?")
     public int cleanupExpiredFCMTokens() {
         // TODO: Implémenter la vérification des tokens FCM expirés avec Firebase Admin SDK
         // Pour l'instant, on ne fait rien
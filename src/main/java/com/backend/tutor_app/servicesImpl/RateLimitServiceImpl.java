@@ -1,6 +1,10 @@
 package com.backend.tutor_app.servicesImpl;
 
+import com.backend.tutor_app.metrics.AppMetrics;
 import com.backend.tutor_app.services.RateLimitService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,7 +21,9 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class RateLimitServiceImpl implements RateLimitService {
+public class RateLimitServiceImpl implements RateLimitService, MeterBinder {
+
+    private final AppMetrics appMetrics;
 
     // Cache en mémoire pour les tentatives (en production, utiliser Redis)
     private final Map<String, List<LocalDateTime>> attemptCache = new ConcurrentHashMap<>();
@@ -35,6 +41,19 @@ public class RateLimitServiceImpl implements RateLimitService {
         "api_call", new RateLimitConfig(100, Duration.ofMinutes(1))
     );
 
+    /**
+     * Jauges des caches en mémoire (croissance à surveiller tant qu'ils ne sont pas dans Redis)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tutorapp.ratelimit.cache.size", attemptCache, Map::size)
+            .tag("cache", "attempts").description("Clés suivies par la limitation de débit").register(registry);
+        Gauge.builder("tutorapp.ratelimit.cache.size", blacklistCache, Map::size)
+            .tag("cache", "blacklist").description("Clés en liste noire").register(registry);
+        Gauge.builder("tutorapp.ratelimit.cache.size", whitelistCache, Set::size)
+            .tag("cache", "whitelist").description("IP en liste blanche").register(registry);
+    }
+
     // ==================== GENERAL RATE LIMITING ====================
 
     @Override
@@ -53,6 +72,7 @@ public class RateLimitServiceImpl implements RateLimitService {
 
             // Vérification de la blacklist
             if (isIpBlacklisted(key)) {
+                appMetrics.blacklistHit();
                 log.warn("Accès refusé pour clé blacklistée: {}", key);
                 return false;
             }
@@ -68,6 +88,7 @@ public class RateLimitServiceImpl implements RateLimitService {
             boolean allowed = attempts.size() < maxAttempts;
             
             if (!allowed) {
+                appMetrics.rateLimitRejected(action);
                 log.warn("Rate limit dépassé pour {}: {} tentatives en {}", 
                     cacheKey, attempts.size(), timeWindow);
             }
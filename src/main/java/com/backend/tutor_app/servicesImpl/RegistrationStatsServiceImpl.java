@@ -0,0 +1,194 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.admin.RegistrationSeries;
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.StatsGranularity;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.model.stats.RegistrationDailyStat;
+import com.backend.tutor_app.repositories.RegistrationDailyStatRepository;
+import com.backend.tutor_app.repositories.UserRepository;
+import com.backend.tutor_app.services.RegistrationStatsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation des compteurs journaliers d'inscriptions
+ * Les transitions d'une transaction sont cumulées par (jour, rôle, statut) puis appliquées avant le commit,
+ * un upsert par compteur touché. La lecture ne parcourt que les compteurs de la période, jamais les utilisateurs.
+ */
+@Service
+@Slf4j
+public class RegistrationStatsServiceImpl implements RegistrationStatsService {
+
+    private static final String PENDING_DELTAS_KEY = RegistrationStatsServiceImpl.class.getName() + ".deltas";
+
+    private final RegistrationDailyStatRepository registrationDailyStatRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RegistrationStatsServiceImpl(RegistrationDailyStatRepository registrationDailyStatRepository,
+                                        UserRepository userRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.registrationDailyStatRepository = registrationDailyStatRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recordTransition(LocalDate registrationDay, Role oldRole, UserStatus oldStatus, Role newRole, UserStatus newStatus) {
+        if (registrationDay == null) {
+            return;
+        }
+        Map<StatKey, Long> deltas = new LinkedHashMap<>();
+        if (oldRole != null && oldStatus != null) {
+            deltas.merge(new StatKey(registrationDay, oldRole, oldStatus), -1L, Long::sum);
+        }
+        if (newRole != null && newStatus != null) {
+            deltas.merge(new StatKey(registrationDay, newRole, newStatus), 1L, Long::sum);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::apply));
+            return;
+        }
+        Map<StatKey, Long> pending = pendingDeltas();
+        deltas.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+    }
+
+    @Override
+    public RegistrationSeries getSeries(LocalDate from, StatsGranularity granularity) {
+        LocalDate to = LocalDate.now();
+        // Début aligné sur la période (lundi, 1er du mois) : la première période n'est jamais partielle
+        LocalDate start = bucketStart(from, granularity);
+        List<RegistrationDailyStat> stats = registrationDailyStatRepository.findByStatDayGreaterThanEqualOrderByStatDayAsc(start);
+
+        // Périodes vides comprises, pour des graphiques sans trous
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (LocalDate bucket = start; !bucket.isAfter(to); bucket = nextBucket(bucket, granularity)) {
+            buckets.put(bucket.toString(), 0L);
+        }
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (RegistrationDailyStat stat : stats) {
+            long count = stat.getUserCount();
+            if (count == 0) {
+                continue;
+            }
+            buckets.merge(bucketStart(stat.getStatDay(), granularity).toString(), count, Long::sum);
+            byRole.merge(stat.getRole().name(), count, Long::sum);
+            byStatus.merge(stat.getStatus().name(), count, Long::sum);
+            total += count;
+        }
+        return new RegistrationSeries(granularity, start, to, buckets, byRole, byStatus, total);
+    }
+
+    /**
+     * Initialisation : table vide (nouveau schéma) alors que des utilisateurs existent
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean empty = transactionTemplate.execute(status ->
+            registrationDailyStatRepository.count() == 0 && userRepository.count() > 0);
+        if (Boolean.TRUE.equals(empty)) {
+            rebuildAll();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.stats.registration-rebuild-cron:-}")
+    public int rebuildAll() {
+        log.info("Reconstruction des compteurs journaliers d'inscriptions");
+        Integer written = transactionTemplate.execute(status -> {
+            // Verrou pris avant toute lecture : aucun delta ne peut être perdu ni compté deux fois
+            registrationDailyStatRepository.lockForRebuild();
+            LocalDateTime now = LocalDateTime.now();
+            registrationDailyStatRepository.deleteAllStats();
+            return registrationDailyStatRepository.insertFromUsers(now);
+        });
+        int count = written != null ? written : 0;
+        log.info("Compteurs d'inscriptions reconstruits: {}", count);
+        return count;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Deltas de la transaction courante ; l'application est enregistrée au premier delta
+     */
+    @SuppressWarnings("unchecked")
+    private Map<StatKey, Long> pendingDeltas() {
+        Map<StatKey, Long> deltas = (Map<StatKey, Long>) TransactionSynchronizationManager.getResource(PENDING_DELTAS_KEY);
+        if (deltas == null) {
+            Map<StatKey, Long> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING_DELTAS_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Le flush déclenche les callbacks des utilisateurs modifiés encore en attente
+                    entityManager.flush();
+                    created.forEach(RegistrationStatsServiceImpl.this::apply);
+                    created.clear();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DELTAS_KEY);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void apply(StatKey key, Long delta) {
+        if (delta == null || delta == 0) {
+            return;
+        }
+        registrationDailyStatRepository.applyDelta(key.day(), key.role().name(), key.status().name(), delta, LocalDateTime.now());
+    }
+
+    private static LocalDate bucketStart(LocalDate day, StatsGranularity granularity) {
+        if (granularity == StatsGranularity.WEEK) {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        if (granularity == StatsGranularity.MONTH) {
+            return day.withDayOfMonth(1);
+        }
+        return day;
+    }
+
+    private static LocalDate nextBucket(LocalDate bucket, StatsGranularity granularity) {
+        if (granularity == StatsGranularity.WEEK) {
+            return bucket.plus(1, ChronoUnit.WEEKS);
+        }
+        if (granularity == StatsGranularity.MONTH) {
+            return bucket.plusMonths(1);
+        }
+        return bucket.plusDays(1);
+    }
+
+    private record StatKey(LocalDate day, Role role, UserStatus status) {
+    }
+}
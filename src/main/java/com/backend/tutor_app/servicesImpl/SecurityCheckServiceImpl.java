@@ -2,6 +2,7 @@ package com.backend.tutor_app.servicesImpl;
 
 import com.backend.tutor_app.dto.Auth.DeviceInfoDto;
 import com.backend.tutor_app.dto.Auth.SecurityCheckResult;
+import com.backend.tutor_app.metrics.AppMetrics;
 import com.backend.tutor_app.model.enums.DeviceChangeType;
 import com.backend.tutor_app.model.enums.SecurityRiskLevel;
 import com.backend.tutor_app.model.support.RefreshToken;
@@ -9,73 +10,147 @@ import com.backend.tutor_app.services.AttackPatternDetectionService;
 import com.backend.tutor_app.services.DeviceComparisonService;
 import com.backend.tutor_app.services.IpGeolocationService;
 import com.backend.tutor_app.services.SecurityCheckService;
-import lombok.RequiredArgsConstructor;
+import com.backend.tutor_app.tracing.RequestContext;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
 /**
  * (Q) PHASE 2 - Implémentation du service de vérification de sécurité
- * Orchestre toutes les vérifications selon le flow de la PHASE 2
+ * Orchestre toutes les vérifications selon le flow de la PHASE 2, en pipeline :
+ * 1. vérifications immédiates (mémoire) dans l'ordre, arrêt au premier verdict CRITICAL ;
+ * 2. géolocalisation des deux IP lancée en parallèle sur le pool securityCheckExecutor pendant la comparaison
+ *    d'appareil, chaque pays n'étant résolu qu'une fois par requête (SecurityCheckContext) ; un verdict CRITICAL
+ *    de l'appareil est rendu sans attendre les géolocalisations.
+ * Délai dépassé ou erreur : pays LOOKUP_FAILED, jamais évalué comme un risque faible (échec fermé),
+ * présenté comme UNKNOWN dans le résultat.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SecurityCheckServiceImpl implements SecurityCheckService {
+
+    private static final String UNKNOWN_COUNTRY = "UNKNOWN";
     
     private final IpGeolocationService ipGeolocationService;
     private final DeviceComparisonService deviceComparisonService;
     private final AttackPatternDetectionService attackPatternDetectionService;
+    private final AppMetrics appMetrics;
+    private final ExecutorService securityCheckExecutor;
+    private final long lookupTimeoutMs;
+
+    /**
+     * Vérifications sans I/O, exécutées dans l'ordre avant toute géolocalisation : null = rien à signaler
+     */
+    private final List<Function<SecurityCheckContext, SecurityCheckResult>> immediateChecks =
+        List.of(this::checkRevokedToken, this::checkAttackPattern);
+
+    public SecurityCheckServiceImpl(IpGeolocationService ipGeolocationService,
+                                    DeviceComparisonService deviceComparisonService,
+                                    AttackPatternDetectionService attackPatternDetectionService,
+                                    AppMetrics appMetrics,
+                                    ExecutorService securityCheckExecutor,
+                                    @Value("${app.security-check.lookup-timeout-ms:300}") long lookupTimeoutMs) {
+        this.ipGeolocationService = ipGeolocationService;
+        this.deviceComparisonService = deviceComparisonService;
+        this.attackPatternDetectionService = attackPatternDetectionService;
+        this.appMetrics = appMetrics;
+        this.securityCheckExecutor = securityCheckExecutor;
+        this.lookupTimeoutMs = lookupTimeoutMs;
+    }
     
     @Override
     public SecurityCheckResult performSecurityChecks(RefreshToken token, DeviceInfoDto currentDeviceInfo) {
+        Timer.Sample sample = appMetrics.startTimer();
+        String risk = "ERROR";
+        try {
+            SecurityCheckResult result = runSecurityChecks(token, currentDeviceInfo);
+            risk = result.getRiskLevel() != null ? result.getRiskLevel().name() : "NONE";
+            return result;
+        } finally {
+            appMetrics.recordSecurityCheck(sample, risk);
+        }
+    }
+
+    private SecurityCheckResult runSecurityChecks(RefreshToken token, DeviceInfoDto currentDeviceInfo) {
         log.debug("[PHASE 4] Démarrage vérifications sécurité - TokenID: {}, IP: {}, Device: {}", 
             token.getId(), currentDeviceInfo.getIpAddress(), currentDeviceInfo.getDeviceSummary());
         
-        SecurityCheckResult result = SecurityCheckResult.builder().build();
+        SecurityCheckContext context = new SecurityCheckContext(token, currentDeviceInfo);
         
-        // (Q) PHASE 2 - ÉTAPE 2.3 : Vérification si token révoqué
-        if (token.getIsRevoked()) {
-            log.error("[PHASE 4][CRITICAL] Token révoqué réutilisé - TokenID: {}, UserID: {}, IP: {}, Attaque potentielle détectée", 
-                token.getId(), token.getUtilisateur().getId(), currentDeviceInfo.getIpAddress());
-            
-            // (PHASE 4) Enregistrer tentative suspecte
-            attackPatternDetectionService.recordSuspiciousAttempt(
-                token.getUtilisateur().getId(), 
-                "Token révoqué réutilisé"
-            );
-            
-            return SecurityCheckResult.criticalRisk(
-                "Token révoqué réutilisé - Possible attaque en cours"
-            );
+        // Étape 1 : verdict CRITICAL = arrêt immédiat, aucune géolocalisation lancée
+        for (Function<SecurityCheckContext, SecurityCheckResult> check : immediateChecks) {
+            SecurityCheckResult verdict = check.apply(context);
+            if (verdict != null && verdict.getRiskLevel() == SecurityRiskLevel.CRITICAL) {
+                return verdict;
+            }
         }
         
-        // (PHASE 4) Vérifier pattern d'attaque AVANT les autres vérifications
-        if (attackPatternDetectionService.hasAttackPattern(token.getUtilisateur().getId())) {
-            log.error("[PHASE 4][CRITICAL] Pattern d'attaque détecté - UserID: {}, Tentatives: {}", 
-                token.getUtilisateur().getId(),
-                attackPatternDetectionService.getRecentSuspiciousAttempts(token.getUtilisateur().getId()));
+        // Étape 2 : géolocalisations en arrière-plan, comparaison d'appareil sur le thread courant
+        if (context.ipChanged()) {
+            context.startGeoLookups();
+        }
+        try {
+            // (Q) PHASE 2 - ÉTAPE 2.5 : Vérification Device
+            SecurityCheckResult deviceCheck = checkDevice(token, currentDeviceInfo);
+            if (deviceCheck.getRiskLevel() == SecurityRiskLevel.CRITICAL) {
+                return deviceCheck;
+            }
+            
+            // (Q) PHASE 2 - ÉTAPE 2.4 : Vérification IP
+            SecurityCheckResult ipCheck = checkIpAddress(context);
             
-            return SecurityCheckResult.criticalRisk(
-                "Pattern d'attaque détecté - Multiples tentatives suspectes"
-            );
+            // (Q) PHASE 2 - Combiner les résultats et déterminer le risque global
+            return combineResults(ipCheck, deviceCheck);
+        } finally {
+            context.cancelPendingLookups();
         }
+    }
+    
+    /**
+     * (Q) PHASE 2 - ÉTAPE 2.3 : Vérification si token révoqué
+     */
+    private SecurityCheckResult checkRevokedToken(SecurityCheckContext context) {
+        RefreshToken token = context.token();
+        if (!Boolean.TRUE.equals(token.getIsRevoked())) {
+            return null;
+        }
+        log.error("[PHASE 4][CRITICAL] Token révoqué réutilisé - TokenID: {}, UserID: {}, IP: {}, Attaque potentielle détectée", 
+            token.getId(), context.userId(), context.currentIp());
         
-        // (Q) PHASE 2 - ÉTAPE 2.4 : Vérification IP
-        SecurityCheckResult ipCheck = checkIpAddress(token, currentDeviceInfo);
+        // (PHASE 4) Enregistrer tentative suspecte
+        attackPatternDetectionService.recordSuspiciousAttempt(context.userId(), "Token révoqué réutilisé");
         
-        // (Q) PHASE 2 - ÉTAPE 2.5 : Vérification Device
-        SecurityCheckResult deviceCheck = checkDevice(token, currentDeviceInfo);
+        return SecurityCheckResult.criticalRisk("Token révoqué réutilisé - Possible attaque en cours");
+    }
+    
+    /**
+     * (PHASE 4) Pattern d'attaque vérifié AVANT les autres vérifications
+     */
+    private SecurityCheckResult checkAttackPattern(SecurityCheckContext context) {
+        if (!attackPatternDetectionService.hasAttackPattern(context.userId())) {
+            return null;
+        }
+        log.error("[PHASE 4][CRITICAL] Pattern d'attaque détecté - UserID: {}, Tentatives: {}", 
+            context.userId(), attackPatternDetectionService.getRecentSuspiciousAttempts(context.userId()));
         
-        // (Q) PHASE 2 - Combiner les résultats et déterminer le risque global
-        return combineResults(ipCheck, deviceCheck);
+        return SecurityCheckResult.criticalRisk("Pattern d'attaque détecté - Multiples tentatives suspectes");
     }
     
     /**
-     * (Q) PHASE 2 - ÉTAPE 2.4 : Vérification de l'adresse IP
+     * (Q) PHASE 2 - ÉTAPE 2.4 : Vérification de l'adresse IP, sur les pays résolus une seule fois par le contexte
      */
-    private SecurityCheckResult checkIpAddress(RefreshToken token, DeviceInfoDto currentDeviceInfo) {
-        String previousIp = token.getIpAddress();
-        String currentIp = currentDeviceInfo.getIpAddress();
+    private SecurityCheckResult checkIpAddress(SecurityCheckContext context) {
+        String previousIp = context.previousIp();
+        String currentIp = context.currentIp();
         
         log.debug("[PHASE 4] Vérification IP - Previous: {}, Current: {}", previousIp, currentIp);
         
@@ -85,7 +160,7 @@ public class SecurityCheckServiceImpl implements SecurityCheckService {
             .build();
         
         // (Q) PHASE 2 - Même IP = Aucun risque
-        if (previousIp != null && previousIp.equals(currentIp)) {
+        if (!context.ipChanged()) {
             result.setIpChanged(false);
             result.setRiskLevel(SecurityRiskLevel.LOW);
             result.setAllowed(true);
@@ -94,9 +169,11 @@ public class SecurityCheckServiceImpl implements SecurityCheckService {
         
         result.setIpChanged(true);
         
-        // (Q) PHASE 2 - Obtenir les pays
-        String previousCountry = ipGeolocationService.getCountryFromIp(previousIp);
-        String currentCountry = ipGeolocationService.getCountryFromIp(currentIp);
+        // (Q) PHASE 2 - Obtenir les pays (LOOKUP_FAILED si la géolocalisation n'a pas abouti)
+        String previousLookup = context.previousCountry();
+        String currentLookup = context.currentCountry();
+        String previousCountry = displayedCountry(previousLookup);
+        String currentCountry = displayedCountry(currentLookup);
         
         result.setPreviousCountry(previousCountry);
         result.setCurrentCountry(currentCountry);
@@ -110,7 +187,7 @@ public class SecurityCheckServiceImpl implements SecurityCheckService {
         }
         
         // (Q) PHASE 2 - Calculer le niveau de risque
-        SecurityRiskLevel ipRiskLevel = ipGeolocationService.calculateIpRiskLevel(previousIp, currentIp);
+        SecurityRiskLevel ipRiskLevel = ipGeolocationService.assessIpRisk(previousLookup, currentLookup, isVpn);
         result.setRiskLevel(ipRiskLevel);
         
         // (Q) PHASE 2 - Déterminer les actions selon le risque
@@ -145,10 +222,13 @@ public class SecurityCheckServiceImpl implements SecurityCheckService {
                 
                 // (PHASE 4) Enregistrer tentative suspecte
                 attackPatternDetectionService.recordSuspiciousAttempt(
-                    token.getUtilisateur().getId(),
+                    context.userId(),
                     String.format("IP à risque élevé: VPN=%s, Pays=%s", isVpn, currentCountry)
                 );
                 break;
+
+            default:
+                break;
         }
         
         return result;
@@ -354,4 +434,100 @@ public class SecurityCheckServiceImpl implements SecurityCheckService {
         
         return null;
     }
+
+    /**
+     * Pays présenté dans le résultat et les alertes : un échec de géolocalisation apparaît comme UNKNOWN
+     */
+    private String displayedCountry(String country) {
+        return IpGeolocationService.LOOKUP_FAILED.equals(country) ? UNKNOWN_COUNTRY : country;
+    }
+
+    // ==================== CONTEXTE ====================
+
+    /**
+     * Données d'une vérification partagées entre les étapes : chaque pays est géolocalisé au plus une fois
+     * Délai dépassé ou erreur : pays LOOKUP_FAILED (risque jamais faible)
+     */
+    final class SecurityCheckContext {
+
+        private final RefreshToken token;
+        private final String previousIp;
+        private final String currentIp;
+        private CompletableFuture<String> previousCountry;
+        private CompletableFuture<String> currentCountry;
+
+        SecurityCheckContext(RefreshToken token, DeviceInfoDto currentDeviceInfo) {
+            this.token = token;
+            this.previousIp = token.getIpAddress();
+            this.currentIp = currentDeviceInfo.getIpAddress();
+        }
+
+        RefreshToken token() {
+            return token;
+        }
+
+        Long userId() {
+            return token.getUtilisateur().getId();
+        }
+
+        String previousIp() {
+            return previousIp;
+        }
+
+        String currentIp() {
+            return currentIp;
+        }
+
+        boolean ipChanged() {
+            return previousIp == null || !previousIp.equals(currentIp);
+        }
+
+        void startGeoLookups() {
+            previousCountry = lookup(previousIp);
+            currentCountry = lookup(currentIp);
+        }
+
+        String previousCountry() {
+            if (previousCountry == null) {
+                previousCountry = CompletableFuture.completedFuture(ipGeolocationService.getCountryFromIp(previousIp));
+            }
+            return await(previousCountry, previousIp);
+        }
+
+        String currentCountry() {
+            if (currentCountry == null) {
+                currentCountry = CompletableFuture.completedFuture(ipGeolocationService.getCountryFromIp(currentIp));
+            }
+            return await(currentCountry, currentIp);
+        }
+
+        void cancelPendingLookups() {
+            if (previousCountry != null) {
+                previousCountry.cancel(true);
+            }
+            if (currentCountry != null) {
+                currentCountry.cancel(true);
+            }
+        }
+
+        private CompletableFuture<String> lookup(String ipAddress) {
+            return CompletableFuture.supplyAsync(
+                RequestContext.wrapSupplier(() -> ipGeolocationService.getCountryFromIp(ipAddress)), securityCheckExecutor);
+        }
+
+        private String await(CompletableFuture<String> country, String ipAddress) {
+            try {
+                return country.get(lookupTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.warn("[PHASE 4] Géolocalisation de {} non terminée après {} ms", ipAddress, lookupTimeoutMs);
+                return IpGeolocationService.LOOKUP_FAILED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return IpGeolocationService.LOOKUP_FAILED;
+            } catch (ExecutionException e) {
+                log.error("[PHASE 4] Erreur géolocalisation de {}: {}", ipAddress, e.getCause().getMessage());
+                return IpGeolocationService.LOOKUP_FAILED;
+            }
+        }
+    }
 }
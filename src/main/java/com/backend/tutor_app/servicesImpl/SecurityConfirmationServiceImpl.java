@@ -121,7 +121,7 @@ public class SecurityConfirmationServiceImpl implements SecurityConfirmationServ
     }
 
     @Override
-    @Scheduled(cron = "0 0 2 * * *")
+    @Scheduled(cron = "${app.security-confirmation.cleanup-cron:-}") // Désactivée par défaut (ex. "0 0 2 * * *")
     @Transactional
     public void cleanupExpiredTokens() {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7);
@@ -0,0 +1,167 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.repositories.TutorRepository;
+import com.backend.tutor_app.services.TutorRatingService;
+import com.backend.tutor_app.services.TutorSearchIndexService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation des agrégats de notes
+ * Les deltas d'une transaction sont cumulés par tuteur puis appliqués juste avant le commit, après le flush final :
+ * un UPDATE par tuteur touché, dans la même transaction que l'écriture des avis (tout ou rien).
+ */
+@Service
+@Slf4j
+public class TutorRatingServiceImpl implements TutorRatingService {
+
+    private static final String PENDING_DELTAS_KEY = TutorRatingServiceImpl.class.getName() + ".deltas";
+    private static final int RECOMPUTE_BATCH_SIZE = 1000;
+
+    private final TutorRepository tutorRepository;
+    private final TutorSearchIndexService tutorSearchIndexService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TutorRatingServiceImpl(TutorRepository tutorRepository,
+                                  TutorSearchIndexService tutorSearchIndexService,
+                                  PlatformTransactionManager transactionManager) {
+        this.tutorRepository = tutorRepository;
+        this.tutorSearchIndexService = tutorSearchIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recordReviewAdded(Long tutorId, int rating) {
+        record(tutorId, rating, 1);
+    }
+
+    @Override
+    public void recordReviewRemoved(Long tutorId, int rating) {
+        record(tutorId, rating, -1);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.rating.recompute-cron:-}")
+    public int recomputeAll() {
+        List<Object[]> range = tutorRepository.findIdRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return 0;
+        }
+        long minId = (Long) range.get(0)[0];
+        long maxId = (Long) range.get(0)[1];
+
+        log.info("Recalcul des agrégats de notes des tuteurs {} à {}", minId, maxId);
+        int updated = 0;
+        for (long batchStart = minId; batchStart <= maxId; batchStart += RECOMPUTE_BATCH_SIZE) {
+            long fromId = batchStart;
+            long toId = Math.min(fromId + RECOMPUTE_BATCH_SIZE - 1, maxId);
+            Integer batch = transactionTemplate.execute(status -> tutorRepository.recomputeRatings(fromId, toId));
+            updated += batch != null ? batch : 0;
+        }
+
+        // Les notes recopiées dans tutor_search doivent suivre
+        tutorSearchIndexService.rebuildAll();
+        log.info("Agrégats de notes recalculés: {} tuteurs", updated);
+        return updated;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private void record(Long tutorId, int rating, int sign) {
+        if (tutorId == null) {
+            return;
+        }
+        if (rating < 1 || rating > 5) {
+            log.warn("Note hors bornes ignorée pour le tuteur {}: {}", tutorId, rating);
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            RatingDelta delta = new RatingDelta();
+            delta.add(rating, sign);
+            transactionTemplate.executeWithoutResult(status -> apply(tutorId, delta));
+            return;
+        }
+        pendingDeltas().computeIfAbsent(tutorId, id -> new RatingDelta()).add(rating, sign);
+    }
+
+    /**
+     * Deltas de la transaction courante ; l'application est enregistrée au premier delta
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, RatingDelta> pendingDeltas() {
+        Map<Long, RatingDelta> deltas = (Map<Long, RatingDelta>) TransactionSynchronizationManager.getResource(PENDING_DELTAS_KEY);
+        if (deltas == null) {
+            Map<Long, RatingDelta> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING_DELTAS_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Le flush déclenche les callbacks des avis modifiés/supprimés encore en attente
+                    entityManager.flush();
+                    created.forEach(TutorRatingServiceImpl.this::apply);
+                    created.clear();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DELTAS_KEY);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void apply(Long tutorId, RatingDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int[] histogram = delta.histogram;
+        tutorRepository.applyRatingDelta(tutorId, delta.sum, delta.count,
+            histogram[0], histogram[1], histogram[2], histogram[3], histogram[4]);
+        // UPDATE natif : aucun callback sur Tutor, tutor_search est prévenu explicitement
+        tutorSearchIndexService.markTutorDirty(tutorId);
+    }
+
+    /**
+     * Delta cumulé d'un tuteur : somme des notes, nombre d'avis, histogramme (index 0 = 1 étoile)
+     */
+    private static final class RatingDelta {
+        private long sum;
+        private int count;
+        private final int[] histogram = new int[5];
+
+        void add(int rating, int sign) {
+            sum += (long) sign * rating;
+            count += sign;
+            histogram[rating - 1] += sign;
+        }
+
+        boolean isEmpty() {
+            if (sum != 0 || count != 0) {
+                return false;
+            }
+            for (int value : histogram) {
+                if (value != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
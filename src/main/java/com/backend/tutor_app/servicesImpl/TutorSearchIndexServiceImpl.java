@@ -0,0 +1,272 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.model.Subject;
+import com.backend.tutor_app.model.Tutor;
+import com.backend.tutor_app.model.enums.EducationLevel;
+import com.backend.tutor_app.model.enums.ImageVariant;
+import com.backend.tutor_app.model.tutor.TutorAvailability;
+import com.backend.tutor_app.model.tutor.TutorLanguage;
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import com.backend.tutor_app.model.tutor.TutorSubject;
+import com.backend.tutor_app.repositories.TutorRepository;
+import com.backend.tutor_app.repositories.TutorSearchEntryRepository;
+import com.backend.tutor_app.search.TutorSearchIndexChangedEvent;
+import com.backend.tutor_app.services.TutorSearchIndexService;
+import com.backend.tutor_app.utils.WeeklySlots;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implémentation du modèle de lecture tutor_search
+ * Les tuteurs modifiés sont accumulés dans la transaction courante puis reconstruits après commit,
+ * chacun dans sa propre transaction : un échec d'indexation n'annule jamais l'écriture métier.
+ */
+@Service
+@Slf4j
+public class TutorSearchIndexServiceImpl implements TutorSearchIndexService {
+
+    private static final String DIRTY_TUTORS_KEY = TutorSearchIndexServiceImpl.class.getName() + ".tutors";
+    private static final String DIRTY_SUBJECTS_KEY = TutorSearchIndexServiceImpl.class.getName() + ".subjects";
+
+    private final TutorRepository tutorRepository;
+    private final TutorSearchEntryRepository tutorSearchEntryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate refreshTransaction;
+
+    public TutorSearchIndexServiceImpl(TutorRepository tutorRepository,
+                                       TutorSearchEntryRepository tutorSearchEntryRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager) {
+        this.tutorRepository = tutorRepository;
+        this.tutorSearchEntryRepository = tutorSearchEntryRepository;
+        this.eventPublisher = eventPublisher;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void markTutorDirty(Long tutorId) {
+        if (tutorId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshQuietly(tutorId);
+            return;
+        }
+        dirtySet(DIRTY_TUTORS_KEY).add(tutorId);
+    }
+
+    @Override
+    public void markSubjectDirty(Long subjectId) {
+        if (subjectId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshSubjectQuietly(subjectId);
+            return;
+        }
+        dirtySet(DIRTY_SUBJECTS_KEY).add(subjectId);
+    }
+
+    @Override
+    public void refreshTutor(Long tutorId) {
+        rebuildTutor(tutorId);
+        eventPublisher.publishEvent(new TutorSearchIndexChangedEvent(tutorId));
+    }
+
+    /**
+     * Initialisation : table vide (nouveau schéma) alors que des tuteurs existent
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillIfEmpty() {
+        Boolean empty = refreshTransaction.execute(status ->
+            tutorSearchEntryRepository.count() == 0 && tutorRepository.count() > 0);
+        if (Boolean.TRUE.equals(empty)) {
+            rebuildAll();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.search.rebuild-cron:0 0 5 * * *}")
+    public int rebuildAll() {
+        log.info("Reconstruction complète de tutor_search");
+        List<Long> tutorIds = refreshTransaction.execute(status -> tutorRepository.findAllIds());
+
+        int indexed = 0;
+        for (Long tutorId : tutorIds) {
+            try {
+                rebuildTutor(tutorId);
+                indexed++;
+            } catch (Exception e) {
+                log.warn("Indexation du tuteur {} échouée - {}", tutorId, e.getMessage());
+            }
+        }
+        eventPublisher.publishEvent(new TutorSearchIndexChangedEvent(null));
+        log.info("Reconstruction tutor_search terminée: {} tuteurs", indexed);
+        return indexed;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Ensemble des IDs modifiés dans la transaction courante ; la reconstruction est enregistrée au premier ajout
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> dirtySet(String key) {
+        Set<Long> dirty = (Set<Long>) TransactionSynchronizationManager.getResource(key);
+        if (dirty == null) {
+            Set<Long> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(key, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                    if (status != STATUS_COMMITTED) {
+                        return;
+                    }
+                    if (key.equals(DIRTY_SUBJECTS_KEY)) {
+                        created.forEach(TutorSearchIndexServiceImpl.this::refreshSubjectQuietly);
+                    } else {
+                        created.forEach(TutorSearchIndexServiceImpl.this::refreshQuietly);
+                    }
+                }
+            });
+            dirty = created;
+        }
+        return dirty;
+    }
+
+    private void rebuildTutor(Long tutorId) {
+        refreshTransaction.executeWithoutResult(status -> {
+            tutorSearchEntryRepository.deleteByTutorId(tutorId);
+            tutorRepository.findById(tutorId)
+                .ifPresent(tutor -> tutorSearchEntryRepository.saveAll(buildEntries(tutor)));
+        });
+    }
+
+    private void refreshQuietly(Long tutorId) {
+        try {
+            refreshTutor(tutorId);
+        } catch (Exception e) {
+            // Rattrapé par la reconstruction planifiée
+            log.warn("Indexation du tuteur {} échouée - {}", tutorId, e.getMessage());
+        }
+    }
+
+    private void refreshSubjectQuietly(Long subjectId) {
+        try {
+            refreshTransaction.executeWithoutResult(status -> tutorSearchEntryRepository.refreshSubject(subjectId));
+        } catch (Exception e) {
+            log.warn("Mise à jour de la matière {} dans tutor_search échouée - {}", subjectId, e.getMessage());
+        }
+    }
+
+    private List<TutorSearchEntry> buildEntries(Tutor tutor) {
+        String languages = tutor.getLanguages().stream()
+            .map(TutorLanguage::getLanguageCode)
+            .distinct()
+            .collect(Collectors.joining(","));
+
+        int availabilityDays = 0;
+        for (TutorAvailability availability : tutor.getAvailabilities()) {
+            if (Boolean.TRUE.equals(availability.getIsAvailable())) {
+                availabilityDays |= 1 << availability.getDayOfWeek().ordinal();
+            }
+        }
+
+        List<TutorSearchEntry> entries = new ArrayList<>();
+        Instant now = Instant.now();
+        if (tutor.getTutorSubjects().isEmpty()) {
+            // Tuteur sans matière : reste visible dans les listings non filtrés par matière
+            entries.add(baseEntry(tutor, languages, availabilityDays)
+                .hourlyRate(tutor.getHourlyRate())
+                .availabilitySlots(WeeklySlots.toBytes(availabilitySlots(tutor, null, now)))
+                .build());
+            return entries;
+        }
+
+        for (TutorSubject tutorSubject : tutor.getTutorSubjects()) {
+            Subject subject = tutorSubject.getSubject();
+            entries.add(baseEntry(tutor, languages, availabilityDays)
+                .availabilitySlots(WeeklySlots.toBytes(availabilitySlots(tutor, subject.getCode(), now)))
+                .tutorSubjectId(tutorSubject.getId())
+                .subjectId(subject.getId())
+                .subjectCode(subject.getCode())
+                .subjectName(subject.getName())
+                .hourlyRate(tutorSubject.getHourlyRate())
+                .levelsMask(levelsMask(tutorSubject.getLevels()))
+                .build());
+        }
+        return entries;
+    }
+
+    private TutorSearchEntry.TutorSearchEntryBuilder<?, ?> baseEntry(Tutor tutor, String languages, int availabilityDays) {
+        return TutorSearchEntry.builder()
+            .tutorId(tutor.getId())
+            .levelsMask(0)
+            .firstName(tutor.getFirstName())
+            .lastName(tutor.getLastName())
+            .profilePicture(ImageVariant.SMALL.from(tutor.getProfilePicture())) // Cartes des résultats
+            .location(tutor.getLocation())
+            .status(tutor.getStatus())
+            .isAvailable(Boolean.TRUE.equals(tutor.getIsAvailable()))
+            .experienceYears(tutor.getExperienceYears())
+            .averageRating(tutor.getAverageRating() != null ? tutor.getAverageRating() : 0.0)
+            .totalReviews(tutor.getTotalReviews() != null ? tutor.getTotalReviews() : 0)
+            .languages(languages)
+            .availabilityDays(availabilityDays);
+    }
+
+    /**
+     * Union des créneaux ouverts à une matière (créneaux sans liste de matières compris), normalisés en UTC
+     * avec le décalage actuel du fuseau : la reconstruction planifiée suit les changements d'heure
+     * @param subjectCode Matière, ou null pour tous les créneaux
+     */
+    private long[] availabilitySlots(Tutor tutor, String subjectCode, Instant reference) {
+        long[] slots = WeeklySlots.empty();
+        for (TutorAvailability availability : tutor.getAvailabilities()) {
+            if (!Boolean.TRUE.equals(availability.getIsAvailable()) || !opensSubject(availability, subjectCode)) {
+                continue;
+            }
+            String timezone = availability.getTimezone() != null ? availability.getTimezone() : tutor.getTimezone();
+            WeeklySlots.addWindow(slots, availability.getDayOfWeek(), availability.getStartTime(),
+                availability.getEndTime(), WeeklySlots.zoneOrUtc(timezone), reference);
+        }
+        return slots;
+    }
+
+    private boolean opensSubject(TutorAvailability availability, String subjectCode) {
+        Set<String> subjectCodes = availability.getSubjectCodes();
+        return subjectCode == null || subjectCodes == null || subjectCodes.isEmpty()
+            || subjectCodes.stream().anyMatch(subjectCode::equalsIgnoreCase);
+    }
+
+    private int levelsMask(Set<EducationLevel> levels) {
+        int mask = 0;
+        if (levels != null) {
+            for (EducationLevel level : levels) {
+                mask |= 1 << level.ordinal();
+            }
+        }
+        return mask;
+    }
+}
@@ -1,14 +1,24 @@
 package com.backend.tutor_app.servicesImpl;
 
 import com.backend.tutor_app.dto.Auth.UserDto;
+import com.backend.tutor_app.dto.admin.UserStatsSnapshot;
 import com.backend.tutor_app.dto.common.PagedResponse;
 import com.backend.tutor_app.dto.user.ChangePasswordRequest;
+import com.backend.tutor_app.dto.user.TutorSearchResponse;
+import com.backend.tutor_app.dto.user.TutorSearchResultDto;
 import com.backend.tutor_app.dto.user.UpdatePersonalInfoRequest;
 import com.backend.tutor_app.model.Utilisateur;
+import com.backend.tutor_app.model.enums.EducationLevel;
 import com.backend.tutor_app.model.enums.Role;
 import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.repositories.TutorSearchRepository;
 import com.backend.tutor_app.repositories.UserRepository;
+import com.backend.tutor_app.search.TutorSearchEngine;
+import com.backend.tutor_app.services.AvailabilityMatchingService;
+import com.backend.tutor_app.services.FileStorageService;
 import com.backend.tutor_app.services.UserService;
+import com.backend.tutor_app.services.UserStatisticsService;
+import com.backend.tutor_app.utils.WeeklySlots;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,11 +27,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implémentation du service de gestion des utilisateurs pour TutorApp
@@ -34,7 +51,11 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final TutorSearchEngine tutorSearchEngine;
+    private final AvailabilityMatchingService availabilityMatchingService;
+    private final UserStatisticsService userStatisticsService;
     private final PasswordEncoder passwordEncoder;
+    private final FileStorageService fileStorageService;
 
     @Override
     public Utilisateur createUser(Utilisateur utilisateur) {
@@ -301,8 +322,14 @@ public class UserServiceImpl implements UserService {
             Utilisateur utilisateur = getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
             
+            String previousPictureUrl = utilisateur.getProfilePicture();
             utilisateur.setProfilePicture(profilePictureUrl);
             Utilisateur savedUtilisateur = userRepository.save(utilisateur);
+
+            // L'ancienne photo et ses variantes ne sont plus référencées
+            if (previousPictureUrl != null && !previousPictureUrl.equals(profilePictureUrl)) {
+                fileStorageService.deleteProfilePicture(previousPictureUrl);
+            }
             
             log.info("Photo de profil mise à jour avec succès - ID: {}", userId);
             
@@ -346,20 +373,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Utilisateur> searchUsers(String query, Pageable pageable) {
+    public Page<UserDto> searchUsers(String query, Pageable pageable) {
         try {
-            // Recherche simple par email, firstName ou lastName
-            // TODO: Implémenter une recherche plus avancée avec des critères multiples
-            List<Utilisateur> allUtilisateurs = userRepository.findAll();
-            List<Utilisateur> filteredUtilisateurs = allUtilisateurs.stream()
-                .filter(user -> 
-                    user.getEmail().toLowerCase().contains(query.toLowerCase()) ||
-                    user.getFirstName().toLowerCase().contains(query.toLowerCase()) ||
-                    user.getLastName().toLowerCase().contains(query.toLowerCase())
-                )
-                .toList();
-            
-            return convertListToPage(filteredUtilisateurs, pageable);
+            // Filtrage, tri et pagination exécutés par PostgreSQL (index trigrammes)
+            return userRepository.searchUserDtos(toLikePattern(query), null, null, pageable);
             
         } catch (Exception e) {
             log.error("Erreur lors de la recherche d'utilisateurs avec la requête: {} - {}", query, e.getMessage());
@@ -446,32 +463,27 @@ public class UserServiceImpl implements UserService {
     public Map<String, Object> getUserStatistics() {
         try {
             Map<String, Object> stats = new HashMap<>();
+            UserStatsSnapshot snapshot = userStatisticsService.getSnapshot();
             
             // Statistiques générales
-            long totalUsers = userRepository.count();
-            stats.put("totalUsers", totalUsers);
+            stats.put("totalUsers", snapshot.totalUsers());
             
             // Statistiques par rôle
             Map<String, Long> usersByRole = new HashMap<>();
             for (Role role : Role.values()) {
-                long count = userRepository.findByRole(role).size();
-                usersByRole.put(role.name(), count);
+                usersByRole.put(role.name(), snapshot.countByRole(role));
             }
             stats.put("usersByRole", usersByRole);
             
             // Statistiques par statut
             Map<String, Long> usersByStatus = new HashMap<>();
             for (UserStatus status : UserStatus.values()) {
-                long count = userRepository.findByStatus(status).size();
-                usersByStatus.put(status.name(), count);
+                usersByStatus.put(status.name(), snapshot.countByStatus(status));
             }
             stats.put("usersByStatus", usersByStatus);
             
             // Utilisateurs récents (derniers 30 jours)
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            long recentUsers = userRepository.findAll().stream()
-                .mapToLong(user -> user.getCreatedAt() != null && user.getCreatedAt().isAfter(thirtyDaysAgo) ? 1 : 0)
-                .sum();
+            long recentUsers = snapshot.newLast30Days();
             stats.put("recentUsers", recentUsers);
             
             return stats;
@@ -484,6 +496,20 @@ public class UserServiceImpl implements UserService {
 
     // ==================== MÉTHODES UTILITAIRES ====================
 
+    /**
+     * Terme de recherche -> motif LIKE "%terme%" en minuscules, jokers saisis par l'utilisateur échappés
+     */
+    private String toLikePattern(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String escaped = query.trim().toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
     private Page<Utilisateur> convertListToPage(List<Utilisateur> utilisateurs, Pageable pageable) {
         // Implémentation simplifiée de la conversion List vers Page
         // En production, il faudrait utiliser PageImpl avec les bonnes informations de pagination
@@ -565,66 +591,121 @@ public class UserServiceImpl implements UserService {
     public PagedResponse<UserDto> searchUsers(String query, String role, String status, Pageable pageable) {
         log.info("Recherche d'utilisateurs avec filtres - query: {}, role: {}, status: {}", query, role, status);
 
-        List<Utilisateur> utilisateurs = userRepository.findAll().stream()
-                .filter(u -> query == null || query.isEmpty() ||
-                        u.getEmail().toLowerCase().contains(query.toLowerCase()) ||
-                        u.getFirstName().toLowerCase().contains(query.toLowerCase()) ||
-                        u.getLastName().toLowerCase().contains(query.toLowerCase()))
-                .filter(u -> role == null || role.isEmpty() || u.getRole().name().equalsIgnoreCase(role))
-                .filter(u -> status == null || status.isEmpty() || u.getStatus().name().equalsIgnoreCase(status))
-                .toList();
+        Role roleFilter;
+        UserStatus statusFilter;
+        try {
+            roleFilter = role == null || role.isEmpty() ? null : Role.valueOf(role.toUpperCase());
+            statusFilter = status == null || status.isEmpty() ? null : UserStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Rôle ou statut inconnu : aucun utilisateur ne peut correspondre
+            return PagedResponse.of(Page.empty(pageable));
+        }
 
-        List<UserDto> dtos = utilisateurs.stream().map(UserDto::fromEntity).toList();
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), dtos.size());
-        List<UserDto> pageContent = dtos.subList(start, end);
-        
+        Page<UserDto> page = userRepository.searchUserDtos(toLikePattern(query), roleFilter, statusFilter, pageable);
+        return PagedResponse.of(page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<UserDto> getTutors(String query, String subject, String level, Double minPrice, Double maxPrice, Double minRating, Boolean available,
+                                            String day, String from, String to, String timezone, Pageable pageable) {
+        TutorSearchResponse response = searchTutors(query, subject, level, minPrice, maxPrice, minRating, available, day, from, to, timezone, pageable);
+        PagedResponse<TutorSearchResultDto> results = response.getResults();
         return PagedResponse.<UserDto>builder()
-                .content(pageContent)
-                .page(pageable.getPageNumber())
-                .size(pageable.getPageSize())
-                .totalElements(utilisateurs.size())
-                .totalPages((int) Math.ceil((double) utilisateurs.size() / pageable.getPageSize()))
-                .first(pageable.getPageNumber() == 0)
-                .last(end >= dtos.size())
-                .empty(dtos.isEmpty())
-                .numberOfElements(pageContent.size())
-                .hasNext(end < dtos.size())
-                .hasPrevious(pageable.getPageNumber() > 0)
+                .content(results.getContent().stream().map(this::toPublicUserDto).toList())
+                .page(results.getPage())
+                .size(results.getSize())
+                .totalElements(results.getTotalElements())
+                .totalPages(results.getTotalPages())
+                .first(results.isFirst())
+                .last(results.isLast())
+                .empty(results.isEmpty())
+                .numberOfElements(results.getNumberOfElements())
+                .hasNext(results.isHasNext())
+                .hasPrevious(results.isHasPrevious())
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PagedResponse<UserDto> getTutors(String subject, String level, Double minPrice, Double maxPrice, Double minRating, Boolean available, Pageable pageable) {
-        log.info("Récupération des tuteurs avec filtres");
+    public TutorSearchResponse searchTutors(String query, String subject, String level, Double minPrice, Double maxPrice, Double minRating, Boolean available,
+                                            String day, String from, String to, String timezone, Pageable pageable) {
+        log.info("Recherche de tuteurs - texte: {}, matière: {}, niveau: {}, prix: {}-{}, note min: {}, disponible: {}, créneau: {} {}-{} ({})",
+                query, subject, level, minPrice, maxPrice, minRating, available, day, from, to, timezone);
+
+        EducationLevel educationLevel = null;
+        if (level != null && !level.isBlank()) {
+            try {
+                educationLevel = EducationLevel.valueOf(level.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Niveau inconnu: " + level, e);
+            }
+        }
 
-        List<Utilisateur> tutors = userRepository.findByRole(Role.TUTOR).stream()
-                .filter(t -> t.getStatus() == UserStatus.ACTIVE)
-                .toList();
+        String subjectCode = subject == null || subject.isBlank() ? null : subject.trim();
 
-        List<UserDto> dtos = tutors.stream().map(UserDto::fromEntity).toList();
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), dtos.size());
-        List<UserDto> pageContent = dtos.subList(start, end);
-        
-        return PagedResponse.<UserDto>builder()
-                .content(pageContent)
-                .page(pageable.getPageNumber())
-                .size(pageable.getPageSize())
-                .totalElements(tutors.size())
-                .totalPages((int) Math.ceil((double) tutors.size() / pageable.getPageSize()))
-                .first(pageable.getPageNumber() == 0)
-                .last(end >= dtos.size())
-                .empty(dtos.isEmpty())
-                .numberOfElements(pageContent.size())
-                .hasNext(end < dtos.size())
-                .hasPrevious(pageable.getPageNumber() > 0)
+        // Créneau demandé : seuls les tuteurs disponibles dont les créneaux le couvrent entièrement
+        Set<Long> availableTutorIds = null;
+        if (day != null && !day.isBlank()) {
+            long[] requestedSlots = parseRequestedSlots(day, from, to, timezone);
+            availableTutorIds = availabilityMatchingService.findAvailableTutorIds(requestedSlots, subjectCode);
+            if (available == null) {
+                available = Boolean.TRUE; // Par défaut, tuteurs ouverts aux réservations ; un choix explicite est respecté
+            }
+        }
+
+        TutorSearchEngine.Criteria criteria = new TutorSearchEngine.Criteria(
+                query == null || query.isBlank() ? null : query.trim(),
+                subjectCode,
+                educationLevel,
+                minPrice != null ? BigDecimal.valueOf(minPrice) : null,
+                maxPrice != null ? BigDecimal.valueOf(maxPrice) : null,
+                minRating,
+                available,
+                availableTutorIds);
+
+        TutorSearchRepository.TutorSearchResult result = tutorSearchEngine.search(criteria, pageable);
+
+        return TutorSearchResponse.builder()
+                .results(PagedResponse.of(result.page()))
+                .subjects(result.facets().get(TutorSearchRepository.FACET_SUBJECT))
+                .priceBands(result.facets().get(TutorSearchRepository.FACET_PRICE_BAND))
+                .ratingBuckets(result.facets().get(TutorSearchRepository.FACET_RATING_BUCKET))
                 .build();
     }
 
+    /**
+     * Tuteur au format UserDto de l'API v1 : champs publics uniquement
+     */
+    private UserDto toPublicUserDto(TutorSearchResultDto tutor) {
+        return UserDto.builder()
+                .id(tutor.getId())
+                .firstName(tutor.getFirstName())
+                .lastName(tutor.getLastName())
+                .profilePicture(tutor.getProfilePicture())
+                .role(Role.TUTOR.name())
+                .status(UserStatus.ACTIVE.name())
+                .build();
+    }
+
+    /**
+     * Créneau "TUESDAY 18:00-19:00" dans le fuseau de l'utilisateur (UTC par défaut) -> masque WeeklySlots
+     */
+    private long[] parseRequestedSlots(String day, String from, String to, String timezone) {
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new IllegalArgumentException("Créneau incomplet: début (from) et fin (to) sont requis avec le jour");
+        }
+        try {
+            DayOfWeek dayOfWeek = DayOfWeek.valueOf(day.trim().toUpperCase());
+            LocalTime start = LocalTime.parse(from.trim());
+            LocalTime end = LocalTime.parse(to.trim());
+            ZoneId zone = timezone == null || timezone.isBlank() ? ZoneOffset.UTC : ZoneId.of(timezone.trim());
+            return WeeklySlots.request(dayOfWeek, start, end, zone, Instant.now());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Créneau invalide: " + day + " " + from + "-" + to, e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserDto getPublicProfile(Long userId) {
@@ -0,0 +1,139 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.admin.UserStatsSnapshot;
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.repositories.UserRepository;
+import com.backend.tutor_app.services.UserStatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implémentation des compteurs du tableau de bord
+ * Une seule requête groupée (COUNT(*) FILTER) par période ; les lecteurs partagent un instantané immuable.
+ * Le recalcul est « single-flight » : un seul thread interroge la base, les autres attendent puis lisent son résultat.
+ * Après un échec, aucune nouvelle requête avant le délai de reprise : l'instantané précédent (ou l'erreur) est servi.
+ */
+@Service
+@Slf4j
+public class UserStatisticsServiceImpl implements UserStatisticsService {
+
+    private static final int RECENT_DAYS = 30;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final long retryNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile UserStatsSnapshot snapshot;
+    private volatile RuntimeException failure; // Dernier échec tant qu'aucun instantané n'existe
+    private volatile long expiresAtNanos;
+
+    public UserStatisticsServiceImpl(UserRepository userRepository,
+                                     @Value("${app.stats.snapshot-ttl-seconds:30}") long ttlSeconds,
+                                     @Value("${app.stats.snapshot-retry-seconds:5}") long retrySeconds) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.retryNanos = TimeUnit.SECONDS.toNanos(Math.min(retrySeconds, ttlSeconds));
+    }
+
+    @Override
+    public UserStatsSnapshot getSnapshot() {
+        UserStatsSnapshot current = validSnapshot();
+        if (current != null) {
+            return current;
+        }
+
+        refreshLock.lock();
+        try {
+            // Un autre thread a pu recalculer (ou échouer) pendant l'attente du verrou
+            current = validSnapshot();
+            if (current != null) {
+                return current;
+            }
+            try {
+                current = compute();
+            } catch (RuntimeException e) {
+                // Les appelants suivants ne relancent pas la requête avant le délai de reprise
+                if (snapshot == null) {
+                    failure = e;
+                }
+                expiresAtNanos = System.nanoTime() + retryNanos;
+                if (snapshot == null) {
+                    throw e;
+                }
+                log.warn("Recalcul des statistiques utilisateurs impossible, instantané précédent conservé: {}", e.getMessage());
+                return snapshot;
+            }
+            snapshot = current;
+            failure = null;
+            expiresAtNanos = System.nanoTime() + ttlNanos;
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * @return Instantané encore valide, ou null s'il faut recalculer
+     * @throws IllegalStateException si le dernier calcul a échoué sans instantané et que le délai de reprise court
+     */
+    private UserStatsSnapshot validSnapshot() {
+        UserStatsSnapshot current = snapshot;
+        RuntimeException lastFailure = failure;
+        if (current == null && lastFailure == null || System.nanoTime() - expiresAtNanos >= 0) {
+            return null;
+        }
+        if (current != null) {
+            return current;
+        }
+        throw new IllegalStateException("Statistiques utilisateurs indisponibles (nouvelle tentative différée)", lastFailure);
+    }
+
+    private UserStatsSnapshot compute() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDateTime todayStart = today.atStartOfDay();
+        LocalDateTime monthStart = today.withDayOfMonth(1).atStartOfDay();
+        LocalDateTime recentStart = now.minusDays(RECENT_DAYS);
+
+        List<Object[]> rows = userRepository.countUserStatistics(todayStart, monthStart, recentStart);
+
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            byRole.put(role, 0L);
+        }
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        for (UserStatus status : UserStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+
+        long total = 0;
+        long newToday = 0;
+        long newThisMonth = 0;
+        long newLast30Days = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[2]).longValue();
+            total += count;
+            newToday += ((Number) row[3]).longValue();
+            newThisMonth += ((Number) row[4]).longValue();
+            newLast30Days += ((Number) row[5]).longValue();
+            byRole.merge(Role.valueOf((String) row[0]), count, Long::sum);
+            byStatus.merge(UserStatus.valueOf((String) row[1]), count, Long::sum);
+        }
+
+        log.debug("Statistiques utilisateurs recalculées: {} utilisateurs", total);
+        return new UserStatsSnapshot(total, byRole, byStatus, newToday, newThisMonth, newLast30Days, now);
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.tutor_app.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Faux stockage objet en mémoire, pour les tests et le développement sans MinIO/S3
+ * (app.storage.backend=memory). Ne pas utiliser en production : tout est perdu au redémarrage.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "memory")
+public class InMemoryObjectStorageBackend implements ObjectStorageBackend {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(String key, Path source, long size, String contentType) throws IOException {
+        objects.putIfAbsent(key, Files.readAllBytes(source));
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        byte[] content = objects.get(key);
+        if (content == null) {
+            throw new FileNotFoundException("Blob introuvable: " + key);
+        }
+        return new ByteArrayResource(content);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return objects.remove(key) != null;
+    }
+
+    @Override
+    public Optional<String> presignedDownloadUrl(String key, Duration expiration, String contentDisposition, String contentType) {
+        return Optional.empty();
+    }
+
+    /**
+     * Nombre d'objets stockés (assertions de tests)
+     */
+    public int size() {
+        return objects.size();
+    }
+}
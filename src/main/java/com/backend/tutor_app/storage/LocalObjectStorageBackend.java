@@ -0,0 +1,73 @@
+package com.backend.tutor_app.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Backend local : blobs stockés sous app.file.upload-dir, servis par FileController
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalObjectStorageBackend implements ObjectStorageBackend {
+
+    private final Path root;
+
+    public LocalObjectStorageBackend(@Value("${app.file.upload-dir:uploads}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        log.info("Stockage des fichiers: backend local ({})", root);
+    }
+
+    @Override
+    public void store(String key, Path source, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try {
+            // temp/ et blobs/ sont sur le même volume : rename atomique
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Upload concurrent du même contenu : déjà en place
+            Files.deleteIfExists(source);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public Resource load(String key) {
+        // FileSystemResource expose un FileChannel : lecture en flux / par régions (Range)
+        return new FileSystemResource(resolve(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<String> presignedDownloadUrl(String key, Duration expiration, String contentDisposition, String contentType) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Clé de blob invalide: " + key);
+        }
+        return path;
+    }
+}
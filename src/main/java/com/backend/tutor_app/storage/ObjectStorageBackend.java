@@ -0,0 +1,51 @@
+package com.backend.tutor_app.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Backend de stockage des blobs adressés par contenu (clé = blobs/ab/cd/{sha256})
+ * Sélectionné par la propriété app.storage.backend : local (défaut), s3 ou memory
+ */
+public interface ObjectStorageBackend {
+
+    /**
+     * Transfère un fichier préparé dans temp/ sous la clé donnée.
+     * Le fichier source est consommé (déplacé ou supprimé après envoi).
+     * @param key Clé du blob
+     * @param source Fichier local préparé
+     * @param size Taille en bytes
+     * @param contentType Type MIME du contenu
+     */
+    void store(String key, Path source, long size, String contentType) throws IOException;
+
+    /**
+     * Vérifie si un blob existe
+     */
+    boolean exists(String key);
+
+    /**
+     * Ouvre un blob en lecture (en flux, jamais chargé entièrement en mémoire sauf backend memory)
+     */
+    Resource load(String key) throws IOException;
+
+    /**
+     * Supprime un blob
+     * @return true si le blob existait
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * URL de téléchargement direct à durée limitée, servie sans passer par la JVM
+     * @param key Clé du blob
+     * @param expiration Durée de validité
+     * @param contentDisposition En-tête Content-Disposition à renvoyer au client
+     * @param contentType Type MIME à renvoyer au client
+     * @return URL présignée, ou vide si le backend ne sait pas en produire (fichiers servis par FileController)
+     */
+    Optional<String> presignedDownloadUrl(String key, Duration expiration, String contentDisposition, String contentType);
+}
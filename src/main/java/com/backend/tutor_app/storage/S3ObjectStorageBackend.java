@@ -0,0 +1,260 @@
+package com.backend.tutor_app.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Backend S3 : blobs envoyés en upload multipart streamé depuis temp/, téléchargements
+ * servis directement par le stockage objet via des URLs présignées
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+@Slf4j
+public class S3ObjectStorageBackend implements ObjectStorageBackend {
+
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024; // Minimum imposé par S3
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final String bucket;
+    private final long partSize;
+
+    public S3ObjectStorageBackend(S3Client s3Client,
+                                  S3Presigner s3Presigner,
+                                  @Value("${app.storage.s3.bucket}") String bucket,
+                                  @Value("${app.storage.s3.part-size:8388608}") long partSize) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.bucket = bucket;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+    }
+
+    @Override
+    public void store(String key, Path source, long size, String contentType) throws IOException {
+        try {
+            if (size <= partSize) {
+                s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build(),
+                    RequestBody.fromFile(source));
+            } else {
+                multipartUpload(key, source, size, contentType);
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Erreur envoi S3 " + key + ": " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return new S3ObjectResource(key, head.contentLength(), head.lastModified().toEpochMilli());
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException("Blob introuvable: " + key);
+        }
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (S3Exception e) {
+            throw new IOException("Erreur suppression S3 " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<String> presignedDownloadUrl(String key, Duration expiration, String contentDisposition, String contentType) {
+        GetObjectRequest.Builder request = GetObjectRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .responseContentDisposition(contentDisposition)
+            .responseContentType(contentType);
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+            .signatureDuration(expiration)
+            .getObjectRequest(request.build())
+            .build();
+        return Optional.of(s3Presigner.presignGetObject(presignRequest).url().toString());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Upload multipart : chaque partie est lue en flux depuis le fichier préparé, une à la fois
+     */
+    private void multipartUpload(String key, Path source, long size, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build())
+            .uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                long partOffset = offset;
+                RequestBody body = RequestBody.fromContentProvider(
+                    () -> openPart(source, partOffset, length), length, contentType);
+
+                UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(length)
+                        .build(),
+                    body);
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build());
+
+        } catch (RuntimeException e) {
+            log.warn("Upload multipart annulé pour {}: {}", key, e.getMessage());
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+            throw e;
+        }
+    }
+
+    private InputStream openPart(Path source, long offset, long length) {
+        try {
+            InputStream in = Files.newInputStream(source);
+            in.skipNBytes(offset);
+            return new PartInputStream(in, length);
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flux limité à une partie du fichier
+     */
+    private static final class PartInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private PartInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Resource lisant l'objet S3 en flux à chaque ouverture
+     */
+    private final class S3ObjectResource extends AbstractResource {
+
+        private final String key;
+        private final long contentLength;
+        private final long lastModified;
+
+        private S3ObjectResource(String key, long contentLength, long lastModified) {
+            this.key = key;
+            this.contentLength = contentLength;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public String getFilename() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 object [s3://" + bucket + "/" + key + "]";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.backend.tutor_app.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chronométrage (System.nanoTime) des points d'entrée : méthodes publiques des contrôleurs REST et tâches planifiées.
+ * Trace en TRACE, avertissement au-delà de app.audit.slow-threshold-ms, avec l'identifiant de requête du MDC.
+ * Les services appelés par ces points d'entrée (géolocalisation, limitation de débit...) ne sont pas interceptés :
+ * leur coût est compris dans celui de l'opération qui les appelle.
+ * Un contrôleur ouvre une opération (RequestContext) : les événements d'audit émis pendant son exécution sont
+ * enregistrés à sa fin, avec sa durée mesurée.
+ */
+@Aspect
+@Component
+@Slf4j
+public class OperationTimingAspect {
+
+    private final long slowThresholdMs;
+
+    public OperationTimingAspect(@Value("${app.audit.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Around("execution(public * *(..)) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestContext.beginOperation());
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled) && within(com.backend.tutor_app..*)")
+    public Object timeScheduledTask(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, null);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, RequestContext.Operation operation) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (operation != null) {
+                operation.end(elapsedMs);
+            }
+            if (elapsedMs >= slowThresholdMs) {
+                log.warn("Opération lente: {}.{} en {} ms{}", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), elapsedMs, failed ? " (échec)" : "");
+            } else if (log.isTraceEnabled()) {
+                log.trace("{}.{} en {} ms", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), elapsedMs);
+            }
+        }
+    }
+}
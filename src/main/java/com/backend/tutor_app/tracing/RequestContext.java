@@ -0,0 +1,184 @@
+package com.backend.tutor_app.tracing;
+
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Contexte de la requête en cours sur le thread : identifiant (MDC « requestId », repris dans les logs et l'audit)
+ * et instant de début (System.nanoTime).
+ * Opération chronométrée (OperationTimingAspect) : les actions différées jusqu'à sa fin reçoivent sa durée mesurée,
+ * par exemple les événements d'audit émis pendant son exécution.
+ * Les threads d'un pool n'héritent de rien : toute tâche confiée à un exécuteur passe par wrap() ; l'opération
+ * en cours n'est pas propagée (elle se termine sur le thread qui l'a ouverte).
+ */
+public final class RequestContext {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+    private static final ThreadLocal<Long> START_NANOS = new ThreadLocal<>();
+    private static final ThreadLocal<Operation> OPERATION = new ThreadLocal<>();
+
+    private RequestContext() {
+    }
+
+    /**
+     * Ouvre le contexte : identifiant reçu s'il est sûr (alphanumérique, « - », « _ », « . », 64 caractères maximum),
+     * sinon un UUID
+     */
+    public static String begin(String inboundRequestId, long startNanos) {
+        String requestId = isValidRequestId(inboundRequestId) ? inboundRequestId : UUID.randomUUID().toString();
+        MDC.put(MDC_REQUEST_ID, requestId);
+        START_NANOS.set(startNanos);
+        return requestId;
+    }
+
+    public static void end() {
+        MDC.remove(MDC_REQUEST_ID);
+        START_NANOS.remove();
+    }
+
+    public static String currentRequestId() {
+        return MDC.get(MDC_REQUEST_ID);
+    }
+
+    /**
+     * Durée écoulée depuis le début de la requête, null hors requête
+     */
+    public static Long elapsedMs() {
+        Long start = START_NANOS.get();
+        return start == null ? null : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // ==================== OPÉRATIONS CHRONOMÉTRÉES ====================
+
+    /**
+     * Ouvre une opération sur le thread
+     * @return Opération à terminer par {@link Operation#end(long)}, ou null si une opération englobante est déjà ouverte
+     */
+    public static Operation beginOperation() {
+        if (OPERATION.get() != null) {
+            return null;
+        }
+        Operation operation = new Operation();
+        OPERATION.set(operation);
+        return operation;
+    }
+
+    /**
+     * Diffère une action jusqu'à la fin de l'opération en cours, qui lui transmet sa durée en millisecondes
+     * @return false si aucune opération n'est ouverte sur le thread (action non enregistrée)
+     */
+    public static boolean deferUntilOperationEnd(LongConsumer action) {
+        Operation operation = OPERATION.get();
+        if (operation == null) {
+            return false;
+        }
+        operation.completions.add(action);
+        return true;
+    }
+
+    public static final class Operation {
+
+        private final List<LongConsumer> completions = new ArrayList<>(2);
+
+        private Operation() {
+        }
+
+        /**
+         * Ferme l'opération puis exécute les actions différées avec la durée mesurée
+         */
+        public void end(long elapsedMs) {
+            OPERATION.remove();
+            for (LongConsumer completion : completions) {
+                completion.accept(elapsedMs);
+            }
+        }
+    }
+
+    // ==================== PROPAGATION ====================
+
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Long start = START_NANOS.get();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            Long previousStart = START_NANOS.get();
+            install(mdc, start);
+            try {
+                task.run();
+            } finally {
+                install(previousMdc, previousStart);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrapCallable(Callable<T> task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Long start = START_NANOS.get();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            Long previousStart = START_NANOS.get();
+            install(mdc, start);
+            try {
+                return task.call();
+            } finally {
+                install(previousMdc, previousStart);
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Long start = START_NANOS.get();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            Long previousStart = START_NANOS.get();
+            install(mdc, start);
+            try {
+                return task.get();
+            } finally {
+                install(previousMdc, previousStart);
+            }
+        };
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private static void install(Map<String, String> mdc, Long start) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+        if (start == null) {
+            START_NANOS.remove();
+        } else {
+            START_NANOS.set(start);
+        }
+    }
+
+    static boolean isValidRequestId(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.tutor_app.tracing;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagation du RequestContext vers l'exécuteur de tâches de Spring Boot (applicationTaskExecutor, repris
+ * automatiquement) : @Async et traitements asynchrones de Spring MVC (StreamingResponseBody…)
+ */
+@Component
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return RequestContext.wrap(runnable);
+    }
+}
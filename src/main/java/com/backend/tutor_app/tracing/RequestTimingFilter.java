@@ -0,0 +1,74 @@
+package com.backend.tutor_app.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Premier filtre de la chaîne (avant Spring Security) : attribue l'identifiant de requête (en-tête X-Request-Id
+ * entrant ou généré, renvoyé dans la réponse), ouvre le RequestContext et journalise la durée totale.
+ * Requête asynchrone (StreamingResponseBody…) : la durée est journalisée au dispatch final, contexte restauré
+ * depuis les attributs de la requête.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    static final String START_ATTRIBUTE = RequestTimingFilter.class.getName() + ".start";
+    static final String REQUEST_ID_ATTRIBUTE = RequestTimingFilter.class.getName() + ".requestId";
+
+    private final long slowThresholdMs;
+
+    public RequestTimingFilter(@Value("${app.audit.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            start = System.nanoTime();
+            request.setAttribute(START_ATTRIBUTE, start);
+            String requestId = RequestContext.begin(request.getHeader(RequestContext.REQUEST_ID_HEADER), start);
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+            response.setHeader(RequestContext.REQUEST_ID_HEADER, requestId);
+        } else {
+            RequestContext.begin((String) request.getAttribute(REQUEST_ID_ATTRIBUTE), start);
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                logCompletion(request, response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            RequestContext.end();
+        }
+    }
+
+    private void logCompletion(HttpServletRequest request, HttpServletResponse response, long elapsedMs) {
+        if (elapsedMs >= slowThresholdMs) {
+            log.warn("Requête lente: {} {} -> {} en {} ms", request.getMethod(), request.getRequestURI(),
+                response.getStatus(), elapsedMs);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} -> {} en {} ms", request.getMethod(), request.getRequestURI(), response.getStatus(), elapsedMs);
+        }
+    }
+}
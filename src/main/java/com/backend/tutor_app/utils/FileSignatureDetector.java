@@ -0,0 +1,209 @@
+package com.backend.tutor_app.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Détection du type réel d'un fichier à partir de ses premiers octets (magic bytes)
+ * Le Content-Type déclaré par le client n'est jamais utilisé pour la validation
+ */
+public final class FileSignatureDetector {
+
+    /**
+     * Nombre d'octets lus en tête de fichier pour la détection
+     */
+    public static final int HEADER_SIZE = 8192;
+
+    public static final String UNKNOWN_TYPE = "application/octet-stream";
+
+    /**
+     * Images matricielles affichées en ligne par FileController ; tout autre type est téléchargé (attachment)
+     */
+    private static final Set<String> INLINE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
+
+    /**
+     * Types renvoyés tels quels au client ; les autres (text/html, image/svg+xml, ...) deviennent UNKNOWN_TYPE
+     */
+    private static final Set<String> SERVED_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp", "application/pdf");
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87 = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89 = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP = {'P', 'K', 0x03, 0x04};
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final List<String> MARKUP_TAGS = List.of("<svg", "<html", "<script", "<!doctype", "<?xml");
+
+    private FileSignatureDetector() {
+    }
+
+    /**
+     * Lit au plus {@code buffer.length} octets en tête de flux (sans consommer au-delà)
+     * @return Nombre d'octets effectivement lus
+     */
+    public static int readHeader(InputStream in, byte[] buffer) throws IOException {
+        return in.readNBytes(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Détermine le type MIME à partir de l'en-tête d'un fichier
+     * @param header Premiers octets du fichier
+     * @param length Nombre d'octets valides dans header
+     * @return Type MIME détecté ou {@link #UNKNOWN_TYPE}
+     */
+    public static String detectContentType(byte[] header, int length) {
+        if (startsWith(header, length, JPEG, 0)) return "image/jpeg";
+        if (startsWith(header, length, PNG, 0)) return "image/png";
+        if (startsWith(header, length, GIF87, 0) || startsWith(header, length, GIF89, 0)) return "image/gif";
+        if (startsWith(header, length, RIFF, 0) && startsWith(header, length, WEBP, 8)) return "image/webp";
+        if (startsWith(header, length, PDF, 0)) return "application/pdf";
+        if (startsWith(header, length, OLE2, 0)) return "application/msword";
+        if (startsWith(header, length, ZIP, 0)) {
+            // Les formats OOXML sont des archives ZIP : on ne distingue que le .docx via son arborescence
+            return containsAscii(header, length, "word/")
+                ? "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
+                : "application/zip";
+        }
+        // Texte brut uniquement : HTML, SVG ou script déguisés en .txt restent de type inconnu (refusés)
+        if (length > 0 && looksLikeText(header, length) && !looksLikeMarkup(header, length)) return "text/plain";
+        return UNKNOWN_TYPE;
+    }
+
+    /**
+     * Extension du fichier stocké, dérivée du type détecté (jamais du nom fourni par le client)
+     * @return Extension avec son point, ou chaîne vide pour un type sans extension connue
+     */
+    public static String extensionFor(String detectedType) {
+        if (detectedType == null) {
+            return "";
+        }
+        return switch (detectedType) {
+            case "image/jpeg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            case "image/webp" -> ".webp";
+            case "application/pdf" -> ".pdf";
+            case "application/msword" -> ".doc";
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" -> ".docx";
+            case "text/plain" -> ".txt";
+            default -> "";
+        };
+    }
+
+    /**
+     * Vérifie que le type détecté est compatible avec les types autorisés
+     * (image/jpg est accepté comme alias historique de image/jpeg)
+     */
+    public static boolean isAllowed(String detectedType, Iterable<String> allowedTypes) {
+        for (String allowed : allowedTypes) {
+            String normalized = "image/jpg".equals(allowed) ? "image/jpeg" : allowed;
+            if (normalized.equalsIgnoreCase(detectedType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Type MIME renvoyé au client pour un type stocké : liste blanche, jamais dérivé de l'extension du fichier
+     * @param storedType Type enregistré à l'upload (peut être null pour les blobs historiques)
+     * @return storedType normalisé s'il est autorisé, sinon {@link #UNKNOWN_TYPE}
+     */
+    public static String servedContentType(String storedType) {
+        if (storedType == null) {
+            return UNKNOWN_TYPE;
+        }
+        int parameters = storedType.indexOf(';');
+        String type = (parameters >= 0 ? storedType.substring(0, parameters) : storedType).trim().toLowerCase(Locale.ROOT);
+        if ("image/jpg".equals(type)) {
+            type = "image/jpeg";
+        }
+        return SERVED_TYPES.contains(type) ? type : UNKNOWN_TYPE;
+    }
+
+    /**
+     * Un type servi n'est affiché en ligne que s'il s'agit d'une image matricielle
+     */
+    public static boolean isInline(String servedType) {
+        return INLINE_TYPES.contains(servedType);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private static boolean startsWith(byte[] header, int length, byte[] signature, int offset) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAscii(byte[] header, int length, String needle) {
+        outer:
+        for (int i = 0; i <= length - needle.length(); i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (header[i + j] != needle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Balisage interprétable par un navigateur : premier caractère significatif '<', ou balise svg / html / script
+     */
+    private static boolean looksLikeMarkup(byte[] header, int length) {
+        int start = startsWith(header, length, UTF8_BOM, 0) ? UTF8_BOM.length : 0;
+        while (start < length && Character.isWhitespace(header[start])) {
+            start++;
+        }
+        if (start < length && header[start] == '<') {
+            return true;
+        }
+        for (String tag : MARKUP_TAGS) {
+            if (containsAsciiIgnoreCase(header, length, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAsciiIgnoreCase(byte[] header, int length, String needle) {
+        outer:
+        for (int i = 0; i <= length - needle.length(); i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (Character.toLowerCase(header[i + j]) != needle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Texte : aucun octet NUL ni caractère de contrôle hors tabulations / retours à la ligne
+     */
+    private static boolean looksLikeText(byte[] header, int length) {
+        for (int i = 0; i < length; i++) {
+            int b = header[i] & 0xFF;
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
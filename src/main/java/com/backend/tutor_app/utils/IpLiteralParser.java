@@ -0,0 +1,220 @@
+package com.backend.tutor_app.utils;
+
+/**
+ * Analyse des adresses IP littérales sans InetAddress (aucune résolution DNS, aucun objet intermédiaire)
+ * IPv4 : notation décimale pointée stricte (4 octets, sans zéro non significatif)
+ * IPv6 : RFC 4291 (compression "::", IPv4 finale, index de zone "%..." ignoré)
+ */
+public final class IpLiteralParser {
+
+    /**
+     * Valeur renvoyée par {@link #parseIpv4(CharSequence)} pour un littéral invalide
+     */
+    public static final long INVALID = -1L;
+
+    private IpLiteralParser() {
+    }
+
+    /**
+     * @return Adresse IPv4 sur 32 bits non signés, ou {@link #INVALID}
+     */
+    public static long parseIpv4(CharSequence address) {
+        return address == null ? INVALID : parseIpv4(address, 0, address.length());
+    }
+
+    /**
+     * Analyse address[from, to) en IPv4
+     * @return Adresse sur 32 bits non signés, ou {@link #INVALID}
+     */
+    public static long parseIpv4(CharSequence address, int from, int to) {
+        long result = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = address.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits > 0 && value == 0) {
+                    return INVALID;
+                }
+                value = value * 10 + (c - '0');
+                if (value > 255) {
+                    return INVALID;
+                }
+                digits++;
+            } else if (c == '.') {
+                if (digits == 0 || octets == 3) {
+                    return INVALID;
+                }
+                result = (result << 8) | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        if (digits == 0 || octets != 3) {
+            return INVALID;
+        }
+        return (result << 8) | value;
+    }
+
+    /**
+     * Analyse une adresse IPv6
+     * @param words Reçoit les 64 bits de poids fort (words[0]) et de poids faible (words[1])
+     * @return false si le littéral n'est pas une adresse IPv6 valide (words alors indéterminé)
+     */
+    public static boolean parseIpv6(CharSequence address, long[] words) {
+        return address != null && parseIpv6(address, 0, address.length(), words);
+    }
+
+    /**
+     * Analyse address[from, to) en IPv6
+     * @param words Reçoit les 64 bits de poids fort et de poids faible, ou null pour une simple validation
+     * @return false si le littéral n'est pas une adresse IPv6 valide (words alors indéterminé)
+     */
+    public static boolean parseIpv6(CharSequence address, int from, int to, long[] words) {
+        int end = indexOf(address, '%', from, to);
+        if (end - from < 2) {
+            return false;
+        }
+
+        // Groupes en cours d'accumulation sur 128 bits ; à la rencontre de "::", ils deviennent le bloc de tête
+        long high = 0;
+        long low = 0;
+        int groups = 0;
+        long headHigh = 0;
+        long headLow = 0;
+        int headGroups = 0;
+        boolean compressed = false;
+
+        int i = from;
+        if (address.charAt(from) == ':') {
+            if (address.charAt(from + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i = from + 2;
+        }
+        while (i < end) {
+            int start = i;
+            int group = 0;
+            int digit;
+            while (i < end && i - start < 4 && (digit = hexDigit(address.charAt(i))) >= 0) {
+                group = (group << 4) | digit;
+                i++;
+            }
+            if (i < end && address.charAt(i) == '.') {
+                // IPv4 finale : occupe les deux derniers groupes
+                long ipv4 = parseIpv4(address, start, end);
+                if (ipv4 == INVALID) {
+                    return false;
+                }
+                high = (high << 32) | (low >>> 32);
+                low = (low << 32) | ipv4;
+                groups += 2;
+                break;
+            }
+            if (i == start) {
+                return false;
+            }
+            high = (high << 16) | (low >>> 48);
+            low = (low << 16) | group;
+            groups++;
+            if (i == end) {
+                break;
+            }
+            if (address.charAt(i) != ':' || ++i == end) {
+                return false;
+            }
+            if (address.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                headHigh = high;
+                headLow = low;
+                headGroups = groups;
+                high = 0;
+                low = 0;
+                groups = 0;
+                i++;
+            }
+        }
+
+        if (!compressed) {
+            if (groups != 8) {
+                return false;
+            }
+            if (words != null) {
+                words[0] = high;
+                words[1] = low;
+            }
+            return true;
+        }
+        if (headGroups + groups > 7) {
+            return false;
+        }
+        if (words == null) {
+            return true;
+        }
+        // Décalage du bloc de tête à sa place, la compression remplit l'intervalle de zéros
+        int shift = 16 * (8 - headGroups);
+        if (shift >= 128) {
+            headHigh = 0;
+            headLow = 0;
+        } else if (shift >= 64) {
+            headHigh = headLow << (shift - 64);
+            headLow = 0;
+        } else {
+            headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+            headLow <<= shift;
+        }
+        words[0] = headHigh | high;
+        words[1] = headLow | low;
+        return true;
+    }
+
+    /**
+     * Octets réseau d'une adresse IPv4 (pour InetAddress.getByAddress, sans résolution)
+     */
+    public static byte[] ipv4Bytes(long ipv4) {
+        return new byte[]{(byte) (ipv4 >>> 24), (byte) (ipv4 >>> 16), (byte) (ipv4 >>> 8), (byte) ipv4};
+    }
+
+    /**
+     * Octets réseau d'une adresse IPv6 (pour InetAddress.getByAddress, sans résolution)
+     */
+    public static byte[] ipv6Bytes(long high, long low) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (low >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /**
+     * @return true si address[from, to) est une adresse IPv4 ou IPv6 littérale valide
+     */
+    public static boolean isIpLiteral(CharSequence address, int from, int to) {
+        return parseIpv4(address, from, to) != INVALID || parseIpv6(address, from, to, null);
+    }
+
+    private static int indexOf(CharSequence address, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (address.charAt(i) == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+}
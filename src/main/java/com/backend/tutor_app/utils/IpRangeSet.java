@@ -0,0 +1,182 @@
+package com.backend.tutor_app.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ensemble immuable de plages CIDR IPv4 / IPv6, classées et fusionnées à la construction.
+ * Recherche par dichotomie sur des tableaux de long : ni regex, ni allocation par appel.
+ * Une adresse IPv4 mappée (::ffff:a.b.c.d) est évaluée sur les plages IPv4.
+ */
+public final class IpRangeSet {
+
+    /**
+     * Plages privées et réservées : RFC 1918, loopback, lien local, CGNAT (RFC 6598), ULA (RFC 4193), non spécifiée
+     */
+    public static final IpRangeSet PRIVATE_AND_RESERVED = parse(List.of(
+        "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16",
+        "127.0.0.0/8", "169.254.0.0/16", "100.64.0.0/10", "0.0.0.0/8",
+        "::1/128", "::/128", "fe80::/10", "fc00::/7"
+    ));
+
+    // Tampon par thread pour les 128 bits d'une IPv6 analysée
+    private static final ThreadLocal<long[]> WORDS = ThreadLocal.withInitial(() -> new long[2]);
+
+    // Bornes incluses, triées : ipv4[2i] = début, ipv4[2i + 1] = fin
+    private final long[] ipv4;
+    // Bornes incluses, triées : ipv6[4i..4i+1] = début (poids fort, faible), ipv6[4i+2..4i+3] = fin
+    private final long[] ipv6;
+
+    private IpRangeSet(long[] ipv4, long[] ipv6) {
+        this.ipv4 = ipv4;
+        this.ipv6 = ipv6;
+    }
+
+    /**
+     * @param cidrs Notations CIDR ("10.0.0.0/8", "2001:db8::/32") ou adresses seules (/32, /128)
+     * @throws IllegalArgumentException si une notation est invalide
+     */
+    public static IpRangeSet parse(Collection<String> cidrs) {
+        List<long[]> v4 = new ArrayList<>();
+        List<long[]> v6 = new ArrayList<>();
+        long[] words = new long[2];
+        for (String raw : cidrs) {
+            String cidr = raw.trim();
+            if (cidr.isEmpty()) {
+                continue;
+            }
+            int slash = cidr.indexOf('/');
+            int end = slash < 0 ? cidr.length() : slash;
+            long address = IpLiteralParser.parseIpv4(cidr, 0, end);
+            if (address != IpLiteralParser.INVALID) {
+                int prefix = prefixLength(cidr, slash, 32);
+                long mask = prefix == 0 ? 0 : (0xFFFFFFFFL << (32 - prefix)) & 0xFFFFFFFFL;
+                v4.add(new long[]{address & mask, (address & mask) | (~mask & 0xFFFFFFFFL)});
+            } else if (IpLiteralParser.parseIpv6(cidr, 0, end, words)) {
+                int prefix = prefixLength(cidr, slash, 128);
+                long highMask = prefix >= 64 ? -1L : prefix == 0 ? 0 : -1L << (64 - prefix);
+                long lowMask = prefix <= 64 ? 0 : prefix == 128 ? -1L : -1L << (128 - prefix);
+                v6.add(new long[]{words[0] & highMask, words[1] & lowMask, words[0] | ~highMask, words[1] | ~lowMask});
+            } else {
+                throw new IllegalArgumentException("Plage CIDR invalide: " + raw);
+            }
+        }
+        return new IpRangeSet(mergeIpv4(v4), mergeIpv6(v6));
+    }
+
+    /**
+     * @return true si ip est une adresse littérale valide comprise dans une des plages
+     */
+    public boolean contains(CharSequence ip) {
+        return ip != null && contains(ip, 0, ip.length());
+    }
+
+    /**
+     * @return true si ip[from, to) est une adresse littérale valide comprise dans une des plages
+     */
+    public boolean contains(CharSequence ip, int from, int to) {
+        long address = IpLiteralParser.parseIpv4(ip, from, to);
+        if (address != IpLiteralParser.INVALID) {
+            return containsIpv4(address);
+        }
+        long[] words = WORDS.get();
+        return IpLiteralParser.parseIpv6(ip, from, to, words) && containsIpv6(words[0], words[1]);
+    }
+
+    public boolean containsIpv4(long address) {
+        int low = 0;
+        int high = ipv4.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (address < ipv4[2 * mid]) {
+                high = mid - 1;
+            } else if (address > ipv4[2 * mid + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsIpv6(long highWord, long lowWord) {
+        if (highWord == 0 && (lowWord >>> 32) == 0xFFFFL) {
+            return containsIpv4(lowWord & 0xFFFFFFFFL);
+        }
+        int low = 0;
+        int high = ipv6.length / 4 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(highWord, lowWord, ipv6[4 * mid], ipv6[4 * mid + 1]) < 0) {
+                high = mid - 1;
+            } else if (compare(highWord, lowWord, ipv6[4 * mid + 2], ipv6[4 * mid + 3]) > 0) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return ipv4.length == 0 && ipv6.length == 0;
+    }
+
+    private static int prefixLength(String cidr, int slash, int bits) {
+        if (slash < 0) {
+            return bits;
+        }
+        try {
+            int prefix = Integer.parseInt(cidr.substring(slash + 1));
+            if (prefix >= 0 && prefix <= bits) {
+                return prefix;
+            }
+        } catch (NumberFormatException ignored) {
+            // Message d'erreur unique ci-dessous
+        }
+        throw new IllegalArgumentException("Longueur de préfixe invalide: " + cidr);
+    }
+
+    private static long[] mergeIpv4(List<long[]> ranges) {
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        long[] merged = new long[ranges.size() * 2];
+        int count = 0;
+        for (long[] range : ranges) {
+            if (count > 0 && range[0] <= merged[2 * count - 1] + 1) {
+                merged[2 * count - 1] = Math.max(merged[2 * count - 1], range[1]);
+            } else {
+                merged[2 * count] = range[0];
+                merged[2 * count + 1] = range[1];
+                count++;
+            }
+        }
+        return Arrays.copyOf(merged, count * 2);
+    }
+
+    private static long[] mergeIpv6(List<long[]> ranges) {
+        ranges.sort((a, b) -> compare(a[0], a[1], b[0], b[1]));
+        long[] merged = new long[ranges.size() * 4];
+        int count = 0;
+        for (long[] range : ranges) {
+            int last = 4 * (count - 1);
+            if (count > 0 && compare(range[0], range[1], merged[last + 2], merged[last + 3]) <= 0) {
+                if (compare(range[2], range[3], merged[last + 2], merged[last + 3]) > 0) {
+                    merged[last + 2] = range[2];
+                    merged[last + 3] = range[3];
+                }
+            } else {
+                System.arraycopy(range, 0, merged, 4 * count, 4);
+                count++;
+            }
+        }
+        return Arrays.copyOf(merged, count * 4);
+    }
+
+    private static int compare(long highA, long lowA, long highB, long lowB) {
+        int high = Long.compareUnsigned(highA, highB);
+        return high != 0 ? high : Long.compareUnsigned(lowA, lowB);
+    }
+}
@@ -0,0 +1,145 @@
+package com.backend.tutor_app.utils;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Semaine encodée en bitset : 7 jours × 96 quarts d'heure = 672 bits (11 longs, 88 octets), en UTC.
+ * Bit n = quart d'heure n depuis lundi 00:00 UTC.
+ * Le décalage du fuseau est celui de l'instant de référence : un masque doit être recalculé après un changement d'heure.
+ */
+public final class WeeklySlots {
+
+    public static final int SLOTS_PER_DAY = 96;
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+    public static final int WORDS = (SLOTS_PER_WEEK + 63) / 64;
+    public static final int BYTES = WORDS * Long.BYTES;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private WeeklySlots() {
+    }
+
+    public static long[] empty() {
+        return new long[WORDS];
+    }
+
+    /**
+     * Ajoute un créneau récurrent du tuteur : seuls les quarts d'heure entièrement couverts sont retenus
+     * (18:10-19:00 couvre 18:15-19:00). Une heure de fin inférieure ou égale au début passe minuit.
+     */
+    public static void addWindow(long[] slots, DayOfWeek day, LocalTime start, LocalTime end, ZoneId zone, Instant reference) {
+        int startMinute = utcMinuteOfWeek(day, start, zone, reference);
+        int endMinute = startMinute + durationMinutes(start, end);
+        setRange(slots, ceilDiv(startMinute, SLOT_MINUTES), endMinute / SLOT_MINUTES);
+    }
+
+    /**
+     * Masque d'un créneau demandé : tout quart d'heure touché doit être libre (18:10-19:00 exige 18:00-19:00)
+     */
+    public static long[] request(DayOfWeek day, LocalTime start, LocalTime end, ZoneId zone, Instant reference) {
+        long[] slots = empty();
+        int startMinute = utcMinuteOfWeek(day, start, zone, reference);
+        int endMinute = startMinute + durationMinutes(start, end);
+        setRange(slots, startMinute / SLOT_MINUTES, ceilDiv(endMinute, SLOT_MINUTES));
+        return slots;
+    }
+
+    public static void or(long[] target, long[] source) {
+        for (int i = 0; i < WORDS; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    /**
+     * Vrai si tous les quarts d'heure demandés sont libres
+     */
+    public static boolean containsAll(long[] slots, long[] requested) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((requested[i] & ~slots[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isEmpty(long[] slots) {
+        for (long word : slots) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte[] toBytes(long[] slots) {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        for (long word : slots) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Lecture d'une colonne persistée ; null ou taille inattendue = semaine vide
+     */
+    public static long[] fromBytes(byte[] bytes) {
+        long[] slots = empty();
+        if (bytes == null || bytes.length != BYTES) {
+            return slots;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int i = 0; i < WORDS; i++) {
+            slots[i] = buffer.getLong();
+        }
+        return slots;
+    }
+
+    /**
+     * Fuseau IANA, ou UTC si absent ou invalide
+     */
+    public static ZoneId zoneOrUtc(String zone) {
+        if (zone == null || zone.isBlank()) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private static int utcMinuteOfWeek(DayOfWeek day, LocalTime time, ZoneId zone, Instant reference) {
+        int offsetMinutes = zone.getRules().getOffset(reference).getTotalSeconds() / 60;
+        int local = (day.getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+        return Math.floorMod(local - offsetMinutes, MINUTES_PER_WEEK);
+    }
+
+    private static int durationMinutes(LocalTime start, LocalTime end) {
+        int duration = (end.toSecondOfDay() - start.toSecondOfDay()) / 60;
+        return duration <= 0 ? duration + MINUTES_PER_DAY : duration;
+    }
+
+    /**
+     * Positionne les bits [from, to) modulo la semaine (un créneau de dimanche soir peut déborder sur lundi UTC)
+     */
+    private static void setRange(long[] slots, int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            int bit = Math.floorMod(slot, SLOTS_PER_WEEK);
+            slots[bit >>> 6] |= 1L << (bit & 63);
+        }
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
@@ -0,0 +1,55 @@
+-- ==========================================
+-- PARTITIONNEMENT MENSUEL DE audit_logs - TUTORAPP
+-- Migration ponctuelle, à exécuter explicitement (psql -f) : jamais listée dans spring.sql.init
+-- Exécutée au démarrage uniquement si app.audit.convert-on-startup=true (désactivé par défaut)
+-- Idempotente : sans effet si audit_logs est absente ou déjà partitionnée
+-- Remplace la table simple créée par Hibernate par une table partitionnée de mêmes colonnes ; lignes et identifiants
+-- conservés. Aucune partition DEFAULT : PostgreSQL refuse DETACH PARTITION ... CONCURRENTLY en sa présence.
+-- Les partitions des mois à venir sont ensuite créées par AuditPartitionServiceImpl (app.audit.partitions-ahead)
+-- ==========================================
+
+DO $$
+DECLARE
+    first_month date;
+    last_month date;
+    month date;
+BEGIN
+    IF to_regclass('audit_logs') IS NULL
+       OR EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('audit_logs')) THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE audit_logs IN ACCESS EXCLUSIVE MODE;
+    SELECT CAST(date_trunc('month', COALESCE(MIN("timestamp"), now())) AS date) INTO first_month FROM audit_logs;
+    SELECT CAST(date_trunc('month', GREATEST(COALESCE(MAX("timestamp"), now()), now())) AS date) INTO last_month FROM audit_logs;
+
+    ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+    CREATE TABLE audit_logs (LIKE audit_logs_legacy INCLUDING DEFAULTS) PARTITION BY RANGE ("timestamp");
+
+    -- Archive des lignes de sévérité élevée des mois expirés : [MINVALUE, premier mois conservé)
+    EXECUTE format('CREATE TABLE audit_logs_archive PARTITION OF audit_logs FOR VALUES FROM (MINVALUE) TO (%L)', first_month);
+    month := first_month;
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+            'audit_logs_' || to_char(month, 'YYYY_MM'), month, CAST(month + interval '1 month' AS date));
+        month := CAST(month + interval '1 month' AS date);
+    END LOOP;
+
+    INSERT INTO audit_logs SELECT * FROM audit_logs_legacy;
+    -- La séquence d'identité de l'ancienne table disparaît avec elle
+    DROP TABLE audit_logs_legacy;
+
+    CREATE SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+    PERFORM setval('audit_logs_id_seq', COALESCE((SELECT MAX(id) FROM audit_logs), 0) + 1, false);
+    ALTER TABLE audit_logs ALTER COLUMN id SET DEFAULT nextval('audit_logs_id_seq');
+    -- Clé primaire (id, timestamp) : PostgreSQL impose la clé de partitionnement dans toute contrainte d'unicité
+    ALTER TABLE audit_logs ADD PRIMARY KEY (id, "timestamp");
+
+    -- Index déclarés sur AuditLog, recréés sur la table mère (propagés à chaque partition)
+    CREATE INDEX idx_audit_user_id ON audit_logs (user_id);
+    CREATE INDEX idx_audit_admin_id ON audit_logs (admin_id);
+    CREATE INDEX idx_audit_action ON audit_logs (action);
+    CREATE INDEX idx_audit_timestamp ON audit_logs ("timestamp");
+    CREATE INDEX idx_audit_entity ON audit_logs (entity_type, entity_id);
+END
+$$;
@@ -0,0 +1,15 @@
+-- ==========================================
+-- INDEX DE RECHERCHE - TUTORAPP
+-- Exécuté au démarrage après la création du schéma par Hibernate (spring.sql.init)
+-- Scripts idempotents : IF NOT EXISTS partout
+-- ==========================================
+
+-- Recherche par sous-chaîne insensible à la casse (LIKE '%terme%' sur lower(...)) : index trigrammes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_utilisateur_email_trgm ON utilisateur USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_utilisateur_first_name_trgm ON utilisateur USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_utilisateur_last_name_trgm ON utilisateur USING gin (lower(last_name) gin_trgm_ops);
+
+-- Filtres rôle / statut de la recherche admin
+CREATE INDEX IF NOT EXISTS idx_utilisateur_role_status ON utilisateur (role, status);
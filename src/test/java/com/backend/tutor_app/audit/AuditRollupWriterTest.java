@@ -0,0 +1,78 @@
+package com.backend.tutor_app.audit;
+
+import com.backend.tutor_app.model.enums.AuditAction;
+import com.backend.tutor_app.model.stats.AuditActorDailyStat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires de l'agrégation d'un lot d'événements d'audit
+ */
+@DisplayName("Tests AuditRollupWriter - Agrégation des lots")
+class AuditRollupWriterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 10, 14, 5, 12);
+
+    @Test
+    @DisplayName("✅ Compteurs par minute, par jour et temps d'exécution")
+    void testAggregateCounters() {
+        List<AuditEvent> batch = List.of(
+            event(AuditAction.LOGIN_SUCCESS, T0, true, 120L, 42L, null),
+            event(AuditAction.LOGIN_SUCCESS, T0.plusSeconds(30), false, 1500L, 42L, null),
+            event(AuditAction.LOGIN_SUCCESS, T0.plusMinutes(1), true, null, null, null));
+
+        AuditRollupWriter.Rollup rollup = AuditRollupWriter.aggregate(batch, 1000);
+
+        AuditRollupWriter.Counters firstMinute = rollup.minutes()
+            .get(new AuditRollupWriter.MinuteKey(T0.withSecond(0), AuditAction.LOGIN_SUCCESS));
+        assertThat(firstMinute.events).isEqualTo(2);
+        assertThat(firstMinute.failures).isEqualTo(1);
+        assertThat(rollup.minutes()).hasSize(2);
+
+        AuditRollupWriter.Counters day = rollup.days()
+            .get(new AuditRollupWriter.DayKey(LocalDate.of(2026, 3, 10), AuditAction.LOGIN_SUCCESS, 1));
+        assertThat(day.events).isEqualTo(3);
+        assertThat(day.timed).isEqualTo(2);
+        assertThat(day.slow).isEqualTo(1);
+        assertThat(day.totalMs).isEqualTo(1620);
+        assertThat(day.maxMs).isEqualTo(1500);
+    }
+
+    @Test
+    @DisplayName("✅ Action d'administration comptée pour l'administrateur uniquement")
+    void testAdminActorPrecedence() {
+        List<AuditEvent> batch = List.of(
+            event(AuditAction.ADMIN_ACTION, T0, true, null, 7L, 1L),
+            event(AuditAction.LOGIN_SUCCESS, T0, true, null, 7L, null));
+
+        AuditRollupWriter.Rollup rollup = AuditRollupWriter.aggregate(batch, 1000);
+
+        LocalDate day = T0.toLocalDate();
+        assertThat(rollup.actors()).containsOnlyKeys(
+            new AuditRollupWriter.ActorKey(day, AuditActorDailyStat.ACTOR_ADMIN, 1L),
+            new AuditRollupWriter.ActorKey(day, AuditActorDailyStat.ACTOR_USER, 7L));
+        assertThat(rollup.actors().get(new AuditRollupWriter.ActorKey(day, AuditActorDailyStat.ACTOR_USER, 7L)).events)
+            .isEqualTo(1);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private AuditEvent event(AuditAction action, LocalDateTime timestamp, boolean success, Long executionTimeMs,
+                             Long userId, Long adminId) {
+        return AuditEvent.builder()
+            .action(action)
+            .timestamp(timestamp)
+            .success(success)
+            .severityLevel(1)
+            .executionTimeMs(executionTimeMs)
+            .userId(userId)
+            .adminId(adminId)
+            .build();
+    }
+}
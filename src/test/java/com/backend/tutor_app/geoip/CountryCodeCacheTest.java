@@ -0,0 +1,66 @@
+package com.backend.tutor_app.geoip;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour CountryCodeCache - Cache borné des codes pays
+ */
+@DisplayName("Tests CountryCodeCache - Codes pays compactés")
+class CountryCodeCacheTest {
+
+    @Test
+    @DisplayName("✅ Code pays compacté sur 16 bits, UNKNOWN inclus")
+    void testPackUnpack() {
+        assertThat(CountryCodeCache.unpack(CountryCodeCache.pack("FR"))).isSameAs(CountryCodeCache.unpack(CountryCodeCache.pack("FR")));
+        assertThat(CountryCodeCache.unpack(CountryCodeCache.pack("SN"))).isEqualTo("SN");
+        assertThat(CountryCodeCache.unpack(CountryCodeCache.pack("UNKNOWN"))).isEqualTo(CountryCodeCache.UNKNOWN);
+        assertThat(CountryCodeCache.pack("LOCAL")).isEqualTo(CountryCodeCache.NONE);
+        assertThat(CountryCodeCache.pack("fr")).isEqualTo(CountryCodeCache.NONE);
+        assertThat(CountryCodeCache.pack(null)).isEqualTo(CountryCodeCache.NONE);
+    }
+
+    @Test
+    @DisplayName("✅ Entrées retrouvées par clé exacte, capacité bornée")
+    void testGetPut() {
+        CountryCodeCache cache = new CountryCodeCache(1000);
+        for (long ip = 0; ip < 5_000; ip++) {
+            cache.put(ip, CountryCodeCache.pack(ip % 2 == 0 ? "FR" : "SN"), 1);
+        }
+
+        int hits = 0;
+        for (long ip = 0; ip < 5_000; ip++) {
+            short cached = cache.get(ip, 1);
+            if (cached != CountryCodeCache.NONE) {
+                hits++;
+                assertThat(CountryCodeCache.unpack(cached)).isEqualTo(ip % 2 == 0 ? "FR" : "SN");
+            }
+        }
+        assertThat(cache.capacity()).isEqualTo(1024);
+        assertThat(hits).isPositive().isLessThanOrEqualTo(1024);
+        assertThat(cache.get(123_456_789L, 1)).isEqualTo(CountryCodeCache.NONE);
+
+        cache.clear();
+        assertThat(cache.get(4_999, 1)).isEqualTo(CountryCodeCache.NONE);
+        assertThatThrownBy(() -> new CountryCodeCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("✅ Entrée d'une autre génération de base ignorée, même écrite après le rechargement")
+    void testStaleGenerationIgnored() {
+        CountryCodeCache cache = new CountryCodeCache(16);
+        cache.put(42L, CountryCodeCache.pack("FR"), 1);
+
+        assertThat(cache.get(42L, 1)).isEqualTo(CountryCodeCache.pack("FR"));
+        assertThat(cache.get(42L, 2)).isEqualTo(CountryCodeCache.NONE);
+
+        // Recherche commencée sur la génération 1, terminée après le passage à la génération 2
+        cache.put(7L, CountryCodeCache.pack("SN"), 1);
+        assertThat(cache.get(7L, 2)).isEqualTo(CountryCodeCache.NONE);
+        cache.put(7L, CountryCodeCache.pack("CI"), 2);
+        assertThat(CountryCodeCache.unpack(cache.get(7L, 2))).isEqualTo("CI");
+    }
+}
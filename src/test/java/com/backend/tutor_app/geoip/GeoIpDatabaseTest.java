@@ -0,0 +1,47 @@
+package com.backend.tutor_app.geoip;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour GeoIpDatabase - Chargement et surveillance du fichier .mmdb
+ */
+@DisplayName("Tests GeoIpDatabase - Rechargement à chaud")
+class GeoIpDatabaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("✅ Base désactivée - Aucun lecteur, vérification sans effet")
+    void testDisabled() {
+        GeoIpDatabase database = GeoIpDatabase.disabled();
+
+        database.reloadIfChanged();
+        database.close();
+
+        assertThat(database.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("❌ Fichier absent puis invalide - Mode fallback conservé, génération inchangée")
+    void testMissingThenInvalidFile() throws Exception {
+        Path file = directory.resolve("GeoLite2-City.mmdb");
+        GeoIpDatabase database = new GeoIpDatabase(file, 16, true);
+
+        assertThat(database.current()).isNull();
+
+        Files.writeString(file, "pas une base MaxMind");
+        database.reloadIfChanged();
+
+        assertThat(database.current()).isNull();
+        assertThat(database.generation()).isZero();
+        database.close();
+    }
+}
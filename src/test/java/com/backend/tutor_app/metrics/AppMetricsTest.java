@@ -0,0 +1,63 @@
+package com.backend.tutor_app.metrics;
+
+import com.backend.tutor_app.servicesImpl.RateLimitServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires des métriques applicatives (registre en mémoire)
+ */
+@DisplayName("Tests AppMetrics - Chronomètres, compteurs et jauges")
+class AppMetricsTest {
+
+    private MeterRegistry registry;
+    private AppMetrics appMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        appMetrics = new AppMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("✅ Connexion et envoi d'email chronométrés par issue, exception relancée")
+    void testTimersTaggedByOutcome() {
+        appMetrics.recordLogin(appMetrics.startTimer(), AppMetrics.OUTCOME_SUCCESS);
+        appMetrics.recordLogin(appMetrics.startTimer(), AppMetrics.OUTCOME_FAILURE);
+        appMetrics.recordLogin(appMetrics.startTimer(), AppMetrics.OUTCOME_FAILURE);
+        assertThatThrownBy(() -> appMetrics.timeEmailSend("html", () -> {
+            throw new IllegalStateException("SMTP indisponible");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("tutorapp.auth.login").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("tutorapp.auth.login").tag("outcome", "failure").timer().count()).isEqualTo(2);
+        assertThat(registry.get("tutorapp.email.send").tags("kind", "html", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Limitation de débit : refus comptés par action, liste noire et jauges de cache")
+    void testRateLimitInstrumentation() {
+        RateLimitServiceImpl rateLimitService = new RateLimitServiceImpl(appMetrics);
+        rateLimitService.bindTo(registry);
+
+        for (int i = 0; i < 2; i++) {
+            rateLimitService.recordAttempt("10.0.0.1", "login");
+        }
+        assertThat(rateLimitService.isAllowed("10.0.0.1", "login", 2, Duration.ofMinutes(5))).isFalse();
+        rateLimitService.blacklistIp("10.0.0.2", "test", Duration.ofMinutes(5));
+        assertThat(rateLimitService.isAllowed("10.0.0.2", "login")).isFalse();
+
+        assertThat(registry.get("tutorapp.ratelimit.rejections").tag("action", "login").counter().count()).isEqualTo(1);
+        assertThat(registry.get("tutorapp.ratelimit.blacklist.hits").counter().count()).isEqualTo(1);
+        assertThat(registry.get("tutorapp.ratelimit.cache.size").tag("cache", "attempts").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("tutorapp.ratelimit.cache.size").tag("cache", "blacklist").gauge().value()).isEqualTo(1);
+    }
+}
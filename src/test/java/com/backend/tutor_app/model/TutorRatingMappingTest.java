@@ -0,0 +1,84 @@
+package com.backend.tutor_app.model;
+
+import jakarta.persistence.Entity;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du mapping des agrégats d'avis de Tutor (métamodèle Hibernate, aucune base de données)
+ * TutorRepository.applyRatingDelta met à jour ces colonnes par un UPDATE atomique : si le flush d'un Tutor chargé
+ * avant ce delta les réécrivait, une modification concurrente du profil annulerait l'avis.
+ */
+@DisplayName("Tests mapping des agrégats d'avis de Tutor")
+class TutorRatingMappingTest {
+
+    private static final List<String> RATING_AGGREGATES = List.of(
+        "averageRating", "totalReviews", "ratingSum",
+        "rating1Count", "rating2Count", "rating3Count", "rating4Count", "rating5Count");
+
+    private static StandardServiceRegistry registry;
+    private static PersistentClass tutor;
+
+    @BeforeAll
+    static void buildMetadata() throws ClassNotFoundException {
+        registry = new StandardServiceRegistryBuilder()
+            .applySetting("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+            .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+            .build();
+        MetadataSources sources = new MetadataSources(registry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition definition : scanner.findCandidateComponents("com.backend.tutor_app")) {
+            sources.addAnnotatedClass(Class.forName(definition.getBeanClassName()));
+        }
+        Metadata metadata = sources.buildMetadata();
+        tutor = metadata.getEntityBinding(Tutor.class.getName());
+    }
+
+    @AfterAll
+    static void closeRegistry() {
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Test
+    @DisplayName("✅ Agrégats exclus de l'UPDATE d'un Tutor : une édition concurrente ne réécrit pas le delta d'un avis")
+    void testRatingAggregatesAreNotUpdatable() {
+        for (String aggregate : RATING_AGGREGATES) {
+            assertThat(tutor.getProperty(aggregate).isUpdateable())
+                .as("%s ne doit pas figurer dans l'UPDATE de Tutor", aggregate)
+                .isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Agrégats exclus de l'INSERT : valeurs par défaut de la colonne")
+    void testRatingAggregatesAreNotInsertable() {
+        for (String aggregate : RATING_AGGREGATES) {
+            Property property = tutor.getProperty(aggregate);
+            assertThat(property.isInsertable()).as(aggregate).isFalse();
+            assertThat(property.getColumns().get(0).getDefaultValue()).as(aggregate).isEqualTo("0");
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Champs du profil toujours écrits par le flush")
+    void testProfileFieldsStayUpdatable() {
+        assertThat(tutor.getProperty("bio").isUpdateable()).isTrue();
+        assertThat(tutor.getProperty("hourlyRate").isUpdateable()).isTrue();
+    }
+}
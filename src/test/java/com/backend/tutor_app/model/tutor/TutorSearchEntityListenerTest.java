@@ -0,0 +1,69 @@
+package com.backend.tutor_app.model.tutor;
+
+import com.backend.tutor_app.model.Tutor;
+import com.backend.tutor_app.services.TutorSearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du listener alimentant tutor_search (service d'indexation simulé)
+ */
+@DisplayName("Tests TutorSearchEntityListener")
+class TutorSearchEntityListenerTest {
+
+    private final TutorSearchIndexService indexService = mock(TutorSearchIndexService.class);
+
+    private TutorSearchEntityListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<TutorSearchIndexService> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(indexService);
+        listener = new TutorSearchEntityListener(provider);
+    }
+
+    @Test
+    @DisplayName("✅ Mise à jour d'un champ non indexé (lastLogin) : pas de réindexation")
+    void testUnindexedFieldChangeIsIgnored() {
+        Tutor tutor = loadedTutor();
+
+        tutor.setLastLogin(LocalDateTime.now());
+        listener.onUpdate(tutor);
+
+        verify(indexService, never()).markTutorDirty(7L);
+    }
+
+    @Test
+    @DisplayName("✅ Mise à jour d'un champ indexé : tuteur réindexé une seule fois")
+    void testIndexedFieldChangeMarksTutorDirty() {
+        Tutor tutor = loadedTutor();
+
+        tutor.setLocation("Lyon");
+        listener.onUpdate(tutor);
+        listener.onUpdate(tutor); // Second flush sans nouvelle modification
+
+        verify(indexService).markTutorDirty(7L);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private Tutor loadedTutor() {
+        Tutor tutor = new Tutor();
+        tutor.setId(7L);
+        tutor.setFirstName("Marie");
+        tutor.setLastName("Curie");
+        tutor.setLocation("Paris");
+        listener.onLoad(tutor);
+        return tutor;
+    }
+}
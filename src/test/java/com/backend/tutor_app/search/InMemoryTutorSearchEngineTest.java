@@ -0,0 +1,158 @@
+package com.backend.tutor_app.search;
+
+import com.backend.tutor_app.dto.user.TutorSearchResultDto;
+import com.backend.tutor_app.model.enums.EducationLevel;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.model.tutor.TutorSearchEntry;
+import com.backend.tutor_app.repositories.TutorRepository;
+import com.backend.tutor_app.repositories.TutorSearchEntryRepository;
+import com.backend.tutor_app.repositories.TutorSearchRepository;
+import com.backend.tutor_app.repositories.TutorSearchRepository.TutorSearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires de l'index inversé en mémoire (dépôts simulés, aucune base de données)
+ */
+@DisplayName("Tests InMemoryTutorSearchEngine")
+class InMemoryTutorSearchEngineTest {
+
+    private final TutorSearchEntryRepository entryRepository = mock(TutorSearchEntryRepository.class);
+    private final TutorRepository tutorRepository = mock(TutorRepository.class);
+    private final List<TutorSearchEntry> entries = new ArrayList<>();
+
+    private InMemoryTutorSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        entries.add(entry(1L, "Marie", "Curie", "Paris", 4.8, "math", "Mathématiques", "25", EducationLevel.HIGH));
+        entries.add(entry(1L, "Marie", "Curie", "Paris", 4.8, "physics", "Physique", "40", EducationLevel.UNIVERSITY));
+        entries.add(entry(2L, "Mathieu", "Martin", "Lyon", 3.5, "english", "Anglais", "18", EducationLevel.MIDDLE));
+        entries.add(entry(3L, "Paul", "Durand", "Paris", 4.2, "math", "Mathématiques", "55", EducationLevel.UNIVERSITY));
+
+        when(entryRepository.findAll()).thenReturn(entries);
+        when(entryRepository.findByTutorId(any())).thenAnswer(invocation -> entries.stream()
+            .filter(entry -> entry.getTutorId().equals(invocation.getArgument(0)))
+            .toList());
+        List<Object[]> bios = new ArrayList<>();
+        bios.add(new Object[]{3L, "Préparation aux concours, algèbre linéaire"});
+        when(tutorRepository.findBiosByIds(anyCollection())).thenReturn(bios);
+        when(tutorRepository.findLanguageNamesByTutorIds(anyCollection())).thenReturn(List.of());
+
+        engine = new InMemoryTutorSearchEngine(entryRepository, tutorRepository, mock(PlatformTransactionManager.class));
+        engine.rebuild();
+    }
+
+    @Test
+    @DisplayName("✅ Le dernier mot est un préfixe, sans accents ni casse")
+    void testPrefixSearch() {
+        // "math" : préfixe de "mathematiques" (tuteurs 1 et 3) et de "mathieu" (tuteur 2)
+        assertThat(ids(engine.search(criteria("MATH"), PageRequest.of(0, 10)))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(engine.search(criteria("Mathé"), PageRequest.of(0, 10)))).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("✅ Tous les mots doivent correspondre, bio comprise")
+    void testAllTokensRequired() {
+        assertThat(ids(engine.search(criteria("paris math"), PageRequest.of(0, 10)))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(engine.search(criteria("paris algebre"), PageRequest.of(0, 10)))).containsExactly(3L);
+        assertThat(ids(engine.search(criteria("lyon physique"), PageRequest.of(0, 10)))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Pertinence égale départagée par la note moyenne")
+    void testRankingUsesRating() {
+        TutorSearchResult result = engine.search(criteria("mathematiques"), PageRequest.of(0, 10));
+
+        assertThat(ids(result)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("✅ Filtres évalués sur la même offre et facettes cohérentes")
+    void testFiltersAndFacets() {
+        TutorSearchEngine.Criteria criteria = new TutorSearchEngine.Criteria(
+            null, "MATH", EducationLevel.UNIVERSITY, BigDecimal.valueOf(30), null, null, null, null);
+
+        TutorSearchResult result = engine.search(criteria, PageRequest.of(0, 10));
+
+        // Tuteur 1 : math (HIGH, 25) et physique (UNIVERSITY, 40) ne constituent pas une même offre
+        assertThat(ids(result)).containsExactly(3L);
+        assertThat(result.page().getContent().get(0).getHourlyRate()).isEqualByComparingTo("55");
+        assertThat(result.facets().get(TutorSearchRepository.FACET_SUBJECT)).containsEntry("math", 1L).hasSize(1);
+        assertThat(result.facets().get(TutorSearchRepository.FACET_PRICE_BAND)).containsEntry("50+", 1L).hasSize(1);
+        assertThat(result.facets().get(TutorSearchRepository.FACET_RATING_BUCKET)).containsEntry("4-4.5", 1L);
+    }
+
+    @Test
+    @DisplayName("✅ Sans texte, tri et pagination identiques au moteur SQL")
+    void testSortAndPaging() {
+        TutorSearchEngine.Criteria criteria = new TutorSearchEngine.Criteria(null, null, null, null, null, null, null, null);
+
+        TutorSearchResult byPrice = engine.search(criteria, PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "price")));
+
+        assertThat(byPrice.page().getTotalElements()).isEqualTo(3);
+        assertThat(ids(byPrice)).containsExactly(2L, 1L);
+        assertThat(byPrice.page().getContent().get(1).getHourlyRate()).isEqualByComparingTo("25");
+    }
+
+    @Test
+    @DisplayName("✅ Mise à jour incrémentale d'un tuteur")
+    void testIncrementalRefresh() {
+        entries.removeIf(entry -> entry.getTutorId().equals(2L));
+        entries.add(entry(2L, "Mathieu", "Martin", "Marseille", 3.5, "english", "Anglais", "18", EducationLevel.MIDDLE));
+        engine.onIndexChanged(new TutorSearchIndexChangedEvent(2L));
+
+        assertThat(ids(engine.search(criteria("lyon"), PageRequest.of(0, 10)))).isEmpty();
+        assertThat(ids(engine.search(criteria("marseille"), PageRequest.of(0, 10)))).containsExactly(2L);
+
+        entries.removeIf(entry -> entry.getTutorId().equals(2L));
+        engine.onIndexChanged(new TutorSearchIndexChangedEvent(2L));
+
+        assertThat(engine.size()).isEqualTo(2);
+        assertThat(ids(engine.search(criteria("marseille"), PageRequest.of(0, 10)))).isEmpty();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private TutorSearchEngine.Criteria criteria(String text) {
+        return new TutorSearchEngine.Criteria(text, null, null, null, null, null, null, null);
+    }
+
+    private List<Long> ids(TutorSearchResult result) {
+        return result.page().getContent().stream().map(TutorSearchResultDto::getId).toList();
+    }
+
+    private TutorSearchEntry entry(Long tutorId, String firstName, String lastName, String location, double rating,
+                                   String subjectCode, String subjectName, String rate, EducationLevel level) {
+        return TutorSearchEntry.builder()
+            .tutorId(tutorId)
+            .subjectCode(subjectCode)
+            .subjectName(subjectName)
+            .hourlyRate(new BigDecimal(rate))
+            .levelsMask(1 << level.ordinal())
+            .firstName(firstName)
+            .lastName(lastName)
+            .location(location)
+            .status(UserStatus.ACTIVE)
+            .isAvailable(true)
+            .averageRating(rating)
+            .totalReviews(10)
+            .languages("fr")
+            .availabilityDays(0)
+            .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.backend.tutor_app.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour FileUrlSigner - URLs de fichiers signées HMAC
+ */
+@DisplayName("Tests FileUrlSigner - URLs signées")
+class FileUrlSignerTest {
+
+    private static final String SECRET = "test-secret-for-file-urls";
+    private static final String PATH = "tutors/42/documents/document_42_1700000000000_0.pdf";
+
+    private final Instant now = Instant.parse("2026-01-01T10:00:00Z");
+    private final FileUrlSigner signer = new FileUrlSigner(SECRET, Clock.fixed(now, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("✅ Une URL signée est acceptée avant expiration")
+    void testValidSignature() {
+        String[] params = parse(signer.sign(PATH, 600));
+
+        assertThat(params[0]).isEqualTo(String.valueOf(now.getEpochSecond() + 600));
+        assertThat(signer.verify(PATH, params[0], params[1])).isTrue();
+        assertThat(signer.secondsUntil(params[0])).isEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("❌ Une URL expirée est refusée")
+    void testExpiredSignature() {
+        String[] params = parse(signer.sign(PATH, 600));
+        FileUrlSigner later = new FileUrlSigner(SECRET, Clock.fixed(now.plusSeconds(601), ZoneOffset.UTC));
+
+        assertThat(later.verify(PATH, params[0], params[1])).isFalse();
+    }
+
+    @Test
+    @DisplayName("❌ Chemin, expiration ou signature modifiés sont refusés")
+    void testTamperedUrl() {
+        String[] params = parse(signer.sign(PATH, 600));
+
+        assertThat(signer.verify("tutors/43/documents/other.pdf", params[0], params[1])).isFalse();
+        assertThat(signer.verify(PATH, String.valueOf(now.getEpochSecond() + 9999), params[1])).isFalse();
+        assertThat(signer.verify(PATH, params[0], params[1].substring(1) + "A")).isFalse();
+        assertThat(signer.verify(PATH, "abc", params[1])).isFalse();
+        assertThat(signer.verify(PATH, null, params[1])).isFalse();
+    }
+
+    @Test
+    @DisplayName("❌ Une signature produite avec une autre clé est refusée")
+    void testOtherSecret() {
+        String[] params = parse(new FileUrlSigner("another-secret", Clock.fixed(now, ZoneOffset.UTC)).sign(PATH, 600));
+
+        assertThat(signer.verify(PATH, params[0], params[1])).isFalse();
+    }
+
+    private String[] parse(String query) {
+        String[] parts = query.split("&");
+        return new String[]{parts[0].substring("expires=".length()), parts[1].substring("signature=".length())};
+    }
+}
@@ -0,0 +1,168 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.admin.AuditLogFilter;
+import com.backend.tutor_app.model.AuditLog;
+import com.backend.tutor_app.model.enums.AuditAction;
+import com.backend.tutor_app.model.enums.AuditExportFormat;
+import com.backend.tutor_app.repositories.AuditLogRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires de l'export continu des logs d'audit (dépôt simulé)
+ */
+@DisplayName("Tests AuditExportServiceImpl - Export CSV / NDJSON")
+class AuditExportServiceImplTest {
+
+    private final AuditLogRepository repository = mock(AuditLogRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AuditExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditExportServiceImpl(repository, objectMapper);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("✅ CSV : en-tête, échappement RFC 4180 et entités détachées")
+    void testCsvExport() throws Exception {
+        AuditLog first = auditLog(1L, "connexion, \"mobile\"\nligne 2");
+        AuditLog second = auditLog(2L, null);
+        when(repository.streamWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = service.export(emptyFilter(), AuditExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines[0]).startsWith("id,timestamp,action,");
+        assertThat(lines[1]).startsWith("1,2026-03-10T14:05,LOGIN_SUCCESS,1,true,42,,Utilisateur,42,\"connexion, \"\"mobile\"\"\nligne 2\",");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    @DisplayName("✅ NDJSON compressé : un objet JSON par ligne, champs nuls omis")
+    void testGzipNdjsonExport() throws Exception {
+        when(repository.streamWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Stream.of(auditLog(1L, "a"), auditLog(2L, "b"), auditLog(3L, "c")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = service.export(emptyFilter(), AuditExportFormat.NDJSON, true, out);
+
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = content.split("\n");
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        JsonNode last = objectMapper.readTree(lines[2]);
+        assertThat(last.get("id").asLong()).isEqualTo(3);
+        assertThat(last.get("action").asText()).isEqualTo("LOGIN_SUCCESS");
+        assertThat(last.get("details").asText()).isEqualTo("c");
+        assertThat(last.has("adminId")).isFalse();
+        verify(entityManager, times(3)).detach(any());
+    }
+
+    @Test
+    @DisplayName("✅ CSV : cellules commençant par = + - @ préfixées d'une apostrophe (injection de formule)")
+    void testCsvFormulaInjectionNeutralized() throws Exception {
+        when(repository.streamWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Stream.of(auditLog(1L, "=HYPERLINK(\"http://x\")"), auditLog(2L, "@SUM(A1)"), auditLog(3L, "-1+2")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(emptyFilter(), AuditExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[1]).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",");
+        assertThat(lines[2]).contains(",'@SUM(A1),");
+        assertThat(lines[3]).contains(",'-1+2,");
+    }
+
+    @Test
+    @DisplayName("❌ Échec en cours d'export CSV : marqueur d'export interrompu en dernière ligne")
+    void testFailedCsvExportEndsWithMarker() {
+        when(repository.streamWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(failingStream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> service.export(emptyFilter(), AuditExportFormat.CSV, false, out))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\r\n" + AuditExportServiceImpl.INCOMPLETE_MARKER + "\r\n");
+    }
+
+    @Test
+    @DisplayName("❌ Échec en cours d'export gzip : archive non terminée, décompression en erreur")
+    void testFailedGzipExportNotFinished() {
+        when(repository.streamWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(failingStream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> service.export(emptyFilter(), AuditExportFormat.NDJSON, true, out))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                in.readAllBytes();
+            }
+        }).isInstanceOf(EOFException.class);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private Stream<AuditLog> failingStream() {
+        AuditLog broken = auditLog(2L, "b");
+        return Stream.of(auditLog(1L, "a"), broken).map(auditLog -> {
+            if (auditLog == broken) {
+                throw new IllegalStateException("Curseur fermé");
+            }
+            return auditLog;
+        });
+    }
+
+    private AuditLogFilter emptyFilter() {
+        return AuditLogFilter.of(null, null, null, null, null, null, null, null, null);
+    }
+
+    private AuditLog auditLog(Long id, String details) {
+        AuditLog auditLog = AuditLog.builder()
+            .userId(42L)
+            .action(AuditAction.LOGIN_SUCCESS)
+            .entityType("Utilisateur")
+            .entityId(42L)
+            .details(details)
+            .timestamp(LocalDateTime.of(2026, 3, 10, 14, 5))
+            .severityLevel(1)
+            .success(true)
+            .build();
+        auditLog.setId(id);
+        return auditLog;
+    }
+}
@@ -0,0 +1,115 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.audit.AuditRetentionMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du partitionnement de audit_logs : ordre des instructions SQL (JdbcTemplate simulé)
+ * L'exécution réelle du DDL demande PostgreSQL, indisponible dans les tests unitaires
+ */
+@DisplayName("Tests AuditPartitionServiceImpl - Partitionnement et rétention")
+class AuditPartitionServiceImplTest {
+
+    private static final String TABLE = AuditPartitionServiceImpl.TABLE;
+    private static final String ARCHIVE = AuditPartitionServiceImpl.ARCHIVE_PARTITION;
+    private static final String DEFAULT = AuditPartitionServiceImpl.DEFAULT_PARTITION;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final YearMonth expiredMonth = YearMonth.now().minusMonths(14);
+    private final String expiredPartition = AuditPartitionServiceImpl.partitionName(expiredMonth);
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.relname"), eq(String.class), eq(TABLE)))
+            .thenReturn(List.of(expiredPartition, AuditPartitionServiceImpl.partitionName(YearMonth.now())));
+        when(jdbcTemplate.queryForList(startsWith("SELECT inhdetachpending"), eq(Boolean.class), anyString(), eq(TABLE)))
+            .thenReturn(List.of(false));
+    }
+
+    @Test
+    @DisplayName("✅ Rétention sans partition par défaut : copie avant détachement, DETACH CONCURRENTLY")
+    void testRetentionCopiesBeforeConcurrentDetach() {
+        defaultPartitionExists(false);
+
+        assertThat(service(false).applyRetention()).isEqualTo(1);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + ARCHIVE + " CONCURRENTLY");
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO " + ARCHIVE + " SELECT * FROM " + expiredPartition), eq(3));
+        order.verify(jdbcTemplate).execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + expiredPartition + " CONCURRENTLY");
+        order.verify(jdbcTemplate).execute("DROP TABLE " + expiredPartition);
+        order.verify(jdbcTemplate).execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + ARCHIVE +
+            " FOR VALUES FROM (MINVALUE) TO ('" + expiredMonth.plusMonths(1).atDay(1) + "')");
+    }
+
+    @Test
+    @DisplayName("✅ Rétention avec partition par défaut : lignes du mois retiré déplacées avant le rattachement de l'archive")
+    void testRetentionMovesDefaultRowsBeforeAttach() {
+        defaultPartitionExists(true);
+
+        service(false).applyRetention();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + ARCHIVE);
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO " + ARCHIVE + " SELECT * FROM " + expiredPartition), eq(3));
+        order.verify(jdbcTemplate).execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + expiredPartition);
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO " + ARCHIVE + " SELECT * FROM " + DEFAULT), eq(3));
+        order.verify(jdbcTemplate).execute(startsWith("DELETE FROM " + DEFAULT));
+        order.verify(jdbcTemplate).execute(startsWith("ALTER TABLE " + TABLE + " ATTACH PARTITION " + ARCHIVE));
+    }
+
+    @Test
+    @DisplayName("✅ Détachement interrompu : terminé par FINALIZE")
+    void testPendingDetachFinalized() {
+        defaultPartitionExists(false);
+        when(jdbcTemplate.queryForList(startsWith("SELECT inhdetachpending"), eq(Boolean.class), eq(expiredPartition), eq(TABLE)))
+            .thenReturn(List.of(true));
+
+        service(false).applyRetention();
+
+        verify(jdbcTemplate).execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + expiredPartition + " FINALIZE");
+    }
+
+    @Test
+    @DisplayName("❌ Table simple et conversion désactivée : aucun DDL exécuté")
+    void testConversionDisabledByDefault() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS (SELECT 1 FROM pg_partitioned_table"), eq(Boolean.class), eq(TABLE)))
+            .thenReturn(false);
+
+        AuditPartitionServiceImpl service = service(false);
+        service.afterPropertiesSet();
+        service.maintainPartitions();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private AuditPartitionServiceImpl service(boolean convertOnStartup) {
+        return new AuditPartitionServiceImpl(jdbcTemplate, mock(PlatformTransactionManager.class),
+            3, 12, AuditRetentionMode.DROP, 3, convertOnStartup);
+    }
+
+    private void defaultPartitionExists(boolean exists) {
+        when(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, DEFAULT)).thenReturn(exists);
+    }
+}
@@ -0,0 +1,432 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.model.enums.ImageVariant;
+import com.backend.tutor_app.model.storage.FileBlob;
+import com.backend.tutor_app.model.storage.FileReference;
+import com.backend.tutor_app.repositories.FileBlobRepository;
+import com.backend.tutor_app.repositories.FileReferenceRepository;
+import com.backend.tutor_app.repositories.StorageCounterRepository;
+import com.backend.tutor_app.security.FileUrlSigner;
+import com.backend.tutor_app.services.ImageProcessingService;
+import com.backend.tutor_app.storage.InMemoryObjectStorageBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du stockage adressé par contenu : dépôts simulés (tables file_blobs / file_references en mémoire)
+ * et backend InMemoryObjectStorageBackend
+ */
+@DisplayName("Tests FileStorageServiceImpl - Blobs dédupliqués et comptage des références")
+class FileStorageServiceImplTest {
+
+    private static final byte[] JPEG_CONTENT = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0x00, 0x10, 'J', 'F', 'I', 'F'};
+    private static final byte[] OTHER_JPEG_CONTENT = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0x00, 0x20, 'E', 'x', 'i', 'f'};
+
+    @TempDir
+    Path uploadDir;
+
+    private final FileBlobRepository fileBlobRepository = mock(FileBlobRepository.class);
+    private final FileReferenceRepository fileReferenceRepository = mock(FileReferenceRepository.class);
+    private final StorageCounterRepository storageCounterRepository = mock(StorageCounterRepository.class);
+    private final ImageProcessingService imageProcessingService = mock(ImageProcessingService.class);
+    private final InMemoryObjectStorageBackend storageBackend = new InMemoryObjectStorageBackend();
+    private final ExecutorService fileIoExecutor = Executors.newFixedThreadPool(2);
+
+    private final Map<String, FileBlob> blobs = new HashMap<>();
+    private final Map<String, FileReference> references = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private FileStorageServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FileStorageServiceImpl(fileBlobRepository, fileReferenceRepository, imageProcessingService,
+            fileIoExecutor, storageCounterRepository, storageBackend, mock(FileUrlSigner.class),
+            mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "maxFileSize", 10L * 1024 * 1024);
+        ReflectionTestUtils.setField(service, "baseUrl", "http://localhost/api/files");
+        ReflectionTestUtils.setField(service, "orphanGraceMinutes", 60L);
+        simulateBlobTable();
+        simulateReferenceTable();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        fileIoExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("✅ Upload identique - Un seul blob stocké, deux références comptées")
+    void testIdenticalUploadDeduplicated() throws IOException {
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        service.uploadFile(file(JPEG_CONTENT), "docs", "b.jpg");
+
+        assertThat(storageBackend.size()).isEqualTo(1);
+        assertThat(blobs).hasSize(1);
+        assertThat(blobs.values().iterator().next().getReferenceCount()).isEqualTo(2);
+        assertThat(references).containsKeys("docs/a.jpg", "docs/b.jpg");
+        assertThat(tempFiles()).isEmpty();
+        // Un seul fichier physique, deux fichiers logiques
+        verify(storageCounterRepository, times(1)).applyDelta(eq("PHYSICAL"), eq(1L), eq((long) JPEG_CONTENT.length), any());
+        verify(storageCounterRepository, times(2)).applyDelta(eq("LOGICAL"), eq(1L), eq((long) JPEG_CONTENT.length), any());
+    }
+
+    @Test
+    @DisplayName("✅ Nom et type déclarés par le client ignorés - Extension et type stockés issus des magic bytes")
+    void testDetectedTypeAndExtensionStored() {
+        MockMultipartFile disguised = new MockMultipartFile("file", "cv.html", "text/html", JPEG_CONTENT);
+
+        String url = service.uploadFile(disguised, "docs");
+
+        assertThat(url).startsWith("http://localhost/api/files/docs/cv_").endsWith(".jpg");
+        assertThat(blobs.values().iterator().next().getContentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    @DisplayName("✅ Suppression d'une référence - Compteur décrémenté, blob conservé jusqu'au nettoyage")
+    void testDeleteDecrementsReferenceCount() {
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        service.uploadFile(file(JPEG_CONTENT), "docs", "b.jpg");
+
+        assertThat(service.deleteFile("a.jpg", "docs")).isTrue();
+
+        FileBlob blob = blobs.values().iterator().next();
+        assertThat(blob.getReferenceCount()).isEqualTo(1);
+        assertThat(blob.getOrphanedAt()).isNull();
+        assertThat(references).containsOnlyKeys("docs/b.jpg");
+        assertThat(storageBackend.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Renommage sur un fichier existant - Cible libérée et flushée avant le renommage")
+    void testRenameOntoExistingReleasesTarget() {
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        service.uploadFile(file(OTHER_JPEG_CONTENT), "docs", "b.jpg");
+        FileReference source = references.get("docs/a.jpg");
+        FileReference target = references.get("docs/b.jpg");
+        FileBlob replacedBlob = target.getBlob();
+
+        assertThat(service.renameFile("a.jpg", "b.jpg", "docs")).isTrue();
+
+        assertThat(replacedBlob.getReferenceCount()).isZero();
+        assertThat(replacedBlob.getOrphanedAt()).isNotNull();
+        assertThat(source.getBlob().getReferenceCount()).isEqualTo(1);
+        assertThat(references).containsOnlyKeys("docs/b.jpg");
+        InOrder order = inOrder(fileReferenceRepository);
+        order.verify(fileReferenceRepository).delete(target);
+        order.verify(fileReferenceRepository).flush();
+        order.verify(fileReferenceRepository).save(source);
+    }
+
+    @Test
+    @DisplayName("❌ Nettoyage - Blob re-référencé entre la sélection et le verrou conservé")
+    void testCleanupSkipsReReferencedBlob() {
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        FileBlob blob = blobs.values().iterator().next();
+        when(fileBlobRepository.findOrphanedBlobs(any())).thenReturn(List.of(blob));
+        // Un upload concurrent du même contenu a remis le compteur à 1 : le verrou ne trouve plus d'orphelin
+        when(fileBlobRepository.lockIfOrphaned(blob.getId())).thenReturn(Optional.empty());
+
+        assertThat(service.cleanupOrphanedFiles()).isZero();
+
+        assertThat(storageBackend.exists(blob.getStoragePath())).isTrue();
+        verify(fileBlobRepository, never()).delete(any(FileBlob.class));
+        verify(storageCounterRepository, never()).applyDelta(eq("PHYSICAL"), eq(-1L), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("✅ Nettoyage - Blob toujours orphelin supprimé du stockage puis de la table")
+    void testCleanupDeletesOrphanedBlob() {
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        service.deleteFile("a.jpg", "docs");
+        FileBlob blob = blobs.values().iterator().next();
+        when(fileBlobRepository.findOrphanedBlobs(any())).thenReturn(List.of(blob));
+        when(fileBlobRepository.lockIfOrphaned(blob.getId())).thenReturn(Optional.of(blob));
+
+        assertThat(service.cleanupOrphanedFiles()).isEqualTo(1);
+
+        assertThat(storageBackend.size()).isZero();
+        verify(fileBlobRepository).delete(blob);
+        verify(storageCounterRepository).applyDelta(eq("PHYSICAL"), eq(-1L), eq(-(long) JPEG_CONTENT.length), any());
+    }
+
+    @Test
+    @DisplayName("✅ Rollback - Blob nouvellement déplacé supprimé, blob déjà présent conservé")
+    void testRollbackDeletesNewlyMovedBlobOnly() {
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        commit();
+
+        // Transaction annulée : un blob dédupliqué (déjà présent) et un blob nouveau
+        service.uploadFile(file(JPEG_CONTENT), "docs", "b.jpg");
+        service.uploadFile(file(OTHER_JPEG_CONTENT), "docs", "c.jpg");
+        assertThat(storageBackend.size()).isEqualTo(2);
+
+        rollback();
+
+        assertThat(storageBackend.size()).isEqualTo(1);
+        assertThat(storageBackend.exists(references.get("docs/a.jpg").getBlob().getStoragePath())).isTrue();
+    }
+
+    @Test
+    @DisplayName("✅ Upload multiple - Tous les fichiers préparés puis stockés")
+    void testMultipleUploadStoresAll() throws IOException {
+        List<String> urls = service.uploadMultipleFiles(List.of(file(JPEG_CONTENT), file(OTHER_JPEG_CONTENT)), "docs");
+
+        assertThat(urls).hasSize(2).allMatch(url -> url.endsWith(".jpg"));
+        assertThat(references).hasSize(2);
+        assertThat(storageBackend.size()).isEqualTo(2);
+        assertThat(tempFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("❌ Upload multiple - Fichier refusé : aucun fichier stocké ni laissé dans temp/")
+    void testMultipleUploadRejectedFileDiscardsAll() throws IOException {
+        MockMultipartFile markup = new MockMultipartFile("file", "cv.txt", "text/plain", "<html></html>".getBytes());
+
+        assertThatThrownBy(() -> service.uploadMultipleFiles(List.of(file(JPEG_CONTENT), markup), "docs"))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("non autorisé");
+
+        assertThat(references).isEmpty();
+        assertThat(storageBackend.size()).isZero();
+        assertThat(tempFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("❌ Upload multiple - Erreur du dépôt pendant la liaison : fichiers préparés restants supprimés")
+    void testMultipleUploadRepositoryFailureDiscardsStaged() throws IOException {
+        // Premier fichier lié, violation de uk_file_reference_path sur le second
+        when(fileReferenceRepository.save(any(FileReference.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0))
+            .thenThrow(new DataIntegrityViolationException("uk_file_reference_path"));
+        MockMultipartFile third = new MockMultipartFile("file", "c.jpg", "image/jpeg",
+            new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE2});
+
+        assertThatThrownBy(() -> service.uploadMultipleFiles(List.of(file(JPEG_CONTENT), file(OTHER_JPEG_CONTENT), third), "docs"))
+            .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(tempFiles()).isEmpty();
+        // Blobs déjà déplacés : supprimés par le rollback de la transaction
+        rollback();
+        assertThat(storageBackend.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Photo de profil - Pool saturé ou délai dépassé : URL de l'original conservée")
+    void testProfilePictureFallsBackToOriginal() {
+        when(imageProcessingService.generateVariants(any()))
+            .thenThrow(new RuntimeException("Traitement d'images saturé, réessayez plus tard"))
+            .thenThrow(new RuntimeException("Délai de traitement de l'image dépassé"));
+
+        String rejected = service.uploadProfilePicture(file(JPEG_CONTENT), 7L);
+        String timedOut = service.uploadProfilePicture(file(OTHER_JPEG_CONTENT), 7L);
+
+        assertThat(rejected).matches("http://localhost/api/files/profiles/7/profile_7_\\d+\\.jpg");
+        assertThat(timedOut).matches("http://localhost/api/files/profiles/7/profile_7_\\d+\\.jpg");
+        assertThat(references.keySet()).allMatch(path -> ImageVariant.baseName(path) == null);
+    }
+
+    @Test
+    @DisplayName("✅ Photo de profil - Variantes stockées, URL de la variante MEDIUM retournée")
+    void testProfilePictureStoresVariants() {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            variants.put(variant, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) variant.ordinal()});
+        }
+        when(imageProcessingService.generateVariants(any())).thenReturn(variants);
+
+        String url = service.uploadProfilePicture(file(JPEG_CONTENT), 7L);
+
+        assertThat(url).endsWith("_" + ImageVariant.MEDIUM.getSuffix() + ImageVariant.EXTENSION);
+        assertThat(references).hasSize(1 + ImageVariant.values().length);
+    }
+
+    @Test
+    @DisplayName("✅ Taille et nombre de fichiers - Périmètre logique pour la racine et les sous-répertoires")
+    void testDirectoryStatisticsUseLogicalScope() {
+        when(storageCounterRepository.currentTotals("LOGICAL")).thenReturn(totals(5, 500));
+        when(storageCounterRepository.currentTotals("PHYSICAL")).thenReturn(totals(2, 200));
+        when(fileReferenceRepository.aggregateDirectoryTree("docs")).thenReturn(totals(3, 300));
+
+        assertThat(service.getDirectorySize(uploadDir.toString())).isEqualTo(500);
+        assertThat(service.getFileCount("")).isEqualTo(5);
+        assertThat(service.getDirectorySize("docs")).isEqualTo(300);
+        assertThat(service.getFileCount("docs")).isEqualTo(3);
+        // Le stockage physique (dédupliqué) reste exposé par les statistiques globales
+        assertThat(service.getStorageStatistics()).containsEntry("totalSizeBytes", 200L).containsEntry("logicalSizeBytes", 500L);
+    }
+
+    @Test
+    @DisplayName("✅ Compteurs - Variations enregistrées à chaque écriture puis consolidées par périmètre")
+    void testCounterDeltasRecordedAndFolded() throws IOException {
+        Path legacy = Files.createDirectories(uploadDir.resolve("legacy")).resolve("old.pdf");
+        Files.write(legacy, new byte[42]);
+
+        service.uploadFile(file(JPEG_CONTENT), "docs", "a.jpg");
+        service.deleteFile("a.jpg", "docs");
+        service.deleteFile("old.pdf", "legacy");
+        service.foldStorageCounterDeltas();
+
+        verify(storageCounterRepository).applyDelta(eq("LOGICAL"), eq(1L), eq((long) JPEG_CONTENT.length), any());
+        verify(storageCounterRepository).applyDelta(eq("LOGICAL"), eq(-1L), eq(-(long) JPEG_CONTENT.length), any());
+        verify(storageCounterRepository).applyDelta(eq("PHYSICAL"), eq(1L), eq((long) JPEG_CONTENT.length), any());
+        verify(storageCounterRepository).applyDelta(eq("PHYSICAL"), eq(-1L), eq(-42L), any());
+        verify(storageCounterRepository).foldDeltas(eq("LOGICAL"), any());
+        verify(storageCounterRepository).foldDeltas(eq("PHYSICAL"), any());
+    }
+
+    @Test
+    @DisplayName("✅ Réconciliation - Agrégats des tables et fichiers historiques, temp/ et blobs/ exclus du parcours")
+    void testReconcileReplacesCountersFromAggregates() throws IOException {
+        Files.write(Files.createDirectories(uploadDir.resolve("legacy/2023")).resolve("old.pdf"), new byte[40]);
+        Files.write(Files.createDirectories(uploadDir.resolve("temp")).resolve("upload_1.part"), new byte[1000]);
+        Files.write(Files.createDirectories(uploadDir.resolve("blobs/ab/cd")).resolve("abcd"), new byte[1000]);
+        when(fileReferenceRepository.aggregateAll()).thenReturn(totals(3, 300));
+        when(fileBlobRepository.aggregateAll()).thenReturn(totals(2, 200));
+
+        service.reconcileStorageStatistics();
+
+        verify(storageCounterRepository).reconcile(eq("LOGICAL"), eq(3L), eq(300L), any());
+        verify(storageCounterRepository).reconcile(eq("PHYSICAL"), eq(3L), eq(240L), any());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private List<Object[]> totals(long files, long bytes) {
+        return List.<Object[]>of(new Object[]{files, bytes});
+    }
+
+    private MockMultipartFile file(byte[] content) {
+        return new MockMultipartFile("file", "photo.jpg", "image/jpeg", content);
+    }
+
+    private List<Path> tempFiles() throws IOException {
+        Path tempDir = uploadDir.resolve("temp");
+        if (!Files.exists(tempDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+
+    private void commit() {
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private void rollback() {
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    /**
+     * file_blobs en mémoire : upsert, compteur de références et marquage orphelin comme les requêtes du dépôt
+     */
+    private void simulateBlobTable() {
+        when(fileBlobRepository.upsertAndReference(anyString(), anyLong(), any(), anyString(), any())).thenAnswer(invocation -> {
+            String sha256 = invocation.getArgument(0);
+            FileBlob blob = blobs.get(sha256);
+            if (blob == null) {
+                blob = FileBlob.builder()
+                    .sha256(sha256)
+                    .sizeBytes(invocation.getArgument(1))
+                    .contentType(invocation.getArgument(2))
+                    .storagePath(invocation.getArgument(3))
+                    .referenceCount(1)
+                    .build();
+                blob.setId(ids.incrementAndGet());
+                blobs.put(sha256, blob);
+            } else {
+                blob.setReferenceCount(blob.getReferenceCount() + 1);
+                blob.setOrphanedAt(null);
+            }
+            return 1;
+        });
+        when(fileBlobRepository.findBySha256(anyString())).thenAnswer(invocation ->
+            Optional.ofNullable(blobs.get(invocation.<String>getArgument(0))));
+        when(fileBlobRepository.decrementReferenceCount(anyLong(), any())).thenAnswer(invocation -> {
+            FileBlob blob = blobById(invocation.getArgument(0));
+            if (blob.getReferenceCount() == 0) {
+                return 0;
+            }
+            blob.setReferenceCount(blob.getReferenceCount() - 1);
+            if (blob.getReferenceCount() == 0) {
+                blob.setOrphanedAt(invocation.<LocalDateTime>getArgument(1));
+            }
+            return 1;
+        });
+        when(fileBlobRepository.incrementReferenceCount(anyLong())).thenAnswer(invocation -> {
+            FileBlob blob = blobById(invocation.getArgument(0));
+            blob.setReferenceCount(blob.getReferenceCount() + 1);
+            blob.setOrphanedAt(null);
+            return 1;
+        });
+    }
+
+    /**
+     * file_references en mémoire, indexée par directory/fileName
+     */
+    private void simulateReferenceTable() {
+        when(fileReferenceRepository.findByPath(anyString(), anyString())).thenAnswer(invocation ->
+            Optional.ofNullable(references.get(invocation.getArgument(0) + "/" + invocation.getArgument(1))));
+        when(fileReferenceRepository.save(any(FileReference.class))).thenAnswer(invocation -> {
+            FileReference reference = invocation.getArgument(0);
+            references.values().remove(reference);
+            references.put(reference.getDirectory() + "/" + reference.getFileName(), reference);
+            return reference;
+        });
+        doAnswer(invocation -> references.values().remove(invocation.<FileReference>getArgument(0)))
+            .when(fileReferenceRepository).delete(any(FileReference.class));
+    }
+
+    private FileBlob blobById(Long id) {
+        return blobs.values().stream().filter(blob -> blob.getId().equals(id)).findFirst().orElseThrow();
+    }
+}
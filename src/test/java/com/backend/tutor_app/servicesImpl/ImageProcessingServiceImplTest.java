@@ -0,0 +1,184 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.model.enums.ImageVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires du pipeline d'images : variantes produites depuis une image générée, pool saturé et délai dépassé
+ */
+@DisplayName("Tests ImageProcessingServiceImpl - Variantes et pool borné")
+class ImageProcessingServiceImplTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private ImageProcessingServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Image paysage - Trois variantes carrées aux tailles attendues")
+    void testVariantDimensions() throws IOException {
+        service = new ImageProcessingServiceImpl(2, 16, 0.85f, 40_000_000, 20);
+
+        Map<ImageVariant, byte[]> variants = service.generateVariants(png(landscape(2400, 1200)));
+
+        assertThat(variants).containsOnlyKeys(ImageVariant.values());
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(variants.get(variant)));
+            assertThat(decoded.getWidth()).as(variant.name()).isEqualTo(variant.getSize());
+            assertThat(decoded.getHeight()).as(variant.name()).isEqualTo(variant.getSize());
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Recadrage carré centré - Bandes latérales exclues de la variante")
+    void testCenteredSquareCrop() throws IOException {
+        service = new ImageProcessingServiceImpl(2, 16, 0.85f, 40_000_000, 20);
+
+        // 2400x1200 sous-échantillonné (1200 / 640 = 1) : bandes rouges de 600px de part et d'autre d'un carré bleu
+        Map<ImageVariant, byte[]> variants = service.generateVariants(png(landscape(2400, 1200)));
+
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.MEDIUM)));
+        int size = ImageVariant.MEDIUM.getSize();
+        assertBlue(medium.getRGB(2, size / 2));
+        assertBlue(medium.getRGB(size - 3, size / 2));
+        assertBlue(medium.getRGB(size / 2, size / 2));
+    }
+
+    @Test
+    @DisplayName("❌ Image au-delà de app.image.max-pixels - Refusée avant décodage")
+    void testTooManyPixelsRejected() throws IOException {
+        service = new ImageProcessingServiceImpl(2, 16, 0.85f, 1_000_000, 20);
+        InputStream image = png(landscape(2400, 1200));
+
+        assertThatThrownBy(() -> service.generateVariants(image))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Image trop grande");
+    }
+
+    @Test
+    @DisplayName("❌ Pool saturé - Rejet immédiat (AbortPolicy)")
+    void testSaturatedPoolRejected() throws InterruptedException {
+        service = new ImageProcessingServiceImpl(1, 1, 0.85f, 40_000_000, 20);
+        // Un traitement en cours sur l'unique worker, un second dans la file de capacité 1
+        BlockingInputStream running = new BlockingInputStream(release);
+        callers.submit(() -> service.generateVariants(running));
+        assertThat(running.started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread queuedCaller = new Thread(() -> service.generateVariants(new BlockingInputStream(release)));
+        queuedCaller.setDaemon(true);
+        queuedCaller.start();
+        awaitWaitingOnResult(queuedCaller);
+
+        assertThatThrownBy(() -> service.generateVariants(new BlockingInputStream(release)))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("saturé");
+    }
+
+    @Test
+    @DisplayName("❌ Délai dépassé - Traitement annulé, erreur remontée à l'appelant")
+    void testTimeoutCancelsProcessing() throws InterruptedException {
+        service = new ImageProcessingServiceImpl(1, 1, 0.85f, 40_000_000, 1);
+        BlockingInputStream stalled = new BlockingInputStream(release);
+
+        assertThatThrownBy(() -> service.generateVariants(stalled))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Délai");
+        // future.cancel(true) interrompt le worker bloqué
+        assertThat(stalled.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Carré central bleu, bandes latérales rouges
+     */
+    private BufferedImage landscape(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.RED);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(Color.BLUE);
+            graphics.fillRect((width - height) / 2, 0, height, height);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private InputStream png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return new ByteArrayInputStream(output.toByteArray());
+    }
+
+    private void assertBlue(int rgb) {
+        Color color = new Color(rgb);
+        assertThat(color.getBlue()).isGreaterThan(200);
+        assertThat(color.getRed()).isLessThan(60);
+    }
+
+    /**
+     * L'appelant attend le résultat (future.get avec délai) : sa tâche a été acceptée dans la file
+     */
+    private void awaitWaitingOnResult(Thread caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(caller.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+    }
+
+    /**
+     * Flux dont la lecture bloque jusqu'à la libération du verrou (ou l'interruption du worker)
+     */
+    private static final class BlockingInputStream extends InputStream {
+
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        BlockingInputStream(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new InterruptedIOException("Lecture interrompue");
+            }
+            return -1;
+        }
+    }
+}
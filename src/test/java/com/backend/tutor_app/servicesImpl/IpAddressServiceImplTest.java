@@ -0,0 +1,72 @@
+package com.backend.tutor_app.servicesImpl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires de la récupération de l'IP client derrière des proxies de confiance
+ */
+@DisplayName("Tests IpAddressServiceImpl - Proxies de confiance")
+class IpAddressServiceImplTest {
+
+    private final IpAddressServiceImpl service = new IpAddressServiceImpl(new String[]{"10.0.0.0/8", "::1/128"});
+
+    @Test
+    @DisplayName("❌ Connexion directe - Headers de proxy ignorés")
+    void testDirectConnectionIgnoresHeaders() {
+        MockHttpServletRequest request = request("203.0.113.5");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+        request.addHeader("X-Real-IP", "1.2.3.4");
+
+        assertThat(service.extractClientIpFromRequest(request)).isEqualTo("203.0.113.5");
+    }
+
+    @Test
+    @DisplayName("✅ X-Forwarded-For parcouru depuis la droite jusqu'au premier saut non fiable")
+    void testForwardedForRightmostUntrusted() {
+        MockHttpServletRequest request = request("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "6.6.6.6, 198.51.100.20 ,10.0.0.9");
+
+        assertThat(service.extractClientIpFromRequest(request)).isEqualTo("198.51.100.20");
+    }
+
+    @Test
+    @DisplayName("✅ Headers secondaires puis RemoteAddr en repli")
+    void testFallbacks() {
+        MockHttpServletRequest realIp = request("10.0.0.2");
+        realIp.addHeader("X-Forwarded-For", "unknown");
+        realIp.addHeader("X-Real-IP", " 2001:db8::7 ");
+        assertThat(service.extractClientIpFromRequest(realIp)).isEqualTo("2001:db8::7");
+
+        MockHttpServletRequest allTrusted = request("::1");
+        allTrusted.addHeader("X-Forwarded-For", "10.1.1.1, 10.0.0.3");
+        assertThat(service.extractClientIpFromRequest(allTrusted)).isEqualTo("10.1.1.1");
+
+        assertThat(service.extractClientIpFromRequest(request("10.0.0.2"))).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    @DisplayName("✅ Validation et IP locales sans regex")
+    void testValidAndLocal() {
+        assertThat(service.isValidIp("192.168.1.1")).isTrue();
+        assertThat(service.isValidIp("2001:db8::1")).isTrue();
+        assertThat(service.isValidIp("999.1.1.1")).isFalse();
+        assertThat(service.isValidIp("abcd")).isFalse();
+        assertThat(service.isValidIp("unknown")).isFalse();
+        assertThat(service.isLocalIp("localhost")).isTrue();
+        assertThat(service.isLocalIp("100.64.1.1")).isTrue();
+        assertThat(service.isLocalIp("fd00::5")).isTrue();
+        assertThat(service.isLocalIp("8.8.4.4")).isFalse();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.admin.RegistrationSeries;
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.StatsGranularity;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.model.stats.RegistrationDailyStat;
+import com.backend.tutor_app.repositories.RegistrationDailyStatRepository;
+import com.backend.tutor_app.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires des compteurs journaliers d'inscriptions (dépôts simulés)
+ */
+@DisplayName("Tests RegistrationStatsServiceImpl - Compteurs journaliers")
+class RegistrationStatsServiceImplTest {
+
+    private final RegistrationDailyStatRepository repository = mock(RegistrationDailyStatRepository.class);
+
+    private RegistrationStatsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RegistrationStatsServiceImpl(repository, mock(UserRepository.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("✅ Création puis activation dans la même transaction : un seul compteur incrémenté")
+    void testTransitionsMergedBeforeCommit() {
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        service.recordTransition(day, null, null, Role.STUDENT, UserStatus.PENDING_VERIFICATION);
+        service.recordTransition(day, Role.STUDENT, UserStatus.PENDING_VERIFICATION, Role.STUDENT, UserStatus.ACTIVE);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        verify(repository).applyDelta(eq(day), eq("STUDENT"), eq("ACTIVE"), eq(1L), any());
+        verify(repository, never()).applyDelta(any(), anyString(), eq("PENDING_VERIFICATION"), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("✅ Série hebdomadaire : jours regroupés au lundi, périodes vides à zéro")
+    void testWeeklySeries() {
+        LocalDate thisMonday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate from = thisMonday.minusWeeks(2);
+        when(repository.findByStatDayGreaterThanEqualOrderByStatDayAsc(from)).thenReturn(List.of(
+            stat(from, Role.STUDENT, UserStatus.ACTIVE, 3),
+            stat(from.plusDays(4), Role.TUTOR, UserStatus.PENDING_VERIFICATION, 2),
+            stat(thisMonday, Role.STUDENT, UserStatus.ACTIVE, 1)));
+
+        RegistrationSeries series = service.getSeries(from, StatsGranularity.WEEK);
+
+        assertThat(series.buckets()).containsExactly(
+            entry(from, 5L), entry(from.plusWeeks(1), 0L), entry(thisMonday, 1L));
+        assertThat(series.byRole()).containsEntry("STUDENT", 4L).containsEntry("TUTOR", 2L);
+        assertThat(series.byStatus()).containsEntry("ACTIVE", 4L);
+        assertThat(series.total()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("✅ Série mensuelle : début ramené au 1er du mois, première période complète")
+    void testMonthlySeriesAlignedToMonthStart() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+        LocalDate from = monthStart.plusDays(14);
+        when(repository.findByStatDayGreaterThanEqualOrderByStatDayAsc(monthStart)).thenReturn(List.of(
+            stat(monthStart.plusDays(2), Role.STUDENT, UserStatus.ACTIVE, 4),
+            stat(from, Role.STUDENT, UserStatus.ACTIVE, 1)));
+
+        RegistrationSeries series = service.getSeries(from, StatsGranularity.MONTH);
+
+        assertThat(series.from()).isEqualTo(monthStart);
+        assertThat(series.buckets()).containsExactly(entry(monthStart, 5L), entry(monthStart.plusMonths(1), 0L));
+        verify(repository, never()).findByStatDayGreaterThanEqualOrderByStatDayAsc(from);
+    }
+
+    @Test
+    @DisplayName("✅ Reconstruction : table verrouillée avant la suppression et le recalcul")
+    void testRebuildLocksBeforeRecount() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        service = new RegistrationStatsServiceImpl(repository, mock(UserRepository.class), transactionManager);
+        when(repository.insertFromUsers(any())).thenReturn(7);
+
+        assertThat(service.rebuildAll()).isEqualTo(7);
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).lockForRebuild();
+        order.verify(repository).deleteAllStats();
+        order.verify(repository).insertFromUsers(any());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private RegistrationDailyStat stat(LocalDate day, Role role, UserStatus status, long count) {
+        return RegistrationDailyStat.builder().statDay(day).role(role).status(status).userCount(count).build();
+    }
+
+    private Map.Entry<String, Long> entry(LocalDate day, long count) {
+        return Map.entry(day.toString(), count);
+    }
+}
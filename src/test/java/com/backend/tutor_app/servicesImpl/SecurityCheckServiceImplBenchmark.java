@@ -0,0 +1,165 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.Auth.DeviceInfoDto;
+import com.backend.tutor_app.metrics.AppMetrics;
+import com.backend.tutor_app.model.Utilisateur;
+import com.backend.tutor_app.model.enums.DeviceChangeType;
+import com.backend.tutor_app.model.enums.SecurityRiskLevel;
+import com.backend.tutor_app.model.support.RefreshToken;
+import com.backend.tutor_app.services.AttackPatternDetectionService;
+import com.backend.tutor_app.services.DeviceComparisonService;
+import com.backend.tutor_app.services.IpGeolocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Banc de mesure avant / après de performSecurityChecks (p50, p99), sans base de données ni Spring :
+ * géolocalisation et comparaison d'appareil simulées avec une latence fixe.
+ * - avant : géolocalisations exécutées l'une après l'autre sur le thread appelant (exécuteur direct)
+ * - après : géolocalisations en parallèle sur un pool, pendant la comparaison d'appareil
+ * Hors de la suite de tests (nom sans suffixe Test) : mvn test -Dtest=SecurityCheckServiceImplBenchmark
+ */
+@DisplayName("Banc SecurityCheckServiceImpl - Latence avant / après pipeline parallèle")
+class SecurityCheckServiceImplBenchmark {
+
+    private static final long GEOLOCATION_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+    private static final long DEVICE_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    @Test
+    @DisplayName("✅ p99 après < p99 avant")
+    void benchmarkSequentialVersusParallelLookups() {
+        long[] before = measure(Runnable::run);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        long[] after;
+        try {
+            after = measure(pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        report("avant (séquentiel)", before);
+        report("après (parallèle)", after);
+        assertThat(percentile(after, 99)).isLessThan(percentile(before, 99));
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    /**
+     * Durées (ns) de MEASURED_ITERATIONS vérifications avec changement d'IP, triées
+     */
+    private long[] measure(Executor executor) {
+        IpGeolocationService geolocation = mock(IpGeolocationService.class);
+        when(geolocation.getCountryFromIp(anyString())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(GEOLOCATION_LATENCY_NANOS);
+            return "FR";
+        });
+        when(geolocation.assessIpRisk(anyString(), anyString(), anyBoolean())).thenReturn(SecurityRiskLevel.LOW);
+        DeviceComparisonService deviceComparison = mock(DeviceComparisonService.class);
+        when(deviceComparison.compareDevices(any(), any())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(DEVICE_LATENCY_NANOS);
+            return DeviceChangeType.NONE;
+        });
+
+        SecurityCheckServiceImpl service = new SecurityCheckServiceImpl(geolocation, deviceComparison,
+            mock(AttackPatternDetectionService.class), new AppMetrics(new SimpleMeterRegistry()),
+            new DirectOrPoolExecutorService(executor), 1_000);
+        RefreshToken token = token();
+        DeviceInfoDto device = DeviceInfoDto.builder().ipAddress("2.2.2.2").browserName("Chrome").osName("Windows").build();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            service.performSecurityChecks(token, device);
+        }
+        long[] durations = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            service.performSecurityChecks(token, device);
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+        return durations;
+    }
+
+    private void report(String label, long[] sorted) {
+        System.out.printf("performSecurityChecks %-20s p50=%6.2f ms  p99=%6.2f ms  max=%6.2f ms%n", label,
+            percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private RefreshToken token() {
+        Utilisateur utilisateur = mock(Utilisateur.class);
+        when(utilisateur.getId()).thenReturn(42L);
+        RefreshToken token = new RefreshToken();
+        token.setId(7L);
+        token.setUtilisateur(utilisateur);
+        token.setIpAddress("1.1.1.1");
+        token.setIsRevoked(false);
+        token.setBrowserName("Chrome");
+        token.setOsName("Windows");
+        return token;
+    }
+
+    /**
+     * ExecutorService attendu par le service, délégant l'exécution à un Executor (direct ou pool)
+     */
+    private static final class DirectOrPoolExecutorService extends AbstractExecutorService {
+
+        private final Executor delegate;
+
+        DirectOrPoolExecutorService(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
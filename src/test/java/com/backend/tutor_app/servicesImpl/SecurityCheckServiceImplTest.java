@@ -0,0 +1,171 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.Auth.DeviceInfoDto;
+import com.backend.tutor_app.dto.Auth.SecurityCheckResult;
+import com.backend.tutor_app.geoip.GeoIpDatabase;
+import com.backend.tutor_app.metrics.AppMetrics;
+import com.backend.tutor_app.model.Utilisateur;
+import com.backend.tutor_app.model.enums.DeviceChangeType;
+import com.backend.tutor_app.model.enums.SecurityRiskLevel;
+import com.backend.tutor_app.model.support.RefreshToken;
+import com.backend.tutor_app.services.AttackPatternDetectionService;
+import com.backend.tutor_app.services.DeviceComparisonService;
+import com.backend.tutor_app.services.IpGeolocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du pipeline de vérifications de sécurité (géolocalisation simulée)
+ */
+@DisplayName("Tests SecurityCheckServiceImpl - Pipeline parallèle")
+class SecurityCheckServiceImplTest {
+
+    private final IpGeolocationService ipGeolocationService = mock(IpGeolocationService.class);
+    private final DeviceComparisonService deviceComparisonService = mock(DeviceComparisonService.class);
+    private final AttackPatternDetectionService attackPatternDetectionService = mock(AttackPatternDetectionService.class);
+
+    private ExecutorService executor;
+    private SecurityCheckServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        service = new SecurityCheckServiceImpl(ipGeolocationService, deviceComparisonService,
+            attackPatternDetectionService, new AppMetrics(new SimpleMeterRegistry()), executor, 1_000);
+        when(deviceComparisonService.compareDevices(any(), any())).thenReturn(DeviceChangeType.NONE);
+        when(ipGeolocationService.assessIpRisk(anyString(), anyString(), anyBoolean())).thenReturn(SecurityRiskLevel.MEDIUM);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("✅ Changement d'IP : chaque pays géolocalisé une seule fois")
+    void testEachCountryResolvedOnce() {
+        when(ipGeolocationService.getCountryFromIp("1.1.1.1")).thenReturn("FR");
+        when(ipGeolocationService.getCountryFromIp("2.2.2.2")).thenReturn("SN");
+
+        SecurityCheckResult result = service.performSecurityChecks(token("1.1.1.1", false), device("2.2.2.2"));
+
+        assertThat(result.getRiskLevel()).isEqualTo(SecurityRiskLevel.MEDIUM);
+        verify(ipGeolocationService, times(1)).getCountryFromIp("1.1.1.1");
+        verify(ipGeolocationService, times(1)).getCountryFromIp("2.2.2.2");
+        verify(ipGeolocationService, times(1)).isVpnOrProxy("2.2.2.2");
+        verify(ipGeolocationService).assessIpRisk("FR", "SN", false);
+        verify(ipGeolocationService, never()).calculateIpRiskLevel(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("✅ Token révoqué : CRITICAL immédiat, aucune géolocalisation")
+    void testRevokedTokenShortCircuits() {
+        SecurityCheckResult result = service.performSecurityChecks(token("1.1.1.1", true), device("2.2.2.2"));
+
+        assertThat(result.getRiskLevel()).isEqualTo(SecurityRiskLevel.CRITICAL);
+        verify(attackPatternDetectionService).recordSuspiciousAttempt(anyLong(), anyString());
+        verify(attackPatternDetectionService, never()).hasAttackPattern(anyLong());
+        verify(ipGeolocationService, never()).getCountryFromIp(anyString());
+        verify(deviceComparisonService, never()).compareDevices(any(), any());
+    }
+
+    @Test
+    @DisplayName("✅ Géolocalisations simultanées : chacune attend que l'autre ait démarré")
+    void testLookupsRunInParallel() {
+        // En séquentiel, la première recherche attendrait la seconde jusqu'au délai et finirait en UNKNOWN
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(ipGeolocationService.getCountryFromIp(anyString())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            return bothStarted.await(5, TimeUnit.SECONDS) ? "FR" : "UNKNOWN";
+        });
+        when(ipGeolocationService.assessIpRisk(anyString(), anyString(), anyBoolean())).thenReturn(SecurityRiskLevel.LOW);
+
+        SecurityCheckResult result = service.performSecurityChecks(token("1.1.1.1", false), device("2.2.2.2"));
+
+        assertThat(result.getPreviousCountry()).isEqualTo("FR");
+        assertThat(result.getCurrentCountry()).isEqualTo("FR");
+        assertThat(result.getRiskLevel()).isEqualTo(SecurityRiskLevel.LOW);
+    }
+
+    @Test
+    @DisplayName("❌ Géolocalisation hors délai : pays présenté UNKNOWN, risque jamais faible (échec fermé)")
+    void testLookupTimeoutFailsClosed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(ipGeolocationService.getCountryFromIp(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "FR";
+        });
+        IpGeolocationServiceImpl geolocation = new IpGeolocationServiceImpl(GeoIpDatabase.disabled(), 16);
+        when(ipGeolocationService.assessIpRisk(anyString(), anyString(), anyBoolean())).thenAnswer(invocation ->
+            geolocation.assessIpRisk(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        SecurityCheckServiceImpl impatient = new SecurityCheckServiceImpl(ipGeolocationService, deviceComparisonService,
+            attackPatternDetectionService, new AppMetrics(new SimpleMeterRegistry()), executor, 50);
+
+        try {
+            SecurityCheckResult result = impatient.performSecurityChecks(token("1.1.1.1", false), device("2.2.2.2"));
+
+            assertThat(result.getPreviousCountry()).isEqualTo("UNKNOWN");
+            assertThat(result.getCurrentCountry()).isEqualTo("UNKNOWN");
+            assertThat(result.getRiskLevel()).isEqualTo(SecurityRiskLevel.MEDIUM);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ IP absente de la base ou géolocalisation désactivée : UNKNOWN → UNKNOWN reste un risque faible")
+    void testUnknownCountriesWithoutLookupFailureStayLow() {
+        when(ipGeolocationService.getCountryFromIp(anyString())).thenReturn("UNKNOWN");
+        IpGeolocationServiceImpl geolocation = new IpGeolocationServiceImpl(GeoIpDatabase.disabled(), 16);
+        when(ipGeolocationService.assessIpRisk(anyString(), anyString(), anyBoolean())).thenAnswer(invocation ->
+            geolocation.assessIpRisk(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        SecurityCheckResult result = service.performSecurityChecks(token("1.1.1.1", false), device("2.2.2.2"));
+
+        assertThat(result.getRiskLevel()).isEqualTo(SecurityRiskLevel.LOW);
+        assertThat(result.isRequireEmailAlert()).isFalse();
+        assertThat(geolocation.assessIpRisk(IpGeolocationService.LOOKUP_FAILED, "FR", false)).isEqualTo(SecurityRiskLevel.MEDIUM);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private RefreshToken token(String ipAddress, boolean revoked) {
+        Utilisateur utilisateur = mock(Utilisateur.class);
+        when(utilisateur.getId()).thenReturn(42L);
+        RefreshToken token = new RefreshToken();
+        token.setId(7L);
+        token.setUtilisateur(utilisateur);
+        token.setIpAddress(ipAddress);
+        token.setIsRevoked(revoked);
+        token.setBrowserName("Chrome");
+        token.setOsName("Windows");
+        return token;
+    }
+
+    private DeviceInfoDto device(String ipAddress) {
+        return DeviceInfoDto.builder()
+            .ipAddress(ipAddress)
+            .browserName("Chrome")
+            .osName("Windows")
+            .build();
+    }
+}
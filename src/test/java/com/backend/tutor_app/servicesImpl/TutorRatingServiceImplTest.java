@@ -0,0 +1,99 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.repositories.TutorRepository;
+import com.backend.tutor_app.services.TutorSearchIndexService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests unitaires des agrégats de notes incrémentaux (dépôt simulé)
+ */
+@DisplayName("Tests TutorRatingServiceImpl - Agrégats incrémentaux")
+class TutorRatingServiceImplTest {
+
+    private final TutorRepository tutorRepository = mock(TutorRepository.class);
+    private final TutorSearchIndexService tutorSearchIndexService = mock(TutorSearchIndexService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private TutorRatingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TutorRatingServiceImpl(tutorRepository, tutorSearchIndexService, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("✅ Deltas cumulés par tuteur et appliqués une fois avant le commit")
+    void testDeltasAppliedBeforeCommit() {
+        service.recordReviewAdded(1L, 5);
+        service.recordReviewAdded(1L, 3);
+        // Modification d'une note : retrait de l'ancienne, ajout de la nouvelle
+        service.recordReviewRemoved(1L, 3);
+        service.recordReviewAdded(1L, 4);
+        service.recordReviewAdded(2L, 1);
+
+        verify(tutorRepository, never()).applyRatingDelta(anyLong(), anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+
+        beforeCommit();
+
+        var ordered = inOrder(entityManager, tutorRepository);
+        ordered.verify(entityManager).flush();
+        ordered.verify(tutorRepository).applyRatingDelta(1L, 9L, 2, 0, 0, 0, 1, 1);
+        verify(tutorRepository).applyRatingDelta(2L, 1L, 1, 1, 0, 0, 0, 0);
+        verify(tutorSearchIndexService).markTutorDirty(1L);
+        verify(tutorSearchIndexService).markTutorDirty(2L);
+    }
+
+    @Test
+    @DisplayName("✅ Deltas qui s'annulent : aucune écriture")
+    void testCancellingDeltasSkipped() {
+        service.recordReviewAdded(1L, 4);
+        service.recordReviewRemoved(1L, 4);
+
+        beforeCommit();
+
+        verify(tutorRepository, never()).applyRatingDelta(eq(1L), anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(tutorSearchIndexService, never()).markTutorDirty(1L);
+    }
+
+    @Test
+    @DisplayName("❌ Note hors bornes ou tuteur absent ignorés")
+    void testInvalidInputIgnored() {
+        service.recordReviewAdded(1L, 0);
+        service.recordReviewAdded(1L, 6);
+        service.recordReviewAdded(null, 3);
+
+        beforeCommit();
+
+        verify(tutorRepository, never()).applyRatingDelta(anyLong(), anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private void beforeCommit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+    }
+}
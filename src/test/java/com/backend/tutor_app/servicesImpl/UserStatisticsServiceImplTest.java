@@ -0,0 +1,124 @@
+package com.backend.tutor_app.servicesImpl;
+
+import com.backend.tutor_app.dto.admin.UserStatsSnapshot;
+import com.backend.tutor_app.model.enums.Role;
+import com.backend.tutor_app.model.enums.UserStatus;
+import com.backend.tutor_app.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires de l'instantané des statistiques utilisateurs (dépôt simulé)
+ */
+@DisplayName("Tests UserStatisticsServiceImpl - Instantané single-flight")
+class UserStatisticsServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"STUDENT", "ACTIVE", 10L, 1L, 4L, 5L});
+        rows.add(new Object[]{"STUDENT", "SUSPENDED", 2L, 0L, 0L, 1L});
+        rows.add(new Object[]{"TUTOR", "ACTIVE", 5L, 1L, 2L, 2L});
+        when(userRepository.countUserStatistics(any(), any(), any())).thenReturn(rows);
+    }
+
+    @Test
+    @DisplayName("✅ Compteurs par rôle et statut agrégés depuis la requête groupée")
+    void testAggregation() {
+        UserStatsSnapshot snapshot = new UserStatisticsServiceImpl(userRepository, 30, 5).getSnapshot();
+
+        assertThat(snapshot.totalUsers()).isEqualTo(17);
+        assertThat(snapshot.countByRole(Role.STUDENT)).isEqualTo(12);
+        assertThat(snapshot.countByRole(Role.TUTOR)).isEqualTo(5);
+        assertThat(snapshot.countByRole(Role.ADMIN)).isZero();
+        assertThat(snapshot.countByStatus(UserStatus.ACTIVE)).isEqualTo(15);
+        assertThat(snapshot.countByStatus(UserStatus.SUSPENDED)).isEqualTo(2);
+        assertThat(snapshot.newToday()).isEqualTo(2);
+        assertThat(snapshot.newThisMonth()).isEqualTo(6);
+        assertThat(snapshot.newLast30Days()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("✅ Appels concurrents : un seul calcul, même instantané")
+    void testSingleFlight() throws Exception {
+        UserStatisticsServiceImpl service = new UserStatisticsServiceImpl(userRepository, 30, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<UserStatsSnapshot>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.getSnapshot();
+                }));
+            }
+            start.countDown();
+
+            UserStatsSnapshot first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<UserStatsSnapshot> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userRepository, times(1)).countUserStatistics(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("✅ Instantané expiré recalculé")
+    void testExpiredSnapshotRecomputed() {
+        UserStatisticsServiceImpl service = new UserStatisticsServiceImpl(userRepository, 0, 5);
+
+        service.getSnapshot();
+        service.getSnapshot();
+
+        verify(userRepository, times(2)).countUserStatistics(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("❌ Échec sans instantané : pas de nouvelle requête pendant le délai de reprise")
+    void testFailureBacksOff() {
+        when(userRepository.countUserStatistics(any(), any(), any())).thenThrow(new IllegalStateException("base indisponible"));
+        UserStatisticsServiceImpl service = new UserStatisticsServiceImpl(userRepository, 30, 5);
+
+        assertThatThrownBy(service::getSnapshot).hasMessage("base indisponible");
+        assertThatThrownBy(service::getSnapshot)
+            .isInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("base indisponible");
+
+        verify(userRepository, times(1)).countUserStatistics(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("✅ Échec du recalcul : instantané précédent conservé")
+    void testStaleSnapshotServedDuringBackoff() {
+        UserStatisticsServiceImpl service = new UserStatisticsServiceImpl(userRepository, 0, 0);
+        UserStatsSnapshot first = service.getSnapshot();
+        when(userRepository.countUserStatistics(any(), any(), any())).thenThrow(new IllegalStateException("base indisponible"));
+
+        assertThat(service.getSnapshot()).isSameAs(first);
+        assertThat(service.getSnapshot()).isSameAs(first);
+
+        // Délai de reprise nul : chaque appel retente, sans jamais perdre l'instantané
+        verify(userRepository, times(3)).countUserStatistics(any(), any(), any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.tutor_app.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour InMemoryObjectStorageBackend - Faux stockage objet utilisé en test
+ */
+@DisplayName("Tests InMemoryObjectStorageBackend - Stockage objet en mémoire")
+class InMemoryObjectStorageBackendTest {
+
+    private final InMemoryObjectStorageBackend backend = new InMemoryObjectStorageBackend();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("✅ Le fichier préparé est consommé et relisible")
+    void testStoreAndLoad() throws Exception {
+        Path source = Files.writeString(tempDir.resolve("upload.part"), "contenu", StandardCharsets.UTF_8);
+
+        backend.store("blobs/ab/cd/abcd", source, 7, "text/plain");
+
+        assertThat(source).doesNotExist();
+        assertThat(backend.exists("blobs/ab/cd/abcd")).isTrue();
+        try (InputStream in = backend.load("blobs/ab/cd/abcd").getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("contenu");
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Un même contenu n'est stocké qu'une fois")
+    void testStoreSameKeyTwice() throws Exception {
+        backend.store("k", Files.writeString(tempDir.resolve("a.part"), "a"), 1, "text/plain");
+        backend.store("k", Files.writeString(tempDir.resolve("b.part"), "a"), 1, "text/plain");
+
+        assertThat(backend.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Suppression d'un blob")
+    void testDelete() throws Exception {
+        backend.store("k", Files.writeString(tempDir.resolve("a.part"), "a"), 1, "text/plain");
+
+        assertThat(backend.delete("k")).isTrue();
+        assertThat(backend.delete("k")).isFalse();
+        assertThatThrownBy(() -> backend.load("k")).isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("✅ Pas d'URL présignée : fichiers servis par l'application")
+    void testNoPresignedUrl() {
+        assertThat(backend.presignedDownloadUrl("k", Duration.ofMinutes(5), "attachment; filename=\"a.txt\"", "text/plain")).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.tutor_app.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires du contexte de requête (identifiant, chronométrage, propagation)
+ */
+@DisplayName("Tests RequestContext - Identifiant et durée de requête")
+class RequestContextTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    @DisplayName("✅ Identifiant entrant conservé s'il est sûr, remplacé sinon")
+    void testInboundRequestIdValidation() {
+        assertThat(RequestContext.begin("abc-123_x.y", System.nanoTime())).isEqualTo("abc-123_x.y");
+        assertThat(RequestContext.currentRequestId()).isEqualTo("abc-123_x.y");
+
+        String generated = RequestContext.begin("id\r\nX-Injected: 1", System.nanoTime());
+        assertThat(generated).hasSize(36).isNotEqualTo("id\r\nX-Injected: 1");
+        assertThat(RequestContext.begin("a".repeat(65), System.nanoTime())).hasSize(36);
+    }
+
+    @Test
+    @DisplayName("✅ Contexte propagé au thread du pool puis retiré")
+    void testWrapPropagatesToPoolThread() throws Exception {
+        RequestContext.begin("req-1", System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(250));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String[] seen = new String[2];
+            Long[] elapsed = new Long[1];
+            executor.submit(RequestContext.wrap(() -> {
+                seen[0] = MDC.get(RequestContext.MDC_REQUEST_ID);
+                elapsed[0] = RequestContext.elapsedMs();
+            })).get();
+            executor.submit(() -> seen[1] = MDC.get(RequestContext.MDC_REQUEST_ID)).get();
+
+            assertThat(seen[0]).isEqualTo("req-1");
+            assertThat(elapsed[0]).isGreaterThanOrEqualTo(250L);
+            assertThat(seen[1]).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Hors requête : aucune durée")
+    void testNoContext() {
+        assertThat(RequestContext.elapsedMs()).isNull();
+        assertThat(RequestContext.currentRequestId()).isNull();
+    }
+
+    @Test
+    @DisplayName("✅ Actions différées exécutées à la fin de l'opération englobante avec sa durée")
+    void testDeferredUntilOuterOperationEnd() {
+        RequestContext.Operation outer = RequestContext.beginOperation();
+        assertThat(RequestContext.beginOperation()).isNull();
+
+        List<Long> durations = new ArrayList<>();
+        assertThat(RequestContext.deferUntilOperationEnd(durations::add)).isTrue();
+        assertThat(durations).isEmpty();
+
+        outer.end(42);
+
+        assertThat(durations).containsExactly(42L);
+        assertThat(RequestContext.deferUntilOperationEnd(durations::add)).isFalse();
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend.tutor_app.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour FileSignatureDetector - Détection du type réel par magic bytes
+ */
+@DisplayName("Tests FileSignatureDetector - Magic bytes")
+class FileSignatureDetectorTest {
+
+    @Test
+    @DisplayName("✅ Images reconnues par leur signature")
+    void testImageSignatures() {
+        assertThat(detect(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0})).isEqualTo("image/jpeg");
+        assertThat(detect(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})).isEqualTo("image/png");
+        assertThat(detect("GIF89a....".getBytes(StandardCharsets.US_ASCII))).isEqualTo("image/gif");
+        assertThat(detect("RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII))).isEqualTo("image/webp");
+    }
+
+    @Test
+    @DisplayName("✅ Documents reconnus par leur signature")
+    void testDocumentSignatures() {
+        assertThat(detect("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII))).isEqualTo("application/pdf");
+        assertThat(detect("PK\3\4....word/document.xml".getBytes(StandardCharsets.US_ASCII)))
+            .isEqualTo("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+        assertThat(detect("Curriculum vitae\r\n".getBytes(StandardCharsets.UTF_8))).isEqualTo("text/plain");
+    }
+
+    @Test
+    @DisplayName("❌ Exécutable déguisé en PDF - Type inconnu, refusé")
+    void testSpoofedContentType_Rejected() {
+        String detected = detect(new byte[]{'M', 'Z', (byte) 0x90, 0x00, 0x03});
+
+        assertThat(detected).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(FileSignatureDetector.isAllowed(detected, List.of("application/pdf"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("❌ HTML, SVG ou script sans caractère de contrôle - Pas reconnus comme texte brut")
+    void testMarkupNotPlainText() {
+        assertThat(detect("<html><body>cv</body></html>".getBytes(StandardCharsets.UTF_8))).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(detect("\uFEFF  <svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8)))
+            .isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(detect("Mon CV\n<SCRIPT>alert(1)</SCRIPT>".getBytes(StandardCharsets.UTF_8))).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(FileSignatureDetector.isAllowed(detect("<p>cv</p>".getBytes(StandardCharsets.UTF_8)), List.of("text/plain"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Extension dérivée du type détecté")
+    void testExtensionFromDetectedType() {
+        assertThat(FileSignatureDetector.extensionFor("image/jpeg")).isEqualTo(".jpg");
+        assertThat(FileSignatureDetector.extensionFor("application/pdf")).isEqualTo(".pdf");
+        assertThat(FileSignatureDetector.extensionFor(FileSignatureDetector.UNKNOWN_TYPE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ image/jpg accepté comme alias de image/jpeg")
+    void testJpgAlias_Allowed() {
+        assertThat(FileSignatureDetector.isAllowed("image/jpeg", List.of("image/jpg"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("✅ Type servi - Images et PDF conservés, images seules affichées en ligne")
+    void testServedContentType_Whitelisted() {
+        assertThat(FileSignatureDetector.servedContentType("image/jpg")).isEqualTo("image/jpeg");
+        assertThat(FileSignatureDetector.servedContentType("Image/PNG; charset=binary")).isEqualTo("image/png");
+        assertThat(FileSignatureDetector.servedContentType("application/pdf")).isEqualTo("application/pdf");
+        assertThat(FileSignatureDetector.isInline("image/webp")).isTrue();
+        assertThat(FileSignatureDetector.isInline("application/pdf")).isFalse();
+    }
+
+    @Test
+    @DisplayName("❌ Type servi - HTML, SVG, texte ou type absent remplacés par application/octet-stream")
+    void testServedContentType_MarkupRejected() {
+        assertThat(FileSignatureDetector.servedContentType("text/html")).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(FileSignatureDetector.servedContentType("image/svg+xml")).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(FileSignatureDetector.servedContentType("text/plain")).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(FileSignatureDetector.servedContentType(null)).isEqualTo(FileSignatureDetector.UNKNOWN_TYPE);
+        assertThat(FileSignatureDetector.isInline(FileSignatureDetector.UNKNOWN_TYPE)).isFalse();
+    }
+
+    private String detect(byte[] header) {
+        return FileSignatureDetector.detectContentType(header, header.length);
+    }
+}
@@ -0,0 +1,71 @@
+package com.backend.tutor_app.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour IpLiteralParser - Littéraux IPv4 / IPv6 sans InetAddress
+ */
+@DisplayName("Tests IpLiteralParser - Analyse des littéraux IP")
+class IpLiteralParserTest {
+
+    @Test
+    @DisplayName("✅ IPv4 valides converties en entier 32 bits")
+    void testIpv4Valid() {
+        assertThat(IpLiteralParser.parseIpv4("0.0.0.0")).isZero();
+        assertThat(IpLiteralParser.parseIpv4("192.168.1.10")).isEqualTo(0xC0A8010AL);
+        assertThat(IpLiteralParser.parseIpv4("255.255.255.255")).isEqualTo(0xFFFFFFFFL);
+    }
+
+    @Test
+    @DisplayName("❌ IPv4 invalides - Rejetées sans résolution")
+    void testIpv4Invalid() {
+        for (String literal : new String[]{"", "1.2.3", "1.2.3.4.5", "256.1.1.1", "01.2.3.4", "1..2.3", "1.2.3.", "a.b.c.d", "localhost"}) {
+            assertThat(IpLiteralParser.parseIpv4(literal)).as(literal).isEqualTo(IpLiteralParser.INVALID);
+        }
+    }
+
+    @Test
+    @DisplayName("✅ IPv6 valides - Identiques à InetAddress")
+    void testIpv6Valid() throws Exception {
+        for (String literal : new String[]{"::", "::1", "1::", "2001:db8::8a2e:370:7334", "2001:0db8:0000:0000:0000:ff00:0042:8329",
+            "fe80::1:2", "::ffff:192.0.2.128", "64:ff9b::10.0.0.1", "1:2:3:4:5:6:7:8", "1:2:3:4:5:6:1.2.3.4"}) {
+            byte[] expected = InetAddress.getByName(literal).getAddress();
+            assertThat(bytes(literal)).as(literal).isEqualTo(expected.length == 16 ? expected : mapped(expected));
+        }
+        long[] words = new long[2];
+        assertThat(IpLiteralParser.parseIpv6("fe80::1%eth0", words)).isTrue();
+        assertThat(words).containsExactly(0xFE80000000000000L, 1L);
+    }
+
+    @Test
+    @DisplayName("❌ IPv6 invalides - Rejetées")
+    void testIpv6Invalid() {
+        long[] words = new long[2];
+        for (String literal : new String[]{"", ":", ":1", "1:", "1:::2", "1::2::3", "12345::", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9",
+            "1:2:3:4:5:6:7::8", "::g", "1.2.3.4", "::1.2.3", "1:2:3:4:5:6:7:1.2.3.4"}) {
+            assertThat(IpLiteralParser.parseIpv6(literal, words)).as(literal).isFalse();
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private byte[] bytes(String literal) {
+        long[] words = new long[2];
+        assertThat(IpLiteralParser.parseIpv6(literal, words)).as(literal).isTrue();
+        return IpLiteralParser.ipv6Bytes(words[0], words[1]);
+    }
+
+    private byte[] mapped(byte[] ipv4) {
+        // InetAddress renvoie une Inet4Address pour ::ffff:a.b.c.d
+        byte[] bytes = new byte[16];
+        bytes[10] = (byte) 0xFF;
+        bytes[11] = (byte) 0xFF;
+        System.arraycopy(ipv4, 0, bytes, 12, 4);
+        return bytes;
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.tutor_app.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour IpRangeSet - Classification CIDR sans regex
+ */
+@DisplayName("Tests IpRangeSet - Plages privées, réservées et proxies")
+class IpRangeSetTest {
+
+    @Test
+    @DisplayName("✅ Plages privées et réservées IPv4 / IPv6")
+    void testPrivateAndReserved() {
+        IpRangeSet ranges = IpRangeSet.PRIVATE_AND_RESERVED;
+
+        for (String ip : new String[]{"10.1.2.3", "172.16.0.1", "172.31.255.255", "192.168.0.10", "127.0.0.1",
+            "169.254.1.1", "100.64.0.1", "100.127.255.255", "::1", "::", "fe80::1", "fd12:3456::1", "fc00::", "::ffff:192.168.1.1"}) {
+            assertThat(ranges.contains(ip)).as(ip).isTrue();
+        }
+        for (String ip : new String[]{"8.8.8.8", "172.15.255.255", "172.32.0.0", "100.63.255.255", "100.128.0.0",
+            "2001:db8::1", "fec0::1", "::ffff:8.8.8.8", "10.0.0", "localhost", ""}) {
+            assertThat(ranges.contains(ip)).as(ip).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Plages configurées fusionnées, adresses seules acceptées")
+    void testConfiguredRanges() {
+        IpRangeSet ranges = IpRangeSet.parse(List.of(" 203.0.113.0/25", "203.0.113.128/25", "198.51.100.7", "2001:db8:1::/48", ""));
+
+        assertThat(ranges.contains("203.0.113.0")).isTrue();
+        assertThat(ranges.contains("203.0.113.255")).isTrue();
+        assertThat(ranges.contains("198.51.100.7")).isTrue();
+        assertThat(ranges.contains("198.51.100.8")).isFalse();
+        assertThat(ranges.contains("2001:db8:1:ffff::1")).isTrue();
+        assertThat(ranges.contains("2001:db8:2::1")).isFalse();
+        assertThat(ranges.contains("x, 203.0.113.9 ", 3, 14)).isTrue();
+        assertThat(IpRangeSet.parse(List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("❌ CIDR invalides - Rejetés au démarrage")
+    void testInvalidCidr() {
+        for (String cidr : new String[]{"10.0.0.0/33", "::/129", "10.0.0.0/", "10.0.0.0/x", "proxy.local"}) {
+            assertThatThrownBy(() -> IpRangeSet.parse(List.of(cidr))).as(cidr).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.backend.tutor_app.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour WeeklySlots - Semaine en bitset de quarts d'heure UTC
+ */
+@DisplayName("Tests WeeklySlots - Créneaux hebdomadaires")
+class WeeklySlotsTest {
+
+    // Hiver : Europe/Paris = UTC+1
+    private static final Instant WINTER = Instant.parse("2026-01-15T12:00:00Z");
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    @Test
+    @DisplayName("✅ Créneau demandé couvert par le créneau du tuteur")
+    void testWindowCoversRequest() {
+        long[] tutor = window(DayOfWeek.TUESDAY, "17:00", "20:00", PARIS);
+
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.TUESDAY, "18:00", "19:00", PARIS))).isTrue();
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.TUESDAY, "19:30", "20:30", PARIS))).isFalse();
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.WEDNESDAY, "18:00", "19:00", PARIS))).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Normalisation UTC : même instant exprimé dans deux fuseaux")
+    void testUtcNormalization() {
+        long[] tutor = window(DayOfWeek.TUESDAY, "18:00", "19:00", PARIS);
+
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.TUESDAY, "17:00", "18:00", ZoneOffset.UTC))).isTrue();
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.TUESDAY, "18:00", "19:00", ZoneOffset.UTC))).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Seuls les quarts d'heure entièrement couverts sont ouverts")
+    void testPartialQuarterHours() {
+        long[] tutor = window(DayOfWeek.MONDAY, "18:10", "19:00", ZoneOffset.UTC);
+
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.MONDAY, "18:15", "19:00", ZoneOffset.UTC))).isTrue();
+        // 18:10 touche le quart d'heure 18:00-18:15, non couvert
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.MONDAY, "18:10", "19:00", ZoneOffset.UTC))).isFalse();
+    }
+
+    @Test
+    @DisplayName("✅ Créneau passant minuit et débordant sur la semaine suivante")
+    void testWrapAroundWeek() {
+        long[] tutor = window(DayOfWeek.SUNDAY, "23:00", "01:00", ZoneOffset.UTC);
+
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.MONDAY, "00:00", "01:00", ZoneOffset.UTC))).isTrue();
+        assertThat(WeeklySlots.containsAll(tutor, request(DayOfWeek.SUNDAY, "23:30", "00:30", ZoneOffset.UTC))).isTrue();
+    }
+
+    @Test
+    @DisplayName("✅ Sérialisation sur 88 octets sans perte")
+    void testBytesRoundTrip() {
+        long[] tutor = window(DayOfWeek.FRIDAY, "08:00", "12:00", PARIS);
+        WeeklySlots.or(tutor, window(DayOfWeek.SUNDAY, "20:00", "23:45", PARIS));
+
+        byte[] bytes = WeeklySlots.toBytes(tutor);
+
+        assertThat(bytes).hasSize(WeeklySlots.BYTES);
+        assertThat(WeeklySlots.fromBytes(bytes)).containsExactly(tutor);
+        assertThat(WeeklySlots.isEmpty(WeeklySlots.fromBytes(null))).isTrue();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private long[] window(DayOfWeek day, String start, String end, ZoneId zone) {
+        long[] slots = WeeklySlots.empty();
+        WeeklySlots.addWindow(slots, day, LocalTime.parse(start), LocalTime.parse(end), zone, WINTER);
+        return slots;
+    }
+
+    private long[] request(DayOfWeek day, String start, String end, ZoneId zone) {
+        return WeeklySlots.request(day, LocalTime.parse(start), LocalTime.parse(end), zone, WINTER);
+    }
+}